@@ -0,0 +1,47 @@
+package com.vmsmia.framework.component.rpc.restful;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * 泛型类型的帮助类.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:40
+ * @since 1.8
+ */
+public class GenericTypes {
+
+    private GenericTypes() {
+
+    }
+
+    /**
+     * 获取类型擦除后的原始类型.例如 List&lt;Order&gt; 的原始类型是 List .
+     *
+     * @param type 目标类型.
+     * @return 原始类型,无法确定时为 Object .
+     */
+    public static Class<?> rawClass(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return rawClass(((ParameterizedType) type).getRawType());
+        } else if (type instanceof GenericArrayType) {
+            Class<?> component = rawClass(((GenericArrayType) type).getGenericComponentType());
+            return Array.newInstance(component, 0).getClass();
+        } else if (type instanceof WildcardType) {
+            Type[] upperBounds = ((WildcardType) type).getUpperBounds();
+            return upperBounds.length > 0 ? rawClass(upperBounds[0]) : Object.class;
+        } else if (type instanceof TypeVariable) {
+            Type[] bounds = ((TypeVariable<?>) type).getBounds();
+            return bounds.length > 0 ? rawClass(bounds[0]) : Object.class;
+        } else {
+            return Object.class;
+        }
+    }
+}
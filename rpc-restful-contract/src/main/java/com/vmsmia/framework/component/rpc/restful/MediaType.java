@@ -3,16 +3,16 @@ package com.vmsmia.framework.component.rpc.restful;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
- * 表示一个媒体类型.
+ * 表示一个媒体类型.实例不可变.
  *
  * @author bin.dong
  * @version 0.1 2024/4/16 15:20
@@ -33,16 +33,27 @@ public final class MediaType {
      */
     public static final char PARAM_VALUE_SEPARATOR = '=';
 
-    private String type;
-    private String subType;
-    private List<Map.Entry<String, String>> args;
-
-    private MediaType(String contentType) {
-        parse(contentType);
+    // 响应的媒体类型通常只有少数几种,超过上限说明来源不受控制,清空后重新缓存.
+    private static final int MAX_CACHE_SIZE = 256;
+    // 原始的媒体类型字符串 -> 解析结果.实例不可变,可以共享.
+    private static final ConcurrentMap<String, MediaType> CACHE = new ConcurrentHashMap<>();
+
+    private final String type;
+    private final String subType;
+    private final List<Map.Entry<String, String>> args;
+    // 实例作为解析器缓存的键,预先计算.
+    private final int hash;
+
+    private MediaType(String type, String subType, List<Map.Entry<String, String>> args) {
+        this.type = type;
+        this.subType = subType;
+        this.args = args;
+        this.hash = Objects.hash(type, subType, args);
     }
 
     /**
      * 根据目标 contextType 字符串创建出实际的MediaType实例.
+     * 解析结果按原始字符串缓存,相同的字符串返回同一个实例.
      *
      * @param contentType 目标contextType字符串.
      * @return MediaType实例.
@@ -52,7 +63,16 @@ public final class MediaType {
             return MediaTypes.DEFAULT_MEDIA_TYPE;
         }
 
-        return new MediaType(contentType);
+        MediaType mediaType = CACHE.get(contentType);
+        if (mediaType == null) {
+            // 无效的字符串在解析时抛出异常,不会被缓存.
+            mediaType = parse(contentType);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.putIfAbsent(contentType, mediaType);
+        }
+        return mediaType;
     }
 
     public String getType() {
@@ -64,7 +84,7 @@ public final class MediaType {
     }
 
     public List<Map.Entry<String, String>> getArgs() {
-        return Collections.unmodifiableList(this.args);
+        return this.args;
     }
 
     /**
@@ -93,6 +113,14 @@ public final class MediaType {
             || "text".equals(this.getType()) && "xml".equals(this.getSubType());
     }
 
+    public boolean isSmile() {
+        return "application".equals(this.getType()) && "x-jackson-smile".equals(this.getSubType());
+    }
+
+    public boolean isCbor() {
+        return "application".equals(this.getType()) && "cbor".equals(this.getSubType());
+    }
+
     public boolean isBinary() {
         return !isJson() && !isText() && !isXml();
     }
@@ -106,13 +134,13 @@ public final class MediaType {
             return false;
         }
         MediaType mediaType = (MediaType) o;
-        return Objects.equals(type, mediaType.type) && Objects.equals(subType, mediaType.subType)
-            && Objects.equals(args, mediaType.args);
+        return hash == mediaType.hash && Objects.equals(type, mediaType.type)
+            && Objects.equals(subType, mediaType.subType) && Objects.equals(args, mediaType.args);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(type, subType, args);
+        return hash;
     }
 
     @Override
@@ -131,79 +159,69 @@ public final class MediaType {
         return buff.toString();
     }
 
-    // 目标为 application/json; charset=UTF-8; profile="user"; 这样的字符串.
-    private void parse(String mediaType) {
-        List<String> segment = new LinkedList<>();
-        StringBuilder buff = new StringBuilder();
-        // 先按";"分割段
-        for (int i = 0; i < mediaType.length(); i++) {
-            char c = mediaType.charAt(i);
-            if (c == PARAM_SEPARATOR) {
-                segment.add(buff.toString().trim());
-                buff.setLength(0);
-            } else {
-                buff.append(c);
-            }
-        }
-        if (buff.length() > 0) {
-            segment.add(buff.toString());
-            buff.setLength(0);
-        }
-
-        final int leftValue = 0; // 解析的左值
-        final int rightValue = 1; // 解析的右值.
-        final int typeIndex = 0;
-        // type/subtype
-        String[] typeSplitResult = split(segment.get(typeIndex), TYPE_SEPARATOR);
-        type = typeSplitResult[leftValue];
-        subType = typeSplitResult[rightValue];
-
+    /*
+    目标为 application/json; charset=UTF-8; profile="user"; 这样的字符串.
+    一次遍历,直接按分隔符的位置截取类型,子类型和参数,各部分去除前后的空白.空的参数段被忽略.
+     */
+    static MediaType parse(String mediaType) {
+        final int length = mediaType.length();
+        int segmentEnd = segmentEnd(mediaType, 0);
+        int typeSeparator = mediaType.indexOf(TYPE_SEPARATOR);
         // 无法解析出有效的类型和子类型.
-        if (type == null || type.isEmpty() || subType == null || subType.isEmpty()) {
-            throw new IllegalArgumentException(String.format("Invalid mediaType string %s.", mediaType));
+        if (typeSeparator < 0 || typeSeparator > segmentEnd) {
+            throw invalid(mediaType);
+        }
+        String type = trim(mediaType, 0, typeSeparator);
+        String subType = trim(mediaType, typeSeparator + 1, segmentEnd);
+        if (type.isEmpty() || subType.isEmpty() || subType.indexOf(TYPE_SEPARATOR) >= 0) {
+            throw invalid(mediaType);
         }
-
-        segment.remove(typeIndex);
 
         // args
-        if (segment.isEmpty()) {
-            this.args = Collections.emptyList();
-        } else {
-            this.args = new ArrayList<>(segment.size());
+        List<Map.Entry<String, String>> args = null;
+        for (int start = segmentEnd + 1; start < length; start = segmentEnd + 1) {
+            segmentEnd = segmentEnd(mediaType, start);
             // 参数必须是以=号左右分割的.
-            final int argSplitStringSize = 2;
-            segment.forEach(a -> {
-                String[] argSplitResult = split(a, PARAM_VALUE_SEPARATOR);
-
-                if (argSplitResult.length != argSplitStringSize) {
-                    throw new IllegalArgumentException(String.format("Invalid mediaType string %s.", mediaType));
+            int valueSeparator = mediaType.indexOf(PARAM_VALUE_SEPARATOR, start);
+            if (valueSeparator < 0 || valueSeparator > segmentEnd) {
+                if (trim(mediaType, start, segmentEnd).isEmpty()) {
+                    continue;
                 }
+                throw invalid(mediaType);
+            }
+            String key = trim(mediaType, start, valueSeparator);
+            if (key.isEmpty()) {
+                throw invalid(mediaType);
+            }
+            if (args == null) {
+                args = new ArrayList<>(2);
+            }
+            args.add(new AbstractMap.SimpleImmutableEntry<>(key, trim(mediaType, valueSeparator + 1, segmentEnd)));
+        }
 
-                this.args.add(
-                    // 注意这里的key可能在开头有参数分分隔的空格,需要去除.为了最大宽容这里也将值进行上前后空格去除.
-                    new AbstractMap.SimpleEntry<>(argSplitResult[leftValue].trim(), argSplitResult[rightValue].trim()));
-            });
+        if (args == null) {
+            return new MediaType(type, subType, Collections.emptyList());
         }
+        return new MediaType(type, subType, Collections.unmodifiableList(args));
     }
 
-    private String[] split(String context, char separator) {
-        // 返回最大长度.
-        final int len = 2;
-        final int leftValue = 0; // 解析的左值
-        final int rightValue = 1; // 解析的右值.
-        String[] results = new String[len];
-        StringBuilder buff = new StringBuilder();
-        for (int i = 0; i < context.length(); i++) {
-            char c = context.charAt(i);
-            if (c == separator) {
-                results[leftValue] = buff.toString();
-                buff.setLength(0);
-            } else {
-                buff.append(c);
-            }
+    // 从start开始的段的结束位置(不包含).
+    private static int segmentEnd(String mediaType, int start) {
+        int end = mediaType.indexOf(PARAM_SEPARATOR, start);
+        return end < 0 ? mediaType.length() : end;
+    }
+
+    private static String trim(String value, int start, int end) {
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
         }
+        return value.substring(start, end);
+    }
 
-        results[rightValue] = buff.toString();
-        return results;
+    private static IllegalArgumentException invalid(String mediaType) {
+        return new IllegalArgumentException(String.format("Invalid mediaType string %s.", mediaType));
     }
 }
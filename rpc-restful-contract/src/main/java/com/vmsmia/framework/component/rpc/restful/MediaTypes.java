@@ -1,12 +1,8 @@
 package com.vmsmia.framework.component.rpc.restful;
 
 import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
-import com.vmsmia.framework.component.rpc.restful.serializer.PrimitiveDeserializer;
-import com.vmsmia.framework.component.rpc.restful.serializer.bytes.PlainBytesDeserializer;
-import com.vmsmia.framework.component.rpc.restful.serializer.string.PlainStringDeserializer;
-import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.DeserializerResolver;
 import java.util.Optional;
-import java.util.regex.Pattern;
 
 /**
  * 媒体类型的工具.
@@ -22,52 +18,36 @@ public final class MediaTypes {
      */
     public static final MediaType DEFAULT_MEDIA_TYPE = MediaType.create("text/plain; charset=UTF-8");
 
+    /**
+     * Smile 二进制 JSON 的媒体类型.
+     */
+    public static final String SMILE = "application/x-jackson-smile";
+
+    /**
+     * CBOR 二进制 JSON 的媒体类型.
+     */
+    public static final String CBOR = "application/cbor";
+
     private MediaTypes() {
     }
 
     /**
-     * 获取智能选择的响应解析器.
+     * 构造优先接受指定媒体类型的 Accept 头,服务端不支持时回退到 JSON .
+     *
+     * @param preferred 优先的媒体类型,例如 {@link #SMILE}.
+     * @return Accept 头的值.
+     */
+    public static String accept(String preferred) {
+        return preferred + ", application/json;q=0.9, */*;q=0.1";
+    }
+
+    /**
+     * 获取智能选择的响应解析器.由 {@link DeserializerResolver} 选择,结果被缓存.
      *
      * @param mediaType 媒体类型.
      * @return 响应解析器.
      */
     public static Optional<BytesDeserializer> getSmartDeserializer(MediaType mediaType, Class<?> returnType) {
-        if (mediaType.isJson()) {
-
-            if (returnType == String.class) {
-                return Optional.ofNullable(PlainStringDeserializer.getInstance());
-            } else if (returnType == byte[].class) {
-                // 原始字节返回.
-                return Optional.ofNullable(PlainBytesDeserializer.getInstance());
-            } else {
-                return Optional.ofNullable(JsonDeserializer.getInstance());
-            }
-
-        } else if (mediaType.isText()) {
-
-            if (returnType == String.class) {
-                return Optional.ofNullable(PlainStringDeserializer.getInstance());
-            } else if (returnType == byte[].class) {
-                return Optional.ofNullable(PlainBytesDeserializer.getInstance());
-            } else if (Primitives.isPrimitiveOrWrapper(returnType)) {
-                return Optional.ofNullable(PrimitiveDeserializer.getInstance());
-            } else {
-                return Optional.empty();
-            }
-
-        } else if (mediaType.isXml()) {
-
-            return Optional.ofNullable(PlainStringDeserializer.getInstance());
-
-        } else if (mediaType.isBinary()) {
-            if (returnType == byte[].class) {
-                return Optional.ofNullable(PlainBytesDeserializer.getInstance());
-            } else {
-                return Optional.empty();
-            }
-        } else {
-            return Optional.empty();
-        }
+        return DeserializerResolver.getInstance().resolve(mediaType, returnType);
     }
 }
-
@@ -0,0 +1,23 @@
+package com.vmsmia.framework.component.rpc.restful.annotation.parameter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 响应体写入的目标文件.
+ *
+ * <p>
+ * 只能标注在 {@link java.nio.file.Path} 类型的参数上,方法的返回值是 Path, FileChannel 或者 MappedByteBuffer 时有效.
+ * 响应以流的方式写入目标文件,已经存在的文件被覆盖.没有标注时写入临时文件.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 03:40
+ * @since 1.8
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface DownloadTo {
+}
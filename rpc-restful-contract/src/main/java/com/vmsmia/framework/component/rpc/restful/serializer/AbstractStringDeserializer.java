@@ -1,5 +1,8 @@
 package com.vmsmia.framework.component.rpc.restful.serializer;
 
+import com.vmsmia.framework.component.rpc.restful.GenericTypes;
+import java.io.IOException;
+import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -17,8 +20,28 @@ public abstract class AbstractStringDeserializer implements BytesDeserializer {
         return doDeserialize(data, expectType, charset);
     }
 
+    @Override
+    public <T> T deserialize(byte[] data, Type expectType, Object... attachments) {
+        Charset charset = getCharset(attachments);
+        return doDeserialize(data, expectType, charset);
+    }
+
+    /**
+     * 读取全部字节后解码,编码直接从选项中得到.
+     */
+    @Override
+    public <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions options) throws IOException {
+        return doDeserialize(source.readAll(), type.getType(), options.getCharset());
+    }
+
     protected abstract <T> T doDeserialize(byte[] data, Class<T> expectType, Charset charset);
 
+    // 默认擦除为原始类型,支持泛型的子类覆盖.
+    @SuppressWarnings("unchecked")
+    protected <T> T doDeserialize(byte[] data, Type expectType, Charset charset) {
+        return (T) doDeserialize(data, GenericTypes.rawClass(expectType), charset);
+    }
+
     private Charset getCharset(Object... attachments) {
         if (attachments != null) {
             for (Object attachment : attachments) {
@@ -0,0 +1,84 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+/**
+ * 序列化输出使用的缓冲区域.
+ *
+ * <p>
+ * 缓冲由固定大小的段组成,每个线程持有一组空闲的段,{@link PooledBuffer} 从所在线程取得段,
+ * 释放时段回到释放线程的空闲段中.每个线程最多保留 {@link #MAX_RETAINED_SEGMENTS} 个空闲段,
+ * 超过的段交给垃圾回收,单个很大的请求体不会让内存被长期占用.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 03:10
+ * @since 1.8
+ */
+public final class BufferArena {
+
+    /**
+     * 每个段的字节数.
+     */
+    public static final int SEGMENT_SIZE = 8 * 1024;
+
+    /**
+     * 每个线程最多保留的空闲段数量.
+     */
+    public static final int MAX_RETAINED_SEGMENTS = 32;
+
+    private static final ThreadLocal<ArrayDeque<byte[]>> FREE_SEGMENTS =
+        ThreadLocal.withInitial(() -> new ArrayDeque<>(MAX_RETAINED_SEGMENTS));
+
+    private BufferArena() {
+    }
+
+    /**
+     * 分配新的缓冲.使用完成后需要调用 {@link PooledBuffer#release()} 归还.
+     *
+     * @return 空的缓冲.
+     */
+    public static PooledBuffer allocate() {
+        return new PooledBuffer();
+    }
+
+    /**
+     * 立即把请求体写入新的缓冲.写出失败时缓冲被释放,异常转换为 {@link SerializationException} .
+     *
+     * @param body 请求体.
+     * @return 写入了请求体的缓冲.
+     */
+    public static PooledBuffer buffer(StreamingBody body) {
+        PooledBuffer buffer = allocate();
+        try {
+            body.writeTo(buffer);
+            return buffer;
+        } catch (IOException ex) {
+            buffer.release();
+            throw new SerializationException(ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            buffer.release();
+            throw ex;
+        }
+    }
+
+    // 取得一个段,没有空闲的段时新建.
+    static byte[] acquire() {
+        byte[] segment = FREE_SEGMENTS.get().pollFirst();
+        return segment != null ? segment : new byte[SEGMENT_SIZE];
+    }
+
+    // 归还段.最近归还的段最先被再次使用.
+    static void recycle(byte[] segment) {
+        ArrayDeque<byte[]> segments = FREE_SEGMENTS.get();
+        if (segments.size() < MAX_RETAINED_SEGMENTS) {
+            segments.addFirst(segment);
+        }
+    }
+
+    // 当前线程空闲的段数量.
+    static int freeSegments() {
+        return FREE_SEGMENTS.get().size();
+    }
+}
@@ -1,10 +1,19 @@
 package com.vmsmia.framework.component.rpc.restful.serializer;
 
+import java.io.IOException;
+
 /**
  * @author bin.dong
  * @version 0.1 2024/4/15 11:23
  * @since 1.8
  */
-public interface BytesDeserializer extends Deserializer<byte[]> {
-}
+public interface BytesDeserializer extends Deserializer<byte[]>, StreamingDeserializer {
 
+    /**
+     * 默认读取全部字节后按字节数组解码,编码作为附件传递.
+     */
+    @Override
+    default <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions options) throws IOException {
+        return deserialize(source.readAll(), type.getType(), options.getCharset());
+    }
+}
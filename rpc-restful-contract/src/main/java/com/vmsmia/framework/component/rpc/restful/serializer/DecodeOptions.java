@@ -0,0 +1,123 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 解码选项.
+ *
+ * <p>
+ * 不可变,替代反序列化时通过可变参数传递的附件.默认的选项以 UTF-8 解码文本,响应写入文件时使用临时文件.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+public final class DecodeOptions {
+
+    /**
+     * 媒体类型中表示编码的参数名称.
+     */
+    public static final String CHARSET_ARG_NAME = "charset";
+
+    /**
+     * 默认的选项.
+     */
+    public static final DecodeOptions DEFAULT = new DecodeOptions(StandardCharsets.UTF_8, null);
+
+    private final Charset charset;
+    private final Path target;
+
+    private DecodeOptions(Charset charset, Path target) {
+        this.charset = charset;
+        this.target = target;
+    }
+
+    /**
+     * 根据媒体类型的 charset 参数构造选项.没有参数,或者编码无法识别时使用默认的选项.
+     *
+     * @param mediaType 媒体类型.
+     * @return 解码选项.
+     */
+    public static DecodeOptions of(MediaType mediaType) {
+        Optional<String> charsetName = mediaType.getArg(CHARSET_ARG_NAME);
+        if (!charsetName.isPresent()) {
+            return DEFAULT;
+        }
+
+        Charset charset;
+        try {
+            charset = Charset.forName(unquote(charsetName.get()));
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+            return DEFAULT;
+        }
+        return Builder.anBuilder().withCharset(charset).build();
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * 响应写入的目标文件.
+     *
+     * @return 目标文件,没有指定时为空.
+     */
+    public Optional<Path> getTarget() {
+        return Optional.ofNullable(target);
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeOptions{charset=" + charset + ", target=" + target + '}';
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * 构造器.
+     */
+    public static final class Builder {
+        private Charset charset = StandardCharsets.UTF_8;
+        private Path target;
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        public Builder withCharset(Charset charset) {
+            this.charset = Objects.requireNonNull(charset);
+            return this;
+        }
+
+        public Builder withTarget(Path target) {
+            this.target = target;
+            return this;
+        }
+
+        /**
+         * 构造选项,和默认选项相同时返回 {@link #DEFAULT} .
+         */
+        public DecodeOptions build() {
+            if (StandardCharsets.UTF_8.equals(charset) && target == null) {
+                return DEFAULT;
+            }
+            return new DecodeOptions(charset, target);
+        }
+    }
+}
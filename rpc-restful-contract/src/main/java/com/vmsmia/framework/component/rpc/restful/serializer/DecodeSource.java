@@ -0,0 +1,36 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 反序列化的来源数据.
+ *
+ * <p>
+ * 同一个来源只能读取一次,{@link #openStream()} 和 {@link #readAll()} 只应该调用其中一个.
+ * 来源的生命周期由创建者管理,反序列化器不关闭来源.
+ * 常用的来源由 {@link DecodeSources} 创建.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+public interface DecodeSource {
+
+    /**
+     * 以流的方式读取.
+     *
+     * @return 输入流.
+     * @throws IOException 读取失败.
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * 读取全部的字节.来源本身是完整的字节数组时直接返回,不复制.
+     *
+     * @return 全部的字节.
+     * @throws IOException 读取失败.
+     */
+    byte[] readAll() throws IOException;
+}
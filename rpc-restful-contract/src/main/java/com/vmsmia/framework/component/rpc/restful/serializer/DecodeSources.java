@@ -0,0 +1,180 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * 常用的 {@link DecodeSource} 实现.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+public final class DecodeSources {
+
+    private static final int READ_BUFFER_SIZE = 4096;
+
+    private DecodeSources() {
+    }
+
+    /**
+     * 以字节数组作为来源.
+     *
+     * @param data 来源数据.
+     * @return 来源.
+     */
+    public static DecodeSource of(byte[] data) {
+        return new BytesSource(Objects.requireNonNull(data));
+    }
+
+    /**
+     * 以输入流作为来源,流不会被关闭.
+     *
+     * @param in 输入流.
+     * @return 来源.
+     */
+    public static DecodeSource of(InputStream in) {
+        return new StreamSource(Objects.requireNonNull(in));
+    }
+
+    /**
+     * 以 ByteBuffer 从 position 到 limit 之间的数据作为来源,读取不会改变 ByteBuffer 的位置.
+     *
+     * @param buffer 来源数据.
+     * @return 来源.
+     */
+    public static DecodeSource of(ByteBuffer buffer) {
+        return new ByteBufferSource(Objects.requireNonNull(buffer));
+    }
+
+    /**
+     * 读取流中全部的字节.
+     *
+     * @param in 输入流.
+     * @return 全部的字节.
+     * @throws IOException 读取失败.
+     */
+    public static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(READ_BUFFER_SIZE);
+        byte[] buff = new byte[READ_BUFFER_SIZE];
+        int len;
+        while ((len = in.read(buff)) != -1) {
+            out.write(buff, 0, len);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class BytesSource implements DecodeSource {
+
+        private final byte[] data;
+
+        private BytesSource(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public byte[] readAll() {
+            return data;
+        }
+    }
+
+    private static final class StreamSource implements DecodeSource {
+
+        private final InputStream in;
+
+        private StreamSource(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return in;
+        }
+
+        @Override
+        public byte[] readAll() throws IOException {
+            return DecodeSources.readAll(in);
+        }
+    }
+
+    private static final class ByteBufferSource implements DecodeSource {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferSource(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public InputStream openStream() {
+            if (buffer.hasArray()) {
+                return new ByteArrayInputStream(
+                    buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            return new ByteBufferInputStream(buffer.duplicate());
+        }
+
+        @Override
+        public byte[] readAll() {
+            // 底层数组恰好是全部的数据时直接返回.
+            if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.remaining() == buffer.array().length) {
+                return buffer.array();
+            }
+            byte[] data = new byte[buffer.remaining()];
+            buffer.duplicate().get(data);
+            return data;
+        }
+    }
+
+    /**
+     * 读取 ByteBuffer 的输入流,用于直接内存等没有底层数组的 ByteBuffer .
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+    }
+}
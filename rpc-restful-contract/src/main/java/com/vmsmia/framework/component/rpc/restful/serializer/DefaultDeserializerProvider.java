@@ -0,0 +1,78 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+import com.vmsmia.framework.component.rpc.restful.Primitives;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.CborBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.FileDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.PlainBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.PlainStringDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonDeserializer;
+
+/**
+ * 内置的响应解析器选择规则,总是在所有注册的提供者之后被询问.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 01:00
+ * @since 1.8
+ */
+final class DefaultDeserializerProvider implements DeserializerProvider {
+
+    static final DefaultDeserializerProvider INSTANCE = new DefaultDeserializerProvider();
+
+    private DefaultDeserializerProvider() {
+    }
+
+    @Override
+    public BytesDeserializer provide(MediaType mediaType, Class<?> returnType) {
+        if (FileDeserializer.isSupported(returnType)) {
+            // 文件类型的返回值和媒体类型无关,原样写入文件.
+            return FileDeserializer.getInstance();
+        } else if (mediaType.isJson()) {
+
+            if (returnType == String.class) {
+                return PlainStringDeserializer.getInstance();
+            } else if (returnType == byte[].class) {
+                // 原始字节返回.
+                return PlainBytesDeserializer.getInstance();
+            } else {
+                return JsonDeserializer.getInstance();
+            }
+
+        } else if (mediaType.isText()) {
+
+            if (returnType == String.class) {
+                return PlainStringDeserializer.getInstance();
+            } else if (returnType == byte[].class) {
+                return PlainBytesDeserializer.getInstance();
+            } else if (Primitives.isPrimitiveOrWrapper(returnType)) {
+                return PrimitiveDeserializer.getInstance();
+            } else {
+                return null;
+            }
+
+        } else if (mediaType.isXml()) {
+
+            return PlainStringDeserializer.getInstance();
+
+        } else if (mediaType.isSmile() || mediaType.isCbor()) {
+
+            if (returnType == byte[].class) {
+                return PlainBytesDeserializer.getInstance();
+            } else if (mediaType.isSmile()) {
+                return SmileBytesDeserializer.getInstance();
+            } else {
+                return CborBytesDeserializer.getInstance();
+            }
+
+        } else if (mediaType.isBinary()) {
+            if (returnType == byte[].class) {
+                return PlainBytesDeserializer.getInstance();
+            } else {
+                return null;
+            }
+        } else {
+            return null;
+        }
+    }
+}
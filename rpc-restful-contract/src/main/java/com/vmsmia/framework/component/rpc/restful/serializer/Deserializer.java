@@ -1,5 +1,8 @@
 package com.vmsmia.framework.component.rpc.restful.serializer;
 
+import com.vmsmia.framework.component.rpc.restful.GenericTypes;
+import java.lang.reflect.Type;
+
 /**
  * 反序列化接口定义.
  *
@@ -11,4 +14,19 @@ public interface Deserializer<S> {
 
     <T> T deserialize(S data, Class<T> expectType, Object... attachments);
 
+    /**
+     * 以完整的泛型类型反序列化,例如 List&lt;Order&gt; .
+     * 默认实现擦除为原始类型,能够利用泛型信息的实现应该覆盖此方法.
+     *
+     * @param data        来源数据.
+     * @param expectType  预期类型.
+     * @param attachments 附件.
+     * @param <T>         预期类型.
+     * @return 反序列化后的对象.
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T deserialize(S data, Type expectType, Object... attachments) {
+        return (T) deserialize(data, GenericTypes.rawClass(expectType), attachments);
+    }
+
 }
@@ -0,0 +1,28 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+
+/**
+ * 响应解析器的提供者.
+ *
+ * <p>
+ * 通过 {@link java.util.ServiceLoader} 注册(META-INF/services/ 下以本接口全限定名命名的文件),
+ * 在内置的规则之前被询问,可以为新的媒体类型或者特定的返回类型提供解析器,不需要修改 MediaTypes .
+ * 同一个媒体类型和返回类型的结果会被缓存,所以结果只能取决于这两个参数.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 01:00
+ * @since 1.8
+ */
+public interface DeserializerProvider {
+
+    /**
+     * 选择响应解析器.
+     *
+     * @param mediaType  响应的媒体类型.
+     * @param returnType 返回值的原始类型.
+     * @return 响应解析器,不支持时为null.
+     */
+    BytesDeserializer provide(MediaType mediaType, Class<?> returnType);
+}
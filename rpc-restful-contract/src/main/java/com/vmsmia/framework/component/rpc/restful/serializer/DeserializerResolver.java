@@ -0,0 +1,93 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按媒体类型和返回类型选择响应解析器.
+ *
+ * <p>
+ * 依次询问通过 {@link ServiceLoader} 注册的 {@link DeserializerProvider} 和内置的规则,第一个非null的结果生效.
+ * 结果按返回类型缓存在 {@link ClassValue} 中,每个返回类型再以媒体类型为键保存一张小表,
+ * 缓存命中时选择只是两次查找,不再重复比较媒体类型字符串,也不再构造 Optional .
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 01:00
+ * @since 1.8
+ */
+public final class DeserializerResolver {
+
+    // 一个返回类型通常只会遇到少数几种媒体类型,超过上限说明来源不受控制,清空后重新缓存.
+    private static final int MAX_MEDIA_TYPES_PER_CLASS = 32;
+
+    private static final DeserializerResolver INSTANCE = new DeserializerResolver(loadProviders());
+
+    public static DeserializerResolver getInstance() {
+        return INSTANCE;
+    }
+
+    private final List<DeserializerProvider> providers;
+    private final ClassValue<ConcurrentMap<MediaType, Optional<BytesDeserializer>>> cache =
+        new ClassValue<ConcurrentMap<MediaType, Optional<BytesDeserializer>>>() {
+            @Override
+            protected ConcurrentMap<MediaType, Optional<BytesDeserializer>> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+
+    /**
+     * 构造解析器选择器,内置规则总是最后被询问.
+     *
+     * @param providers 注册的提供者,按顺序询问.
+     */
+    DeserializerResolver(List<DeserializerProvider> providers) {
+        List<DeserializerProvider> list = new ArrayList<>(providers);
+        list.add(DefaultDeserializerProvider.INSTANCE);
+        this.providers = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * 选择响应解析器.
+     *
+     * @param mediaType  响应的媒体类型.
+     * @param returnType 返回值的原始类型.
+     * @return 响应解析器.
+     */
+    public Optional<BytesDeserializer> resolve(MediaType mediaType, Class<?> returnType) {
+        ConcurrentMap<MediaType, Optional<BytesDeserializer>> table = cache.get(returnType);
+        Optional<BytesDeserializer> deserializer = table.get(mediaType);
+        if (deserializer == null) {
+            deserializer = Optional.ofNullable(doResolve(mediaType, returnType));
+            if (table.size() >= MAX_MEDIA_TYPES_PER_CLASS) {
+                table.clear();
+            }
+            table.putIfAbsent(mediaType, deserializer);
+        }
+        return deserializer;
+    }
+
+    private BytesDeserializer doResolve(MediaType mediaType, Class<?> returnType) {
+        for (DeserializerProvider provider : providers) {
+            BytesDeserializer deserializer = provider.provide(mediaType, returnType);
+            if (deserializer != null) {
+                return deserializer;
+            }
+        }
+        return null;
+    }
+
+    private static List<DeserializerProvider> loadProviders() {
+        List<DeserializerProvider> providers = new ArrayList<>();
+        for (DeserializerProvider provider : ServiceLoader.load(DeserializerProvider.class)) {
+            providers.add(provider);
+        }
+        return providers;
+    }
+}
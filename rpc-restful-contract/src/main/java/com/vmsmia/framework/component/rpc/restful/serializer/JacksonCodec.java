@@ -0,0 +1,262 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.vmsmia.framework.component.rpc.restful.GenericTypes;
+import com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodec;
+import com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodecs;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 基于 Jackson 的编解码器,JSON 和二进制 JSON(Smile, CBOR)共用.
+ *
+ * <p>
+ * 按类型缓存预先构造的 ObjectReader 和 ObjectWriter ,每次调用不再解析类型和查找根类型的序列化器.
+ * 类型可以是带有泛型信息的 {@link Type} ,例如生成的客户端为每个方法返回值捕获的 List&lt;Order&gt; ,
+ * 这样结果直接构造为目标类型,而不是先反序列化为 LinkedHashMap 再转换.
+ * </p>
+ * <p>
+ * 类型在 {@link JsonCodecs} 中注册了编译时生成的编解码器时,直接以流的方式读写,不经过 databind.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+public final class JacksonCodec {
+
+    // 类型来自生成代码中的常量,数量有限.超过上限说明类型是动态构造的,清空后重新构造.
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JacksonCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * 构造类型对应的JavaType.
+     *
+     * @param type 目标类型.
+     * @return JavaType.
+     */
+    public JavaType javaType(Type type) {
+        return mapper.getTypeFactory().constructType(type);
+    }
+
+    /**
+     * 获取类型对应的ObjectReader,结果被缓存.
+     *
+     * @param type 目标类型.
+     * @return ObjectReader.
+     */
+    public ObjectReader reader(Type type) {
+        ObjectReader reader = readers.get(type);
+        if (reader == null) {
+            if (readers.size() >= MAX_CACHE_SIZE) {
+                readers.clear();
+            }
+            reader = readers.computeIfAbsent(type, t -> mapper.readerFor(javaType(t)));
+        }
+        return reader;
+    }
+
+    /**
+     * 获取类型对应的ObjectWriter,结果被缓存.
+     *
+     * @param type 目标类型.
+     * @return ObjectWriter.
+     */
+    public ObjectWriter writer(Type type) {
+        ObjectWriter writer = writers.get(type);
+        if (writer == null) {
+            if (writers.size() >= MAX_CACHE_SIZE) {
+                writers.clear();
+            }
+            writer = writers.computeIfAbsent(type, t -> mapper.writerFor(javaType(t)));
+        }
+        return writer;
+    }
+
+    /**
+     * 选择序列化对象使用的ObjectWriter.
+     * 只有对象的实际类型和声明类型的原始类型一致时才使用声明类型,否则子类的属性会按声明类型被忽略.
+     *
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型,可以为null.
+     * @return ObjectWriter.
+     */
+    public ObjectWriter writerFor(Object obj, Type declaredType) {
+        if (obj == null) {
+            return mapper.writer();
+        }
+        if (declaredType == null || GenericTypes.rawClass(declaredType) != obj.getClass()) {
+            return writer(obj.getClass());
+        }
+        return writer(declaredType);
+    }
+
+    /**
+     * 序列化为字节.
+     *
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型,可以为null.
+     * @return 序列化结果.
+     * @throws IOException 序列化失败.
+     */
+    public byte[] writeAsBytes(Object obj, Type declaredType) throws IOException {
+        JsonCodec<Object> codec = obj == null ? null : JsonCodecs.find(obj.getClass());
+        if (codec != null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator gen = mapper.createGenerator(out)) {
+                codec.write(gen, obj);
+            }
+            return out.toByteArray();
+        }
+        return writerFor(obj, declaredType).writeValueAsBytes(obj);
+    }
+
+    /**
+     * 序列化为字符串.只适用于文本格式.
+     *
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型,可以为null.
+     * @return 序列化结果.
+     * @throws IOException 序列化失败.
+     */
+    public String writeAsString(Object obj, Type declaredType) throws IOException {
+        JsonCodec<Object> codec = obj == null ? null : JsonCodecs.find(obj.getClass());
+        if (codec != null) {
+            StringWriter out = new StringWriter();
+            try (JsonGenerator gen = mapper.createGenerator(out)) {
+                codec.write(gen, obj);
+            }
+            return out.toString();
+        }
+        return writerFor(obj, declaredType).writeValueAsString(obj);
+    }
+
+    /**
+     * 序列化并写入目标流,目标流不会被关闭.
+     *
+     * @param out          目标流.
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型,可以为null.
+     * @throws IOException 序列化失败.
+     */
+    public void write(OutputStream out, Object obj, Type declaredType) throws IOException {
+        try (JsonGenerator gen = mapper.createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            JsonCodec<Object> codec = obj == null ? null : JsonCodecs.find(obj.getClass());
+            if (codec != null) {
+                codec.write(gen, obj);
+            } else {
+                writerFor(obj, declaredType).writeValue(gen, obj);
+            }
+        }
+    }
+
+    /**
+     * 从字节反序列化.
+     *
+     * @param data       来源数据.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public <T> T read(byte[] data, Type expectType) throws IOException {
+        JsonCodec<T> codec = JsonCodecs.find(expectType);
+        if (codec != null) {
+            try (JsonParser parser = mapper.createParser(data)) {
+                return read(parser, codec);
+            }
+        }
+        return reader(expectType).readValue(data);
+    }
+
+    /**
+     * 从字符串反序列化.只适用于文本格式.
+     *
+     * @param data       来源数据.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public <T> T read(String data, Type expectType) throws IOException {
+        JsonCodec<T> codec = JsonCodecs.find(expectType);
+        if (codec != null) {
+            try (JsonParser parser = mapper.createParser(data)) {
+                return read(parser, codec);
+            }
+        }
+        return reader(expectType).readValue(data);
+    }
+
+    /**
+     * 从流反序列化.流不会被关闭.
+     *
+     * @param data       来源数据.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public <T> T read(InputStream data, Type expectType) throws IOException {
+        try (JsonParser parser = mapper.createParser(data)) {
+            return readUnclosed(parser, expectType);
+        }
+    }
+
+    /**
+     * 从字符流反序列化.只适用于文本格式,流不会被关闭.
+     *
+     * @param data       来源数据.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public <T> T read(Reader data, Type expectType) throws IOException {
+        try (JsonParser parser = mapper.createParser(data)) {
+            return readUnclosed(parser, expectType);
+        }
+    }
+
+    // 关闭解析器时不关闭来源,来源由调用者管理.
+    private <T> T readUnclosed(JsonParser parser, Type expectType) throws IOException {
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        JsonCodec<T> codec = JsonCodecs.find(expectType);
+        if (codec != null) {
+            return read(parser, codec);
+        }
+        return reader(expectType).readValue(parser);
+    }
+
+    private static <T> T read(JsonParser parser, JsonCodec<T> codec) throws IOException {
+        if (parser.nextToken() == null) {
+            throw MismatchedInputException.from(parser, (Class<?>) null, "No content to map due to end-of-input");
+        }
+        return codec.read(parser);
+    }
+}
@@ -0,0 +1,132 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 由 {@link BufferArena} 的段组成的输出缓冲.
+ *
+ * <p>
+ * 序列化器把结果写入缓冲,缓冲作为请求体时长度已知,请求可能被重试,所以可以被多次写出.
+ * 请求完成后由 HttpClient 调用 {@link #release()} 把段归还给 {@link BufferArena} ,释放后不能再使用.
+ * 关闭缓冲不会释放,序列化库在结束时关闭目标流不影响缓冲的内容.
+ * 缓冲不是线程安全的.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 03:10
+ * @since 1.8
+ */
+public final class PooledBuffer extends OutputStream implements StreamingBody {
+
+    private final List<byte[]> segments = new ArrayList<>(2);
+    // 最后一个段中已经写入的字节数.
+    private int position = BufferArena.SEGMENT_SIZE;
+    private long size;
+    private boolean released;
+
+    PooledBuffer() {
+    }
+
+    /**
+     * 已经写入的字节数.
+     *
+     * @return 字节数.
+     */
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void write(int b) {
+        writableSegment()[position++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            byte[] segment = writableSegment();
+            int n = Math.min(len, segment.length - position);
+            System.arraycopy(b, off, segment, position, n);
+            position += n;
+            size += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * 写出全部的内容,可以多次调用.
+     *
+     * @param out 目标输出流,不会被关闭.
+     * @throws IOException 写出失败.
+     */
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        checkNotReleased();
+        int last = segments.size() - 1;
+        for (int i = 0; i < last; i++) {
+            out.write(segments.get(i), 0, BufferArena.SEGMENT_SIZE);
+        }
+        if (last >= 0) {
+            out.write(segments.get(last), 0, position);
+        }
+    }
+
+    /**
+     * 复制全部的内容.
+     *
+     * @return 内容的副本.
+     */
+    public byte[] toByteArray() {
+        checkNotReleased();
+        byte[] data = new byte[Math.toIntExact(size)];
+        int offset = 0;
+        int last = segments.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            int len = i == last ? position : BufferArena.SEGMENT_SIZE;
+            System.arraycopy(segments.get(i), 0, data, offset, len);
+            offset += len;
+        }
+        return data;
+    }
+
+    /**
+     * 把段归还给 {@link BufferArena} ,重复调用没有效果.
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        for (byte[] segment : segments) {
+            BufferArena.recycle(segment);
+        }
+        segments.clear();
+    }
+
+    public boolean isReleased() {
+        return released;
+    }
+
+    private byte[] writableSegment() {
+        checkNotReleased();
+        if (position == BufferArena.SEGMENT_SIZE) {
+            segments.add(BufferArena.acquire());
+            position = 0;
+        }
+        return segments.get(segments.size() - 1);
+    }
+
+    private void checkNotReleased() {
+        if (released) {
+            throw new IllegalStateException("The buffer has been released.");
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.vmsmia.framework.component.rpc.restful.serializer;
 
 import com.vmsmia.framework.component.rpc.restful.Primitives;
+import java.nio.charset.StandardCharsets;
 
 /**
  * 针对基础类型的解码器.
  *
+ * <p>
+ * 数字和布尔值直接从 ASCII 字节解析,不构造中间的字符串.首尾的空白(空格,制表符,回车,换行)被忽略.
+ * 格式错误或者超出类型的范围时抛出 {@link NumberFormatException} .
+ * 不经过泛型的返回值时可以直接使用 {@link #parseInt(byte[])} 等静态方法得到没有装箱的结果.
+ * </p>
+ *
  * @author bin.dong
  * @version 0.1 2024/4/18 11:31
  * @since 1.8
@@ -13,6 +20,19 @@ public class PrimitiveDeserializer implements BytesDeserializer {
 
     private static final PrimitiveDeserializer INSTANCE = new PrimitiveDeserializer();
 
+    // 尾数和10的幂都能被 double/float 精确表示时,一次除法的结果就是正确舍入的值.
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POWERS_OF_TEN = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    private static final long NOT_SIMPLE_DECIMAL = -1;
+    private static final int SCALE_SHIFT = 56;
+
     public static PrimitiveDeserializer getInstance() {
         return INSTANCE;
     }
@@ -26,25 +46,24 @@ public class PrimitiveDeserializer implements BytesDeserializer {
             throw new IllegalArgumentException("Unsupported type for this deserializer");
         }
 
-        String dataStr = new String(data);
         Object value = null;
 
         if (expectType == Integer.class || expectType == int.class) {
-            value = Integer.parseInt(dataStr);
+            value = parseInt(data);
         } else if (expectType == Long.class || expectType == long.class) {
-            value = Long.parseLong(dataStr);
+            value = parseLong(data);
         } else if (expectType == Byte.class || expectType == byte.class) {
-            value = Byte.parseByte(dataStr);
+            value = parseByte(data);
         } else if (expectType == Short.class || expectType == short.class) {
-            value = Short.parseShort(dataStr);
+            value = parseShort(data);
         } else if (expectType == Character.class || expectType == char.class) {
-            value = dataStr.charAt(0);
+            value = parseChar(data);
         } else if (expectType == Boolean.class || expectType == boolean.class) {
-            value = Boolean.parseBoolean(dataStr);
+            value = parseBoolean(data);
         } else if (expectType == Double.class || expectType == double.class) {
-            value = Double.parseDouble(dataStr);
+            value = parseDouble(data);
         } else if (expectType == Float.class || expectType == float.class) {
-            value = Float.parseFloat(dataStr);
+            value = parseFloat(data);
         } else {
             throw new SerializationException("Unrecognized primitive type: " + expectType);
         }
@@ -54,4 +73,256 @@ public class PrimitiveDeserializer implements BytesDeserializer {
 
         return castedValue;
     }
+
+    /**
+     * 解析十进制的 long ,可以有正负号.
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误或者超出范围.
+     */
+    public static long parseLong(byte[] data) {
+        return parseLong(data, 0, data.length);
+    }
+
+    /**
+     * 解析字节数组中指定范围内的十进制 long ,可以有正负号.
+     *
+     * @param data   来源数据.
+     * @param offset 开始位置.
+     * @param length 长度.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误或者超出范围.
+     */
+    public static long parseLong(byte[] data, int offset, int length) {
+        int start = skipLeadingWhitespace(data, offset, offset + length);
+        int end = skipTrailingWhitespace(data, start, offset + length);
+        if (start == end) {
+            throw numberFormatException(data, offset, length);
+        }
+
+        // 和 Long.parseLong 相同,以负数累加,这样 Long.MIN_VALUE 不会溢出.
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+        byte first = data[start];
+        if (first == '-') {
+            negative = true;
+            limit = Long.MIN_VALUE;
+            start++;
+        } else if (first == '+') {
+            start++;
+        }
+        if (start == end) {
+            throw numberFormatException(data, offset, length);
+        }
+
+        long multmin = limit / 10;
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = data[i] - '0';
+            if (digit < 0 || digit > 9 || result < multmin) {
+                throw numberFormatException(data, offset, length);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(data, offset, length);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * 解析十进制的 int ,可以有正负号.
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误或者超出范围.
+     */
+    public static int parseInt(byte[] data) {
+        return (int) parseInRange(data, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 解析十进制的 short ,可以有正负号.
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误或者超出范围.
+     */
+    public static short parseShort(byte[] data) {
+        return (short) parseInRange(data, Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    /**
+     * 解析十进制的 byte ,可以有正负号.
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误或者超出范围.
+     */
+    public static byte parseByte(byte[] data) {
+        return (byte) parseInRange(data, Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    /**
+     * 解析布尔值.和 {@link Boolean#parseBoolean(String)} 相同,只有忽略大小写的 true 为真.
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     */
+    public static boolean parseBoolean(byte[] data) {
+        int start = skipLeadingWhitespace(data, 0, data.length);
+        int end = skipTrailingWhitespace(data, start, data.length);
+        return end - start == 4
+            && (data[start] | 0x20) == 't'
+            && (data[start + 1] | 0x20) == 'r'
+            && (data[start + 2] | 0x20) == 'u'
+            && (data[start + 3] | 0x20) == 'e';
+    }
+
+    /**
+     * 解析第一个字符.非 ASCII 字符按 UTF-8 解码.
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 没有数据.
+     */
+    public static char parseChar(byte[] data) {
+        if (data.length == 0) {
+            throw numberFormatException(data, 0, 0);
+        }
+        if (data[0] >= 0) {
+            return (char) data[0];
+        }
+        return new String(data, StandardCharsets.UTF_8).charAt(0);
+    }
+
+    /**
+     * 解析 double .整数和小数部分合计不超过15位且没有指数时直接计算,其他形式交给 {@link Double#parseDouble(String)} .
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误.
+     */
+    public static double parseDouble(byte[] data) {
+        int start = skipLeadingWhitespace(data, 0, data.length);
+        int end = skipTrailingWhitespace(data, start, data.length);
+        long decimal = parseSimpleDecimal(data, start, end, MAX_EXACT_DOUBLE_MANTISSA, DOUBLE_POWERS_OF_TEN.length);
+        if (decimal != NOT_SIMPLE_DECIMAL) {
+            double value = (double) mantissa(decimal) / DOUBLE_POWERS_OF_TEN[scale(decimal)];
+            return isNegative(data, start) ? -value : value;
+        }
+        return Double.parseDouble(toAsciiString(data, start, end - start));
+    }
+
+    /**
+     * 解析 float .整数和小数部分合计不超过7位且没有指数时直接计算,其他形式交给 {@link Float#parseFloat(String)} .
+     *
+     * @param data 来源数据.
+     * @return 解析结果.
+     * @throws NumberFormatException 格式错误.
+     */
+    public static float parseFloat(byte[] data) {
+        int start = skipLeadingWhitespace(data, 0, data.length);
+        int end = skipTrailingWhitespace(data, start, data.length);
+        long decimal = parseSimpleDecimal(data, start, end, MAX_EXACT_FLOAT_MANTISSA, FLOAT_POWERS_OF_TEN.length);
+        if (decimal != NOT_SIMPLE_DECIMAL) {
+            float value = (float) mantissa(decimal) / FLOAT_POWERS_OF_TEN[scale(decimal)];
+            return isNegative(data, start) ? -value : value;
+        }
+        return Float.parseFloat(toAsciiString(data, start, end - start));
+    }
+
+    // 解析并检查范围.
+    private static long parseInRange(byte[] data, long min, long max) {
+        long value = parseLong(data, 0, data.length);
+        if (value < min || value > max) {
+            throw new NumberFormatException(
+                String.format("Value out of range. Value:\"%s\"", toAsciiString(data, 0, data.length)));
+        }
+        return value;
+    }
+
+    /*
+    简单的小数是 [+-]digits[.digits] 的形式,并且去掉小数点后的尾数不超过 maxMantissa ,小数位数小于 maxScale .
+    结果的高位是小数位数,低56位是尾数.不是简单的小数时返回 NOT_SIMPLE_DECIMAL .
+     */
+    private static long parseSimpleDecimal(byte[] data, int start, int end, long maxMantissa, int maxScale) {
+        int i = start;
+        if (i < end && (data[i] == '-' || data[i] == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            byte b = data[i];
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9) {
+                return NOT_SIMPLE_DECIMAL;
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (mantissa > maxMantissa) {
+                return NOT_SIMPLE_DECIMAL;
+            }
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0 || scale == 0) {
+            // 没有数字,或者以小数点结尾,交给JDK判断.
+            return NOT_SIMPLE_DECIMAL;
+        }
+        if (scale < 0) {
+            scale = 0;
+        } else if (scale >= maxScale) {
+            return NOT_SIMPLE_DECIMAL;
+        }
+        return ((long) scale << SCALE_SHIFT) | mantissa;
+    }
+
+    private static long mantissa(long decimal) {
+        return decimal & ((1L << SCALE_SHIFT) - 1);
+    }
+
+    private static int scale(long decimal) {
+        return (int) (decimal >>> SCALE_SHIFT);
+    }
+
+    private static boolean isNegative(byte[] data, int start) {
+        return data[start] == '-';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+    }
+
+    private static int skipLeadingWhitespace(byte[] data, int start, int end) {
+        while (start < end && isWhitespace(data[start])) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipTrailingWhitespace(byte[] data, int start, int end) {
+        while (end > start && isWhitespace(data[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    // 只在出错或者非常规的格式时构造字符串.
+    private static String toAsciiString(byte[] data, int offset, int length) {
+        return new String(data, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private static NumberFormatException numberFormatException(byte[] data, int offset, int length) {
+        return new NumberFormatException("For input string: \"" + toAsciiString(data, offset, length) + "\"");
+    }
 }
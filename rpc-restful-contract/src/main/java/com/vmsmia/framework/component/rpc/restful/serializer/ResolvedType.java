@@ -0,0 +1,95 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import com.vmsmia.framework.component.rpc.restful.GenericTypes;
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 已经解析的预期类型.
+ *
+ * <p>
+ * 保存完整的泛型类型和预先计算的原始类型,解码时不需要重复擦除.
+ * 实例按类型缓存,生成的客户端中的类型常量每次得到同一个实例.
+ * </p>
+ *
+ * @param <T> 预期类型.
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+public final class ResolvedType<T> {
+
+    // 类型来自生成代码中的常量,数量有限.超过上限说明类型是动态构造的,清空后重新构造.
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final ConcurrentMap<Type, ResolvedType<?>> CACHE = new ConcurrentHashMap<>();
+
+    private final Type type;
+    private final Class<T> rawClass;
+
+    private ResolvedType(Type type, Class<T> rawClass) {
+        this.type = type;
+        this.rawClass = rawClass;
+    }
+
+    /**
+     * 得到类型对应的实例.
+     *
+     * @param type 目标类型.
+     * @param <T>  预期类型.
+     * @return 实例.
+     */
+    public static <T> ResolvedType<T> of(Class<T> type) {
+        return of((Type) type);
+    }
+
+    /**
+     * 得到类型对应的实例,类型可以带有泛型信息.
+     *
+     * @param type 目标类型.
+     * @param <T>  预期类型.
+     * @return 实例.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ResolvedType<T> of(Type type) {
+        ResolvedType<?> resolvedType = CACHE.get(Objects.requireNonNull(type));
+        if (resolvedType == null) {
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            resolvedType = CACHE.computeIfAbsent(type,
+                t -> new ResolvedType<>(t, (Class<Object>) GenericTypes.rawClass(t)));
+        }
+        return (ResolvedType<T>) resolvedType;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<T> getRawClass() {
+        return rawClass;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResolvedType)) {
+            return false;
+        }
+        return type.equals(((ResolvedType<?>) o).type);
+    }
+
+    @Override
+    public int hashCode() {
+        return type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+}
@@ -1,5 +1,7 @@
 package com.vmsmia.framework.component.rpc.restful.serializer;
 
+import java.lang.reflect.Type;
+
 /**
  * @author bin.dong
  * @version 0.1 2024/4/11 10:25
@@ -7,4 +9,16 @@ package com.vmsmia.framework.component.rpc.restful.serializer;
  */
 public interface Serializer<R> {
     R serialize(Object obj);
+
+    /**
+     * 以声明的类型序列化.声明类型来自方法的参数定义,可能带有泛型信息.
+     * 默认实现忽略声明类型.
+     *
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型.
+     * @return 序列化结果.
+     */
+    default R serialize(Object obj, Type declaredType) {
+        return serialize(obj);
+    }
 }
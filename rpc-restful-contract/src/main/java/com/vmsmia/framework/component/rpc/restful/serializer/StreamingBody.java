@@ -0,0 +1,28 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 延迟到写出请求时才序列化的请求体.
+ *
+ * <p>
+ * 序列化结果直接写入请求的输出流,不经过中间的字节数组.
+ * 请求可能被重试,所以每次调用都需要完整地重新写出.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 00:10
+ * @since 1.8
+ */
+@FunctionalInterface
+public interface StreamingBody {
+
+    /**
+     * 写出请求体.
+     *
+     * @param out 目标输出流,不应该被关闭.
+     * @throws IOException 写出失败.
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,35 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.io.IOException;
+
+/**
+ * 以流的方式反序列化的接口定义.
+ *
+ * <p>
+ * 来源数据以 {@link DecodeSource} 表示,可以是字节数组,输入流或者 ByteBuffer ,
+ * 实现可以边读取边解码,不需要先把完整的数据读入内存.预期类型以 {@link ResolvedType} 表示,
+ * 原始类型已经预先计算.编码等选项以 {@link DecodeOptions} 传递,不再通过可变参数的附件查找.
+ * </p>
+ * <p>
+ * 所有的 {@link BytesDeserializer} 都实现了此接口,默认读取全部字节后按字节数组解码,
+ * 能够直接从流解码的实现覆盖默认实现.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+public interface StreamingDeserializer {
+
+    /**
+     * 反序列化.来源中的流不由这里关闭.
+     *
+     * @param source  来源数据.
+     * @param type    预期类型.
+     * @param options 解码选项.
+     * @param <T>     预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 读取来源失败.
+     */
+    <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions options) throws IOException;
+}
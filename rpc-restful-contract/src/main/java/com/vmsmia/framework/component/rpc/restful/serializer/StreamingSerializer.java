@@ -0,0 +1,25 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import java.lang.reflect.Type;
+
+/**
+ * 支持直接写入请求输出流的序列化器.
+ * 生成的客户端对实现此接口的 @Body 序列化器调用 {@link #stream(Object, Type)} 代替 serialize .
+ * 结果可以是延迟到写出请求时才序列化的请求体,也可以是已经写入 {@link BufferArena} 的 {@link PooledBuffer} ,
+ * 后者的长度已知,并且在请求完成后被释放.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 00:10
+ * @since 1.8
+ */
+public interface StreamingSerializer {
+
+    /**
+     * 构造延迟序列化的请求体.
+     *
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型.
+     * @return 请求体.
+     */
+    StreamingBody stream(Object obj, Type declaredType);
+}
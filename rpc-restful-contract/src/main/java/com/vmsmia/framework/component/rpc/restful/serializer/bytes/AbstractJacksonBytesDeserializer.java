@@ -0,0 +1,50 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeOptions;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSource;
+import com.vmsmia.framework.component.rpc.restful.serializer.JacksonCodec;
+import com.vmsmia.framework.component.rpc.restful.serializer.ResolvedType;
+import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 二进制 JSON(Smile, CBOR)解码器的共用实现,格式由构造时传入的编解码器决定.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 10:00
+ * @since 1.8
+ */
+abstract class AbstractJacksonBytesDeserializer implements BytesDeserializer {
+
+    private final JacksonCodec codec;
+
+    AbstractJacksonBytesDeserializer(JacksonCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public <T> T deserialize(byte[] data, Class<T> expectType, Object... unused) {
+        return deserialize(data, (Type) expectType, unused);
+    }
+
+    @Override
+    public <T> T deserialize(byte[] data, Type expectType, Object... unused) {
+        try {
+            return codec.read(data, expectType);
+        } catch (IOException ex) {
+            throw new SerializationException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions unused) throws IOException {
+        try {
+            return codec.read(source.openStream(), type.getType());
+        } catch (JsonProcessingException ex) {
+            throw new SerializationException(ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import com.vmsmia.framework.component.rpc.restful.serializer.BufferArena;
+import com.vmsmia.framework.component.rpc.restful.serializer.BytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.JacksonCodec;
+import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingBody;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingSerializer;
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * 二进制 JSON(Smile, CBOR)序列化器的共用实现,格式由构造时传入的编解码器决定.
+ * 作为请求体时写入 {@link BufferArena} 的缓冲.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 10:00
+ * @since 1.8
+ */
+abstract class AbstractJacksonBytesSerializer implements BytesSerializer, StreamingSerializer {
+
+    private final JacksonCodec codec;
+
+    AbstractJacksonBytesSerializer(JacksonCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object source) {
+        return serialize(source, null);
+    }
+
+    @Override
+    public byte[] serialize(Object source, Type declaredType) {
+        try {
+            return codec.writeAsBytes(source, declaredType);
+        } catch (IOException ex) {
+            throw new SerializationException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public StreamingBody stream(Object source, Type declaredType) {
+        return BufferArena.buffer(out -> codec.write(out, source, declaredType));
+    }
+}
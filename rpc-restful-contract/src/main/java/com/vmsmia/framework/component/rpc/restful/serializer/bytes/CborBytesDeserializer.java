@@ -0,0 +1,21 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+/**
+ * CBOR 二进制 JSON 解码器.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+public class CborBytesDeserializer extends AbstractJacksonBytesDeserializer {
+
+    private static final CborBytesDeserializer INSTANCE = new CborBytesDeserializer();
+
+    public static CborBytesDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+    private CborBytesDeserializer() {
+        super(CborCodecHolder.CODEC);
+    }
+}
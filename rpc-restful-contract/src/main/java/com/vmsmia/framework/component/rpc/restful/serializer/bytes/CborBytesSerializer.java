@@ -0,0 +1,21 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+/**
+ * 编码结果是 CBOR 二进制 JSON.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+public class CborBytesSerializer extends AbstractJacksonBytesSerializer {
+
+    private static final CborBytesSerializer INSTANCE = new CborBytesSerializer();
+
+    public static CborBytesSerializer getInstance() {
+        return INSTANCE;
+    }
+
+    private CborBytesSerializer() {
+        super(CborCodecHolder.CODEC);
+    }
+}
@@ -0,0 +1,19 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.vmsmia.framework.component.rpc.restful.serializer.JacksonCodec;
+
+/**
+ * CBOR 编解码器,序列化器和解码器共用同一个 ObjectMapper 和类型缓存.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+final class CborCodecHolder {
+    static final JacksonCodec CODEC = new JacksonCodec(new ObjectMapper(new CBORFactory()));
+
+    private CborCodecHolder() {
+    }
+}
@@ -0,0 +1,188 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeOptions;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSource;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSources;
+import com.vmsmia.framework.component.rpc.restful.serializer.ResolvedType;
+import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 把数据写入文件的解码器,适用于很大的响应.
+ *
+ * <p>
+ * 数据以流的方式写入 {@link DecodeOptions#getTarget()} 指定的文件,没有指定时写入临时文件,不在堆中保留.
+ * 支持如下的预期类型.
+ * <ul>
+ *     <li>{@link Path} 写入的文件,由调用者负责删除.</li>
+ *     <li>{@link FileChannel} 以只读方式打开的文件通道,由调用者关闭.临时文件在通道关闭时被删除.</li>
+ *     <li>{@link MappedByteBuffer} 只读的内存映射,文件不能超过 Integer.MAX_VALUE 个字节.
+ *     映射建立后临时文件即被删除,映射在被回收前仍然有效.</li>
+ * </ul>
+ * 指定了目标文件时,数据先写入目标所在目录的临时文件,完整写入后再移动为目标文件,文件系统支持时移动是原子的.
+ * 写入失败时只删除临时文件,目标文件保持原样.
+ * 目标文件已经存在时沿用它的权限,否则使用目录中新建文件的默认权限,而不是临时文件的 0600 .
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 03:40
+ * @since 1.8
+ */
+public class FileDeserializer implements BytesDeserializer {
+
+    private static final FileDeserializer INSTANCE = new FileDeserializer();
+
+    private static final String TEMP_FILE_PREFIX = "rpc-restful-";
+    private static final String TEMP_FILE_SUFFIX = ".download";
+
+    public static FileDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+    private FileDeserializer() {
+    }
+
+    /**
+     * 判断是否支持目标类型.
+     *
+     * @param type 目标类型.
+     * @return true 支持, false 不支持.
+     */
+    public static boolean isSupported(Class<?> type) {
+        return type == Path.class || type == FileChannel.class || type == MappedByteBuffer.class;
+    }
+
+    @Override
+    public <T> T deserialize(byte[] data, Class<T> expectType, Object... attachments) {
+        try {
+            return deserialize(DecodeSources.of(data), ResolvedType.of(expectType), DecodeOptions.DEFAULT);
+        } catch (IOException ex) {
+            throw new SerializationException(ex.getMessage(), ex);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions options) throws IOException {
+        Class<T> expectType = type.getRawClass();
+        if (!isSupported(expectType)) {
+            throw new IllegalArgumentException("Unsupported type for this deserializer: " + expectType);
+        }
+
+        if (!options.getTarget().isPresent()) {
+            Path file = Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            try {
+                Files.copy(source.openStream(), file, StandardCopyOption.REPLACE_EXISTING);
+                return expectType.cast(open(file, expectType, true));
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+        }
+
+        /*
+        先写入目标所在目录的临时文件,完整写入后再替换目标.
+        同一个目录中的移动通常可以原子的完成,失败时调用者原有的目标文件保持不变.
+         */
+        Path target = options.getTarget().get();
+        Path file = createSibling(target);
+        try {
+            // REPLACE_EXISTING 会重新创建文件,权限需要在写入之后设置.
+            Files.copy(source.openStream(), file, StandardCopyOption.REPLACE_EXISTING);
+            copyPermissions(target, file);
+            move(file, target);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+        return expectType.cast(open(target, expectType, false));
+    }
+
+    /*
+    在目标所在目录创建临时文件.
+    不使用 Files.createTempFile ,它创建的文件权限固定为 0600 ,文件被移动为目标时不应该只有所有者可读.
+    Files.createFile 不指定属性时使用文件系统的默认权限(受 umask 影响),和直接创建目标文件相同.
+     */
+    private static Path createSibling(Path target) throws IOException {
+        Path dir = target.toAbsolutePath().getParent();
+        while (true) {
+            Path file = dir.resolve(TEMP_FILE_PREFIX
+                + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + TEMP_FILE_SUFFIX);
+            try {
+                return Files.createFile(file);
+            } catch (FileAlreadyExistsException ex) {
+                // 名称冲突,换一个名称重试.
+            }
+        }
+    }
+
+    // 目标文件已经存在时,替换后保持它原有的权限.不支持 POSIX 权限的文件系统不做处理.
+    private static void copyPermissions(Path target, Path file) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (view == null || !Files.exists(target)) {
+            return;
+        }
+        Set<PosixFilePermission> permissions;
+        try {
+            permissions = view.readAttributes().permissions();
+        } catch (NoSuchFileException ex) {
+            return;
+        }
+        Files.setPosixFilePermissions(file, permissions);
+    }
+
+    // 不支持原子移动的文件系统退为普通的替换.
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static Object open(Path file, Class<?> expectType, boolean temp) throws IOException {
+        if (expectType == Path.class) {
+            return file;
+        } else if (expectType == FileChannel.class) {
+            return temp
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        } else {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new SerializationException(String.format(
+                        "The response of %d bytes is too large to be mapped, use Path or FileChannel instead.", size));
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            if (temp) {
+                deleteMappedTempFile(file);
+            }
+            return buffer;
+        }
+    }
+
+    // 有些平台不能删除已经映射的文件,这时在虚拟机退出时删除.
+    private static void deleteMappedTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
 
-import com.caucho.hessian.io.Hessian2Input;
+import com.caucho.hessian.io.HessianProtocolException;
 import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeOptions;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSource;
+import com.vmsmia.framework.component.rpc.restful.serializer.ResolvedType;
 import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 /**
+ * Hessian 2 反序列化.输入流由 {@link HessianStreams} 在线程内复用.
+ * 以流的方式反序列化时直接从来源流读取.
+ *
  * @author bin.dong
  * @version 0.1 2024/4/15 13:36
  * @since 1.8
@@ -24,16 +29,28 @@ public class HessianBytesDeserializer implements BytesDeserializer {
 
     @Override
     public <T> T deserialize(byte[] data, Class<T> expectType, Object... unused) {
-        ByteArrayInputStream os = new ByteArrayInputStream(data);
-        Hessian2Input input = new Hessian2Input(os);
-        input.setSerializerFactory(HessianFactoryHolder.SERIALIZER_FACTORY);
         Object obj = null;
         try {
-            obj = input.readObject();
+            obj = HessianStreams.read(data);
         } catch (IOException ex) {
             throw new SerializationException(ex.getMessage(), ex);
         }
 
         return expectType.cast(obj);
     }
+
+    /*
+    读取来源失败的异常直接抛出,只有数据格式错误转换为 SerializationException .
+     */
+    @Override
+    public <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions unused) throws IOException {
+        Object obj;
+        try {
+            obj = HessianStreams.read(source.openStream());
+        } catch (HessianProtocolException ex) {
+            throw new SerializationException(ex.getMessage(), ex);
+        }
+
+        return type.getRawClass().cast(obj);
+    }
 }
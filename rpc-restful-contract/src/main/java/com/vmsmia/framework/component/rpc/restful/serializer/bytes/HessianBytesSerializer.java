@@ -1,17 +1,22 @@
 package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
 
-import com.caucho.hessian.io.Hessian2Output;
+import com.vmsmia.framework.component.rpc.restful.serializer.BufferArena;
 import com.vmsmia.framework.component.rpc.restful.serializer.BytesSerializer;
 import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
-import java.io.ByteArrayOutputStream;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingBody;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingSerializer;
 import java.io.IOException;
+import java.lang.reflect.Type;
 
 /**
+ * Hessian 2 序列化.
+ * 输出流和缓冲由 {@link HessianStreams} 在线程内复用,作为请求体时写入 {@link BufferArena} 的缓冲.
+ *
  * @author bin.dong
  * @version 0.1 2024/4/15 11:24
  * @since 1.8
  */
-public class HessianBytesSerializer implements BytesSerializer {
+public class HessianBytesSerializer implements BytesSerializer, StreamingSerializer {
 
     private static final HessianBytesSerializer INSTANCE = new HessianBytesSerializer();
 
@@ -24,18 +29,15 @@ public class HessianBytesSerializer implements BytesSerializer {
 
     @Override
     public byte[] serialize(Object source) {
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-        Hessian2Output out = new Hessian2Output(os);
-        //这里调用方法的原因是hessian内部没有为此设定一个默认値,每个实例都会创建SerializerFactory.
-        //创建SerializerFactory用时很长.
-        out.setSerializerFactory(HessianFactoryHolder.SERIALIZER_FACTORY);
         try {
-            out.writeObject(source);
-            out.close();
+            return HessianStreams.toBytes(source);
         } catch (IOException ex) {
             throw new SerializationException(ex.getMessage(), ex);
         }
+    }
 
-        return os.toByteArray();
+    @Override
+    public StreamingBody stream(Object source, Type declaredType) {
+        return BufferArena.buffer(out -> HessianStreams.write(source, out));
     }
 }
@@ -0,0 +1,198 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import com.caucho.hessian.io.Hessian2Input;
+import com.caucho.hessian.io.Hessian2Output;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 线程内复用的 Hessian 输入输出.
+ *
+ * <p>
+ * 每个线程持有一组 Hessian2Output, Hessian2Input 和输出缓冲,每次使用前通过 init 重置引用和类定义,
+ * 不再为每次调用构造新的实例和内部缓冲.输出缓冲按实际的数据大小增长并保留,
+ * 超过 {@link #MAX_RETAINED_BUFFER_SIZE} 的缓冲在使用后释放,避免单个大对象长期占用内存.
+ * 序列化过程中重入(自定义的序列化器中再次调用)时使用临时构造的实例.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 00:10
+ * @since 1.8
+ */
+final class HessianStreams {
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<HessianStreams> LOCAL = ThreadLocal.withInitial(HessianStreams::new);
+
+    private final RecyclableBuffer buffer = new RecyclableBuffer();
+    private Hessian2Output output;
+    private Hessian2Input input;
+    private boolean busy;
+
+    private HessianStreams() {
+    }
+
+    /**
+     * 序列化为字节.
+     *
+     * @param source 目标对象.
+     * @return 序列化结果.
+     * @throws IOException 序列化失败.
+     */
+    static byte[] toBytes(Object source) throws IOException {
+        HessianStreams streams = LOCAL.get();
+        if (streams.busy) {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            writeObject(newOutput(os), source);
+            return os.toByteArray();
+        }
+
+        streams.busy = true;
+        try {
+            streams.writeTo(streams.buffer, source);
+            return streams.buffer.toByteArray();
+        } finally {
+            streams.buffer.recycle();
+            streams.busy = false;
+        }
+    }
+
+    /**
+     * 序列化并直接写入目标流,目标流不会被关闭.
+     *
+     * @param source 目标对象.
+     * @param os     目标流.
+     * @throws IOException 序列化失败.
+     */
+    static void write(Object source, OutputStream os) throws IOException {
+        HessianStreams streams = LOCAL.get();
+        if (streams.busy) {
+            writeObject(newOutput(os), source);
+            return;
+        }
+
+        streams.busy = true;
+        try {
+            streams.writeTo(os, source);
+        } finally {
+            streams.busy = false;
+        }
+    }
+
+    /**
+     * 从字节反序列化.
+     *
+     * @param data 来源数据.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    static Object read(byte[] data) throws IOException {
+        return read(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * 从流反序列化,来源流不会被关闭.
+     *
+     * @param is 来源流.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    static Object read(InputStream is) throws IOException {
+        HessianStreams streams = LOCAL.get();
+        if (streams.busy) {
+            return newInput(is).readObject();
+        }
+
+        streams.busy = true;
+        try {
+            return streams.readFrom(is);
+        } finally {
+            streams.busy = false;
+        }
+    }
+
+    private void writeTo(OutputStream os, Object source) throws IOException {
+        if (output == null) {
+            output = newOutput(os);
+        } else {
+            output.init(os);
+        }
+
+        try {
+            writeObject(output, source);
+            // 不再持有目标流.
+            output.init(null);
+        } catch (IOException | RuntimeException ex) {
+            // 失败后内部状态不确定,丢弃.
+            output = null;
+            throw ex;
+        }
+    }
+
+    private Object readFrom(InputStream is) throws IOException {
+        if (input == null) {
+            input = newInput(is);
+        } else {
+            input.init(is);
+        }
+
+        Object obj;
+        try {
+            obj = input.readObject();
+        } catch (IOException | RuntimeException ex) {
+            input = null;
+            throw ex;
+        }
+
+        try {
+            // 清空预读的缓冲,数据末尾有多余的字节时缓冲状态不确定,丢弃.
+            input.resetBuffer();
+            input.init(null);
+        } catch (IllegalStateException ex) {
+            input = null;
+        }
+        return obj;
+    }
+
+    private static void writeObject(Hessian2Output out, Object source) throws IOException {
+        out.writeObject(source);
+        out.flush();
+    }
+
+    private static Hessian2Output newOutput(OutputStream os) {
+        Hessian2Output out = new Hessian2Output(os);
+        //这里调用方法的原因是hessian内部没有为此设定一个默认値,每个实例都会创建SerializerFactory.
+        //创建SerializerFactory用时很长.
+        out.setSerializerFactory(HessianFactoryHolder.SERIALIZER_FACTORY);
+        return out;
+    }
+
+    private static Hessian2Input newInput(InputStream is) {
+        Hessian2Input in = new Hessian2Input(is);
+        in.setSerializerFactory(HessianFactoryHolder.SERIALIZER_FACTORY);
+        return in;
+    }
+
+    /**
+     * 可以回收的输出缓冲.
+     */
+    private static class RecyclableBuffer extends ByteArrayOutputStream {
+
+        private RecyclableBuffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        // 清空内容,过大的缓冲重新分配.
+        private void recycle() {
+            reset();
+            if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+                buf = new byte[INITIAL_BUFFER_SIZE];
+            }
+        }
+    }
+}
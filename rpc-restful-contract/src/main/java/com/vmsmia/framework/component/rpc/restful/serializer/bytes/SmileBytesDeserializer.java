@@ -0,0 +1,21 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+/**
+ * SMILE 二进制 JSON 解码器.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+public class SmileBytesDeserializer extends AbstractJacksonBytesDeserializer {
+
+    private static final SmileBytesDeserializer INSTANCE = new SmileBytesDeserializer();
+
+    public static SmileBytesDeserializer getInstance() {
+        return INSTANCE;
+    }
+
+    private SmileBytesDeserializer() {
+        super(SmileCodecHolder.CODEC);
+    }
+}
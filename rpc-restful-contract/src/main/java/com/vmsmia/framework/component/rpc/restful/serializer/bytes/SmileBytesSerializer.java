@@ -0,0 +1,21 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+/**
+ * 编码结果是 SMILE 二进制 JSON.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+public class SmileBytesSerializer extends AbstractJacksonBytesSerializer {
+
+    private static final SmileBytesSerializer INSTANCE = new SmileBytesSerializer();
+
+    public static SmileBytesSerializer getInstance() {
+        return INSTANCE;
+    }
+
+    private SmileBytesSerializer() {
+        super(SmileCodecHolder.CODEC);
+    }
+}
@@ -0,0 +1,39 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import java.io.IOException;
+
+/**
+ * 针对单个类型的流式编解码器,直接读写 Jackson 的 {@link JsonGenerator} 和 {@link JsonParser},不经过 databind 的反射.
+ * 实现通常由注解处理器在编译时生成,并通过 {@link JsonCodecs} 注册.
+ *
+ * <p>
+ * 和数据格式无关,同样适用于 Smile 和 CBOR 的生成器和解析器.
+ * </p>
+ *
+ * @param <T> 目标类型.
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:30
+ * @since 1.8
+ */
+public interface JsonCodec<T> {
+
+    /**
+     * 写出一个值.
+     *
+     * @param gen   生成器.
+     * @param value 值,不会为null.
+     * @throws IOException 写出失败.
+     */
+    void write(JsonGenerator gen, T value) throws IOException;
+
+    /**
+     * 读取一个值.调用时解析器已经位于值的第一个token上,返回时位于值的最后一个token上.
+     *
+     * @param parser 解析器.
+     * @return 值.
+     * @throws IOException 读取失败.
+     */
+    T read(JsonParser parser) throws IOException;
+}
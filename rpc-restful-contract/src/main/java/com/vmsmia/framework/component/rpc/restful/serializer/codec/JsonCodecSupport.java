@@ -0,0 +1,234 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.vmsmia.framework.component.rpc.restful.GenericTypes;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+
+/**
+ * 生成的编解码器使用的帮助方法.
+ *
+ * <p>
+ * 值的token和预期一致时直接读取,其他情况(字符串形式的数字,null等)交给解析器绑定的 ObjectMapper 处理,
+ * 保证和 databind 的转换规则一致.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:30
+ * @since 1.8
+ */
+public final class JsonCodecSupport {
+
+    private JsonCodecSupport() {
+    }
+
+    /**
+     * 写出任意值,有注册的编解码器时使用编解码器.
+     *
+     * @param gen   生成器.
+     * @param value 值.
+     * @throws IOException 写出失败.
+     */
+    public static void writeValue(JsonGenerator gen, Object value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        JsonCodec<Object> codec = JsonCodecs.find(value.getClass());
+        if (codec != null) {
+            codec.write(gen, value);
+        } else {
+            gen.writeObject(value);
+        }
+    }
+
+    /**
+     * 读取任意值,有注册的编解码器时使用编解码器.
+     *
+     * @param parser 解析器.
+     * @param type   预期类型.
+     * @param <T>    预期类型.
+     * @return 值.
+     * @throws IOException 读取失败.
+     */
+    public static <T> T readValue(JsonParser parser, Type type) throws IOException {
+        JsonCodec<T> codec = JsonCodecs.find(type);
+        if (codec != null) {
+            return codec.read(parser);
+        }
+        ObjectCodec objectCodec = parser.getCodec();
+        if (objectCodec instanceof ObjectMapper) {
+            ObjectMapper mapper = (ObjectMapper) objectCodec;
+            return mapper.readValue(parser, mapper.getTypeFactory().constructType(type));
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) objectCodec.readValue(parser, GenericTypes.rawClass(type));
+        return value;
+    }
+
+    /**
+     * 确认当前位于对象的开始.
+     *
+     * @param parser 解析器.
+     * @param type   对象的类型.
+     * @throws IOException 不是对象.
+     */
+    public static void expectStartObject(JsonParser parser, Class<?> type) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, type,
+                String.format("Cannot deserialize value of type %s from %s.", type.getName(), parser.currentToken()));
+        }
+    }
+
+    /**
+     * 处理未知的属性.和 databind 一样,由 FAIL_ON_UNKNOWN_PROPERTIES 决定失败还是忽略.
+     *
+     * @param parser 解析器,位于属性的值上.
+     * @param type   对象的类型.
+     * @param name   属性名称.
+     * @throws IOException 不允许未知的属性.
+     */
+    public static void unknownProperty(JsonParser parser, Class<?> type, String name) throws IOException {
+        ObjectCodec objectCodec = parser.getCodec();
+        if (!(objectCodec instanceof ObjectMapper)
+            || ((ObjectMapper) objectCodec).isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+            throw UnrecognizedPropertyException.from(parser, type, name, Collections.emptyList());
+        }
+        parser.skipChildren();
+    }
+
+    public static String readString(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        } else if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return readValue(parser, String.class);
+    }
+
+    public static int readInt(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        return (Integer) readValue(parser, int.class);
+    }
+
+    public static Integer readInteger(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        return readValue(parser, Integer.class);
+    }
+
+    public static long readLong(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        return (Long) readValue(parser, long.class);
+    }
+
+    public static Long readLongObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        return readValue(parser, Long.class);
+    }
+
+    public static double readDouble(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getDoubleValue();
+        }
+        return (Double) readValue(parser, double.class);
+    }
+
+    public static Double readDoubleObject(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getDoubleValue();
+        }
+        return readValue(parser, Double.class);
+    }
+
+    public static float readFloat(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getFloatValue();
+        }
+        return (Float) readValue(parser, float.class);
+    }
+
+    public static Float readFloatObject(JsonParser parser) throws IOException {
+        if (isNumber(parser)) {
+            return parser.getFloatValue();
+        }
+        return readValue(parser, Float.class);
+    }
+
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        return (Boolean) readValue(parser, boolean.class);
+    }
+
+    public static Boolean readBooleanObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return token == JsonToken.VALUE_TRUE;
+        }
+        return readValue(parser, Boolean.class);
+    }
+
+    public static void writeInteger(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    public static void writeLongObject(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    public static void writeDoubleObject(JsonGenerator gen, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    public static void writeFloatObject(JsonGenerator gen, Float value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    public static void writeBooleanObject(JsonGenerator gen, Boolean value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+
+    private static boolean isNumber(JsonParser parser) {
+        JsonToken token = parser.currentToken();
+        return token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT;
+    }
+}
@@ -0,0 +1,59 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.codec;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 流式编解码器的注册表.
+ *
+ * <p>
+ * 只按精确的类型匹配,子类和带有泛型参数的类型不会使用父类或原始类型的编解码器,
+ * 没有注册的类型由 Jackson databind 处理.
+ * </p>
+ * <p>
+ * 注册表是进程全局的: 一个类型注册之后,进程中所有经过 {@link com.vmsmia.framework.component.rpc.restful.serializer.string.json.Json}
+ * 和 Smile, CBOR 序列化器的读写都会使用它,而不只是注册它的客户端.同一类型只有第一次注册生效.
+ * 注解处理器只为能确定和 databind 结果一致的类型生成编解码器,并且编解码器的类名只由目标类型决定,
+ * 多个客户端为同一类型生成的是同一个类,所以哪个客户端先注册不影响结果.
+ * 需要自定义某个类型的编解码器时,应该在任何生成的客户端被加载之前注册.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:30
+ * @since 1.8
+ */
+public final class JsonCodecs {
+
+    private static final ConcurrentMap<Class<?>, JsonCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * 注册编解码器,已经存在的不会被替换.
+     *
+     * @param type  目标类型.
+     * @param codec 编解码器.
+     * @param <T>   目标类型.
+     * @return true 注册成功, false 类型已经有编解码器.
+     */
+    public static <T> boolean register(Class<T> type, JsonCodec<T> codec) {
+        return CODECS.putIfAbsent(type, codec) == null;
+    }
+
+    /**
+     * 查找类型的编解码器.
+     *
+     * @param type 目标类型.
+     * @param <T>  目标类型.
+     * @return 编解码器,没有时为null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> JsonCodec<T> find(Type type) {
+        if (CODECS.isEmpty() || !(type instanceof Class)) {
+            return null;
+        }
+        return (JsonCodec<T>) CODECS.get(type);
+    }
+}
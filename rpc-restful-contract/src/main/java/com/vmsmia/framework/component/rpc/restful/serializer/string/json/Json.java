@@ -2,12 +2,28 @@ package com.vmsmia.framework.component.rpc.restful.serializer.string.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.vmsmia.framework.component.rpc.restful.serializer.JacksonCodec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
 
 /**
  * JSON的帮助工具.
  *
+ * <p>
+ * 读写通过 {@link JacksonCodec} 进行,按类型缓存 ObjectReader 和 ObjectWriter .
+ * 类型注册了编译时生成的 {@link com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodec} 时优先使用.
+ * 二进制 JSON(Smile, CBOR)的 ObjectMapper 使用 databind 的默认配置,和这里只差 JSON 文本的读取特性.
+ * </p>
+ *
  * @author bin.dong
  * @version 0.1 2024/4/11 13:19
  * @since 1.8
@@ -26,6 +42,8 @@ public class Json {
         .enable(JsonReadFeature.ALLOW_UNQUOTED_FIELD_NAMES)
         .enable(JsonReadFeature.ALLOW_YAML_COMMENTS).build();
 
+    private static final JacksonCodec CODEC = new JacksonCodec(OBJECT_MAPPER);
+
     /**
      * 序列化.
      *
@@ -34,7 +52,55 @@ public class Json {
      * @throws JsonProcessingException 序列化失败.
      */
     public static String serialize(Object obj) throws JsonProcessingException {
-        return OBJECT_MAPPER.writeValueAsString(obj);
+        return serialize(obj, null);
+    }
+
+    /**
+     * 以声明的类型序列化.
+     * 只有对象的实际类型和声明类型的原始类型一致时才使用声明类型,否则子类的属性会按声明类型被忽略.
+     *
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型,可以带有泛型信息.
+     * @return 序列化的JSON字符串.
+     * @throws JsonProcessingException 序列化失败.
+     */
+    public static String serialize(Object obj, Type declaredType) throws JsonProcessingException {
+        try {
+            return CODEC.writeAsString(obj, declaredType);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * 序列化为UTF-8编码的字节.
+     *
+     * @param obj 目标对象.
+     * @return 序列化的JSON字节.
+     * @throws JsonProcessingException 序列化失败.
+     */
+    public static byte[] serializeAsBytes(Object obj) throws JsonProcessingException {
+        try {
+            return CODEC.writeAsBytes(obj, null);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * 以声明的类型序列化为UTF-8编码,直接写入目标流.目标流不会被关闭.
+     *
+     * @param out          目标流.
+     * @param obj          目标对象.
+     * @param declaredType 声明的类型,可以为null.
+     * @throws IOException 序列化失败.
+     */
+    public static void serialize(OutputStream out, Object obj, Type declaredType) throws IOException {
+        CODEC.write(out, obj, declaredType);
     }
 
     /**
@@ -47,6 +113,94 @@ public class Json {
      * @throws JsonProcessingException 反序列化失败.
      */
     public static <T> T deserialize(String json, Class<T> expectType) throws JsonProcessingException {
-        return OBJECT_MAPPER.readValue(json, expectType);
+        return deserialize(json, (Type) expectType);
+    }
+
+    /**
+     * 以完整的泛型类型反序列化.
+     *
+     * @param json       目标json字符串.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws JsonProcessingException 反序列化失败.
+     */
+    public static <T> T deserialize(String json, Type expectType) throws JsonProcessingException {
+        try {
+            return CODEC.read(json, expectType);
+        } catch (JsonProcessingException e) {
+            throw e;
+        } catch (IOException e) {
+            throw JsonMappingException.fromUnexpectedIOE(e);
+        }
+    }
+
+    /**
+     * 直接从字节反序列化,不构造中间的字符串.编码由JSON的内容自动识别(UTF-8/16/32).
+     *
+     * @param json       目标json字节.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public static <T> T deserialize(byte[] json, Type expectType) throws IOException {
+        return CODEC.read(json, expectType);
+    }
+
+    /**
+     * 直接从流反序列化.流不会被关闭.
+     *
+     * @param json       目标json流.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public static <T> T deserialize(InputStream json, Type expectType) throws IOException {
+        return CODEC.read(json, expectType);
+    }
+
+    /**
+     * 从字符流反序列化,用于非 UTF-8 编码的数据.流不会被关闭.
+     *
+     * @param json       目标json字符流.
+     * @param expectType 预期类型.
+     * @param <T>        预期类型.
+     * @return 反序列化后的对象.
+     * @throws IOException 反序列化失败.
+     */
+    public static <T> T deserialize(Reader json, Type expectType) throws IOException {
+        return CODEC.read(json, expectType);
+    }
+
+    /**
+     * 构造类型对应的JavaType.
+     *
+     * @param type 目标类型.
+     * @return JavaType.
+     */
+    public static JavaType javaType(Type type) {
+        return CODEC.javaType(type);
+    }
+
+    /**
+     * 获取类型对应的ObjectReader,结果被缓存.
+     *
+     * @param type 目标类型.
+     * @return ObjectReader.
+     */
+    public static ObjectReader reader(Type type) {
+        return CODEC.reader(type);
+    }
+
+    /**
+     * 获取类型对应的ObjectWriter,结果被缓存.
+     *
+     * @param type 目标类型.
+     * @return ObjectWriter.
+     */
+    public static ObjectWriter writer(Type type) {
+        return CODEC.writer(type);
     }
 }
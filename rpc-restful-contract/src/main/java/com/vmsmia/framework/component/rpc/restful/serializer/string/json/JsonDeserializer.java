@@ -2,8 +2,15 @@ package com.vmsmia.framework.component.rpc.restful.serializer.string.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.vmsmia.framework.component.rpc.restful.serializer.AbstractStringDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeOptions;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSource;
+import com.vmsmia.framework.component.rpc.restful.serializer.ResolvedType;
 import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
  * json 解码器.
@@ -25,8 +32,38 @@ public class JsonDeserializer extends AbstractStringDeserializer {
 
     @Override
     protected <T> T doDeserialize(byte[] data, Class<T> expectType, Charset charset) {
+        return doDeserialize(data, (Type) expectType, charset);
+    }
+
+    /*
+    UTF-8 的数据直接交给 Jackson 从字节解析,其他编码先解码为字符串.
+     */
+    @Override
+    protected <T> T doDeserialize(byte[] data, Type expectType, Charset charset) {
+        try {
+            if (StandardCharsets.UTF_8.equals(charset)) {
+                return Json.deserialize(data, expectType);
+            } else {
+                return Json.deserialize(new String(data, charset), expectType);
+            }
+        } catch (IOException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+    }
+
+    /*
+    UTF-8 的数据直接交给 Jackson 从流解析,其他编码按指定的编码读取字符,都不需要先读取全部的数据.
+    读取来源失败的异常直接抛出,只有数据格式错误转换为 SerializationException .
+     */
+    @Override
+    public <T> T deserialize(DecodeSource source, ResolvedType<T> type, DecodeOptions options) throws IOException {
+        Charset charset = options.getCharset();
         try {
-            return Json.deserialize(new String(data, charset), expectType);
+            if (StandardCharsets.UTF_8.equals(charset)) {
+                return Json.deserialize(source.openStream(), type.getType());
+            } else {
+                return Json.deserialize(new InputStreamReader(source.openStream(), charset), type.getType());
+            }
         } catch (JsonProcessingException e) {
             throw new SerializationException(e.getMessage(), e);
         }
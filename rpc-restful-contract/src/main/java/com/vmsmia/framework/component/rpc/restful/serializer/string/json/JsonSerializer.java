@@ -1,17 +1,21 @@
 package com.vmsmia.framework.component.rpc.restful.serializer.string.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.vmsmia.framework.component.rpc.restful.serializer.BufferArena;
 import com.vmsmia.framework.component.rpc.restful.serializer.SerializationException;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingBody;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingSerializer;
 import com.vmsmia.framework.component.rpc.restful.serializer.StringSerializer;
+import java.lang.reflect.Type;
 
 /**
- * 编码结果是JSON字符串.
+ * 编码结果是JSON字符串.作为请求体时以UTF-8编码写入 {@link BufferArena} 的缓冲,不构造中间的字符串.
  *
  * @author bin.dong
  * @version 0.1 2024/4/11 11:08
  * @since 1.8
  */
-public class JsonSerializer implements StringSerializer {
+public class JsonSerializer implements StringSerializer, StreamingSerializer {
 
     private static final JsonSerializer INSTANCE = new JsonSerializer();
 
@@ -30,4 +34,18 @@ public class JsonSerializer implements StringSerializer {
             throw new SerializationException(e.getMessage(), e);
         }
     }
+
+    @Override
+    public String serialize(Object obj, Type declaredType) {
+        try {
+            return Json.serialize(obj, declaredType);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public StreamingBody stream(Object obj, Type declaredType) {
+        return BufferArena.buffer(out -> Json.serialize(out, obj, declaredType));
+    }
 }
@@ -0,0 +1,56 @@
+package com.vmsmia.framework.component.rpc.restful;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 响应 Content-Type 解析的基准测试.
+ *
+ * <p>
+ * {@code create} 测量缓存命中时的开销,对应实际服务返回少数几种固定媒体类型的情况;
+ * {@code parse} 测量缓存未命中时的单次解析.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 00:40
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaTypeBenchmark {
+
+    @Param({"application/json", "application/json; charset=UTF-8", "text/plain; charset=UTF-8; profile=user"})
+    private String contentType;
+
+    @Benchmark
+    public MediaType create() {
+        return MediaType.create(contentType);
+    }
+
+    @Benchmark
+    public MediaType parse() {
+        return MediaType.parse(contentType);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MediaTypeBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -2,6 +2,8 @@ package com.vmsmia.framework.component.rpc.restful;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.AbstractMap;
@@ -136,4 +138,30 @@ public class MediaTypeTest {
         assertEquals("UTF-8", mediaType.getArg("charset").get());
         assertEquals("user", mediaType.getArg("profile").get());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCreateCached() {
+        MediaType mediaType = MediaType.create("application/json; charset=UTF-8");
+        assertSame(mediaType, MediaType.create("application/json; charset=UTF-8"));
+        assertEquals(mediaType, MediaType.parse("application/json; charset=UTF-8"));
+    }
+
+    @Test
+    void testParseWhitespaceAndEmptySegments() {
+        MediaType mediaType = MediaType.create(" application/json ;charset = UTF-8;; profile=\"a=b\"; ");
+        assertEquals("application", mediaType.getType());
+        assertEquals("json", mediaType.getSubType());
+        assertEquals(2, mediaType.getArgs().size());
+        assertEquals("UTF-8", mediaType.getArg("charset").get());
+        assertEquals("\"a=b\"", mediaType.getArg("profile").get());
+        assertTrue(mediaType.isJson());
+    }
+
+    @Test
+    void testParseInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> MediaType.create("application"));
+        assertThrows(IllegalArgumentException.class, () -> MediaType.create("/json"));
+        assertThrows(IllegalArgumentException.class, () -> MediaType.create("application/json; charset"));
+        assertThrows(IllegalArgumentException.class, () -> MediaType.create("application/json; =UTF-8"));
+    }
+}
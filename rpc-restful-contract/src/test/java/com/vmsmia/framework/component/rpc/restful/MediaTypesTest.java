@@ -2,7 +2,9 @@ package com.vmsmia.framework.component.rpc.restful;
 
 import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
 import com.vmsmia.framework.component.rpc.restful.serializer.PrimitiveDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.CborBytesDeserializer;
 import com.vmsmia.framework.component.rpc.restful.serializer.bytes.PlainBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesDeserializer;
 import com.vmsmia.framework.component.rpc.restful.serializer.string.PlainStringDeserializer;
 import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonDeserializer;
 import org.junit.jupiter.api.Assertions;
@@ -100,4 +102,19 @@ public class MediaTypesTest {
         Assertions.assertFalse(MediaTypes.getSmartDeserializer(mediaType, returnType).isPresent());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testGetSmartDeserializerForBinaryJson() {
+        MediaType smile = MediaType.create(MediaTypes.SMILE);
+        Assertions.assertTrue(smile.isSmile());
+        Assertions.assertTrue(MediaTypes.getSmartDeserializer(smile, Object.class).get()
+            instanceof SmileBytesDeserializer);
+        Assertions.assertTrue(MediaTypes.getSmartDeserializer(smile, byte[].class).get()
+            instanceof PlainBytesDeserializer);
+
+        MediaType cbor = MediaType.create(MediaTypes.CBOR);
+        Assertions.assertTrue(cbor.isCbor());
+        Assertions.assertTrue(MediaTypes.getSmartDeserializer(cbor, Object.class).get()
+            instanceof CborBytesDeserializer);
+    }
+
+}
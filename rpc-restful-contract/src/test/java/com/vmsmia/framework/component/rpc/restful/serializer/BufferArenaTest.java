@@ -0,0 +1,90 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonSerializer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 03:10
+ * @since 1.8
+ */
+public class BufferArenaTest {
+
+    @Test
+    public void testWriteAcrossSegments() throws Exception {
+        byte[] data = new byte[BufferArena.SEGMENT_SIZE * 2 + 17];
+        new Random(7).nextBytes(data);
+
+        PooledBuffer buffer = BufferArena.allocate();
+        buffer.write(data[0]);
+        buffer.write(data, 1, BufferArena.SEGMENT_SIZE);
+        buffer.write(data, BufferArena.SEGMENT_SIZE + 1, data.length - BufferArena.SEGMENT_SIZE - 1);
+
+        assertEquals(data.length, buffer.size());
+        assertArrayEquals(data, buffer.toByteArray());
+        // 可以多次写出.
+        for (int i = 0; i < 2; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            buffer.writeTo(out);
+            assertArrayEquals(data, out.toByteArray());
+        }
+
+        int free = BufferArena.freeSegments();
+        buffer.release();
+        buffer.release();
+        assertEquals(Math.min(free + 3, BufferArena.MAX_RETAINED_SEGMENTS), BufferArena.freeSegments());
+        assertTrue(buffer.isReleased());
+        assertThrows(IllegalStateException.class, () -> buffer.write(1));
+        assertThrows(IllegalStateException.class, () -> buffer.writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testSegmentReused() {
+        PooledBuffer first = BufferArena.allocate();
+        first.write(1);
+        first.release();
+        int free = BufferArena.freeSegments();
+
+        PooledBuffer second = BufferArena.allocate();
+        second.write(2);
+        assertEquals(free - 1, BufferArena.freeSegments());
+        assertArrayEquals(new byte[] {2}, second.toByteArray());
+        second.release();
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        PooledBuffer buffer = BufferArena.allocate();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buffer.writeTo(out);
+        assertEquals(0, buffer.size());
+        assertEquals(0, out.size());
+        assertEquals(0, buffer.toByteArray().length);
+    }
+
+    @Test
+    public void testBufferFailure() {
+        assertThrows(SerializationException.class, () -> BufferArena.buffer(out -> {
+            out.write(1);
+            throw new IOException("failed");
+        }));
+    }
+
+    @Test
+    public void testJsonSerializerStream() {
+        StreamingBody body = JsonSerializer.getInstance().stream(Collections.singletonMap("k", "值"), null);
+        PooledBuffer buffer = (PooledBuffer) body;
+        assertEquals("{\"k\":\"值\"}", new String(buffer.toByteArray(), StandardCharsets.UTF_8));
+        buffer.release();
+    }
+}
@@ -0,0 +1,61 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.PlainBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonDeserializer;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 01:00
+ * @since 1.8
+ */
+public class DeserializerResolverTest {
+
+    @Test
+    public void testProviderBeforeDefault() {
+        MediaType protobuf = MediaType.create("application/x-protobuf");
+        AtomicInteger calls = new AtomicInteger();
+        DeserializerProvider provider = (mediaType, returnType) -> {
+            calls.incrementAndGet();
+            return "x-protobuf".equals(mediaType.getSubType()) && returnType == Object.class
+                ? PlainBytesDeserializer.getInstance() : null;
+        };
+        DeserializerResolver resolver = new DeserializerResolver(Collections.singletonList(provider));
+
+        assertSame(PlainBytesDeserializer.getInstance(), resolver.resolve(protobuf, Object.class).get());
+        // 没有提供时使用内置的规则.
+        assertSame(JsonDeserializer.getInstance(),
+            resolver.resolve(MediaType.create("application/json"), Object.class).get());
+        assertFalse(resolver.resolve(protobuf, String.class).isPresent());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testCached() {
+        AtomicInteger calls = new AtomicInteger();
+        DeserializerResolver resolver = new DeserializerResolver(Collections.singletonList(
+            (mediaType, returnType) -> {
+                calls.incrementAndGet();
+                return null;
+            }));
+
+        MediaType mediaType = MediaType.create("application/json; charset=UTF-8");
+        Optional<BytesDeserializer> first = resolver.resolve(mediaType, Object.class);
+        Optional<BytesDeserializer> second =
+            resolver.resolve(MediaType.create("application/json; charset=UTF-8"), Object.class);
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+
+        // 不同的返回类型分别缓存.
+        resolver.resolve(mediaType, String.class);
+        assertEquals(2, calls.get());
+    }
+}
@@ -0,0 +1,78 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:40
+ * @since 1.8
+ */
+public class PrimitiveDeserializerTest {
+
+    @Test
+    public void testParseInteger() {
+        assertEquals(123, PrimitiveDeserializer.parseInt(bytes("123")));
+        assertEquals(-45, PrimitiveDeserializer.parseInt(bytes(" -45\r\n")));
+        assertEquals(7, PrimitiveDeserializer.parseInt(bytes("+7")));
+        assertEquals(Integer.MIN_VALUE, PrimitiveDeserializer.parseInt(bytes("-2147483648")));
+        assertEquals(Long.MIN_VALUE, PrimitiveDeserializer.parseLong(bytes("-9223372036854775808")));
+        assertEquals(Long.MAX_VALUE, PrimitiveDeserializer.parseLong(bytes("9223372036854775807")));
+        assertEquals((short) -32768, PrimitiveDeserializer.parseShort(bytes("-32768")));
+        assertEquals((byte) 127, PrimitiveDeserializer.parseByte(bytes("127")));
+        assertEquals(34L, PrimitiveDeserializer.parseLong(bytes("12345"), 2, 2));
+    }
+
+    @Test
+    public void testParseIntegerInvalid() {
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseInt(bytes("2147483648")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseLong(bytes("9223372036854775808")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseLong(bytes("99999999999999999999")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseByte(bytes("128")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseInt(bytes("")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseInt(bytes("-")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseInt(bytes("1 2")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseInt(bytes("0x10")));
+    }
+
+    @Test
+    public void testParseDecimal() {
+        String[] values = {"0", "-0", "1.5", "-2.25", "0.1", "3.141592653589793", "123456789012345", ".5",
+            "1e10", "1.7976931348623157E308", "NaN", "-Infinity", "5.", "0.30000000000000004", "9007199254740993"};
+        for (String value : values) {
+            assertEquals(Double.parseDouble(value), PrimitiveDeserializer.parseDouble(bytes(value)), value);
+            assertEquals(Float.parseFloat(value), PrimitiveDeserializer.parseFloat(bytes(value)), value);
+        }
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseDouble(bytes("1.2.3")));
+        assertThrows(NumberFormatException.class, () -> PrimitiveDeserializer.parseFloat(bytes("")));
+    }
+
+    @Test
+    public void testParseBooleanAndChar() {
+        assertTrue(PrimitiveDeserializer.parseBoolean(bytes("true")));
+        assertTrue(PrimitiveDeserializer.parseBoolean(bytes("TRUE\n")));
+        assertFalse(PrimitiveDeserializer.parseBoolean(bytes("yes")));
+        assertFalse(PrimitiveDeserializer.parseBoolean(bytes("")));
+        assertEquals('a', PrimitiveDeserializer.parseChar(bytes("abc")));
+        assertEquals('中', PrimitiveDeserializer.parseChar(bytes("中文")));
+    }
+
+    @Test
+    public void testDeserialize() {
+        PrimitiveDeserializer deserializer = PrimitiveDeserializer.getInstance();
+        assertEquals(Integer.valueOf(42), deserializer.deserialize(bytes("42"), int.class));
+        assertEquals(Long.valueOf(42), deserializer.deserialize(bytes("42"), Long.class));
+        assertEquals(Boolean.TRUE, deserializer.deserialize(bytes("true"), boolean.class));
+        assertEquals(Double.valueOf(0.5), deserializer.deserialize(bytes("0.5"), Double.class));
+        assertThrows(IllegalArgumentException.class, () -> deserializer.deserialize(bytes("42"), String.class));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package com.vmsmia.framework.component.rpc.restful.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.PlainStringDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonDeserializer;
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+public class StreamingDeserializerTest {
+
+    private static final Type LIST_TYPE = new TypeReference<List<Integer>>() {
+    }.getType();
+
+    @Test
+    public void testJsonFromStream() throws Exception {
+        CloseTrackingInputStream in =
+            new CloseTrackingInputStream("[1, 2, 3]".getBytes(StandardCharsets.UTF_8));
+
+        List<Integer> result = JsonDeserializer.getInstance()
+            .deserialize(DecodeSources.of(in), ResolvedType.<List<Integer>>of(LIST_TYPE), DecodeOptions.DEFAULT);
+
+        assertEquals(Arrays.asList(1, 2, 3), result);
+        // 来源由调用者关闭.
+        assertFalse(in.closed);
+    }
+
+    @Test
+    public void testJsonWithCharset() throws Exception {
+        DecodeOptions options = DecodeOptions.of(MediaType.create("application/json; charset=\"ISO-8859-1\""));
+        assertEquals(StandardCharsets.ISO_8859_1, options.getCharset());
+
+        byte[] data = "\"café\"".getBytes(StandardCharsets.ISO_8859_1);
+        String result = JsonDeserializer.getInstance()
+            .deserialize(DecodeSources.of(ByteBuffer.wrap(data)), ResolvedType.of(String.class), options);
+        assertEquals("café", result);
+    }
+
+    @Test
+    public void testJsonInvalid() {
+        assertThrows(SerializationException.class, () -> JsonDeserializer.getInstance()
+            .deserialize(DecodeSources.of(new byte[0]), ResolvedType.of(String.class), DecodeOptions.DEFAULT));
+    }
+
+    @Test
+    public void testSmileFromDirectBuffer() throws Exception {
+        byte[] data = SmileBytesSerializer.getInstance().serialize(Arrays.asList(1, 2, 3));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(data.length);
+        buffer.put(data).flip();
+
+        List<Integer> result = SmileBytesDeserializer.getInstance()
+            .deserialize(DecodeSources.of(buffer), ResolvedType.<List<Integer>>of(LIST_TYPE), DecodeOptions.DEFAULT);
+
+        assertEquals(Arrays.asList(1, 2, 3), result);
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testBufferedAdapter() throws Exception {
+        byte[] data = "café".getBytes(StandardCharsets.ISO_8859_1);
+        DecodeOptions options = DecodeOptions.Builder.anBuilder().withCharset(StandardCharsets.ISO_8859_1).build();
+
+        String result = PlainStringDeserializer.getInstance()
+            .deserialize(DecodeSources.of(new ByteArrayInputStream(data)), ResolvedType.of(String.class), options);
+        assertEquals("café", result);
+
+        // 没有覆盖流式方法的实现读取全部字节后解码.
+        BytesDeserializer custom = new BytesDeserializer() {
+            @Override
+            public <T> T deserialize(byte[] bytes, Class<T> expectType, Object... attachments) {
+                return expectType.cast(new String(bytes, (java.nio.charset.Charset) attachments[0]));
+            }
+        };
+        assertEquals("café", custom.deserialize(DecodeSources.of(data), ResolvedType.of(String.class), options));
+    }
+
+    @Test
+    public void testDecodeSources() throws Exception {
+        byte[] data = {1, 2, 3, 4};
+        assertSame(data, DecodeSources.of(data).readAll());
+        assertSame(data, DecodeSources.of(ByteBuffer.wrap(data)).readAll());
+
+        ByteBuffer slice = ByteBuffer.wrap(data, 1, 2);
+        assertArrayEquals(new byte[] {2, 3}, DecodeSources.of(slice).readAll());
+        assertArrayEquals(new byte[] {2, 3}, DecodeSources.readAll(DecodeSources.of(slice).openStream()));
+        assertEquals(1, slice.position());
+    }
+
+    @Test
+    public void testOptionsAndTypes() {
+        assertSame(DecodeOptions.DEFAULT, DecodeOptions.of(MediaType.create("application/json")));
+        assertSame(DecodeOptions.DEFAULT, DecodeOptions.of(MediaType.create("application/json; charset=utf8")));
+        assertSame(DecodeOptions.DEFAULT, DecodeOptions.of(MediaType.create("application/json; charset=unknown-x")));
+
+        ResolvedType<List<Integer>> type = ResolvedType.of(LIST_TYPE);
+        assertSame(type, ResolvedType.of(LIST_TYPE));
+        assertEquals(List.class, type.getRawClass());
+        assertEquals(LIST_TYPE, type.getType());
+    }
+
+    private static class CloseTrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        CloseTrackingInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:00
+ * @since 1.8
+ */
+public class BinaryJsonTest {
+
+    private static final Type VALUES_TYPE = new TypeReference<List<Map<String, Integer>>>() {
+    }.getType();
+
+    @Test
+    public void testSmile() {
+        List<Map<String, Integer>> values = Arrays.asList(
+            Collections.singletonMap("a", 1), Collections.singletonMap("b", 2));
+        byte[] data = SmileBytesSerializer.getInstance().serialize(values, VALUES_TYPE);
+
+        List<Map<String, Integer>> result = SmileBytesDeserializer.getInstance().deserialize(data, VALUES_TYPE);
+        assertEquals(values, result);
+    }
+
+    @Test
+    public void testCbor() {
+        List<Map<String, Integer>> values = Collections.singletonList(Collections.singletonMap("a", 1));
+        byte[] data = CborBytesSerializer.getInstance().serialize(values);
+
+        List<Map<String, Integer>> result = CborBytesDeserializer.getInstance().deserialize(data, VALUES_TYPE);
+        assertEquals(values, result);
+        assertEquals(Integer.class, result.get(0).get("a").getClass());
+    }
+}
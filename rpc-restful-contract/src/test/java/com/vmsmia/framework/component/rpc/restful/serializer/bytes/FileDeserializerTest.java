@@ -0,0 +1,177 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.bytes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.MediaType;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeOptions;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSources;
+import com.vmsmia.framework.component.rpc.restful.serializer.DeserializerResolver;
+import com.vmsmia.framework.component.rpc.restful.serializer.ResolvedType;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 04:10
+ * @since 1.8
+ */
+public class FileDeserializerTest {
+
+    private static final byte[] DATA = "large response".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testPath() throws Exception {
+        Path target = Files.createTempFile("file-deserializer", ".bin");
+        try {
+            DecodeOptions options = DecodeOptions.Builder.anBuilder().withTarget(target).build();
+            Path result = FileDeserializer.getInstance().deserialize(
+                DecodeSources.of(new ByteArrayInputStream(DATA)), ResolvedType.of(Path.class), options);
+
+            assertEquals(target, result);
+            assertArrayEquals(DATA, Files.readAllBytes(result));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+
+        // 没有指定目标时写入临时文件.
+        Path result = FileDeserializer.getInstance().deserialize(DATA, Path.class);
+        try {
+            assertArrayEquals(DATA, Files.readAllBytes(result));
+        } finally {
+            Files.deleteIfExists(result);
+        }
+    }
+
+    @Test
+    public void testFileChannel() throws Exception {
+        try (FileChannel channel = FileDeserializer.getInstance().deserialize(
+            DecodeSources.of(new ByteArrayInputStream(DATA)), ResolvedType.of(FileChannel.class),
+            DecodeOptions.DEFAULT)) {
+
+            assertEquals(DATA.length, channel.size());
+            ByteBuffer buffer = ByteBuffer.allocate(DATA.length);
+            channel.read(buffer);
+            assertArrayEquals(DATA, buffer.array());
+        }
+    }
+
+    @Test
+    public void testMappedByteBuffer() throws Exception {
+        MappedByteBuffer buffer = FileDeserializer.getInstance().deserialize(
+            DecodeSources.of(new ByteArrayInputStream(DATA)), ResolvedType.of(MappedByteBuffer.class),
+            DecodeOptions.DEFAULT);
+
+        assertTrue(buffer.isReadOnly());
+        byte[] read = new byte[buffer.remaining()];
+        buffer.get(read);
+        assertArrayEquals(DATA, read);
+    }
+
+    /**
+     * 写入失败时保留调用者原有的目标文件,只删除临时文件.
+     */
+    @Test
+    public void testTargetKeptOnFailure() throws Exception {
+        Path dir = Files.createTempDirectory("file-deserializer");
+        Path target = dir.resolve("target.bin");
+        byte[] old = "old content".getBytes(StandardCharsets.UTF_8);
+        Files.write(target, old);
+        DecodeOptions options = DecodeOptions.Builder.anBuilder().withTarget(target).build();
+        try {
+            InputStream broken = new SequenceInputStream(new ByteArrayInputStream(DATA), new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("connection reset");
+                }
+            });
+            assertThrows(IOException.class, () -> FileDeserializer.getInstance().deserialize(
+                DecodeSources.of(broken), ResolvedType.of(Path.class), options));
+            assertArrayEquals(old, Files.readAllBytes(target));
+            assertEquals(Collections.singletonList(target), list(dir));
+
+            // 成功时替换原有的内容.
+            Path result = FileDeserializer.getInstance().deserialize(
+                DecodeSources.of(new ByteArrayInputStream(DATA)), ResolvedType.of(Path.class), options);
+            assertEquals(target, result);
+            assertArrayEquals(DATA, Files.readAllBytes(target));
+            assertEquals(Collections.singletonList(target), list(dir));
+        } finally {
+            for (Path file : list(dir)) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    /**
+     * 替换目标文件时保持它原有的权限,新建的目标文件使用目录中新建文件的默认权限.
+     */
+    @Test
+    public void testTargetPermissions() throws Exception {
+        Path dir = Files.createTempDirectory("file-deserializer");
+        if (Files.getFileAttributeView(dir, PosixFileAttributeView.class) == null) {
+            // 文件系统不支持 POSIX 权限.
+            Files.delete(dir);
+            return;
+        }
+        Path target = dir.resolve("target.bin");
+        Path fresh = dir.resolve("fresh.bin");
+        Path probe = dir.resolve("probe.bin");
+        try {
+            Files.write(target, DATA);
+            Set<PosixFilePermission> expected = PosixFilePermissions.fromString("rw-r-----");
+            Files.setPosixFilePermissions(target, expected);
+            FileDeserializer.getInstance().deserialize(DecodeSources.of(new ByteArrayInputStream(DATA)),
+                ResolvedType.of(Path.class), DecodeOptions.Builder.anBuilder().withTarget(target).build());
+            assertEquals(expected, Files.getPosixFilePermissions(target));
+
+            Files.createFile(probe);
+            FileDeserializer.getInstance().deserialize(DecodeSources.of(new ByteArrayInputStream(DATA)),
+                ResolvedType.of(Path.class), DecodeOptions.Builder.anBuilder().withTarget(fresh).build());
+            assertEquals(Files.getPosixFilePermissions(probe), Files.getPosixFilePermissions(fresh));
+        } finally {
+            for (Path file : list(dir)) {
+                Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testResolve() {
+        MediaType json = MediaType.create("application/json");
+        assertSame(FileDeserializer.getInstance(),
+            DeserializerResolver.getInstance().resolve(json, Path.class).get());
+        assertSame(FileDeserializer.getInstance(),
+            DeserializerResolver.getInstance().resolve(json, MappedByteBuffer.class).get());
+        assertFalse(FileDeserializer.isSupported(byte[].class));
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.CborBytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.Json;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:30
+ * @since 1.8
+ */
+public class JsonCodecsTest {
+
+    private static final PointCodec CODEC = new PointCodec();
+
+    @BeforeAll
+    public static void beforeAll() {
+        JsonCodecs.register(Point.class, CODEC);
+    }
+
+    @Test
+    public void testSerialize() throws Exception {
+        Point point = new Point();
+        point.setX(3);
+        point.setLabel("a");
+
+        int writes = CODEC.writes.get();
+        assertEquals("{\"x\":3,\"label\":\"a\"}", Json.serialize(point));
+        assertEquals("{\"x\":3,\"label\":\"a\"}", new String(Json.serializeAsBytes(point), StandardCharsets.UTF_8));
+        assertEquals(writes + 2, CODEC.writes.get());
+    }
+
+    @Test
+    public void testDeserialize() throws Exception {
+        int reads = CODEC.reads.get();
+        Point point = Json.deserialize("{\"x\":3,\"label\":null}", Point.class);
+        assertEquals(3, point.getX());
+        assertNull(point.getLabel());
+
+        // 字符串形式的数字交给 databind 转换.
+        point = Json.deserialize("{\"x\":\"4\",\"label\":\"b\"}".getBytes(StandardCharsets.UTF_8), Point.class);
+        assertEquals(4, point.getX());
+        assertEquals("b", point.getLabel());
+
+        assertNull(Json.deserialize("null", Point.class));
+        assertEquals(reads + 3, CODEC.reads.get());
+    }
+
+    /**
+     * 注册是全局的,第一次注册之后同一类型的注册被忽略,所有格式的读写都使用它.
+     */
+    @Test
+    public void testFirstRegistrationWins() throws Exception {
+        PointCodec other = new PointCodec();
+        assertFalse(JsonCodecs.register(Point.class, other));
+        assertSame(CODEC, JsonCodecs.find(Point.class));
+
+        Point point = new Point();
+        point.setX(5);
+        int writes = CODEC.writes.get();
+        Json.serialize(point);
+        SmileBytesSerializer.getInstance().serialize(point);
+        CborBytesSerializer.getInstance().serialize(point);
+        assertEquals(writes + 3, CODEC.writes.get());
+        assertEquals(0, other.writes.get());
+    }
+
+    @Test
+    public void testUnknownProperty() {
+        assertThrows(UnrecognizedPropertyException.class,
+            () -> Json.deserialize("{\"x\":3,\"y\":{\"z\":1}}", Point.class));
+    }
+
+    /**
+     * 和注解处理器生成的编解码器结构相同.
+     */
+    static class PointCodec implements JsonCodec<Point> {
+
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public void write(JsonGenerator gen, Point value) throws IOException {
+            writes.incrementAndGet();
+            gen.writeStartObject();
+            gen.writeFieldName("x");
+            gen.writeNumber(value.getX());
+            gen.writeFieldName("label");
+            gen.writeString(value.getLabel());
+            gen.writeEndObject();
+        }
+
+        @Override
+        public Point read(JsonParser parser) throws IOException {
+            reads.incrementAndGet();
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            JsonCodecSupport.expectStartObject(parser, Point.class);
+            Point value = new Point();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                switch (name) {
+                    case "x":
+                        value.setX(JsonCodecSupport.readInt(parser));
+                        break;
+                    case "label":
+                        value.setLabel(JsonCodecSupport.readString(parser));
+                        break;
+                    default:
+                        JsonCodecSupport.unknownProperty(parser, Point.class, name);
+                }
+            }
+            return value;
+        }
+    }
+
+    public static class Point {
+        private int x;
+        private String label;
+
+        public int getX() {
+            return x;
+        }
+
+        public void setX(int x) {
+            this.x = x;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.vmsmia.framework.component.rpc.restful.serializer.string.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:40
+ * @since 1.8
+ */
+public class JsonTest {
+
+    private static final Type ORDERS_TYPE = new TypeReference<List<Order>>() {
+    }.getType();
+
+    @Test
+    public void testGenericDeserialize() throws Exception {
+        byte[] data = Json.serializeAsBytes(Arrays.asList(new Order("a", 1), new Order("b", 2)));
+
+        List<Order> orders = JsonDeserializer.getInstance().deserialize(data, ORDERS_TYPE);
+        assertEquals(2, orders.size());
+        // 元素直接构造为目标类型,而不是LinkedHashMap.
+        assertEquals(Order.class, orders.get(0).getClass());
+        assertEquals("b", orders.get(1).getId());
+
+        assertSame(Json.reader(ORDERS_TYPE), Json.reader(ORDERS_TYPE));
+    }
+
+    @Test
+    public void testNonUtf8Charset() {
+        Charset gbk = Charset.forName("GBK");
+        byte[] data = "{\"name\":\"订单\"}".getBytes(gbk);
+
+        Map<String, String> value = JsonDeserializer.getInstance().deserialize(
+            data, new TypeReference<Map<String, String>>() {
+            }.getType(), gbk);
+        assertEquals("订单", value.get("name"));
+
+        Map<?, ?> raw = JsonDeserializer.getInstance().deserialize(
+            "{\"name\":\"order\"}".getBytes(StandardCharsets.UTF_8), Map.class);
+        assertEquals("order", raw.get("name"));
+    }
+
+    @Test
+    public void testSerializeWithDeclaredType() throws Exception {
+        Order order = new Order("a", 1);
+        assertEquals(Json.serialize(order), Json.serialize(order, Order.class));
+        // 声明类型和实际类型不一致时使用实际类型.
+        assertEquals(Json.serialize(order), Json.serialize(order, Object.class));
+    }
+
+    public static class Order {
+        private String id;
+        private int amount;
+
+        public Order() {
+        }
+
+        public Order(String id, int amount) {
+            this.id = id;
+            this.amount = amount;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount(int amount) {
+            this.amount = amount;
+        }
+    }
+}
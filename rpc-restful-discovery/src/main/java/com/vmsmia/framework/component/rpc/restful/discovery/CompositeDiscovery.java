@@ -0,0 +1,581 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PreDestroy;
+
+/**
+ * 组合多个来源的服务发现,按顺序查询一组来源,每个来源有自己的查询时间预算.
+ *
+ * <p>
+ * 支持两种策略.
+ * </p>
+ * <ul>
+ *     <li>FAILOVER: 按顺序查询,使用第一个在预算内返回非空结果的来源.记住每个服务的胜出来源,
+ *     排在它之前的来源失败后的recheckMs内不再查询,之后再从第一个来源开始尝试,主来源恢复后自动切回.</li>
+ *     <li>MERGE: 同时查询所有来源并合并结果,重复的端点以排在前面的来源为准.查询失败的来源使用它上一次成功的结果,
+ *     但是这个结果最多只能陈旧maxStaleMs,超过后这个来源不再参与合并.</li>
+ * </ul>
+ * 请求线程不会被慢的来源阻塞:
+ * <ul>
+ *     <li>服务第一次被查询时在调用线程上同步完成一次查询,最长等待是各来源预算之和(MERGE为其中的最大值).</li>
+ *     <li>之后直接返回缓存的结果,结果超过refreshMs后由独立的刷新线程重新查询,刷新期间和失败时继续使用旧的结果.
+ *     刷新线程不占用执行查询的线程,否则线程用尽时刷新自己的查询也会被拒绝.</li>
+ *     <li>实现了{@link SubscribableDiscovery}的来源以订阅代替轮询,变化时由刷新线程重新查询.
+ *     只有存在不能订阅的来源时才会每refreshMs轮询一次,否则只在maxStaleMs后兜底重新查询.</li>
+ *     <li>超过预算的查询被放弃,不影响其他来源.预算不大于0的来源在查询线程上直接调用,适合纯内存的来源.</li>
+ * </ul>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 21:20
+ * @since 1.8
+ */
+public class CompositeDiscovery implements SubscribableDiscovery {
+
+    /**
+     * 组合的策略.
+     */
+    public enum Strategy {
+        /**
+         * 使用第一个可用的来源.
+         */
+        FAILOVER,
+        /**
+         * 合并所有来源.
+         */
+        MERGE
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(CompositeDiscovery.class.getName());
+    private static final AtomicLong THREAD_INDEX = new AtomicLong();
+    private static final long DEFAULT_MAX_STALE_MS = 1000 * 60 * 5;
+
+    private final List<Source> sources;
+    private final Strategy strategy;
+    private final long refreshMs;
+    private final long recheckMs;
+    private final long maxStaleMs;
+    private final ConcurrentMap<String, Resolution> resolutions;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final DiscoveryCacheMetrics metrics;
+    private final SnapshotPublisher publisher;
+
+    private CompositeDiscovery(Builder builder) {
+        if (builder.sources.isEmpty()) {
+            throw new IllegalArgumentException("At least one source is required.");
+        }
+        this.sources = Collections.unmodifiableList(new ArrayList<>(builder.sources));
+        this.strategy = builder.strategy == null ? Strategy.FAILOVER : builder.strategy;
+        this.refreshMs = builder.refreshMs;
+        this.recheckMs = builder.recheckMs;
+        this.maxStaleMs = builder.maxStaleMs > 0 ? builder.maxStaleMs : Math.max(DEFAULT_MAX_STALE_MS, refreshMs);
+        if (refreshMs <= 0 || recheckMs < 0) {
+            throw new IllegalArgumentException("The refresh interval must be greater than 0.");
+        }
+        if (maxStaleMs < refreshMs) {
+            throw new IllegalArgumentException("The max stale time must not be less than the refresh interval.");
+        }
+
+        this.resolutions = new ConcurrentHashMap<>();
+        this.metrics = new DiscoveryCacheMetrics();
+        this.publisher = new SnapshotPublisher();
+        // 没有队列,线程用尽时拒绝,被拒绝的查询视为失败,不会堆积.
+        this.executor = new ThreadPoolExecutor(
+            0, builder.maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                Thread thread = new Thread(r, "rpc-restful-composite-discover-" + THREAD_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        // 每个服务同时最多只有一个刷新在排队或者执行,队列长度不会超过服务数量.
+        this.refreshExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, "rpc-restful-composite-refresh-" + THREAD_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        for (Resolution resolution : resolutions.values()) {
+            resolution.close();
+        }
+        refreshExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        if (serviceName == null) {
+            return Collections.emptyList();
+        }
+        Resolution resolution = resolutions.get(serviceName);
+        if (resolution == null) {
+            resolution = resolutions.computeIfAbsent(serviceName, Resolution::new);
+        }
+        List<Endpoint> endpoints = resolution.endpoints;
+        if (endpoints == null) {
+            return resolution.load();
+        }
+        if (System.currentTimeMillis() - resolution.resolvedAt >= resolution.pollMs) {
+            resolution.refreshAsync();
+        }
+        return endpoints;
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
+    }
+
+    /**
+     * 立即在调用线程上重新查询服务.
+     *
+     * @param serviceName 服务名称.
+     * @return true 至少有一个来源查询成功.
+     */
+    public boolean refresh(String serviceName) {
+        Resolution resolution = resolutions.computeIfAbsent(serviceName, Resolution::new);
+        synchronized (resolution) {
+            return resolution.resolve(false);
+        }
+    }
+
+    /**
+     * 服务当前使用的来源,FAILOVER策略下有效.
+     *
+     * @param serviceName 服务名称.
+     * @return 来源,还没有查询过或者所有来源都没有结果时为null.
+     */
+    public Source getWinner(String serviceName) {
+        Resolution resolution = resolutions.get(serviceName);
+        if (resolution == null || resolution.winner < 0) {
+            return null;
+        }
+        return sources.get(resolution.winner);
+    }
+
+    public List<Source> getSources() {
+        return sources;
+    }
+
+    public DiscoveryCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    /*
+    在预算内查询一个来源,超时,失败或者被拒绝时返回null.
+     */
+    private List<Endpoint> query(Source source, String serviceName) {
+        if (source.timeoutMs <= 0) {
+            return source.call(serviceName);
+        }
+        Future<List<Endpoint>> future;
+        try {
+            future = executor.submit(() -> source.call(serviceName));
+        } catch (RejectedExecutionException ex) {
+            source.failures.increment();
+            return null;
+        }
+        return await(source, future, source.timeoutMs);
+    }
+
+    private static List<Endpoint> await(Source source, Future<List<Endpoint>> future, long timeoutMs) {
+        try {
+            return future.get(Math.max(0, timeoutMs), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            source.timeouts.increment();
+            return null;
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception ex) {
+            // 来源本身的运行时异常已经在call中计数和记录,这里只可能是其他的异常.
+            source.failures.increment();
+            LOGGER.log(Level.WARNING, String.format("The discovery source %s failed.", source.name), ex);
+            return null;
+        }
+    }
+
+    /*
+    一个服务的查询结果.endpoints为null表示还没有完成过首次查询,修改都在持有该对象锁时进行.
+    第一次查询前订阅所有可以订阅的来源,订阅失败的来源和普通来源一样依靠轮询.
+     */
+    private final class Resolution {
+
+        private final String serviceName;
+        private final List<List<Endpoint>> lastBySource;
+        private final long[] lastAtBySource;
+        private final AtomicBoolean refreshing;
+        private volatile List<Endpoint> endpoints;
+        private volatile long resolvedAt;
+        private volatile int winner;
+        private volatile long pollMs;
+        private long winnerUntil;
+        private List<Subscription> subscriptions;
+        // 订阅时的立即通知不需要触发刷新,紧接着的查询会读取到最新的结果.
+        private volatile boolean listening;
+
+        Resolution(String serviceName) {
+            this.serviceName = serviceName;
+            this.lastBySource = new ArrayList<>(Collections.nCopies(sources.size(), null));
+            this.lastAtBySource = new long[sources.size()];
+            this.refreshing = new AtomicBoolean();
+            this.winner = -1;
+            this.pollMs = refreshMs;
+        }
+
+        synchronized List<Endpoint> load() {
+            if (endpoints == null) {
+                resolve(true);
+            }
+            return endpoints;
+        }
+
+        void refreshAsync() {
+            if (!refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                refreshExecutor.execute(() -> {
+                    try {
+                        synchronized (this) {
+                            resolve(false);
+                        }
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // 已经关闭,下一次查询时再尝试.
+                refreshing.set(false);
+            }
+        }
+
+        // 必须持有锁.
+        boolean resolve(boolean first) {
+            if (subscriptions == null) {
+                listen();
+            }
+            long start = System.nanoTime();
+            List<Endpoint> result = strategy == Strategy.MERGE ? merge() : failover();
+            boolean success = result != null;
+            if (first) {
+                metrics.recordLoad(success, System.nanoTime() - start);
+            } else {
+                metrics.recordRefresh(success, System.nanoTime() - start);
+            }
+
+            if (success) {
+                endpoints = result;
+            } else if (endpoints == null) {
+                endpoints = Collections.emptyList();
+            }
+            // 失败时同样推迟下一次刷新,避免每次请求都触发一次全部超时的查询.
+            resolvedAt = System.currentTimeMillis();
+            if (publisher.current(serviceName) != null) {
+                publisher.publish(serviceName, endpoints);
+            }
+            return success;
+        }
+
+        // 必须持有锁.
+        private void listen() {
+            subscriptions = new ArrayList<>(sources.size());
+            boolean polling = false;
+            for (Source source : sources) {
+                if (!(source.discovery instanceof SubscribableDiscovery)) {
+                    polling = true;
+                    continue;
+                }
+                try {
+                    subscriptions.add(((SubscribableDiscovery) source.discovery).subscribe(serviceName, snapshot -> {
+                        if (listening) {
+                            refreshAsync();
+                        }
+                    }));
+                } catch (RuntimeException ex) {
+                    polling = true;
+                    LOGGER.log(Level.WARNING, String.format(
+                        "Failed to subscribe to service %s from discovery source %s, polling it instead.",
+                        serviceName, source.name), ex);
+                }
+            }
+            pollMs = polling ? refreshMs : maxStaleMs;
+            listening = true;
+        }
+
+        void close() {
+            List<Subscription> current;
+            synchronized (this) {
+                current = subscriptions;
+                subscriptions = Collections.emptyList();
+                listening = false;
+            }
+            if (current == null) {
+                return;
+            }
+            for (Subscription subscription : current) {
+                try {
+                    subscription.close();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, "Failed to close the discovery source subscription.", ex);
+                }
+            }
+        }
+
+        /*
+        所有来源都失败时返回null;有来源成功但都没有端点时返回空列表.
+         */
+        private List<Endpoint> failover() {
+            int from = 0;
+            if (winner > 0 && System.currentTimeMillis() < winnerUntil) {
+                from = winner;
+            }
+            boolean anySuccess = false;
+            for (int i = from; i < sources.size(); i++) {
+                List<Endpoint> result = query(sources.get(i), serviceName);
+                if (result == null) {
+                    continue;
+                }
+                anySuccess = true;
+                if (!result.isEmpty()) {
+                    winner = i;
+                    if (i > 0 && from == 0) {
+                        // 排在前面的来源刚刚失败,在recheckMs内跳过它们.
+                        winnerUntil = System.currentTimeMillis() + recheckMs;
+                    }
+                    return result;
+                }
+            }
+            if (anySuccess) {
+                winner = -1;
+                return Collections.emptyList();
+            }
+            return null;
+        }
+
+        private List<Endpoint> merge() {
+            List<Future<List<Endpoint>>> futures = new ArrayList<>(sources.size());
+            List<List<Endpoint>> results = new ArrayList<>(sources.size());
+            for (Source source : sources) {
+                if (source.timeoutMs <= 0) {
+                    futures.add(null);
+                    results.add(source.call(serviceName));
+                } else {
+                    try {
+                        futures.add(executor.submit(() -> source.call(serviceName)));
+                    } catch (RejectedExecutionException ex) {
+                        source.failures.increment();
+                        futures.add(null);
+                    }
+                    results.add(null);
+                }
+            }
+            // 所有来源同时开始,每个来源的预算都从这里开始计算.
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < sources.size(); i++) {
+                Future<List<Endpoint>> future = futures.get(i);
+                if (future != null) {
+                    Source source = sources.get(i);
+                    long remaining = source.timeoutMs - (System.currentTimeMillis() - start);
+                    results.set(i, await(source, future, remaining));
+                }
+            }
+
+            boolean anySuccess = false;
+            long now = System.currentTimeMillis();
+            LinkedHashSet<Endpoint> merged = new LinkedHashSet<>();
+            for (int i = 0; i < sources.size(); i++) {
+                List<Endpoint> result = results.get(i);
+                if (result != null) {
+                    anySuccess = true;
+                    lastBySource.set(i, result);
+                    lastAtBySource[i] = now;
+                } else if (now - lastAtBySource[i] <= maxStaleMs) {
+                    result = lastBySource.get(i);
+                } else {
+                    // 太久没有成功,不再相信这个来源上一次的结果.
+                    lastBySource.set(i, null);
+                }
+                if (result != null) {
+                    merged.addAll(result);
+                }
+            }
+            if (!anySuccess) {
+                return null;
+            }
+            List<Endpoint> list = new ArrayList<>(merged);
+            Collections.sort(list);
+            return Collections.unmodifiableList(list);
+        }
+    }
+
+    /**
+     * 组合中的一个来源.
+     */
+    public static final class Source {
+
+        private final String name;
+        private final Discovery discovery;
+        private final long timeoutMs;
+        private final LongAdder timeouts;
+        private final LongAdder failures;
+
+        private Source(String name, Discovery discovery, long timeoutMs) {
+            if (discovery == null) {
+                throw new IllegalArgumentException("The discovery of the source cannot be null.");
+            }
+            this.name = name;
+            this.discovery = discovery;
+            this.timeoutMs = timeoutMs;
+            this.timeouts = new LongAdder();
+            this.failures = new LongAdder();
+        }
+
+        private List<Endpoint> call(String serviceName) {
+            try {
+                List<Endpoint> endpoints = discovery.discover(serviceName);
+                return endpoints == null ? Collections.emptyList() : endpoints;
+            } catch (RuntimeException ex) {
+                failures.increment();
+                LOGGER.log(Level.WARNING,
+                    String.format("The discovery source %s failed to discover service %s.", name, serviceName), ex);
+                return null;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Discovery getDiscovery() {
+            return discovery;
+        }
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        /**
+         * 超过预算被放弃的次数.
+         */
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        /**
+         * 抛出异常或者因为线程用尽而没有执行的次数.
+         */
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Source{" + "name='" + name + '\''
+                + ", timeoutMs=" + timeoutMs
+                + ", timeouts=" + getTimeouts()
+                + ", failures=" + getFailures()
+                + '}';
+        }
+    }
+
+    /**
+     * 构造器.
+     */
+    public static final class Builder {
+        private final List<Source> sources = new ArrayList<>();
+        private Strategy strategy;
+        private long refreshMs = 1000;
+        private long recheckMs = 1000 * 30;
+        private long maxStaleMs;
+        private int maxThreads = 16;
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * 追加一个来源,顺序即优先级.
+         *
+         * @param name      来源名称.
+         * @param discovery 服务发现.
+         * @param timeoutMs 查询预算毫秒,不大于0时在查询线程上直接调用.
+         */
+        public Builder withSource(String name, Discovery discovery, long timeoutMs) {
+            this.sources.add(new Source(name, discovery, timeoutMs));
+            return this;
+        }
+
+        public Builder withStrategy(Strategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * 缓存的结果超过多久后在后台重新查询.
+         */
+        public Builder withRefreshMs(long refreshMs) {
+            this.refreshMs = refreshMs;
+            return this;
+        }
+
+        /**
+         * FAILOVER策略下,主来源失败后多久重新尝试.
+         */
+        public Builder withRecheckMs(long recheckMs) {
+            this.recheckMs = recheckMs;
+            return this;
+        }
+
+        /**
+         * MERGE策略下,查询失败的来源上一次成功的结果最多可以使用多久,不能小于refreshMs.
+         * 不设置时为5分钟和refreshMs中较大的一个.全部来源都可以订阅时,这也是兜底重新查询的间隔.
+         */
+        public Builder withMaxStaleMs(long maxStaleMs) {
+            this.maxStaleMs = maxStaleMs;
+            return this;
+        }
+
+        /**
+         * 执行带预算查询的最大线程数.
+         */
+        public Builder withMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        public CompositeDiscovery build() {
+            return new CompositeDiscovery(this);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 服务发现缓存的加载和后台刷新统计.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 20:20
+ * @since 1.8
+ */
+public final class DiscoveryCacheMetrics {
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder loadCostNanos = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void recordLoad(boolean success, long cost) {
+        loads.increment();
+        loadCostNanos.add(cost);
+        if (!success) {
+            loadFailures.increment();
+        }
+    }
+
+    void recordRefresh(boolean success, long cost) {
+        refreshes.increment();
+        loadCostNanos.add(cost);
+        if (!success) {
+            refreshFailures.increment();
+        }
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    /**
+     * 在调用线程上同步加载的次数,只有缓存中没有可用的值时才会发生.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    /**
+     * 同步加载失败的次数.
+     */
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    /**
+     * 后台刷新的次数.
+     */
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    /**
+     * 后台刷新失败的次数,失败时继续使用旧的值.
+     */
+    public long getRefreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    /**
+     * 因为长时间没有被使用而移除,不再刷新的缓存项数量.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 平均每次加载或刷新的耗时,纳秒.
+     */
+    public long getAverageCostNanos() {
+        long count = loads.sum() + refreshes.sum();
+        return count == 0 ? 0 : loadCostNanos.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscoveryCacheMetrics{" + "loads=" + getLoads()
+            + ", loadFailures=" + getLoadFailures()
+            + ", refreshes=" + getRefreshes()
+            + ", refreshFailures=" + getRefreshFailures()
+            + ", evictions=" + getEvictions()
+            + ", averageCostNanos=" + getAverageCostNanos()
+            + '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+/**
+ * 服务端点变化的监听器.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:45
+ * @since 1.8
+ */
+@FunctionalInterface
+public interface DiscoveryListener {
+
+    /**
+     * 服务的端点发生了变化.<br>
+     * 注意: 回调发生在服务发现更新端点的线程中,实现应该尽快返回,并且不能在回调中修改服务发现.
+     *
+     * @param snapshot 变化后的端点快照.
+     */
+    void onChange(EndpointSnapshot snapshot);
+}
@@ -0,0 +1,394 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+
+/**
+ * 基于DNS的服务发现,把无头服务的A/AAAA记录或者SRV记录解析为多个端点,不需要任何Kubernetes API权限.
+ *
+ * <p>
+ * 服务名称通过名称模板转换为域名,例如 "%s.default.svc.cluster.local" 或者 "_http._tcp.%s.default.svc.cluster.local".
+ * A/AAAA记录使用配置的端口和TLS;SRV记录使用记录中的端口和权重,并且只使用优先级最高(数值最小)的一组记录.
+ * SRV权重(0-65535)除以同组中的最大权重归一到[0, 1];按照RFC 2782,权重为0的记录只有很小的机会被选中,
+ * 同组全部为0时视为没有权重.
+ * </p>
+ * 缓存和刷新的方式如下:
+ * <ul>
+ *     <li>服务第一次被查询时在调用线程上同步解析,之后的查询只读取缓存.</li>
+ *     <li>解析成功后,在记录的TTL经过prefetchRatio比例时由后台线程提前重新解析,调用方不会等待解析.</li>
+ *     <li>解析失败时继续使用上一次成功的结果,并在retryMs之后重试.首次解析失败时返回空列表,同样在后台重试.</li>
+ *     <li>TTL小于minTtlMs时以minTtlMs为准,避免TTL为0的记录造成持续的查询.</li>
+ *     <li>连续idleTtls个TTL没有被查询并且没有订阅者的服务在下一次刷新时被移除,不再刷新,之后的查询重新同步解析.</li>
+ * </ul>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 20:40
+ * @since 1.8
+ */
+public class DnsDiscover implements SubscribableDiscovery {
+
+    /**
+     * 解析的记录类型.
+     */
+    public enum RecordType {
+        /**
+         * A和AAAA记录.
+         */
+        ADDRESS,
+        /**
+         * SRV记录.
+         */
+        SRV
+    }
+
+    private static final AtomicLong THREAD_INDEX = new AtomicLong();
+    /*
+    SRV权重为0的记录相对于权重为1的记录的比例.
+     */
+    private static final float ZERO_WEIGHT_RATIO = 0.01F;
+
+    private final DnsResolver resolver;
+    private final RecordType recordType;
+    private final String nameTemplate;
+    private final int port;
+    private final boolean tls;
+    private final long minTtlMs;
+    private final long retryMs;
+    private final double prefetchRatio;
+    private final int idleTtls;
+    private final ConcurrentMap<String, Entry> entries;
+    private final ScheduledThreadPoolExecutor refreshExecutor;
+    private final DiscoveryCacheMetrics metrics;
+    private final SnapshotPublisher publisher;
+
+    private DnsDiscover(Builder builder) {
+        this.resolver = builder.resolver == null ? new JndiDnsResolver(30) : builder.resolver;
+        this.recordType = builder.recordType == null ? RecordType.ADDRESS : builder.recordType;
+        this.nameTemplate = builder.nameTemplate == null ? "%s" : builder.nameTemplate;
+        this.port = builder.port;
+        this.tls = builder.tls;
+        this.minTtlMs = builder.minTtlMs;
+        this.retryMs = builder.retryMs;
+        this.prefetchRatio = builder.prefetchRatio;
+        this.idleTtls = builder.idleTtls;
+        if (minTtlMs <= 0 || retryMs <= 0) {
+            throw new IllegalArgumentException("The min ttl and the retry interval must be greater than 0.");
+        }
+        if (prefetchRatio <= 0 || prefetchRatio > 1) {
+            throw new IllegalArgumentException("The prefetch ratio must be in (0, 1].");
+        }
+        if (idleTtls <= 0) {
+            throw new IllegalArgumentException("The idle ttls must be greater than 0.");
+        }
+
+        this.entries = new ConcurrentHashMap<>();
+        this.metrics = new DiscoveryCacheMetrics();
+        this.publisher = new SnapshotPublisher();
+        this.refreshExecutor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "rpc-restful-dns-discover-" + THREAD_INDEX.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.refreshExecutor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        if (serviceName == null) {
+            return Collections.emptyList();
+        }
+        Entry entry = entries.get(serviceName);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(serviceName, Entry::new);
+        }
+        entry.lastReadNanos = System.nanoTime();
+        List<Endpoint> endpoints = entry.endpoints;
+        if (endpoints == null) {
+            endpoints = entry.load();
+        }
+        return endpoints;
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
+    }
+
+    /**
+     * 立即在调用线程上重新解析服务.
+     *
+     * @param serviceName 服务名称.
+     * @return true 解析成功, false 解析失败,保留上一次的结果.
+     */
+    public boolean refresh(String serviceName) {
+        Entry entry = entries.computeIfAbsent(serviceName, Entry::new);
+        synchronized (entry) {
+            return entry.resolve(false);
+        }
+    }
+
+    public DiscoveryCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    private List<Endpoint> toEndpoints(List<DnsRecord> records) {
+        if (records == null || records.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int priority = Integer.MAX_VALUE;
+        int maxWeight = 0;
+        if (recordType == RecordType.SRV) {
+            for (DnsRecord record : records) {
+                priority = Math.min(priority, record.getPriority());
+            }
+            for (DnsRecord record : records) {
+                if (record.getPriority() == priority) {
+                    maxWeight = Math.max(maxWeight, record.getWeight());
+                }
+            }
+        }
+        LinkedHashSet<Endpoint> endpoints = new LinkedHashSet<>();
+        for (DnsRecord record : records) {
+            if (recordType == RecordType.SRV) {
+                if (record.getPriority() != priority) {
+                    continue;
+                }
+                endpoints.add(
+                    new Endpoint(record.getTarget(), record.getPort(), tls, normalizeWeight(record, maxWeight)));
+            } else {
+                endpoints.add(new Endpoint(record.getTarget(), port, tls));
+            }
+        }
+        List<Endpoint> list = new ArrayList<>(endpoints);
+        Collections.sort(list);
+        return Collections.unmodifiableList(list);
+    }
+
+    // 同组全部为0时返回0,表示没有权重.
+    private static float normalizeWeight(DnsRecord record, int maxWeight) {
+        if (maxWeight <= 0) {
+            return 0.0F;
+        }
+        if (record.getWeight() <= 0) {
+            return ZERO_WEIGHT_RATIO / maxWeight;
+        }
+        return (float) record.getWeight() / maxWeight;
+    }
+
+    private long ttlMs(List<DnsRecord> records) {
+        long ttlSeconds = Long.MAX_VALUE;
+        for (DnsRecord record : records) {
+            ttlSeconds = Math.min(ttlSeconds, record.getTtlSeconds());
+        }
+        if (ttlSeconds == Long.MAX_VALUE) {
+            // 没有记录时没有TTL,以最小TTL重新查询.
+            return minTtlMs;
+        }
+        return Math.max(minTtlMs, TimeUnit.SECONDS.toMillis(ttlSeconds));
+    }
+
+    /*
+    一个服务的解析结果.endpoints为null表示还没有完成过首次解析,修改都在持有该对象锁时进行.
+    lastReadNanos只由查询线程写入,计划的刷新据此判断服务是否已经不再被使用.
+     */
+    private final class Entry {
+
+        private final String serviceName;
+        private final String name;
+        private volatile List<Endpoint> endpoints;
+        private volatile long lastReadNanos;
+        private long ttlMs;
+        private ScheduledFuture<?> nextRefresh;
+
+        Entry(String serviceName) {
+            this.serviceName = serviceName;
+            this.name = String.format(nameTemplate, serviceName);
+            this.lastReadNanos = System.nanoTime();
+            this.ttlMs = minTtlMs;
+        }
+
+        synchronized List<Endpoint> load() {
+            if (endpoints == null) {
+                resolve(true);
+            }
+            return endpoints;
+        }
+
+        // 必须持有锁.
+        boolean resolve(boolean first) {
+            long start = System.nanoTime();
+            List<DnsRecord> records;
+            try {
+                records = recordType == RecordType.SRV ? resolver.resolveSrv(name) : resolver.resolveAddress(name);
+            } catch (IOException | RuntimeException ex) {
+                record(first, false, System.nanoTime() - start);
+                if (endpoints == null) {
+                    endpoints = Collections.emptyList();
+                }
+                schedule(retryMs);
+                return false;
+            }
+            record(first, true, System.nanoTime() - start);
+            if (records == null) {
+                records = Collections.emptyList();
+            }
+
+            // 内容没有变化时快照的版本不会变化.
+            endpoints = toEndpoints(records);
+            if (publisher.current(serviceName) != null) {
+                publisher.publish(serviceName, endpoints);
+            }
+            ttlMs = ttlMs(records);
+            schedule((long) (ttlMs * prefetchRatio));
+            return true;
+        }
+
+        // 必须持有锁.
+        private boolean idle() {
+            long idleNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs) * idleTtls;
+            return System.nanoTime() - lastReadNanos > idleNanos && !publisher.hasListeners(serviceName);
+        }
+
+        // 必须持有锁.
+        private void evict() {
+            nextRefresh = null;
+            if (entries.remove(serviceName, this)) {
+                metrics.recordEviction();
+            }
+        }
+
+        private void record(boolean first, boolean success, long cost) {
+            if (first) {
+                metrics.recordLoad(success, cost);
+            } else {
+                metrics.recordRefresh(success, cost);
+            }
+        }
+
+        private void schedule(long delayMs) {
+            if (nextRefresh != null) {
+                // 手动刷新时取消已经计划的刷新,每个服务只保留一个计划.
+                nextRefresh.cancel(false);
+            }
+            if (refreshExecutor.isShutdown()) {
+                return;
+            }
+            nextRefresh = refreshExecutor.schedule(() -> {
+                synchronized (this) {
+                    if (idle()) {
+                        evict();
+                    } else {
+                        resolve(false);
+                    }
+                }
+            }, Math.max(1, delayMs), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 构造器.
+     */
+    public static final class Builder {
+        private DnsResolver resolver;
+        private RecordType recordType;
+        private String nameTemplate;
+        private int port = 80;
+        private boolean tls;
+        private long minTtlMs = 1000;
+        private long retryMs = 1000;
+        private double prefetchRatio = 0.8;
+        private int idleTtls = 10;
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        /**
+         * 解析器,默认使用系统DNS服务器的{@link JndiDnsResolver},TTL为30秒.
+         */
+        public Builder withResolver(DnsResolver resolver) {
+            this.resolver = resolver;
+            return this;
+        }
+
+        public Builder withRecordType(RecordType recordType) {
+            this.recordType = recordType;
+            return this;
+        }
+
+        /**
+         * 域名模板,以服务名称替换其中的%s.
+         */
+        public Builder withNameTemplate(String nameTemplate) {
+            this.nameTemplate = nameTemplate;
+            return this;
+        }
+
+        /**
+         * A/AAAA记录使用的端口,SRV记录使用记录中的端口.
+         */
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder withTls(boolean tls) {
+            this.tls = tls;
+            return this;
+        }
+
+        public Builder withMinTtlMs(long minTtlMs) {
+            this.minTtlMs = minTtlMs;
+            return this;
+        }
+
+        public Builder withRetryMs(long retryMs) {
+            this.retryMs = retryMs;
+            return this;
+        }
+
+        /**
+         * TTL经过多少比例时提前刷新,取值(0, 1].
+         */
+        public Builder withPrefetchRatio(double prefetchRatio) {
+            this.prefetchRatio = prefetchRatio;
+            return this;
+        }
+
+        /**
+         * 连续多少个TTL没有被查询并且没有订阅者时移除服务,不再刷新.默认为10.
+         */
+        public Builder withIdleTtls(int idleTtls) {
+            this.idleTtls = idleTtls;
+            return this;
+        }
+
+        public DnsDiscover build() {
+            return new DnsDiscover(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.Objects;
+
+/**
+ * 一条DNS解析记录.A/AAAA记录只有目标地址和TTL,SRV记录还有优先级,权重和端口.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 20:40
+ * @since 1.8
+ */
+public final class DnsRecord {
+
+    private final String target;
+    private final int port;
+    private final int priority;
+    private final int weight;
+    private final long ttlSeconds;
+
+    /**
+     * 构造一条A或者AAAA记录.
+     *
+     * @param address    IP地址.
+     * @param ttlSeconds 记录的TTL,秒.
+     * @return 记录.
+     */
+    public static DnsRecord address(String address, long ttlSeconds) {
+        return new DnsRecord(address, 0, 0, 0, ttlSeconds);
+    }
+
+    /**
+     * 构造一条SRV记录.
+     *
+     * @param priority   优先级,越小越优先.
+     * @param weight     同一优先级内的相对权重.
+     * @param port       端口.
+     * @param target     目标主机名.
+     * @param ttlSeconds 记录的TTL,秒.
+     * @return 记录.
+     */
+    public static DnsRecord srv(int priority, int weight, int port, String target, long ttlSeconds) {
+        return new DnsRecord(target, port, priority, weight, ttlSeconds);
+    }
+
+    private DnsRecord(String target, int port, int priority, int weight, long ttlSeconds) {
+        if (target == null || target.isEmpty()) {
+            throw new IllegalArgumentException("The target of the record cannot be empty.");
+        }
+        // 域名最后的根标签不参与连接.
+        this.target = target.endsWith(".") ? target.substring(0, target.length() - 1) : target;
+        this.port = port;
+        this.priority = priority;
+        this.weight = weight;
+        this.ttlSeconds = Math.max(0, ttlSeconds);
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    /**
+     * 端口,A/AAAA记录为0.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DnsRecord)) {
+            return false;
+        }
+        DnsRecord dnsRecord = (DnsRecord) o;
+        return port == dnsRecord.port
+            && priority == dnsRecord.priority
+            && weight == dnsRecord.weight
+            && target.equals(dnsRecord.target);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(target, port, priority, weight);
+    }
+
+    @Override
+    public String toString() {
+        return "DnsRecord{" + "target='" + target + '\''
+            + ", port=" + port
+            + ", priority=" + priority
+            + ", weight=" + weight
+            + ", ttlSeconds=" + ttlSeconds
+            + '}';
+    }
+}
@@ -0,0 +1,37 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * {@link DnsDiscover}使用的DNS解析器.
+ *
+ * <p>
+ * 名称不存在(NXDOMAIN)或者没有对应的记录时应该返回空列表,例如无头服务缩容到零;
+ * 只有查询本身失败(超时,服务器错误等)时才抛出异常,此时服务发现会继续使用上一次成功的结果.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 20:40
+ * @since 1.8
+ */
+public interface DnsResolver {
+
+    /**
+     * 解析A和AAAA记录.
+     *
+     * @param name 域名.
+     * @return 记录列表.
+     * @throws IOException 查询失败.
+     */
+    List<DnsRecord> resolveAddress(String name) throws IOException;
+
+    /**
+     * 解析SRV记录.
+     *
+     * @param name 域名,例如 _http._tcp.user-service.default.svc.cluster.local .
+     * @return 记录列表.
+     * @throws IOException 查询失败.
+     */
+    List<DnsRecord> resolveSrv(String name) throws IOException;
+}
@@ -2,10 +2,14 @@ package com.vmsmia.framework.component.rpc.restful.discovery;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * 表示一个网络端点的类，可以指定主机、端口和是否使用TLS.
+ * 端点还可以携带其所在的区域(zone)和节点(node)等拓扑信息以及任意的元数据,拓扑信息和元数据不参与端点的相等比较.
  *
  * @author bin.dong
  * @version 0.1 2024/4/17 17:05
@@ -19,6 +23,14 @@ public class Endpoint implements Comparable<Endpoint> {
     private final int port; // 端口号
     private final boolean tls; // 是否使用TLS加密通信
     private final float weight; // 权重
+    private final String zone; // 所在区域,可能为null
+    private final String node; // 所在节点,可能为null
+    private final Map<String, String> metadata; // 元数据,不可变
+    /*
+    端点是不可变的,哈希和排序值在构造时计算,之后作为Map的键和排序时不再重复计算.
+     */
+    private final int hash;
+    private final int sortValue;
 
     /**
      * 根据一段统一资源表达式创建一个Endpoint对象.
@@ -97,10 +109,47 @@ public class Endpoint implements Comparable<Endpoint> {
      * @param tls  是否使用TLS加密通信.
      */
     public Endpoint(String host, int port, boolean tls, float weight) {
+        this(host, port, tls, weight, null, null);
+    }
+
+    /**
+     * 构造函数，创建一个带有拓扑信息的端点.
+     *
+     * @param host 主机地址.
+     * @param port 端口号.
+     * @param tls  是否使用TLS加密通信.
+     * @param zone 所在区域,可以为null.
+     * @param node 所在节点,可以为null.
+     */
+    public Endpoint(String host, int port, boolean tls, float weight, String zone, String node) {
+        this(host, port, tls, weight, zone, node, null);
+    }
+
+    /**
+     * 构造函数，创建一个带有拓扑信息和元数据的端点.
+     *
+     * @param host     主机地址.
+     * @param port     端口号.
+     * @param tls      是否使用TLS加密通信.
+     * @param zone     所在区域,可以为null.
+     * @param node     所在节点,可以为null.
+     * @param metadata 元数据,可以为null.
+     */
+    public Endpoint(
+        String host, int port, boolean tls, float weight, String zone, String node, Map<String, String> metadata) {
         this.host = host;
         this.port = port;
         this.tls = tls;
         this.weight = weight;
+        this.zone = zone;
+        this.node = node;
+        this.metadata = metadata == null || metadata.isEmpty()
+            ? Collections.emptyMap() : Collections.unmodifiableMap(new LinkedHashMap<>(metadata));
+
+        int hostHash = host == null ? 0 : host.hashCode();
+        // 和Objects.hash(host, port, tls)的结果一致,但是没有装箱和可变参数数组.
+        this.hash = 31 * (31 * (31 + hostHash) + port) + Boolean.hashCode(tls);
+        this.sortValue = (hostHash << 17) | ((port & 0xFFFF) << 1) | (tls ? 1 : 0);
     }
 
     /**
@@ -139,6 +188,33 @@ public class Endpoint implements Comparable<Endpoint> {
         return weight;
     }
 
+    /**
+     * 端点所在的区域.
+     *
+     * @return 区域名称,未知为null.
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * 端点所在的节点.
+     *
+     * @return 节点名称,未知为null.
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * 端点的元数据.
+     *
+     * @return 不可变的元数据,没有元数据时为空.
+     */
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
     /**
      * 比较两个端点是否相等.
      *
@@ -164,7 +240,7 @@ public class Endpoint implements Comparable<Endpoint> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(host, port, tls);
+        return hash;
     }
 
     /**
@@ -175,7 +251,7 @@ public class Endpoint implements Comparable<Endpoint> {
      */
     @Override
     public int compareTo(Endpoint o) {
-        return Integer.compare(calculateEndpointSortValue(), o.calculateEndpointSortValue());
+        return Integer.compare(sortValue, o.sortValue);
     }
 
     @Override
@@ -184,12 +260,90 @@ public class Endpoint implements Comparable<Endpoint> {
             + ", port=" + port
             + ", tls=" + tls
             + ", weight=" + weight
+            + ", zone='" + zone + '\''
+            + ", node='" + node + '\''
+            + ", metadata=" + metadata
             + '}';
     }
 
-    private int calculateEndpointSortValue() {
-        int hostNumber = host.hashCode();
-        int tlsNumber = tls ? 1 : 0;
-        return (hostNumber << 17) | ((port & 0xFFFF) << 1) | tlsNumber;
+    /**
+     * 除了主机,端口和TLS之外,权重,拓扑和元数据是否也都相同.
+     *
+     * @param o 另一个端点.
+     * @return true 完全相同.
+     */
+    public boolean sameAttributes(Endpoint o) {
+        if (this == o) {
+            return true;
+        }
+        return equals(o)
+            && Float.compare(weight, o.weight) == 0
+            && Objects.equals(zone, o.zone)
+            && Objects.equals(node, o.node)
+            && metadata.equals(o.metadata);
+    }
+
+    // 排序值,只用于比较.
+    int sortValue() {
+        return sortValue;
+    }
+
+    /**
+     * 端点构造器.
+     */
+    public static final class Builder {
+        private String host = "localhost";
+        private int port = 80;
+        private boolean tls;
+        private float weight;
+        private String zone;
+        private String node;
+        private Map<String, String> metadata;
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        public Builder withHost(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder withTls(boolean tls) {
+            this.tls = tls;
+            return this;
+        }
+
+        public Builder withWeight(float weight) {
+            this.weight = weight;
+            return this;
+        }
+
+        public Builder withZone(String zone) {
+            this.zone = zone;
+            return this;
+        }
+
+        public Builder withNode(String node) {
+            this.node = node;
+            return this;
+        }
+
+        public Builder withMetadata(Map<String, String> metadata) {
+            this.metadata = metadata;
+            return this;
+        }
+
+        public Endpoint build() {
+            return new Endpoint(host, port, tls, weight, zone, node, metadata);
+        }
     }
-}
\ No newline at end of file
+}
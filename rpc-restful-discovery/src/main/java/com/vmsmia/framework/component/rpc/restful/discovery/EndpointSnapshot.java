@@ -0,0 +1,170 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 一个服务在某个版本下的端点快照,不可变.
+ *
+ * <p>
+ * 端点在构造时已经去重并排序,{@link #getEndpoints()}总是返回同一个列表实例,读取不需要任何复制.
+ * 版本号只在同一个来源内有意义,来源保证端点变化时版本号递增.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:20
+ * @since 1.8
+ */
+public final class EndpointSnapshot {
+
+    private static final Endpoint[] EMPTY_ENDPOINTS = new Endpoint[0];
+
+    private final String serviceName;
+    private final long version;
+    private final Endpoint[] endpoints;
+    private final List<Endpoint> endpointList;
+
+    private EndpointSnapshot(String serviceName, long version, Endpoint[] endpoints) {
+        this.serviceName = serviceName;
+        this.version = version;
+        this.endpoints = endpoints;
+        this.endpointList = endpoints.length == 0
+            ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(endpoints));
+    }
+
+    /**
+     * 构造快照,端点会被去重并排序.
+     *
+     * @param serviceName 服务名称.
+     * @param version     版本号.
+     * @param endpoints   端点,可以为null.
+     * @return 快照.
+     */
+    public static EndpointSnapshot of(String serviceName, long version, Collection<Endpoint> endpoints) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            return empty(serviceName, version);
+        }
+        Endpoint[] array = new LinkedHashSet<>(endpoints).toArray(EMPTY_ENDPOINTS);
+        Arrays.sort(array);
+        return new EndpointSnapshot(serviceName, version, array);
+    }
+
+    /**
+     * 构造快照,并以上一个快照中完全相同(包括权重,拓扑和元数据)的端点实例替换新的端点.
+     *
+     * <p>
+     * 这样没有变化的端点在多个版本之间保持同一个实例,以端点为键的缓存(例如请求的URL前缀)可以一直命中,
+     * 比较时也大多只是一次引用比较.
+     * </p>
+     *
+     * @param serviceName 服务名称.
+     * @param version     版本号.
+     * @param endpoints   端点,可以为null.
+     * @param previous    上一个快照,可以为null.
+     * @return 快照.
+     */
+    public static EndpointSnapshot of(
+        String serviceName, long version, Collection<Endpoint> endpoints, EndpointSnapshot previous) {
+        EndpointSnapshot snapshot = of(serviceName, version, endpoints);
+        if (previous == null || previous.isEmpty()) {
+            return snapshot;
+        }
+        Endpoint[] array = snapshot.endpoints;
+        for (int i = 0; i < array.length; i++) {
+            int index = previous.indexOf(array[i]);
+            if (index >= 0 && previous.endpoints[index].sameAttributes(array[i])) {
+                array[i] = previous.endpoints[index];
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 构造没有任何端点的快照.
+     */
+    public static EndpointSnapshot empty(String serviceName, long version) {
+        return new EndpointSnapshot(serviceName, version, EMPTY_ENDPOINTS);
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * 不可变的有序端点列表.
+     */
+    public List<Endpoint> getEndpoints() {
+        return endpointList;
+    }
+
+    public int size() {
+        return endpoints.length;
+    }
+
+    public boolean isEmpty() {
+        return endpoints.length == 0;
+    }
+
+    /**
+     * 获取指定位置的端点.
+     *
+     * @param index 位置,范围[0, size).
+     * @return 端点.
+     */
+    public Endpoint get(int index) {
+        return endpoints[index];
+    }
+
+    /**
+     * 端点在快照中的位置.位置在[0, size)内连续,负载均衡器可以用作数组下标保存每个端点的状态.
+     *
+     * @param endpoint 端点.
+     * @return 位置,不存在时为-1.
+     */
+    public int indexOf(Endpoint endpoint) {
+        if (endpoint == null) {
+            return -1;
+        }
+        // 端点按排序值有序,二分查找到排序值相同的区间后逐个比较.
+        int sortValue = endpoint.sortValue();
+        int low = 0;
+        int high = endpoints.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = endpoints[mid].sortValue();
+            if (value < sortValue) {
+                low = mid + 1;
+            } else if (value > sortValue) {
+                high = mid - 1;
+            } else {
+                for (int i = mid; i >= 0 && endpoints[i].sortValue() == sortValue; i--) {
+                    if (endpoints[i].equals(endpoint)) {
+                        return i;
+                    }
+                }
+                for (int i = mid + 1; i < endpoints.length && endpoints[i].sortValue() == sortValue; i++) {
+                    if (endpoints[i].equals(endpoint)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointSnapshot{" + "serviceName='" + serviceName + '\''
+            + ", version=" + version
+            + ", endpoints=" + endpointList
+            + '}';
+    }
+}
@@ -1,16 +1,337 @@
 package com.vmsmia.framework.component.rpc.restful.discovery;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.javaprop.JavaPropsMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
+ * 基于文件的服务发现,支持YAML, JSON和properties三种格式,以文件扩展名区分.
+ *
+ * <p>
+ * 文件内容在加载后被转换为一个不可变的快照,查询只是一次Map读取.启动后会以{@link WatchService}监听文件所在目录,
+ * 定义文件本身的变化会重新加载并整体替换快照,目录中其他文件的变化被忽略.加载失败时保留旧的快照.
+ * 之所以监听整个目录,是为了兼容Kubernetes ConfigMap以符号链接整体替换目录的更新方式,
+ * 这时只有{@value #CONFIG_MAP_DATA}符号链接产生事件,同样会重新加载.
+ * </p>
+ * YAML格式如下,JSON的结构相同.
+ * <pre>
+ *     services:
+ *       user-service:
+ *         - http://10.0.0.1:8080
+ *         - url: https://10.0.0.2:8443
+ *           weight: 0.5
+ *           zone: zone-a
+ *           node: node-1
+ *           metadata:
+ *             version: v2
+ *         - host: 10.0.0.3
+ *           port: 8080
+ *           tls: false
+ * </pre>
+ * properties格式如下.
+ * <pre>
+ *     services.user-service[0].url=http://10.0.0.1:8080
+ *     services.user-service[1].url=https://10.0.0.2:8443
+ *     services.user-service[1].weight=0.5
+ *     services.user-service[1].metadata.version=v2
+ * </pre>
+ *
  * @author bin.dong
  * @version 0.1 2024/4/22 17:38
  * @since 1.8
  */
-public class FileDiscover implements Discovery {
+public class FileDiscover implements SubscribableDiscovery {
+
+    private static final String SERVICES_FIELD = "services";
+    private static final String URL_FIELD = "url";
+    private static final String HOST_FIELD = "host";
+    private static final String PORT_FIELD = "port";
+    private static final String TLS_FIELD = "tls";
+    private static final String WEIGHT_FIELD = "weight";
+    private static final String ZONE_FIELD = "zone";
+    private static final String NODE_FIELD = "node";
+    private static final String METADATA_FIELD = "metadata";
+    /*
+    Kubernetes ConfigMap 挂载时,更新是通过原子替换这个符号链接完成的.
+     */
+    private static final String CONFIG_MAP_DATA = "..data";
+    private static final AtomicLong THREAD_INDEX = new AtomicLong();
+
+    private final Path file;
+    private final Path fileName;
+    private final ObjectMapper mapper;
+    private final SnapshotPublisher publisher;
+    private final AtomicLong reloads = new AtomicLong();
+    private volatile Map<String, List<Endpoint>> snapshot;
+    private volatile WatchService watchService;
+    private Thread watchThread;
+
+    public FileDiscover(String file) {
+        this(Paths.get(file));
+    }
+
+    /**
+     * 构造基于文件的服务发现.
+     *
+     * @param file 定义文件,扩展名必须是yaml, yml, json或者properties.
+     */
+    public FileDiscover(Path file) {
+        this.file = file.toAbsolutePath().normalize();
+        this.fileName = this.file.getFileName();
+        this.mapper = selectMapper(this.file);
+        this.publisher = new SnapshotPublisher();
+        this.snapshot = Collections.emptyMap();
+    }
+
+    /**
+     * 首次加载并开始监听文件变化.首次加载失败会抛出异常.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            this.snapshot = load();
+        } catch (IOException ex) {
+            throw new IllegalStateException(
+                String.format("Unable to load the discovery file %s.[%s]", file, ex.getMessage()), ex);
+        }
+
+        Path directory = file.getParent();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException ex) {
+            throw new IllegalStateException(
+                String.format("Unable to watch the directory %s.[%s]", directory, ex.getMessage()), ex);
+        }
+
+        watchThread = new Thread(this::watch, "rpc-restful-file-discover-" + THREAD_INDEX.incrementAndGet());
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        WatchService ws = this.watchService;
+        this.watchService = null;
+        if (ws != null) {
+            try {
+                ws.close();
+            } catch (IOException ex) {
+                // 关闭失败不影响退出.
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+    }
+
     @Override
     public List<Endpoint> discover(String serviceName) {
-        return Collections.emptyList();
+        if (serviceName == null) {
+            return Collections.emptyList();
+        }
+        return snapshot.getOrDefault(serviceName, Collections.emptyList());
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
+    }
+
+    /**
+     * 立即重新加载文件.
+     *
+     * @return true 加载成功并替换了快照, false 加载失败,保留旧的快照.
+     */
+    public boolean reload() {
+        reloads.incrementAndGet();
+        try {
+            Map<String, List<Endpoint>> old = this.snapshot;
+            this.snapshot = load();
+            notifyChanged(old);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            return false;
+        }
+    }
+
+    // 只通知已经被获取过快照或者订阅过的服务,内容没有变化的服务不会产生通知.
+    private void notifyChanged(Map<String, List<Endpoint>> old) {
+        Set<String> serviceNames = new HashSet<>(old.keySet());
+        serviceNames.addAll(snapshot.keySet());
+        for (String serviceName : serviceNames) {
+            if (publisher.current(serviceName) != null) {
+                publisher.publish(serviceName, discover(serviceName));
+            }
+        }
+    }
+
+    private void watch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchService ws = this.watchService;
+            if (ws == null) {
+                return;
+            }
+            WatchKey key;
+            try {
+                key = ws.take();
+            } catch (InterruptedException | ClosedWatchServiceException ex) {
+                return;
+            }
+            // 一次保存通常会产生多个事件,这里只需要知道定义文件是否有变化.
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                changed |= affects(event);
+            }
+            if (changed) {
+                reload();
+            }
+            if (!key.reset()) {
+                // 目录已经不可访问.
+                return;
+            }
+        }
+    }
+
+    /**
+     * 重新加载的次数,包含失败的加载,主要用以测试.
+     */
+    long getReloads() {
+        return reloads.get();
+    }
+
+    // 事件溢出时无法知道具体的文件,只能重新加载.
+    private boolean affects(WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            return true;
+        }
+        Object context = event.context();
+        return fileName.equals(context) || (context instanceof Path
+            && CONFIG_MAP_DATA.equals(((Path) context).toString()));
+    }
+
+    private Map<String, List<Endpoint>> load() throws IOException {
+        JsonNode root;
+        try (InputStream in = Files.newInputStream(file)) {
+            root = mapper.readTree(in);
+        }
+        if (root == null || root.isMissingNode() || root.isNull()) {
+            // 文件正在被重写时可能读到空的内容,不能以此清空所有服务.没有服务应该明确写为空的对象.
+            throw new IOException("The discovery file is empty.");
+        }
+        JsonNode services = root.has(SERVICES_FIELD) ? root.get(SERVICES_FIELD) : root;
+        if (!services.isObject()) {
+            throw new IOException("The services definition must be an object.");
+        }
+
+        Map<String, List<Endpoint>> endpoints = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = services.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            endpoints.put(field.getKey(), parseEndpoints(field.getKey(), field.getValue()));
+        }
+        return StaticDiscover.freeze(endpoints);
+    }
+
+    private List<Endpoint> parseEndpoints(String serviceName, JsonNode node) throws IOException {
+        List<Endpoint> endpoints = new ArrayList<>();
+        if (node.isArray() || (node.isObject() && !isEndpoint(node))) {
+            // properties格式的下标在某些情况下会被解析为以数字为键的对象.
+            for (JsonNode element : node) {
+                endpoints.add(parseEndpoint(serviceName, element));
+            }
+        } else {
+            endpoints.add(parseEndpoint(serviceName, node));
+        }
+        return endpoints;
+    }
+
+    private Endpoint parseEndpoint(String serviceName, JsonNode node) throws IOException {
+        if (node.isTextual()) {
+            return Endpoint.parse(node.asText());
+        }
+        if (!isEndpoint(node)) {
+            throw new IOException(String.format("Invalid endpoint definition of service %s.", serviceName));
+        }
+
+        Endpoint.Builder builder = Endpoint.Builder.anBuilder();
+        if (node.has(URL_FIELD)) {
+            Endpoint base = Endpoint.parse(node.get(URL_FIELD).asText());
+            builder.withHost(base.getHost()).withPort(base.getPort()).withTls(base.isTls());
+        } else {
+            builder.withHost(node.get(HOST_FIELD).asText())
+                .withPort(node.has(PORT_FIELD) ? node.get(PORT_FIELD).asInt() : 80)
+                .withTls(node.has(TLS_FIELD) && node.get(TLS_FIELD).asBoolean());
+        }
+        if (node.has(WEIGHT_FIELD)) {
+            builder.withWeight((float) node.get(WEIGHT_FIELD).asDouble());
+        }
+        if (node.has(ZONE_FIELD)) {
+            builder.withZone(node.get(ZONE_FIELD).asText());
+        }
+        if (node.has(NODE_FIELD)) {
+            builder.withNode(node.get(NODE_FIELD).asText());
+        }
+        JsonNode metadata = node.get(METADATA_FIELD);
+        if (metadata != null && metadata.isObject()) {
+            Map<String, String> values = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = metadata.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                values.put(field.getKey(), field.getValue().asText());
+            }
+            builder.withMetadata(values);
+        }
+        return builder.build();
+    }
+
+    private static boolean isEndpoint(JsonNode node) {
+        return node.isObject() && (node.has(URL_FIELD) || node.has(HOST_FIELD));
+    }
+
+    private static ObjectMapper selectMapper(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        if (name.endsWith(".yaml") || name.endsWith(".yml")) {
+            return new YAMLMapper();
+        } else if (name.endsWith(".json")) {
+            return new ObjectMapper();
+        } else if (name.endsWith(".properties")) {
+            return new JavaPropsMapper();
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported discovery file format.[%s]", file));
+        }
     }
 }
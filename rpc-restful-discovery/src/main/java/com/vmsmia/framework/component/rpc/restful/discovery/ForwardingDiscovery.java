@@ -0,0 +1,57 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.List;
+
+/**
+ * 转发式的服务发现,所有的调用都委托给被包装的服务发现.<br>
+ * 用以在不改变原始服务发现实现的前提下附加额外的行为(例如健康检查),子类只需要覆盖需要增强的方法.<br>
+ * 如果被包装的服务发现不支持订阅,以每次拉取到的端点列表检测变化,这时只有在获取快照时才会产生变化通知.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 10:12
+ * @since 1.8
+ */
+public class ForwardingDiscovery implements SubscribableDiscovery {
+
+    private final Discovery delegate;
+    private final SnapshotPublisher publisher;
+
+    public ForwardingDiscovery(Discovery delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegate discovery cannot be null.");
+        }
+        this.delegate = delegate;
+        this.publisher = new SnapshotPublisher();
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        return delegate.discover(serviceName);
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        if (delegate instanceof SubscribableDiscovery) {
+            return ((SubscribableDiscovery) delegate).snapshot(serviceName);
+        } else {
+            return publisher.publish(serviceName, delegate.discover(serviceName));
+        }
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        if (delegate instanceof SubscribableDiscovery) {
+            return ((SubscribableDiscovery) delegate).subscribe(serviceName, listener);
+        } else {
+            snapshot(serviceName);
+            return publisher.subscribe(serviceName, listener);
+        }
+    }
+
+    /**
+     * 被包装的服务发现.
+     */
+    public Discovery getDelegate() {
+        return delegate;
+    }
+}
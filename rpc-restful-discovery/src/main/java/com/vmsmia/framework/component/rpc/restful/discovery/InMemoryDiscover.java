@@ -1,49 +1,180 @@
 package com.vmsmia.framework.component.rpc.restful.discovery;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * 基于内存的服务发现实现,主要用以测试使用.
+ * 基于内存的服务发现实现,以编程方式注册端点.
+ *
+ * <p>
+ * 所有服务的快照保存在一个不可变的Map中,任何修改都在锁内复制出新的Map后整体替换(写时复制).
+ * 查询只是一次volatile读和一次Map读,没有锁也没有排序.每一次修改都会使注册表的版本号递增,
+ * 被修改的服务的快照携带修改后的版本号,并在锁内通知这个服务的订阅者.
+ * </p>
  *
  * @author bin.dong
  * @version 0.1 2024/4/17 17:20
  * @since 1.8
  */
-public class InMemoryDiscover implements Discovery {
+public class InMemoryDiscover implements SubscribableDiscovery {
 
     private static final InMemoryDiscover INSTANCE = new InMemoryDiscover();
-    private final Map<String, List<Endpoint>> endpoints;
+    private final SnapshotPublisher publisher;
+    private volatile Map<String, EndpointSnapshot> snapshots;
+    private long version;
 
     public static InMemoryDiscover getInstance() {
         return INSTANCE;
     }
 
     private InMemoryDiscover() {
-        endpoints = new HashMap<>();
+        publisher = new SnapshotPublisher();
+        snapshots = Collections.emptyMap();
     }
 
     @Override
     public List<Endpoint> discover(String serviceName) {
-        List<Endpoint> es = endpoints.get(serviceName);
-        if (es == null) {
+        EndpointSnapshot snapshot = snapshots.get(serviceName);
+        if (snapshot == null) {
             return Collections.emptyList();
         } else {
-            Collections.sort(es);
-            return es;
+            return snapshot.getEndpoints();
+        }
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        EndpointSnapshot snapshot = snapshots.get(serviceName);
+        if (snapshot != null) {
+            return snapshot;
         }
+        // 被注销的服务保留了注销时的空快照.
+        snapshot = publisher.current(serviceName);
+        return snapshot != null ? snapshot : EndpointSnapshot.empty(serviceName, 0);
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        return publisher.subscribe(serviceName, listener);
     }
 
+    /**
+     * 注册表当前的版本号.
+     */
+    public synchronized long version() {
+        return version;
+    }
+
+    /**
+     * 注册一个端点,已经存在的相同端点会被替换.
+     */
     public void register(String serviceName, Endpoint endpoint) {
-        List<Endpoint> es = this.endpoints.computeIfAbsent(serviceName, k -> new ArrayList<>());
-        es.add(endpoint);
+        register(serviceName, Collections.singletonList(endpoint));
+    }
+
+    /**
+     * 批量注册端点,已经存在的相同端点会被替换.
+     */
+    public synchronized void register(String serviceName, Collection<Endpoint> endpoints) {
+        EndpointSnapshot old = snapshots.get(serviceName);
+        List<Endpoint> merged = new ArrayList<>(endpoints);
+        if (old != null) {
+            for (Endpoint endpoint : old.getEndpoints()) {
+                if (!endpoints.contains(endpoint)) {
+                    merged.add(endpoint);
+                }
+            }
+        }
+        publish(serviceName, merged);
     }
 
-    public void reset() {
-        this.endpoints.clear();
+    /**
+     * 注销一个端点.
+     *
+     * @return true 端点存在并已经注销, false 端点不存在.
+     */
+    public synchronized boolean deregister(String serviceName, Endpoint endpoint) {
+        EndpointSnapshot old = snapshots.get(serviceName);
+        if (old == null || !old.getEndpoints().contains(endpoint)) {
+            return false;
+        }
+        List<Endpoint> remaining = new ArrayList<>(old.getEndpoints());
+        remaining.remove(endpoint);
+        publish(serviceName, remaining);
+        return true;
     }
 
+    /**
+     * 注销服务的所有端点.
+     *
+     * @return true 服务存在并已经注销, false 服务不存在.
+     */
+    public synchronized boolean deregister(String serviceName) {
+        if (!snapshots.containsKey(serviceName)) {
+            return false;
+        }
+        publish(serviceName, Collections.emptyList());
+        return true;
+    }
+
+    /**
+     * 以给定的端点整体替换一个服务的端点.
+     */
+    public synchronized void replace(String serviceName, Collection<Endpoint> endpoints) {
+        publish(serviceName, endpoints);
+    }
+
+    /**
+     * 以给定的定义整体替换所有服务,不在定义中的服务会被注销.
+     */
+    public synchronized void replaceAll(Map<String, ? extends Collection<Endpoint>> endpoints) {
+        long next = ++version;
+        Map<String, EndpointSnapshot> old = snapshots;
+        Map<String, EndpointSnapshot> current = new HashMap<>(endpoints.size() * 2);
+        for (Map.Entry<String, ? extends Collection<Endpoint>> entry : endpoints.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                current.put(entry.getKey(),
+                    EndpointSnapshot.of(entry.getKey(), next, entry.getValue(), old.get(entry.getKey())));
+            }
+        }
+        snapshots = Collections.unmodifiableMap(current);
+
+        for (EndpointSnapshot snapshot : current.values()) {
+            publisher.publish(snapshot);
+        }
+        for (String serviceName : old.keySet()) {
+            if (!current.containsKey(serviceName)) {
+                publisher.publish(EndpointSnapshot.empty(serviceName, next));
+            }
+        }
+    }
+
+    public synchronized void reset() {
+        long next = ++version;
+        Map<String, EndpointSnapshot> old = snapshots;
+        snapshots = Collections.emptyMap();
+        for (String serviceName : old.keySet()) {
+            publisher.publish(EndpointSnapshot.empty(serviceName, next));
+        }
+    }
+
+    // 必须在锁内调用.
+    private void publish(String serviceName, Collection<Endpoint> endpoints) {
+        long next = ++version;
+        Map<String, EndpointSnapshot> current = new HashMap<>(snapshots);
+        EndpointSnapshot snapshot;
+        if (endpoints.isEmpty()) {
+            current.remove(serviceName);
+            snapshot = EndpointSnapshot.empty(serviceName, next);
+        } else {
+            snapshot = EndpointSnapshot.of(serviceName, next, endpoints, current.get(serviceName));
+            current.put(serviceName, snapshot);
+        }
+        snapshots = Collections.unmodifiableMap(current);
+        publisher.publish(snapshot);
+    }
 }
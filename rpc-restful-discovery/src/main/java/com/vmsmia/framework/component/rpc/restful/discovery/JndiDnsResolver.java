@@ -0,0 +1,137 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.Attributes;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+
+/**
+ * 基于JDK内置JNDI DNS提供者的解析器,直接查询DNS服务器,不经过JVM的地址缓存.
+ *
+ * <p>
+ * JNDI不提供记录的TTL,所有记录都使用构造时指定的TTL.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 20:40
+ * @since 1.8
+ */
+public class JndiDnsResolver implements DnsResolver {
+
+    private static final String DNS_CONTEXT_FACTORY = "com.sun.jndi.dns.DnsContextFactory";
+    private static final String TIMEOUT_PROPERTY = "com.sun.jndi.dns.timeout.initial";
+    private static final String RETRIES_PROPERTY = "com.sun.jndi.dns.timeout.retries";
+    private static final String[] ADDRESS_TYPES = new String[] {"A", "AAAA"};
+    private static final String[] SRV_TYPES = new String[] {"SRV"};
+
+    private final Hashtable<String, String> environment;
+    private final long ttlSeconds;
+
+    /**
+     * 使用系统配置的DNS服务器.
+     *
+     * @param ttlSeconds 记录的TTL,秒.
+     */
+    public JndiDnsResolver(long ttlSeconds) {
+        this(ttlSeconds, null, 1000, 1);
+    }
+
+    /**
+     * 构造解析器.
+     *
+     * @param ttlSeconds 记录的TTL,秒.
+     * @param servers    DNS服务器,例如 10.96.0.10 或者 10.96.0.10:53,为空时使用系统配置.
+     * @param timeoutMs  首次查询的超时毫秒,之后每次重试加倍.
+     * @param retries    重试次数.
+     */
+    public JndiDnsResolver(long ttlSeconds, List<String> servers, int timeoutMs, int retries) {
+        this.ttlSeconds = ttlSeconds;
+        this.environment = new Hashtable<>();
+        this.environment.put(Context.INITIAL_CONTEXT_FACTORY, DNS_CONTEXT_FACTORY);
+        this.environment.put(TIMEOUT_PROPERTY, Integer.toString(timeoutMs));
+        this.environment.put(RETRIES_PROPERTY, Integer.toString(retries));
+        if (servers != null && !servers.isEmpty()) {
+            StringBuilder buff = new StringBuilder();
+            for (String server : servers) {
+                if (buff.length() > 0) {
+                    buff.append(' ');
+                }
+                buff.append("dns://").append(server);
+            }
+            this.environment.put(Context.PROVIDER_URL, buff.toString());
+        }
+    }
+
+    @Override
+    public List<DnsRecord> resolveAddress(String name) throws IOException {
+        List<DnsRecord> records = new ArrayList<>();
+        for (String value : lookup(name, ADDRESS_TYPES)) {
+            records.add(DnsRecord.address(value, ttlSeconds));
+        }
+        return records;
+    }
+
+    @Override
+    public List<DnsRecord> resolveSrv(String name) throws IOException {
+        List<DnsRecord> records = new ArrayList<>();
+        for (String value : lookup(name, SRV_TYPES)) {
+            // 格式为 "优先级 权重 端口 目标".
+            String[] parts = value.trim().split("\\s+");
+            if (parts.length != 4) {
+                throw new IOException(String.format("Invalid SRV record.[%s]", value));
+            }
+            try {
+                records.add(DnsRecord.srv(
+                    Integer.parseInt(parts[0]),
+                    Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]),
+                    parts[3],
+                    ttlSeconds));
+            } catch (NumberFormatException ex) {
+                throw new IOException(String.format("Invalid SRV record.[%s]", value), ex);
+            }
+        }
+        return records;
+    }
+
+    private List<String> lookup(String name, String[] types) throws IOException {
+        DirContext context = null;
+        try {
+            context = new InitialDirContext(environment);
+            Attributes attributes = context.getAttributes(name, types);
+            List<String> values = new ArrayList<>();
+            for (String type : types) {
+                Attribute attribute = attributes.get(type);
+                if (attribute == null) {
+                    continue;
+                }
+                NamingEnumeration<?> all = attribute.getAll();
+                while (all.hasMore()) {
+                    values.add(String.valueOf(all.next()));
+                }
+            }
+            return values;
+        } catch (NameNotFoundException ex) {
+            return Collections.emptyList();
+        } catch (NamingException ex) {
+            throw new IOException(String.format("Unable to resolve %s.[%s]", name, ex.getMessage()), ex);
+        } finally {
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (NamingException ex) {
+                    // 关闭失败不影响结果.
+                }
+            }
+        }
+    }
+}
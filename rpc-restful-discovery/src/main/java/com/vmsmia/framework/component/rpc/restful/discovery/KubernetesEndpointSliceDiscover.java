@@ -0,0 +1,403 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointConditions;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointHints;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointPort;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSlice;
+import io.fabric8.kubernetes.api.model.discovery.v1.ForZone;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * 基于Kubernetes EndpointSlice的Pod级别服务发现.
+ *
+ * <p>
+ * 和{@link KubernetesServiceDiscover}返回Service的ClusterIP地址不同,这里返回的是服务背后每一个Pod的IP和端口,
+ * 客户端的负载均衡因此作用在真实的后端上,而不是全部交给kube-proxy.
+ * </p>
+ * 主要工作原理如下:
+ * <ul>
+ *     <li>通过共享的informer监听EndpointSlice,首次启动时会阻塞到完成全量同步.</li>
+ *     <li>每一个EndpointSlice的变化只重新计算其所属服务的端点列表,计算结果是一个不可变的列表,读取时没有锁.</li>
+ *     <li>只返回就绪且不在终止中的端点;如果没有这样的端点,退化为返回仍可服务(serving)但终止中的端点.</li>
+ *     <li>端点会携带所在的区域和节点.如果设置了客户端所在区域且所有端点都有区域提示(hints),只返回提示给该区域的端点.</li>
+ * </ul>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 18:10
+ * @since 1.8
+ */
+public class KubernetesEndpointSliceDiscover implements SubscribableDiscovery {
+
+    /**
+     * EndpointSlice上记录所属服务名称的标签.
+     */
+    static final String SERVICE_NAME_LABEL = "kubernetes.io/service-name";
+    private static final String SCHEME_HTTP = "http";
+    private static final String SCHEME_HTTPS = "https";
+    private static final Comparator<Endpoint> ENDPOINT_ORDER =
+        Comparator.comparing(Endpoint::getHost).thenComparingInt(Endpoint::getPort);
+
+    private final boolean allNamespace;
+    private final String clientZone;
+    /*
+    服务名称 -> (命名空间 -> 端点列表).只会被整体替换,值都是不可变的.
+     */
+    private final ConcurrentMap<String, Map<String, List<Endpoint>>> services;
+    /*
+    命名空间/服务名称 -> (EndpointSlice名称 -> 解析后的端点).只在informer的事件线程中修改.
+     */
+    private final Map<String, Map<String, List<SliceEndpoint>>> slices;
+    private final SnapshotPublisher publisher;
+    private String namespace;
+
+    private KubernetesClient kubernetesClient;
+    private boolean privateKubernetesClient;
+
+    private SharedIndexInformer<EndpointSlice> informer;
+
+    public KubernetesEndpointSliceDiscover(boolean allNamespace) {
+        this(allNamespace, null, null);
+    }
+
+    /**
+     * 构造一个新的服务发现实例.
+     *
+     * @param allNamespace     true 监听所有命名空间,当前命名空间找不到服务时在其他命名空间中查找.
+     * @param clientZone       客户端所在的区域,用以匹配区域提示.可为null,表示忽略区域提示.
+     * @param kubernetesClient Kubernetes客户端. 可为null,内部会以默认配置创建一个.
+     */
+    public KubernetesEndpointSliceDiscover(boolean allNamespace, String clientZone, KubernetesClient kubernetesClient) {
+        this.allNamespace = allNamespace;
+        this.clientZone = clientZone == null || clientZone.isEmpty() ? null : clientZone;
+        this.kubernetesClient = kubernetesClient;
+        this.services = new ConcurrentHashMap<>();
+        this.slices = new HashMap<>();
+        this.publisher = new SnapshotPublisher();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (kubernetesClient == null) {
+            kubernetesClient = new KubernetesClientBuilder().withConfig(Config.autoConfigure(null)).build();
+            privateKubernetesClient = true;
+        }
+        this.namespace = kubernetesClient.getNamespace();
+
+        EndpointSliceHandler handler = new EndpointSliceHandler();
+        if (allNamespace) {
+            this.informer = kubernetesClient.discovery().v1().endpointSlices().inAnyNamespace().inform(handler);
+        } else {
+            this.informer =
+                kubernetesClient.discovery().v1().endpointSlices().inNamespace(namespace).inform(handler);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (informer != null) {
+            informer.close();
+        }
+
+        if (kubernetesClient != null && this.privateKubernetesClient) {
+            // 只处理自己设置的client.
+            kubernetesClient.close();
+        }
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        if (serviceName == null || serviceName.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, List<Endpoint>> namespaces = services.get(serviceName);
+        if (namespaces == null) {
+            return Collections.emptyList();
+        }
+
+        List<Endpoint> endpoints = namespaces.get(namespace);
+        if (endpoints != null) {
+            return endpoints;
+        }
+
+        if (allNamespace && !namespaces.isEmpty()) {
+            // 命名空间是有序的,保证多次调用选择同一个命名空间.
+            return namespaces.values().iterator().next();
+        }
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
+    }
+
+    private synchronized void update(EndpointSlice slice) {
+        String serviceName = serviceName(slice);
+        if (serviceName == null) {
+            return;
+        }
+        String sliceNamespace = slice.getMetadata().getNamespace();
+        Map<String, List<SliceEndpoint>> serviceSlices =
+            slices.computeIfAbsent(key(sliceNamespace, serviceName), k -> new HashMap<>());
+        serviceSlices.put(slice.getMetadata().getName(), parseSlice(slice));
+
+        publish(sliceNamespace, serviceName, serviceSlices);
+    }
+
+    private synchronized void remove(EndpointSlice slice) {
+        String serviceName = serviceName(slice);
+        if (serviceName == null) {
+            return;
+        }
+        String sliceNamespace = slice.getMetadata().getNamespace();
+        String key = key(sliceNamespace, serviceName);
+        Map<String, List<SliceEndpoint>> serviceSlices = slices.get(key);
+        if (serviceSlices == null) {
+            return;
+        }
+        serviceSlices.remove(slice.getMetadata().getName());
+        if (serviceSlices.isEmpty()) {
+            slices.remove(key);
+        }
+
+        publish(sliceNamespace, serviceName, serviceSlices);
+    }
+
+    // 重新计算一个服务在指定命名空间中的端点,并替换发布.
+    private void publish(String sliceNamespace, String serviceName, Map<String, List<SliceEndpoint>> serviceSlices) {
+        Map<String, List<Endpoint>> old = services.getOrDefault(serviceName, Collections.emptyMap());
+        Map<String, List<Endpoint>> current = new TreeMap<>(old);
+        if (serviceSlices.isEmpty()) {
+            current.remove(sliceNamespace);
+        } else {
+            current.put(sliceNamespace, select(serviceSlices));
+        }
+
+        if (current.isEmpty()) {
+            services.remove(serviceName);
+        } else {
+            services.put(serviceName, Collections.unmodifiableMap(current));
+        }
+
+        // 只通知已经被获取过快照或者订阅过的服务.
+        if (publisher.current(serviceName) != null) {
+            publisher.publish(serviceName, discover(serviceName));
+        }
+    }
+
+    private List<Endpoint> select(Map<String, List<SliceEndpoint>> serviceSlices) {
+        /*
+        同一个端点在EndpointSlice迁移过程中可能同时出现在多个EndpointSlice中,以端点去重,就绪的状态优先.
+         */
+        Map<Endpoint, SliceEndpoint> all = new LinkedHashMap<>();
+        for (List<SliceEndpoint> sliceEndpoints : serviceSlices.values()) {
+            for (SliceEndpoint sliceEndpoint : sliceEndpoints) {
+                SliceEndpoint exist = all.get(sliceEndpoint.endpoint);
+                if (exist == null || (!exist.isReady() && sliceEndpoint.isReady())) {
+                    all.put(sliceEndpoint.endpoint, sliceEndpoint);
+                }
+            }
+        }
+
+        List<SliceEndpoint> candidates = new ArrayList<>();
+        for (SliceEndpoint sliceEndpoint : all.values()) {
+            if (sliceEndpoint.isReady()) {
+                candidates.add(sliceEndpoint);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // 没有就绪的端点,使用仍然可以服务的终止中端点,让正在退出的Pod完成剩余的请求.
+            for (SliceEndpoint sliceEndpoint : all.values()) {
+                if (sliceEndpoint.serving) {
+                    candidates.add(sliceEndpoint);
+                }
+            }
+        }
+
+        candidates = filterByZoneHints(candidates);
+
+        List<Endpoint> endpoints = new ArrayList<>(candidates.size());
+        for (SliceEndpoint sliceEndpoint : candidates) {
+            endpoints.add(sliceEndpoint.endpoint);
+        }
+        endpoints.sort(ENDPOINT_ORDER);
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    /*
+    和kube-proxy的拓扑感知路由一致: 只有所有端点都有区域提示,并且至少有一个端点提示给客户端所在区域时才过滤,
+    否则忽略区域提示.
+     */
+    private List<SliceEndpoint> filterByZoneHints(List<SliceEndpoint> candidates) {
+        if (clientZone == null || candidates.isEmpty()) {
+            return candidates;
+        }
+        List<SliceEndpoint> hinted = new ArrayList<>();
+        for (SliceEndpoint sliceEndpoint : candidates) {
+            if (sliceEndpoint.zoneHints.isEmpty()) {
+                return candidates;
+            }
+            if (sliceEndpoint.zoneHints.contains(clientZone)) {
+                hinted.add(sliceEndpoint);
+            }
+        }
+        return hinted.isEmpty() ? candidates : hinted;
+    }
+
+    private List<SliceEndpoint> parseSlice(EndpointSlice slice) {
+        EndpointPort port = selectPort(slice.getPorts());
+        if (port == null || slice.getEndpoints() == null) {
+            return Collections.emptyList();
+        }
+        boolean tls = isHttps(port);
+
+        List<SliceEndpoint> sliceEndpoints = new ArrayList<>(slice.getEndpoints().size());
+        for (io.fabric8.kubernetes.api.model.discovery.v1.Endpoint endpoint : slice.getEndpoints()) {
+            if (endpoint.getAddresses() == null || endpoint.getAddresses().isEmpty()) {
+                continue;
+            }
+            // 同一个端点的多个地址是可替换的,只使用第一个.
+            Endpoint target = Endpoint.Builder.anBuilder()
+                .withHost(endpoint.getAddresses().get(0))
+                .withPort(port.getPort())
+                .withTls(tls)
+                .withZone(endpoint.getZone())
+                .withNode(endpoint.getNodeName())
+                .build();
+            sliceEndpoints.add(new SliceEndpoint(target, endpoint.getConditions(), endpoint.getHints()));
+        }
+        return sliceEndpoints;
+    }
+
+    /*
+    优先选择名称或者应用协议表明是HTTP的端口.
+    只有一个端口的服务可以不为端口命名,这时EndpointSlice中唯一的端口名称为空,直接使用这个端口.
+    返回值可能为null.
+     */
+    private EndpointPort selectPort(List<EndpointPort> ports) {
+        if (ports == null) {
+            return null;
+        }
+        for (EndpointPort port : ports) {
+            if (port.getPort() == null) {
+                continue;
+            }
+            String name = port.getName() == null ? "" : port.getName().toLowerCase();
+            String appProtocol = port.getAppProtocol() == null ? "" : port.getAppProtocol().toLowerCase();
+            if (name.contains(SCHEME_HTTP) || appProtocol.contains(SCHEME_HTTP)) {
+                return port;
+            }
+        }
+        if (ports.size() == 1) {
+            EndpointPort port = ports.get(0);
+            if (port.getPort() != null && (port.getName() == null || port.getName().isEmpty())) {
+                return port;
+            }
+        }
+        return null;
+    }
+
+    private boolean isHttps(EndpointPort port) {
+        String name = port.getName() == null ? "" : port.getName().toLowerCase();
+        String appProtocol = port.getAppProtocol() == null ? "" : port.getAppProtocol().toLowerCase();
+        return name.contains(SCHEME_HTTPS) || appProtocol.contains(SCHEME_HTTPS);
+    }
+
+    // 返回值可能为null,表示不属于任何服务的EndpointSlice.
+    private static String serviceName(EndpointSlice slice) {
+        Map<String, String> labels = slice.getMetadata().getLabels();
+        return labels == null ? null : labels.get(SERVICE_NAME_LABEL);
+    }
+
+    private static String key(String namespace, String serviceName) {
+        return namespace + "/" + serviceName;
+    }
+
+    /**
+     * EndpointSlice中的一个端点和它的状态.
+     */
+    private static class SliceEndpoint {
+        private final Endpoint endpoint;
+        private final boolean ready;
+        private final boolean serving;
+        private final boolean terminating;
+        private final Set<String> zoneHints;
+
+        public SliceEndpoint(Endpoint endpoint, EndpointConditions conditions, EndpointHints hints) {
+            this.endpoint = endpoint;
+            // 按照Kubernetes的约定,没有设置的ready和serving应该视为true.
+            if (conditions == null) {
+                this.ready = true;
+                this.serving = true;
+                this.terminating = false;
+            } else {
+                this.ready = !Boolean.FALSE.equals(conditions.getReady());
+                this.serving = !Boolean.FALSE.equals(conditions.getServing());
+                this.terminating = Boolean.TRUE.equals(conditions.getTerminating());
+            }
+
+            if (hints == null || hints.getForZones() == null) {
+                this.zoneHints = Collections.emptySet();
+            } else {
+                Set<String> zones = new HashSet<>();
+                for (ForZone forZone : hints.getForZones()) {
+                    zones.add(forZone.getName());
+                }
+                this.zoneHints = zones;
+            }
+        }
+
+        public boolean isReady() {
+            return ready && !terminating;
+        }
+    }
+
+    private class EndpointSliceHandler implements ResourceEventHandler<EndpointSlice> {
+
+        @Override
+        public void onAdd(EndpointSlice slice) {
+            update(slice);
+        }
+
+        @Override
+        public void onUpdate(EndpointSlice oldSlice, EndpointSlice newSlice) {
+            String oldServiceName = serviceName(oldSlice);
+            if (oldServiceName != null && !oldServiceName.equals(serviceName(newSlice))) {
+                // 所属服务发生了变化.
+                remove(oldSlice);
+            }
+            update(newSlice);
+        }
+
+        @Override
+        public void onDelete(EndpointSlice slice, boolean deletedFinalStateUnknown) {
+            remove(slice);
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.vmsmia.framework.component.rpc.restful.discovery;
 
-import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.ServiceList;
 import io.fabric8.kubernetes.api.model.ServicePort;
 import io.fabric8.kubernetes.client.Config;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientBuilder;
-import io.fabric8.kubernetes.client.Watch;
-import io.fabric8.kubernetes.client.Watcher;
-import io.fabric8.kubernetes.client.WatcherException;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
@@ -22,15 +30,18 @@ import javax.annotation.PreDestroy;
  * 基于Kubernetes服务的服务发现组件.
  *
  * <p>
- * 该类提供了一种在Kubernetes集群环境中进行服务发现的机制。它利用Kubernetes API来查询特定服务的信息，并将查询结果缓存以提高性能。
+ * 该类提供了一种在Kubernetes集群环境中进行服务发现的机制。它在本地维护当前命名空间所有服务的完整索引，查询不会访问Kubernetes API。
  * </p>
  * 主要工作原理如下：
  * <ul>
- *     <li>通过Kubernetes客户端建立与Kubernetes API的连接，允许查询当前集群中的服务（Service）信息。</li>
- *     <li>利用Caffeine缓存库，对服务的查询结果进行本地缓存处理，减少对Kubernetes API的重复查询，从而提高查询效率和响应速度。</li>
- *     <li>使用Kubernetes Watcher机制实时监听服务（Service）的添加、修改和删除事件，以便及时更新本地缓存，保证服务发现的准确性。</li>
- *     <li>支持在指定命名空间内或所有命名空间内进行服务发现，以满足不同服务部署策略的需求。</li>
- *     <li>提供服务发现接口，允许通过服务名称进行查询，返回可能的服务端点列表，以支持服务间的互相调用。</li>
+ *     <li>通过只作用于当前命名空间的共享informer获取服务（Service）信息，启动时阻塞到完成全量同步。</li>
+ *     <li>服务的添加、修改和删除事件以增量的方式更新本地索引，断线重连后的重新list和定期的resync都由informer在后台完成。</li>
+ *     <li>查询只读取本地索引，不会在调用线程上产生任何API请求。</li>
+ *     <li>允许跨命名空间查找时，当前命名空间找不到的服务会按名称在所有命名空间中查询一次，结果以Caffeine缓存，
+ *     不再监听所有命名空间的服务变化。没有找到服务的空结果只缓存很短的时间，之后创建的服务可以很快被发现。</li>
+ *     <li>跨命名空间的缓存在写入effectiveTimeMs之后由专用的线程在后台刷新，刷新期间和刷新失败时调用方立即得到旧的值；
+ *     连续刷新失败超过maxStaleMs后缓存过期，下一次查询才会同步加载，以此限制陈旧的上限。</li>
+ *     <li>订阅者由informer事件和跨命名空间缓存的加载和刷新直接通知，通知过程不会访问Kubernetes API。</li>
  * </ul>
  * 通过以上机制，本组件既减少了对Kubernetes API的直接依赖，又确保了服务发现的时效性和准确性，适用于构建在Kubernetes平台上的微服务架构中。
  *
@@ -38,21 +49,36 @@ import javax.annotation.PreDestroy;
  * @version 0.1 2024/4/22 17:38
  * @since 1.8
  */
-public class KubernetesServiceDiscover implements Discovery {
+public class KubernetesServiceDiscover implements SubscribableDiscovery {
 
     private static final String SERVICE_METADATA_NAME = "metadata.name";
     private static final String SCHEME_HTTP = "http";
     private static final String SCHEME_HTTPS = "https";
-    private static final EndpointsValue EMPTY_ENDPOINTS_VALUE =
-        new EndpointsValue(Collections.emptyList(), null);
+    private static final String CLUSTER_IP_TYPE = "ClusterIP";
+    private static final long RESYNC_PERIOD_MS = 1000 * 60 * 10;
+    /*
+    跨命名空间查找的空结果最多缓存的时间,只用以防止缓存穿透.
+     */
+    private static final long NEGATIVE_TTL_MS = 1000 * 5;
+    private static final AtomicLong THREAD_INDEX = new AtomicLong();
     private final boolean allNamespace;
-    private final Cache<String, EndpointsValue> cache;
+    /*
+    当前命名空间中服务名称 -> 端点.只在informer的事件线程中修改,值是不可变的列表.
+     */
+    private final ConcurrentMap<String, List<Endpoint>> localIndex;
+    /*
+    其他命名空间中的服务,只在允许跨命名空间查找时使用.
+     */
+    private final LoadingCache<String, List<Endpoint>> remoteCache;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final DiscoveryCacheMetrics metrics;
+    private final SnapshotPublisher publisher;
     private String namespace;
 
     private KubernetesClient kubernetesClient;
     private boolean privateKubernetesClient;
 
-    private Watch serviceWatch;
+    private SharedIndexInformer<Service> serviceInformer;
 
     public KubernetesServiceDiscover(boolean allNamespace) {
         this(allNamespace, 1000 * 60 * 60, null);
@@ -66,22 +92,58 @@ public class KubernetesServiceDiscover implements Discovery {
         this(false, effectiveTimeMs, null);
     }
 
+    public KubernetesServiceDiscover(
+        boolean allNamespace, long effectiveTimeMs, KubernetesClient kubernetesClient) {
+        this(allNamespace, effectiveTimeMs, effectiveTimeMs * 10, kubernetesClient);
+    }
+
     /**
      * 构造一个新的服务发现实例.
      *
      * @param allNamespace     true 如果当前命名空间找不到,就在所有命名空间中查找.
-     * @param effectiveTimeMs  缓存过期毫秒.
+     * @param effectiveTimeMs  跨命名空间查找结果在写入多少毫秒后开始后台刷新.空结果最多缓存5秒.
+     * @param maxStaleMs       跨命名空间查找结果最多可以陈旧多少毫秒,必须大于effectiveTimeMs.
      * @param kubernetesClient Kubernetes客户端. 可为null,内部会以默认配置创建一个.
      */
     public KubernetesServiceDiscover(
-        boolean allNamespace, long effectiveTimeMs, KubernetesClient kubernetesClient) {
+        boolean allNamespace, long effectiveTimeMs, long maxStaleMs, KubernetesClient kubernetesClient) {
+        this(allNamespace, effectiveTimeMs, maxStaleMs, kubernetesClient, Ticker.systemTicker());
+    }
+
+    // 可以指定缓存使用的时钟,用以测试.
+    KubernetesServiceDiscover(
+        boolean allNamespace, long effectiveTimeMs, long maxStaleMs, KubernetesClient kubernetesClient,
+        Ticker ticker) {
+        if (maxStaleMs <= effectiveTimeMs) {
+            throw new IllegalArgumentException("The max stale time must be greater than the effective time.");
+        }
         this.kubernetesClient = kubernetesClient;
         this.allNamespace = allNamespace;
-
-        this.cache = Caffeine.newBuilder()
+        this.localIndex = new ConcurrentHashMap<>();
+        this.publisher = new SnapshotPublisher();
+        this.metrics = new DiscoveryCacheMetrics();
+
+        /*
+        刷新只访问Kubernetes API,一个线程足够.
+        队列满时拒绝提交,缓存得知提交失败后不会把这个key标记为正在刷新,下一次访问会重新触发刷新.
+        不能静默丢弃: 被丢弃的刷新永远不会完成,缓存会一直认为它在刷新中,直到过期后在调用线程上同步加载.
+         */
+        this.refreshExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(100),
+            r -> {
+                Thread thread = new Thread(r, "rpc-restful-discovery-refresh-" + THREAD_INDEX.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+        this.remoteCache = Caffeine.newBuilder()
             .maximumSize(100)
-            .expireAfterAccess(Duration.ofMillis(effectiveTimeMs))
-            .build();
+            .refreshAfterWrite(Duration.ofMillis(effectiveTimeMs))
+            .expireAfter(new RemoteExpiry(Math.min(NEGATIVE_TTL_MS, effectiveTimeMs), maxStaleMs))
+            .ticker(ticker)
+            .executor(refreshExecutor)
+            .build(new RemoteLoader());
     }
 
     @PostConstruct
@@ -93,14 +155,18 @@ public class KubernetesServiceDiscover implements Discovery {
         }
         this.namespace = kubernetesClient.getNamespace();
 
-        this.serviceWatch = this.kubernetesClient.services().inAnyNamespace().watch(new ServiceWatcher(this.cache));
+        this.serviceInformer = this.kubernetesClient
+            .services()
+            .inNamespace(namespace)
+            .inform(new ServiceHandler(), RESYNC_PERIOD_MS);
     }
 
     @PreDestroy
     public void destroy() {
-        if (serviceWatch != null) {
-            serviceWatch.close();
+        if (serviceInformer != null) {
+            serviceInformer.close();
         }
+        refreshExecutor.shutdownNow();
 
         if (kubernetesClient != null && this.privateKubernetesClient) {
             // 只处理自己设置的client.
@@ -114,41 +180,92 @@ public class KubernetesServiceDiscover implements Discovery {
             return Collections.emptyList();
         }
 
-        return find(serviceName).getEndpoints();
+        List<Endpoint> endpoints = localIndex.get(serviceName);
+        if (endpoints != null) {
+            return endpoints;
+        }
+
+        if (allNamespace) {
+            /*
+            没有可用的值时在调用线程上加载,并且保证了同一个key同一时间只有一个加载动作.
+            已经到了刷新时间的值会立即返回,同时在后台刷新.
+             */
+            return this.remoteCache.get(serviceName);
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 跨命名空间缓存的加载和刷新统计.
+     */
+    public DiscoveryCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
     }
 
-    private EndpointsValue find(String serviceName) {
-        // 如果没有将触发加载动作,并且保证了同一个key同一时间只有一个加载动作.
-        return this.cache.get(serviceName, this::findFromKubernetes);
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
     }
 
-    private EndpointsValue findFromKubernetes(String serviceName) {
+    private void update(Service svc) {
+        String serviceName = svc.getMetadata().getName();
+        if (isClusterIp(svc)) {
+            List<Endpoint> endpoints = parseEndpoint(serviceName, svc);
+            localIndex.put(serviceName, endpoints);
+            notifyChanged(serviceName, endpoints);
+        } else {
+            removeLocal(serviceName);
+        }
+    }
+
+    private void remove(Service svc) {
+        removeLocal(svc.getMetadata().getName());
+    }
+
+    /*
+    这里运行在informer的事件线程上,不能调用discover: 那可能同步访问Kubernetes API.
+    已经缓存的跨命名空间结果直接发布,否则发布空列表,之后的加载会再发布找到的结果.
+     */
+    private void removeLocal(String serviceName) {
+        localIndex.remove(serviceName);
+        List<Endpoint> remote = allNamespace ? remoteCache.getIfPresent(serviceName) : null;
+        notifyChanged(serviceName, remote == null ? Collections.emptyList() : remote);
+    }
+
+    // 跨命名空间的加载和刷新结果,当前命名空间存在同名服务时以当前命名空间为准.
+    private void remoteChanged(String serviceName, List<Endpoint> endpoints) {
+        if (!localIndex.containsKey(serviceName)) {
+            notifyChanged(serviceName, endpoints);
+        }
+    }
+
+    // 只通知已经被获取过快照或者订阅过的服务.
+    private void notifyChanged(String serviceName, List<Endpoint> endpoints) {
+        if (publisher.current(serviceName) != null) {
+            publisher.publish(serviceName, endpoints);
+        }
+    }
+
+    // 包可见以便测试替换.
+    List<Endpoint> findFromOtherNamespace(String serviceName) {
         ServiceList serviceList = kubernetesClient
             .services()
-            .inNamespace(namespace)
+            .inAnyNamespace()
             .withField(SERVICE_METADATA_NAME, serviceName)
             .list();
         Service svc = selectService(serviceList);
-        if (svc == null && allNamespace) {
-
-            serviceList = kubernetesClient
-                .services()
-                .inAnyNamespace()
-                .withField(SERVICE_METADATA_NAME, serviceName)
-                .list();
-            svc = selectService(serviceList);
-
-        }
-
         if (svc != null) {
-            String namespace = svc.getMetadata().getNamespace();
-            return new EndpointsValue(parseEndpoint(serviceName, svc), namespace);
+            return parseEndpoint(serviceName, svc);
         } else {
-            /*
-             由于没有找到对应的服务,这时候设定一个空值表示防止缓存穿透.
-             这里依赖于watch机制的淘汰,当任何namespace的svc被创建如果名称符合那么这个应该被淘汰.
-             */
-            return EMPTY_ENDPOINTS_VALUE;
+            // 由于没有找到对应的服务,这时候设定一个空值表示防止缓存穿透,很短的时间后过期并重新查找.
+            return Collections.emptyList();
         }
     }
 
@@ -175,71 +292,98 @@ public class KubernetesServiceDiscover implements Discovery {
             return null;
         } else {
             return services.stream()
-                .filter(svc -> svc.getSpec().getType().equals("ClusterIP"))
+                .filter(KubernetesServiceDiscover::isClusterIp)
                 .findFirst()
                 .orElse(null);
         }
     }
 
-    private static class EndpointsValue {
-        private final List<Endpoint> endpoints;
-        private final String namespace;
+    private static boolean isClusterIp(Service svc) {
+        return svc.getSpec() != null && CLUSTER_IP_TYPE.equals(svc.getSpec().getType());
+    }
+
+    /**
+     * 以写入时间计算过期,空结果使用更短的过期时间.
+     */
+    private static class RemoteExpiry implements Expiry<String, List<Endpoint>> {
+
+        private final long negativeTtlNanos;
+        private final long maxStaleNanos;
 
-        public EndpointsValue(List<Endpoint> endpoints, String namespace) {
-            this.endpoints = endpoints;
-            this.namespace = namespace;
+        RemoteExpiry(long negativeTtlMs, long maxStaleMs) {
+            this.negativeTtlNanos = TimeUnit.MILLISECONDS.toNanos(negativeTtlMs);
+            this.maxStaleNanos = TimeUnit.MILLISECONDS.toNanos(maxStaleMs);
         }
 
-        public List<Endpoint> getEndpoints() {
-            return endpoints;
+        @Override
+        public long expireAfterCreate(String serviceName, List<Endpoint> endpoints, long currentTime) {
+            return endpoints.isEmpty() ? negativeTtlNanos : maxStaleNanos;
         }
 
-        public String getNamespace() {
-            return namespace;
+        @Override
+        public long expireAfterUpdate(
+            String serviceName, List<Endpoint> endpoints, long currentTime, long currentDuration) {
+            // 刷新成功等同于一次新的写入.
+            return expireAfterCreate(serviceName, endpoints, currentTime);
         }
 
-        public boolean isUnknownNamespace() {
-            return namespace == null || namespace.isEmpty();
+        @Override
+        public long expireAfterRead(
+            String serviceName, List<Endpoint> endpoints, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 
-    private static class ServiceWatcher implements Watcher<Service> {
+    private class RemoteLoader implements CacheLoader<String, List<Endpoint>> {
 
-        private final Cache<String, EndpointsValue> cache;
-
-        public ServiceWatcher(Cache<String, EndpointsValue> cache) {
-            this.cache = cache;
+        @Override
+        public List<Endpoint> load(String serviceName) {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                List<Endpoint> endpoints = findFromOtherNamespace(serviceName);
+                success = true;
+                remoteChanged(serviceName, endpoints);
+                return endpoints;
+            } finally {
+                metrics.recordLoad(success, System.nanoTime() - start);
+            }
         }
 
         @Override
-        public void eventReceived(Action action, Service service) {
-            switch (action) {
-                case ADDED:
-                case MODIFIED:
-                case DELETED:
-                    /*
-                    如果发生服务变化,那么清除缓存触发重新加载.
-                    淘汰的判定原则不光名称一致,还要判断所属的namespace是否一致.
-                    注意: 如果缓存中存放的是 EMPTY_ENDPOINTS_VALUE 表示之前没有找到对应的服务,任何namespace的服务变化如果名称匹配都会
-                    造成缓存中的值被淘汰.
-                     */
-                    String namespace = service.getMetadata().getNamespace();
-                    String serviceName = service.getMetadata().getName();
-                    EndpointsValue endpointsValue = cache.getIfPresent(serviceName);
-                    if (endpointsValue != null
-                        && (endpointsValue.getNamespace().equals(namespace) || endpointsValue.isUnknownNamespace())) {
-                        cache.invalidate(serviceName);
-                    }
-                    break;
-                default: {
-                    // do nothing.
-                }
+        public List<Endpoint> reload(String serviceName, List<Endpoint> oldValue) {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                List<Endpoint> endpoints = findFromOtherNamespace(serviceName);
+                success = true;
+                // 内容没有变化时保留旧的实例,避免使用方认为端点发生了变化.
+                List<Endpoint> result = endpoints.equals(oldValue) ? oldValue : endpoints;
+                // 刷新在专用的线程上执行,在这里通知订阅者.
+                remoteChanged(serviceName, result);
+                return result;
+            } finally {
+                // 刷新失败时抛出的异常由缓存处理,缓存会继续使用旧的值.
+                metrics.recordRefresh(success, System.nanoTime() - start);
             }
         }
+    }
+
+    private class ServiceHandler implements ResourceEventHandler<Service> {
+
+        @Override
+        public void onAdd(Service service) {
+            update(service);
+        }
+
+        @Override
+        public void onUpdate(Service oldService, Service newService) {
+            update(newService);
+        }
 
         @Override
-        public void onClose(WatcherException cause) {
-            // 什么也不做,保持当前的端点缓存不变.
+        public void onDelete(Service service, boolean deletedFinalStateUnknown) {
+            remove(service);
         }
     }
 }
@@ -0,0 +1,490 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * 把最后一次已知的服务发现结果持久化到本地文件的服务发现,用于加快重启后的首次请求.
+ *
+ * <p>
+ * 启动时读取文件,其中最后一次被确认的时间没有超过maxAgeMs的服务被立即使用.
+ * 对于这些服务,第一次查询直接返回文件中的端点,同时在后台查询被包装的服务发现;
+ * 后台查询得到结果之后,该服务之后的查询都直接委托给被包装的服务发现;
+ * 结果为空表示服务已经没有端点,文件中的结果被立即丢弃,只有抛出异常时才会稍后重试.
+ * 被包装的服务发现抛出异常时,如果最后一次已知的结果还没有过期,继续使用它.
+ * </p>
+ * <p>
+ * 被包装的服务发现支持订阅时,订阅被同时转发给它,它推送的每一个快照都会更新最后一次已知的结果并通知订阅者.
+ * </p>
+ * 文件的写入:
+ * <ul>
+ *     <li>端点内容变化后延迟writeDelayMs合并写入,每flushIntervalMs还会写入一次以更新各服务的确认时间.</li>
+ *     <li>先写入同一目录下的临时文件并刷到磁盘,再以原子的重命名替换,读取方不会看到写了一半的文件.</li>
+ *     <li>写入在后台线程中进行,请求线程只做一次引用比较.</li>
+ *     <li>启动时无法读取的文件被重命名为"原文件名.corrupt-时间戳"保留下来,不会被之后的写入覆盖.</li>
+ * </ul>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:20
+ * @since 1.8
+ */
+public class PersistentDiscovery implements SubscribableDiscovery {
+
+    private static final Logger LOGGER = Logger.getLogger(PersistentDiscovery.class.getName());
+    private static final int FORMAT_VERSION = 1;
+    private static final String CORRUPT_SUFFIX = ".corrupt-";
+    private static final String VERSION_FIELD = "version";
+    private static final String WRITTEN_AT_FIELD = "writtenAt";
+    private static final String SERVICES_FIELD = "services";
+    private static final String CONFIRMED_AT_FIELD = "confirmedAt";
+    private static final String ENDPOINTS_FIELD = "endpoints";
+    private static final String HOST_FIELD = "host";
+    private static final String PORT_FIELD = "port";
+    private static final String TLS_FIELD = "tls";
+    private static final String WEIGHT_FIELD = "weight";
+    private static final String ZONE_FIELD = "zone";
+    private static final String NODE_FIELD = "node";
+    private static final String METADATA_FIELD = "metadata";
+    private static final long RETRY_MS = 1000;
+    private static final AtomicLong THREAD_INDEX = new AtomicLong();
+
+    private final Discovery delegate;
+    private final Path file;
+    private final long maxAgeMs;
+    private final long writeDelayMs;
+    private final long flushIntervalMs;
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<String, Record> records;
+    /*
+    服务名称 -> 在被包装的服务发现上的订阅,每个服务只订阅一次.
+     */
+    private final ConcurrentMap<String, Subscription> delegateSubscriptions;
+    private final AtomicBoolean writeScheduled;
+    private final ScheduledThreadPoolExecutor executor;
+    private final SnapshotPublisher publisher;
+
+    /**
+     * 构造持久化的服务发现.
+     *
+     * @param delegate        被包装的服务发现.
+     * @param file            持久化文件.
+     * @param maxAgeMs        文件中的结果在最后一次确认之后可以使用的最长时间.
+     * @param writeDelayMs    端点变化后延迟多久写入,期间的变化会被合并.
+     * @param flushIntervalMs 定期写入的间隔.
+     */
+    public PersistentDiscovery(Discovery delegate, Path file, long maxAgeMs, long writeDelayMs, long flushIntervalMs) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("The delegate discovery cannot be null.");
+        }
+        if (maxAgeMs <= 0 || writeDelayMs < 0 || flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("The max age and the flush interval must be greater than 0.");
+        }
+        this.delegate = delegate;
+        this.file = file.toAbsolutePath().normalize();
+        this.maxAgeMs = maxAgeMs;
+        this.writeDelayMs = writeDelayMs;
+        this.flushIntervalMs = flushIntervalMs;
+        this.mapper = new ObjectMapper();
+        this.records = new ConcurrentHashMap<>();
+        this.delegateSubscriptions = new ConcurrentHashMap<>();
+        this.writeScheduled = new AtomicBoolean();
+        this.publisher = new SnapshotPublisher();
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "rpc-restful-persistent-discover-" + THREAD_INDEX.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 读取文件并开始定期写入.文件不存在或者无法读取时从空的状态开始,无法读取的文件被重命名保留.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            load();
+        } catch (IOException | RuntimeException ex) {
+            // 损坏的文件不能影响启动,先移开,否则下一次写入会覆盖它.
+            records.clear();
+            LOGGER.log(Level.WARNING, String.format("Failed to load the discovery snapshot %s.", file), ex);
+            setAside();
+        }
+        executor.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 停止定期写入,并写入最后的状态.
+     */
+    @PreDestroy
+    public void destroy() {
+        for (Subscription subscription : delegateSubscriptions.values()) {
+            try {
+                subscription.close();
+            } catch (Exception ex) {
+                // 取消订阅失败不影响退出.
+            }
+        }
+        delegateSubscriptions.clear();
+        executor.shutdownNow();
+        try {
+            write();
+        } catch (IOException ex) {
+            // 退出时写入失败,下一次启动时使用旧的文件.
+        }
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        if (serviceName == null) {
+            return Collections.emptyList();
+        }
+        Record record = records.get(serviceName);
+        if (record != null && !record.live) {
+            // 文件中的结果,先返回它,在后台确认.
+            if (System.currentTimeMillis() - record.confirmedAt <= maxAgeMs) {
+                confirmAsync(serviceName, record);
+                return record.endpoints;
+            }
+            records.remove(serviceName, record);
+            record = null;
+        }
+
+        List<Endpoint> endpoints;
+        try {
+            endpoints = delegate.discover(serviceName);
+        } catch (RuntimeException ex) {
+            Record fallback = fallback(serviceName, record);
+            if (fallback == null) {
+                throw ex;
+            }
+            return fallback.endpoints;
+        }
+        if (endpoints == null || endpoints.isEmpty()) {
+            // 被包装的服务发现确认过的服务变为空,以它为准.
+            if (record != null && records.remove(serviceName, record)) {
+                scheduleWrite();
+            }
+            return Collections.emptyList();
+        }
+        observe(serviceName, record, endpoints);
+        return endpoints;
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        if (delegate instanceof SubscribableDiscovery && !delegateSubscriptions.containsKey(serviceName)) {
+            delegateSubscriptions.computeIfAbsent(serviceName, name ->
+                ((SubscribableDiscovery) delegate).subscribe(name, snapshot -> onDelegateChange(name, snapshot)));
+        }
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
+    }
+
+    /**
+     * 被包装的服务发现.
+     */
+    public Discovery getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 立即写入当前的状态.
+     *
+     * @throws IOException 写入失败.
+     */
+    public synchronized void write() throws IOException {
+        long now = System.currentTimeMillis();
+        ObjectNode root = mapper.createObjectNode();
+        root.put(VERSION_FIELD, FORMAT_VERSION);
+        root.put(WRITTEN_AT_FIELD, now);
+        ObjectNode services = root.putObject(SERVICES_FIELD);
+        for (Map.Entry<String, Record> entry : records.entrySet()) {
+            Record record = entry.getValue();
+            if (record.live && record.seen) {
+                // 本次运行中被查询到过,确认时间更新为现在.
+                record.seen = false;
+                record.confirmedAt = now;
+            }
+            if (now - record.confirmedAt > maxAgeMs) {
+                continue;
+            }
+            ObjectNode service = services.putObject(entry.getKey());
+            service.put(CONFIRMED_AT_FIELD, record.confirmedAt);
+            ArrayNode endpoints = service.putArray(ENDPOINTS_FIELD);
+            for (Endpoint endpoint : record.endpoints) {
+                endpoints.add(toNode(endpoint));
+            }
+        }
+
+        Path directory = file.getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buff = ByteBuffer.wrap(mapper.writeValueAsBytes(root));
+                while (buff.hasRemaining()) {
+                    channel.write(buff);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // 文件中的结果还没有过期时使用它.
+    private Record fallback(String serviceName, Record record) {
+        if (record == null) {
+            record = records.get(serviceName);
+        }
+        if (record != null && System.currentTimeMillis() - record.confirmedAt <= maxAgeMs) {
+            return record;
+        }
+        return null;
+    }
+
+    private void observe(String serviceName, Record record, List<Endpoint> endpoints) {
+        if (record != null && record.live) {
+            if (record.endpoints == endpoints) {
+                if (!record.seen) {
+                    record.seen = true;
+                }
+                return;
+            }
+            if (sameContent(record.endpoints, endpoints)) {
+                record.endpoints = endpoints;
+                record.seen = true;
+                return;
+            }
+        }
+        Record live = new Record(endpoints, System.currentTimeMillis(), true);
+        live.seen = true;
+        records.put(serviceName, live);
+        scheduleWrite();
+    }
+
+    // 被包装的服务发现推送的快照,以它为准更新最后一次已知的结果.
+    private void onDelegateChange(String serviceName, EndpointSnapshot snapshot) {
+        List<Endpoint> endpoints = snapshot.getEndpoints();
+        Record record = records.get(serviceName);
+        if (endpoints.isEmpty()) {
+            if (record != null && records.remove(serviceName, record)) {
+                scheduleWrite();
+            }
+        } else {
+            observe(serviceName, record, endpoints);
+        }
+        publisher.publish(serviceName, endpoints);
+    }
+
+    private void confirmAsync(String serviceName, Record record) {
+        long now = System.currentTimeMillis();
+        if (now < record.nextConfirmAt || !record.confirming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    List<Endpoint> endpoints = delegate.discover(serviceName);
+                    boolean changed;
+                    if (endpoints == null || endpoints.isEmpty()) {
+                        // 服务已经没有端点,以被包装的服务发现为准,不再使用文件中的结果.
+                        endpoints = Collections.emptyList();
+                        changed = records.remove(serviceName, record);
+                    } else {
+                        Record live = new Record(endpoints, System.currentTimeMillis(), true);
+                        live.seen = true;
+                        changed = records.replace(serviceName, record, live);
+                    }
+                    if (changed) {
+                        scheduleWrite();
+                        if (publisher.current(serviceName) != null) {
+                            publisher.publish(serviceName, endpoints);
+                        }
+                    }
+                    return;
+                } catch (RuntimeException ex) {
+                    // 被包装的服务发现还不可用,稍后重试.
+                }
+                record.nextConfirmAt = System.currentTimeMillis() + RETRY_MS;
+                record.confirming.set(false);
+            });
+        } catch (RuntimeException ex) {
+            // 已经关闭.
+            record.confirming.set(false);
+        }
+    }
+
+    private void scheduleWrite() {
+        if (!writeScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.schedule(() -> {
+                writeScheduled.set(false);
+                flush();
+            }, writeDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            // 已经关闭,退出时会写入.
+            writeScheduled.set(false);
+        }
+    }
+
+    private void flush() {
+        try {
+            write();
+        } catch (IOException | RuntimeException ex) {
+            // 写入失败只影响下一次启动,下一次定期写入时重试.
+        }
+    }
+
+    private void load() throws IOException {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+        } catch (NoSuchFileException ex) {
+            return;
+        }
+        JsonNode root = mapper.readTree(data);
+        if (root == null || root.path(VERSION_FIELD).asInt() != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported discovery snapshot version %s.",
+                root == null ? null : root.path(VERSION_FIELD).asText()));
+        }
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, JsonNode>> services = root.path(SERVICES_FIELD).fields();
+        while (services.hasNext()) {
+            Map.Entry<String, JsonNode> service = services.next();
+            long confirmedAt = service.getValue().path(CONFIRMED_AT_FIELD).asLong();
+            if (now - confirmedAt > maxAgeMs) {
+                continue;
+            }
+            List<Endpoint> endpoints = new ArrayList<>();
+            for (JsonNode node : service.getValue().path(ENDPOINTS_FIELD)) {
+                endpoints.add(fromNode(node));
+            }
+            if (!endpoints.isEmpty()) {
+                records.put(service.getKey(), new Record(Collections.unmodifiableList(endpoints), confirmedAt, false));
+            }
+        }
+    }
+
+    private void setAside() {
+        Path aside = file.resolveSibling(file.getFileName() + CORRUPT_SUFFIX + System.currentTimeMillis());
+        try {
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.log(Level.WARNING, String.format("The unreadable discovery snapshot was moved to %s.", aside));
+        } catch (NoSuchFileException ex) {
+            // 文件已经不存在了.
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, String.format(
+                "Failed to move the unreadable discovery snapshot %s, it will be overwritten.", file), ex);
+        }
+    }
+
+    private ObjectNode toNode(Endpoint endpoint) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put(HOST_FIELD, endpoint.getHost());
+        node.put(PORT_FIELD, endpoint.getPort());
+        node.put(TLS_FIELD, endpoint.isTls());
+        node.put(WEIGHT_FIELD, endpoint.getWeight());
+        if (endpoint.getZone() != null) {
+            node.put(ZONE_FIELD, endpoint.getZone());
+        }
+        if (endpoint.getNode() != null) {
+            node.put(NODE_FIELD, endpoint.getNode());
+        }
+        if (!endpoint.getMetadata().isEmpty()) {
+            ObjectNode metadata = node.putObject(METADATA_FIELD);
+            endpoint.getMetadata().forEach(metadata::put);
+        }
+        return node;
+    }
+
+    private static Endpoint fromNode(JsonNode node) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.path(METADATA_FIELD).fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            metadata.put(field.getKey(), field.getValue().asText());
+        }
+        return Endpoint.Builder.anBuilder()
+            .withHost(node.path(HOST_FIELD).asText())
+            .withPort(node.path(PORT_FIELD).asInt())
+            .withTls(node.path(TLS_FIELD).asBoolean())
+            .withWeight((float) node.path(WEIGHT_FIELD).asDouble())
+            .withZone(node.hasNonNull(ZONE_FIELD) ? node.get(ZONE_FIELD).asText() : null)
+            .withNode(node.hasNonNull(NODE_FIELD) ? node.get(NODE_FIELD).asText() : null)
+            .withMetadata(metadata)
+            .build();
+    }
+
+    private static boolean sameContent(List<Endpoint> a, List<Endpoint> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).sameAttributes(b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+    一个服务最后一次已知的端点.live为false表示来自文件,还没有被被包装的服务发现确认.
+     */
+    private static final class Record {
+        private final boolean live;
+        private final AtomicBoolean confirming;
+        private volatile List<Endpoint> endpoints;
+        private volatile long confirmedAt;
+        private volatile boolean seen;
+        private volatile long nextConfirmAt;
+
+        Record(List<Endpoint> endpoints, long confirmedAt, boolean live) {
+            this.endpoints = endpoints;
+            this.confirmedAt = confirmedAt;
+            this.live = live;
+            this.confirming = new AtomicBoolean();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端点快照的版本管理和变化通知,供{@link SubscribableDiscovery}的实现使用.
+ *
+ * <p>
+ * 来源可以直接发布自己带版本的快照,也可以只发布端点列表.发布列表时,如果和上一次发布的是同一个列表实例,
+ * 直接返回当前快照;否则比较内容(包括权重,拓扑和元数据),只有内容变化才会产生新的版本并通知监听器.
+ * 因此来源返回不可变列表时,每次发布的开销只是一次Map读取和一次引用比较.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:50
+ * @since 1.8
+ */
+public class SnapshotPublisher {
+
+    private final ConcurrentMap<String, Topic> topics;
+    private final AtomicLong version;
+
+    public SnapshotPublisher() {
+        this.topics = new ConcurrentHashMap<>();
+        this.version = new AtomicLong();
+    }
+
+    /**
+     * 获取服务当前的快照.
+     *
+     * @param serviceName 服务名称.
+     * @return 快照,从未发布过时为null.
+     */
+    public EndpointSnapshot current(String serviceName) {
+        Topic topic = topics.get(serviceName);
+        return topic == null ? null : topic.snapshot;
+    }
+
+    /**
+     * 服务当前是否有订阅者.
+     *
+     * @param serviceName 服务名称.
+     * @return true 至少有一个订阅者.
+     */
+    public boolean hasListeners(String serviceName) {
+        Topic topic = topics.get(serviceName);
+        return topic != null && !topic.listeners.isEmpty();
+    }
+
+    /**
+     * 发布服务的端点列表.
+     *
+     * @param serviceName 服务名称.
+     * @param endpoints   端点列表.
+     * @return 发布后的当前快照.
+     */
+    public EndpointSnapshot publish(String serviceName, List<Endpoint> endpoints) {
+        List<Endpoint> source = endpoints == null ? Collections.emptyList() : endpoints;
+        Topic topic = topic(serviceName);
+        // 写入时先写快照后写来源,所以这里要先读来源后读快照.
+        if (topic.source == source) {
+            EndpointSnapshot current = topic.snapshot;
+            if (current != null) {
+                return current;
+            }
+        }
+
+        synchronized (topic) {
+            EndpointSnapshot current = topic.snapshot;
+            if (current != null && topic.source == source) {
+                return current;
+            }
+            EndpointSnapshot candidate = EndpointSnapshot.of(serviceName, version.incrementAndGet(), source, current);
+            if (current != null && sameContent(current, candidate)) {
+                topic.source = source;
+                return current;
+            }
+            topic.snapshot = candidate;
+            topic.source = source;
+            topic.fire(candidate);
+            return candidate;
+        }
+    }
+
+    /**
+     * 发布来源自己管理版本的快照.版本不大于当前快照时忽略.
+     *
+     * @param snapshot 快照.
+     */
+    public void publish(EndpointSnapshot snapshot) {
+        Topic topic = topic(snapshot.getServiceName());
+        synchronized (topic) {
+            EndpointSnapshot current = topic.snapshot;
+            if (current != null && current.getVersion() >= snapshot.getVersion()) {
+                return;
+            }
+            topic.snapshot = snapshot;
+            topic.source = snapshot.getEndpoints();
+            topic.fire(snapshot);
+        }
+    }
+
+    /**
+     * 订阅服务的变化.如果当前已经有快照,立即通知一次.
+     *
+     * @param serviceName 服务名称.
+     * @param listener    监听器.
+     * @return 订阅.
+     */
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null.");
+        }
+        Topic topic = topic(serviceName);
+        synchronized (topic) {
+            topic.listeners.add(listener);
+            if (topic.snapshot != null) {
+                notify(listener, topic.snapshot);
+            }
+        }
+        return () -> topic.listeners.remove(listener);
+    }
+
+    private Topic topic(String serviceName) {
+        Topic topic = topics.get(serviceName);
+        if (topic == null) {
+            topic = topics.computeIfAbsent(serviceName, k -> new Topic());
+        }
+        return topic;
+    }
+
+    /*
+    端点的相等只比较主机,端口和TLS,这里还需要比较其他的属性,权重等的变化也需要通知.
+     */
+    private static boolean sameContent(EndpointSnapshot a, EndpointSnapshot b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).sameAttributes(b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void notify(DiscoveryListener listener, EndpointSnapshot snapshot) {
+        try {
+            listener.onChange(snapshot);
+        } catch (RuntimeException ex) {
+            // 一个监听器的异常不能影响其他的监听器和发布者.
+        }
+    }
+
+    private static class Topic {
+        private final List<DiscoveryListener> listeners = new CopyOnWriteArrayList<>();
+        private volatile List<Endpoint> source;
+        private volatile EndpointSnapshot snapshot;
+
+        private void fire(EndpointSnapshot snapshot) {
+            for (DiscoveryListener listener : listeners) {
+                SnapshotPublisher.notify(listener, snapshot);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 固定端点的服务发现,端点在构造时确定,之后不再变化.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 18:40
+ * @since 1.8
+ */
+public class StaticDiscover implements SubscribableDiscovery {
+
+    private final Map<String, List<Endpoint>> endpoints;
+    private final SnapshotPublisher publisher;
+
+    /**
+     * 构造固定端点的服务发现.
+     *
+     * @param endpoints 服务名称 -> 端点.
+     */
+    public StaticDiscover(Map<String, ? extends Collection<Endpoint>> endpoints) {
+        this.endpoints = freeze(endpoints);
+        this.publisher = new SnapshotPublisher();
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        if (serviceName == null) {
+            return Collections.emptyList();
+        }
+        return endpoints.getOrDefault(serviceName, Collections.emptyList());
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        return publisher.publish(serviceName, discover(serviceName));
+    }
+
+    @Override
+    public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+        // 端点不会变化,只会收到订阅时的一次通知.
+        snapshot(serviceName);
+        return publisher.subscribe(serviceName, listener);
+    }
+
+    /**
+     * 构造一个不可变的端点快照,每个服务的端点都已经去重并排序.
+     *
+     * @param endpoints 服务名称 -> 端点.
+     * @return 不可变的快照.
+     */
+    static Map<String, List<Endpoint>> freeze(Map<String, ? extends Collection<Endpoint>> endpoints) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<Endpoint>> snapshot = new HashMap<>(endpoints.size() * 2);
+        for (Map.Entry<String, ? extends Collection<Endpoint>> entry : endpoints.entrySet()) {
+            List<Endpoint> list = new ArrayList<>(new LinkedHashSet<>(entry.getValue()));
+            Collections.sort(list);
+            snapshot.put(entry.getKey(), Collections.unmodifiableList(list));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+}
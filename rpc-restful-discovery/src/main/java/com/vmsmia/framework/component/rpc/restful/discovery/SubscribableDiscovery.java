@@ -0,0 +1,34 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+/**
+ * 可以订阅端点变化的服务发现.
+ *
+ * <p>
+ * 除了拉取式的{@link #discover(String)},还提供带版本的端点快照和变化通知.
+ * 同一个服务的端点没有变化时,{@link #snapshot(String)}总是返回同一个快照实例,
+ * 使用方可以只在版本变化时重建自己的内部结构,每次请求只需要读取当前快照的引用.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:45
+ * @since 1.8
+ */
+public interface SubscribableDiscovery extends Discovery {
+
+    /**
+     * 获取服务当前的端点快照.
+     *
+     * @param serviceName 服务名称.
+     * @return 快照,不会为null.服务不存在时为空的快照.
+     */
+    EndpointSnapshot snapshot(String serviceName);
+
+    /**
+     * 订阅服务的端点变化.如果当前已经有快照,订阅时会立即收到一次通知.
+     *
+     * @param serviceName 服务名称.
+     * @param listener    监听器.
+     * @return 订阅,关闭后取消.
+     */
+    Subscription subscribe(String serviceName, DiscoveryListener listener);
+}
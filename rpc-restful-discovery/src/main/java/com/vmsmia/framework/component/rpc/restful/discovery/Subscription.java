@@ -0,0 +1,17 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+/**
+ * 一次订阅,关闭后不再收到通知.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:45
+ * @since 1.8
+ */
+public interface Subscription extends AutoCloseable {
+
+    /**
+     * 取消订阅,可以重复调用.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,239 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 21:40
+ * @since 1.8
+ */
+public class CompositeDiscoveryTest {
+
+    private static final List<Endpoint> PRIMARY = Collections.singletonList(new Endpoint("10.0.0.1", 8080));
+    private static final List<Endpoint> FALLBACK = Collections.singletonList(new Endpoint("10.0.1.1", 8080));
+
+    @Test
+    void testFailover() {
+        AtomicInteger calls = new AtomicInteger();
+        Discovery failing = serviceName -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("unavailable");
+        };
+        CompositeDiscovery discover = CompositeDiscovery.Builder.anBuilder()
+            .withSource("primary", failing, 100)
+            .withSource("empty", serviceName -> Collections.emptyList(), 0)
+            .withSource("static", serviceName -> FALLBACK, 0)
+            .build();
+        try {
+            assertSame(FALLBACK, discover.discover("user"));
+            assertEquals("static", discover.getWinner("user").getName());
+            assertEquals(1, discover.getSources().get(0).getFailures());
+
+            // 在recheckMs内不再查询失败的主来源.
+            assertTrue(discover.refresh("user"));
+            assertEquals(1, calls.get());
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testSlowPrimary() {
+        Discovery slow = serviceName -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return PRIMARY;
+        };
+        CompositeDiscovery discover = CompositeDiscovery.Builder.anBuilder()
+            .withSource("primary", slow, 50)
+            .withSource("static", serviceName -> FALLBACK, 0)
+            .build();
+        try {
+            long start = System.currentTimeMillis();
+            assertSame(FALLBACK, discover.discover("user"));
+            assertTrue(System.currentTimeMillis() - start < 2000);
+            assertEquals(1, discover.getSources().get(0).getTimeouts());
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testMerge() {
+        AtomicInteger calls = new AtomicInteger();
+        Discovery flaky = serviceName -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("unavailable");
+            }
+            return Arrays.asList(new Endpoint("10.0.0.1", 8080), new Endpoint("10.0.1.1", 8080));
+        };
+        CompositeDiscovery discover = CompositeDiscovery.Builder.anBuilder()
+            .withStrategy(CompositeDiscovery.Strategy.MERGE)
+            .withSource("primary", flaky, 100)
+            .withSource("static", serviceName -> FALLBACK, 0)
+            .build();
+        try {
+            assertEquals(2, discover.discover("user").size());
+            // 失败的来源使用上一次的结果.
+            assertTrue(discover.refresh("user"));
+            assertEquals(2, discover.discover("user").size());
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    /**
+     * 失败来源上一次的结果超过maxStaleMs后不再参与合并.
+     */
+    @Test
+    void testMergeStaleBound() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Discovery flaky = serviceName -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("unavailable");
+            }
+            return PRIMARY;
+        };
+        CompositeDiscovery discover = CompositeDiscovery.Builder.anBuilder()
+            .withStrategy(CompositeDiscovery.Strategy.MERGE)
+            .withSource("primary", flaky, 100)
+            .withSource("static", serviceName -> FALLBACK, 0)
+            .withRefreshMs(10)
+            .withMaxStaleMs(50)
+            .build();
+        try {
+            assertEquals(2, discover.discover("user").size());
+            assertTrue(discover.refresh("user"));
+            assertEquals(2, discover.discover("user").size());
+
+            Thread.sleep(100);
+            assertTrue(discover.refresh("user"));
+            assertEquals(FALLBACK, discover.discover("user"));
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    /**
+     * 后台刷新不占用查询线程,查询线程只有一个时刷新同样可以完成.
+     */
+    @Test
+    void testRefreshWithSingleQueryThread() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Discovery primary = serviceName -> {
+            calls.incrementAndGet();
+            return PRIMARY;
+        };
+        CompositeDiscovery discover = CompositeDiscovery.Builder.anBuilder()
+            .withSource("primary", primary, 1000)
+            .withRefreshMs(10)
+            .withMaxThreads(1)
+            .build();
+        try {
+            assertSame(PRIMARY, discover.discover("user"));
+            Thread.sleep(20);
+            assertSame(PRIMARY, discover.discover("user"));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (discover.getMetrics().getRefreshes() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(discover.getMetrics().getRefreshes() > 0);
+            assertEquals(0, discover.getMetrics().getRefreshFailures());
+            assertEquals(0, discover.getSources().get(0).getFailures());
+            assertTrue(calls.get() >= 2);
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    /**
+     * 可以订阅的来源以订阅代替轮询,来源变化时订阅者收到通知.
+     */
+    @Test
+    void testSubscribableSource() throws Exception {
+        MutableSource primary = new MutableSource();
+        primary.set(PRIMARY);
+        CompositeDiscovery discover = CompositeDiscovery.Builder.anBuilder()
+            .withSource("primary", primary, 0)
+            .withRefreshMs(10)
+            .build();
+        try {
+            List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+            Subscription subscription = discover.subscribe("user", received::add);
+            assertEquals(PRIMARY, received.get(0).getEndpoints());
+
+            // 全部来源都可以订阅时不轮询.
+            Thread.sleep(50);
+            discover.discover("user");
+            Thread.sleep(50);
+            assertEquals(0, discover.getMetrics().getRefreshes());
+            assertEquals(1, primary.calls.get());
+
+            primary.set(FALLBACK);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!FALLBACK.equals(discover.discover("user")) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(FALLBACK, discover.discover("user"));
+            assertEquals(FALLBACK, received.get(received.size() - 1).getEndpoints());
+            assertEquals(1, discover.getMetrics().getRefreshes());
+            subscription.close();
+        } finally {
+            discover.destroy();
+        }
+        assertFalse(primary.publisher.hasListeners("user"));
+    }
+
+    @Test
+    void testInvalidMaxStale() {
+        assertThrows(IllegalArgumentException.class, () -> CompositeDiscovery.Builder.anBuilder()
+            .withSource("static", serviceName -> FALLBACK, 0)
+            .withRefreshMs(1000)
+            .withMaxStaleMs(500)
+            .build());
+    }
+
+    private static class MutableSource implements SubscribableDiscovery {
+
+        private final SnapshotPublisher publisher = new SnapshotPublisher();
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile List<Endpoint> endpoints = Collections.emptyList();
+
+        void set(List<Endpoint> endpoints) {
+            this.endpoints = endpoints;
+            publisher.publish("user", endpoints);
+        }
+
+        @Override
+        public List<Endpoint> discover(String serviceName) {
+            calls.incrementAndGet();
+            return endpoints;
+        }
+
+        @Override
+        public EndpointSnapshot snapshot(String serviceName) {
+            return publisher.publish(serviceName, endpoints);
+        }
+
+        @Override
+        public Subscription subscribe(String serviceName, DiscoveryListener listener) {
+            snapshot(serviceName);
+            return publisher.subscribe(serviceName, listener);
+        }
+    }
+}
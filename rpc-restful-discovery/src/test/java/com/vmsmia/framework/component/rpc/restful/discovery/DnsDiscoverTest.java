@@ -0,0 +1,243 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 20:55
+ * @since 1.8
+ */
+public class DnsDiscoverTest {
+
+    @Test
+    void testAddress() {
+        StubResolver resolver = new StubResolver();
+        resolver.put("user.default.svc", DnsRecord.address("10.0.0.2", 30), DnsRecord.address("10.0.0.1", 30));
+        DnsDiscover discover = DnsDiscover.Builder.anBuilder()
+            .withResolver(resolver)
+            .withNameTemplate("%s.default.svc")
+            .withPort(8080)
+            .build();
+        try {
+            List<Endpoint> endpoints = discover.discover("user");
+            assertEquals(2, endpoints.size());
+            assertTrue(endpoints.contains(new Endpoint("10.0.0.1", 8080)));
+            assertTrue(endpoints.contains(new Endpoint("10.0.0.2", 8080)));
+            // 缓存期间不会再次解析.
+            assertSame(endpoints, discover.discover("user"));
+            assertEquals(1, resolver.queries.get());
+            assertTrue(discover.discover("none").isEmpty());
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testSrv() {
+        StubResolver resolver = new StubResolver();
+        resolver.put("_http._tcp.user",
+            DnsRecord.srv(10, 5, 8080, "pod-1.user.", 30),
+            DnsRecord.srv(10, 1, 8081, "pod-2.user.", 30),
+            DnsRecord.srv(20, 1, 8080, "backup.user.", 30));
+        DnsDiscover discover = DnsDiscover.Builder.anBuilder()
+            .withResolver(resolver)
+            .withRecordType(DnsDiscover.RecordType.SRV)
+            .withNameTemplate("_http._tcp.%s")
+            .build();
+        try {
+            List<Endpoint> endpoints = discover.discover("user");
+            // 只使用优先级最高的一组.
+            assertEquals(2, endpoints.size());
+            Endpoint first = endpoints.get(endpoints.indexOf(new Endpoint("pod-1.user", 8080)));
+            // 权重按同组中的最大权重归一.
+            assertEquals(1.0F, first.getWeight());
+            Endpoint second = endpoints.get(endpoints.indexOf(new Endpoint("pod-2.user", 8081)));
+            assertEquals(0.2F, second.getWeight(), 0.0001F);
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testSrvZeroWeight() {
+        StubResolver resolver = new StubResolver();
+        resolver.put("_http._tcp.user",
+            DnsRecord.srv(10, 65535, 8080, "pod-1.user.", 30),
+            DnsRecord.srv(10, 1, 8080, "pod-2.user.", 30),
+            DnsRecord.srv(10, 0, 8080, "pod-3.user.", 30));
+        resolver.put("_http._tcp.order",
+            DnsRecord.srv(10, 0, 8080, "pod-1.order.", 30),
+            DnsRecord.srv(10, 0, 8080, "pod-2.order.", 30));
+        DnsDiscover discover = DnsDiscover.Builder.anBuilder()
+            .withResolver(resolver)
+            .withRecordType(DnsDiscover.RecordType.SRV)
+            .withNameTemplate("_http._tcp.%s")
+            .build();
+        try {
+            List<Endpoint> endpoints = discover.discover("user");
+            assertEquals(3, endpoints.size());
+            float max = weight(endpoints, "pod-1.user");
+            float one = weight(endpoints, "pod-2.user");
+            float zero = weight(endpoints, "pod-3.user");
+            assertEquals(1.0F, max);
+            // 权重为0的记录仍然可以被选中,但是机会小于任何非0权重的记录.
+            assertTrue(zero > 0.0F && zero < one, String.valueOf(zero));
+            for (Endpoint endpoint : endpoints) {
+                assertTrue(endpoint.getWeight() <= 1.0F);
+            }
+
+            // 全部为0时视为没有权重.
+            for (Endpoint endpoint : discover.discover("order")) {
+                assertEquals(0.0F, endpoint.getWeight());
+            }
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testRefreshKeepsLastOnFailure() {
+        StubResolver resolver = new StubResolver();
+        resolver.put("user", DnsRecord.address("10.0.0.1", 30));
+        DnsDiscover discover = DnsDiscover.Builder.anBuilder().withResolver(resolver).build();
+        try {
+            assertEquals(1, discover.discover("user").size());
+            List<EndpointSnapshot> received = new ArrayList<>();
+            discover.subscribe("user", received::add);
+
+            resolver.put("user", DnsRecord.address("10.0.0.1", 30), DnsRecord.address("10.0.0.2", 30));
+            assertTrue(discover.refresh("user"));
+            assertEquals(2, discover.discover("user").size());
+            assertEquals(2, received.size());
+
+            resolver.failure = true;
+            assertFalse(discover.refresh("user"));
+            assertEquals(2, discover.discover("user").size());
+            assertEquals(2, received.size());
+            assertEquals(1, discover.getMetrics().getRefreshFailures());
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testBackgroundRefresh() throws Exception {
+        StubResolver resolver = new StubResolver();
+        resolver.put("user", DnsRecord.address("10.0.0.1", 0));
+        DnsDiscover discover = DnsDiscover.Builder.anBuilder()
+            .withResolver(resolver)
+            .withMinTtlMs(50)
+            .build();
+        try {
+            assertEquals(1, discover.discover("user").size());
+            resolver.put("user", DnsRecord.address("10.0.0.1", 0), DnsRecord.address("10.0.0.2", 0));
+            long deadline = System.currentTimeMillis() + 10000;
+            while (discover.discover("user").size() != 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(2, discover.discover("user").size());
+            assertEquals(1, discover.getMetrics().getLoads());
+            assertTrue(discover.getMetrics().getRefreshes() > 0);
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    /**
+     * 长时间没有被查询也没有订阅者的服务不再刷新,之后的查询重新同步解析.
+     */
+    @Test
+    void testIdleEviction() throws Exception {
+        StubResolver resolver = new StubResolver();
+        resolver.put("user", DnsRecord.address("10.0.0.1", 0));
+        resolver.put("order", DnsRecord.address("10.0.0.2", 0));
+        DnsDiscover discover = DnsDiscover.Builder.anBuilder()
+            .withResolver(resolver)
+            .withMinTtlMs(20)
+            .withIdleTtls(2)
+            .build();
+        try {
+            assertEquals(1, discover.discover("user").size());
+            Subscription subscription = discover.subscribe("order", snapshot -> {
+            });
+
+            long deadline = System.currentTimeMillis() + 10000;
+            while (discover.getMetrics().getEvictions() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(1, discover.getMetrics().getEvictions());
+
+            // 被移除的服务不再解析,订阅中的服务继续刷新.
+            int userQueries = resolver.queries("user");
+            int orderQueries = resolver.queries("order");
+            Thread.sleep(200);
+            assertEquals(userQueries, resolver.queries("user"));
+            assertTrue(resolver.queries("order") > orderQueries);
+            assertEquals(1, discover.getMetrics().getEvictions());
+
+            assertEquals(1, discover.discover("user").size());
+            assertEquals(3, discover.getMetrics().getLoads());
+            subscription.close();
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    private static float weight(List<Endpoint> endpoints, String host) {
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.getHost().equals(host)) {
+                return endpoint.getWeight();
+            }
+        }
+        throw new AssertionError(host);
+    }
+
+    private static class StubResolver implements DnsResolver {
+
+        private final Map<String, List<DnsRecord>> records = new ConcurrentHashMap<>();
+        private final AtomicInteger queries = new AtomicInteger();
+        private final Map<String, AtomicInteger> queriesByName = new ConcurrentHashMap<>();
+        private volatile boolean failure;
+
+        void put(String name, DnsRecord... values) {
+            records.put(name, Arrays.asList(values));
+        }
+
+        int queries(String name) {
+            AtomicInteger count = queriesByName.get(name);
+            return count == null ? 0 : count.get();
+        }
+
+        @Override
+        public List<DnsRecord> resolveAddress(String name) throws IOException {
+            return resolve(name);
+        }
+
+        @Override
+        public List<DnsRecord> resolveSrv(String name) throws IOException {
+            return resolve(name);
+        }
+
+        private List<DnsRecord> resolve(String name) throws IOException {
+            queries.incrementAndGet();
+            queriesByName.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+            if (failure) {
+                throw new IOException("timeout");
+            }
+            return records.getOrDefault(name, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:10
+ * @since 1.8
+ */
+public class EndpointSnapshotTest {
+
+    @Test
+    void testIndexOf() {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            endpoints.add(new Endpoint("10.0.0." + i, 8080));
+        }
+        EndpointSnapshot snapshot = EndpointSnapshot.of("user", 1, endpoints);
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(i, snapshot.indexOf(new Endpoint(snapshot.get(i).getHost(), 8080)));
+        }
+        assertEquals(-1, snapshot.indexOf(new Endpoint("10.0.0.1", 8081)));
+        assertEquals(-1, snapshot.indexOf(null));
+    }
+
+    @Test
+    void testIntern() {
+        Endpoint a = new Endpoint("10.0.0.1", 8080);
+        Endpoint b = new Endpoint("10.0.0.2", 8080);
+        EndpointSnapshot first = EndpointSnapshot.of("user", 1, Arrays.asList(a, b));
+
+        Endpoint sameA = new Endpoint("10.0.0.1", 8080);
+        Endpoint heavierB = new Endpoint("10.0.0.2", 8080, false, 2.0F);
+        EndpointSnapshot second = EndpointSnapshot.of("user", 2, Arrays.asList(sameA, heavierB), first);
+        // 完全相同的端点沿用上一个版本的实例,属性变化的端点使用新的实例.
+        assertSame(a, second.get(second.indexOf(a)));
+        assertNotSame(b, second.get(second.indexOf(b)));
+        assertEquals(2.0F, second.get(second.indexOf(b)).getWeight());
+    }
+
+    @Test
+    void testHashCode() {
+        Endpoint endpoint = new Endpoint("10.0.0.1", 8080, true);
+        assertEquals(Objects.hash("10.0.0.1", 8080, true), endpoint.hashCode());
+    }
+}
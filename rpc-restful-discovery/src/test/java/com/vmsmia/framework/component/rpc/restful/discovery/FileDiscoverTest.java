@@ -0,0 +1,120 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 18:55
+ * @since 1.8
+ */
+public class FileDiscoverTest {
+
+    @Test
+    void testLoad() throws Exception {
+        Path file = write(Files.createTempDirectory("discovery"), "services.json",
+            "{\"services\": {"
+                + "\"user\": ["
+                + "  \"http://10.0.0.1:8080\","
+                + "  {\"url\": \"https://10.0.0.2:8443\", \"weight\": 0.5, \"zone\": \"zone-a\","
+                + "   \"metadata\": {\"version\": \"v2\"}},"
+                + "  {\"host\": \"10.0.0.3\", \"port\": 9090}"
+                + "],"
+                + "\"order\": \"http://10.0.1.1:8080\""
+                + "}}");
+        FileDiscover discover = new FileDiscover(file);
+        discover.init();
+        try {
+            List<Endpoint> endpoints = discover.discover("user");
+            assertEquals(3, endpoints.size());
+            Endpoint tls = endpoints.stream().filter(Endpoint::isTls).findFirst().get();
+            assertEquals("10.0.0.2", tls.getHost());
+            assertEquals(8443, tls.getPort());
+            assertEquals(0.5F, tls.getWeight());
+            assertEquals("zone-a", tls.getZone());
+            assertEquals("v2", tls.getMetadata().get("version"));
+            assertTrue(endpoints.contains(new Endpoint("10.0.0.3", 9090)));
+
+            assertEquals(1, discover.discover("order").size());
+            assertTrue(discover.discover("none").isEmpty());
+            // 没有变化时每次返回同一个实例.
+            assertSame(endpoints, discover.discover("user"));
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testReload() throws Exception {
+        Path file = write(Files.createTempDirectory("discovery"), "services.json",
+            "{\"services\": {\"user\": [\"http://10.0.0.1:8080\"]}}");
+        FileDiscover discover = new FileDiscover(file);
+        discover.init();
+        try {
+            assertEquals(1, discover.discover("user").size());
+
+            write(file.getParent(), "services.json",
+                "{\"services\": {\"user\": [\"http://10.0.0.1:8080\", \"http://10.0.0.2:8080\"]}}");
+            long deadline = System.currentTimeMillis() + 30000;
+            while (discover.discover("user").size() != 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(2, discover.discover("user").size());
+
+            // 错误的内容不会替换已有的快照.
+            write(file.getParent(), "services.json", "{\"services\": ");
+            assertFalse(discover.reload());
+            assertEquals(2, discover.discover("user").size());
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    /**
+     * 目录中其他文件的变化不会触发重新加载.
+     */
+    @Test
+    void testIgnoreOtherFiles() throws Exception {
+        Path file = write(Files.createTempDirectory("discovery"), "services.json",
+            "{\"services\": {\"user\": [\"http://10.0.0.1:8080\"]}}");
+        FileDiscover discover = new FileDiscover(file);
+        discover.init();
+        try {
+            write(file.getParent(), "other.json", "{}");
+            write(file.getParent(), "services.json.swp", "");
+            Thread.sleep(1000);
+            assertEquals(0, discover.getReloads());
+
+            write(file.getParent(), "services.json",
+                "{\"services\": {\"user\": [\"http://10.0.0.1:8080\", \"http://10.0.0.2:8080\"]}}");
+            long deadline = System.currentTimeMillis() + 30000;
+            while (discover.discover("user").size() != 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(2, discover.discover("user").size());
+            assertTrue(discover.getReloads() > 0);
+        } finally {
+            discover.destroy();
+        }
+    }
+
+    @Test
+    void testUnsupportedFormat() {
+        assertThrows(IllegalArgumentException.class, () -> new FileDiscover("services.txt"));
+    }
+
+    private static Path write(Path directory, String name, String content) throws Exception {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
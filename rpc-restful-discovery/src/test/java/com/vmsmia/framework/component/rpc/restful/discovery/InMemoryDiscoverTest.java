@@ -0,0 +1,135 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:30
+ * @since 1.8
+ */
+public class InMemoryDiscoverTest {
+
+    private final InMemoryDiscover discover = InMemoryDiscover.getInstance();
+
+    @AfterEach
+    public void tearDown() {
+        discover.reset();
+    }
+
+    @Test
+    void testRegisterAndDeregister() {
+        discover.register("user", new Endpoint("10.0.0.2", 8080));
+        discover.register("user", Arrays.asList(new Endpoint("10.0.0.1", 8080), new Endpoint("10.0.0.2", 8080)));
+        List<Endpoint> endpoints = discover.discover("user");
+        assertEquals(2, endpoints.size());
+        // 没有变化时每次返回同一个实例,并且不可修改.
+        assertSame(endpoints, discover.discover("user"));
+        assertThrows(UnsupportedOperationException.class, () -> endpoints.add(new Endpoint("10.0.0.3")));
+
+        long version = discover.snapshot("user").getVersion();
+        assertTrue(discover.deregister("user", new Endpoint("10.0.0.1", 8080)));
+        assertFalse(discover.deregister("user", new Endpoint("10.0.0.1", 8080)));
+        assertEquals(1, discover.discover("user").size());
+        assertTrue(discover.snapshot("user").getVersion() > version);
+        // 旧的列表不受影响.
+        assertEquals(2, endpoints.size());
+
+        assertTrue(discover.deregister("user"));
+        assertTrue(discover.snapshot("user").isEmpty());
+        assertTrue(discover.discover("user").isEmpty());
+    }
+
+    @Test
+    void testReplaceAll() {
+        discover.register("user", new Endpoint("10.0.0.1", 8080));
+        discover.replaceAll(Collections.singletonMap("order", Collections.singletonList(new Endpoint("10.0.1.1"))));
+        assertTrue(discover.discover("user").isEmpty());
+        assertEquals(1, discover.discover("order").size());
+    }
+
+    @Test
+    void testSubscribe() {
+        List<EndpointSnapshot> received = new ArrayList<>();
+        discover.register("user", new Endpoint("10.0.0.1", 8080));
+        try (Subscription subscription = discover.subscribe("user", received::add)) {
+            // 订阅时立即收到当前快照.
+            assertEquals(1, received.size());
+            assertSame(discover.snapshot("user"), received.get(0));
+
+            discover.register("user", new Endpoint("10.0.0.2", 8080));
+            discover.register("order", new Endpoint("10.0.1.1", 8080));
+            assertEquals(2, received.size());
+            assertEquals(2, received.get(1).size());
+            assertTrue(received.get(1).getVersion() > received.get(0).getVersion());
+
+            discover.deregister("user");
+            assertEquals(3, received.size());
+            assertTrue(received.get(2).isEmpty());
+        }
+
+        discover.register("user", new Endpoint("10.0.0.3", 8080));
+        assertEquals(3, received.size());
+    }
+
+    @Test
+    void testForwardingSnapshot() {
+        List<Endpoint> endpoints = Collections.singletonList(new Endpoint("10.0.0.1", 8080));
+        List<List<Endpoint>> source = new ArrayList<>();
+        source.add(endpoints);
+        ForwardingDiscovery forwarding = new ForwardingDiscovery(serviceName -> source.get(0));
+
+        EndpointSnapshot first = forwarding.snapshot("user");
+        assertSame(first, forwarding.snapshot("user"));
+        // 内容相同的新列表不产生新的版本.
+        source.set(0, new ArrayList<>(endpoints));
+        assertSame(first, forwarding.snapshot("user"));
+
+        source.set(0, Arrays.asList(new Endpoint("10.0.0.1", 8080), new Endpoint("10.0.0.2", 8080)));
+        EndpointSnapshot second = forwarding.snapshot("user");
+        assertEquals(2, second.size());
+        assertTrue(second.getVersion() > first.getVersion());
+    }
+
+    @Test
+    void testConcurrentRegister() throws Exception {
+        int threadSize = 8;
+        int perThread = 100;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadSize; t++) {
+            int base = t * perThread;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    discover.register("user", new Endpoint("10.0.0." + (base + i), 8080));
+                    discover.discover("user");
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadSize * perThread, discover.discover("user").size());
+        assertEquals(discover.version(), discover.snapshot("user").getVersion());
+    }
+}
@@ -0,0 +1,210 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSlice;
+import io.fabric8.kubernetes.api.model.discovery.v1.EndpointSliceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 09:40
+ * @since 1.8
+ */
+@EnableKubernetesMockClient(crud = true)
+public class KubernetesEndpointSliceDiscoverTest {
+
+    private static final String SERVICE_NAME = "orders";
+    private static final String SLICE_NAME = "orders-abc12";
+
+    static KubernetesClient client;
+
+    private KubernetesEndpointSliceDiscover discover;
+
+    @BeforeEach
+    void setUp() {
+        discover = new KubernetesEndpointSliceDiscover(false, null, client);
+        discover.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        discover.destroy();
+        client.discovery().v1().endpointSlices().inNamespace(client.getNamespace()).delete();
+    }
+
+    /**
+     * 只有一个未命名端口的服务同样可以被发现.
+     */
+    @Test
+    void testAddWithUnnamedPort() throws Exception {
+        create(slice(SLICE_NAME, null, "10.0.0.1", true, false));
+
+        await(() -> !discover.discover(SERVICE_NAME).isEmpty());
+        List<Endpoint> endpoints = discover.discover(SERVICE_NAME);
+        assertEquals(1, endpoints.size());
+        assertEquals("10.0.0.1", endpoints.get(0).getHost());
+        assertEquals(8080, endpoints.get(0).getPort());
+        assertFalse(endpoints.get(0).isTls());
+        assertEquals("zone-a", endpoints.get(0).getZone());
+        assertEquals("node-1", endpoints.get(0).getNode());
+    }
+
+    /**
+     * 多个端口时只选择HTTP端口,没有HTTP端口时不返回端点.
+     */
+    @Test
+    void testSelectPort() throws Exception {
+        EndpointSlice slice = new EndpointSliceBuilder(slice(SLICE_NAME, "https", "10.0.0.1", true, false))
+            .addNewPort().withName("metrics").withPort(9090).endPort()
+            .build();
+        create(slice);
+        create(new EndpointSliceBuilder(slice("payments-abc12", "grpc", "10.0.1.1", true, false))
+            .editMetadata().addToLabels(KubernetesEndpointSliceDiscover.SERVICE_NAME_LABEL, "payments").endMetadata()
+            .addNewPort().withName("metrics").withPort(9090).endPort()
+            .build());
+
+        await(() -> !discover.discover(SERVICE_NAME).isEmpty());
+        Endpoint endpoint = discover.discover(SERVICE_NAME).get(0);
+        assertEquals(8080, endpoint.getPort());
+        assertTrue(endpoint.isTls());
+        assertTrue(discover.discover("payments").isEmpty());
+    }
+
+    /**
+     * 端点的就绪状态变化后重新计算,没有就绪的端点时使用仍可服务的终止中端点.
+     */
+    @Test
+    void testUpdateReadiness() throws Exception {
+        create(new EndpointSliceBuilder(slice(SLICE_NAME, "http", "10.0.0.1", true, false))
+            .addNewEndpoint()
+            .withAddresses("10.0.0.2")
+            .withNewConditions().withReady(false).withServing(false).withTerminating(false).endConditions()
+            .endEndpoint()
+            .build());
+        await(() -> !discover.discover(SERVICE_NAME).isEmpty());
+        assertEquals(Collections.singletonList("10.0.0.1"), hosts(discover.discover(SERVICE_NAME)));
+
+        // 第二个端点就绪.
+        edit(slice(SLICE_NAME, "http", "10.0.0.1", true, false), "10.0.0.2", true, true, false);
+        await(() -> discover.discover(SERVICE_NAME).size() == 2);
+        assertEquals(Arrays.asList("10.0.0.1", "10.0.0.2"), hosts(discover.discover(SERVICE_NAME)));
+
+        // 全部终止中,只有第二个端点仍然可以服务.
+        EndpointSlice terminating = new EndpointSliceBuilder(slice(SLICE_NAME, "http", "10.0.0.1", false, true))
+            .editFirstEndpoint().editConditions().withServing(false).endConditions().endEndpoint()
+            .build();
+        edit(terminating, "10.0.0.2", false, true, true);
+        await(() -> discover.discover(SERVICE_NAME).size() == 1);
+        assertEquals(Collections.singletonList("10.0.0.2"), hosts(discover.discover(SERVICE_NAME)));
+    }
+
+    /**
+     * 删除EndpointSlice后服务没有端点,订阅者得到通知.
+     */
+    @Test
+    void testDelete() throws Exception {
+        create(slice(SLICE_NAME, "http", "10.0.0.1", true, false));
+        await(() -> !discover.discover(SERVICE_NAME).isEmpty());
+
+        List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+        Subscription subscription = discover.subscribe(SERVICE_NAME, received::add);
+        try {
+            client.discovery().v1().endpointSlices().inNamespace(client.getNamespace()).withName(SLICE_NAME).delete();
+            await(() -> discover.discover(SERVICE_NAME).isEmpty());
+            await(() -> !received.isEmpty() && received.get(received.size() - 1).isEmpty());
+        } finally {
+            subscription.close();
+        }
+    }
+
+    /**
+     * 所有端点都有区域提示时,只返回提示给客户端所在区域的端点.
+     */
+    @Test
+    void testZoneHints() throws Exception {
+        discover.destroy();
+        discover = new KubernetesEndpointSliceDiscover(false, "zone-b", client);
+        discover.init();
+
+        create(new EndpointSliceBuilder(slice(SLICE_NAME, "http", "10.0.0.1", true, false))
+            .editFirstEndpoint().withNewHints().addNewForZone("zone-a").endHints().endEndpoint()
+            .addNewEndpoint()
+            .withAddresses("10.0.0.2")
+            .withZone("zone-b")
+            .withNewHints().addNewForZone("zone-b").endHints()
+            .endEndpoint()
+            .build());
+
+        await(() -> !discover.discover(SERVICE_NAME).isEmpty());
+        assertEquals(Collections.singletonList("10.0.0.2"), hosts(discover.discover(SERVICE_NAME)));
+    }
+
+    private static EndpointSlice slice(String name, String portName, String address, boolean ready,
+                                       boolean terminating) {
+        return new EndpointSliceBuilder()
+            .withNewMetadata()
+            .withName(name)
+            .withNamespace(client.getNamespace())
+            .addToLabels(KubernetesEndpointSliceDiscover.SERVICE_NAME_LABEL, SERVICE_NAME)
+            .endMetadata()
+            .withAddressType("IPv4")
+            .addNewPort().withName(portName).withPort(8080).endPort()
+            .addNewEndpoint()
+            .withAddresses(address)
+            .withZone("zone-a")
+            .withNodeName("node-1")
+            .withNewConditions().withReady(ready).withServing(true).withTerminating(terminating).endConditions()
+            .endEndpoint()
+            .build();
+    }
+
+    private static void create(EndpointSlice slice) {
+        client.discovery().v1().endpointSlices().inNamespace(client.getNamespace()).resource(slice).create();
+    }
+
+    // 以第一个端点为基础,替换第二个端点的状态.
+    private static void edit(EndpointSlice base, String address, boolean ready, boolean serving,
+                             boolean terminating) {
+        client.discovery().v1().endpointSlices().inNamespace(client.getNamespace()).withName(SLICE_NAME)
+            .edit(current -> new EndpointSliceBuilder(current)
+                .withEndpoints(base.getEndpoints())
+                .addNewEndpoint()
+                .withAddresses(address)
+                .withNewConditions()
+                .withReady(ready)
+                .withServing(serving)
+                .withTerminating(terminating)
+                .endConditions()
+                .endEndpoint()
+                .build());
+    }
+
+    private static List<String> hosts(List<Endpoint> endpoints) {
+        List<String> hosts = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            hosts.add(endpoint.getHost());
+        }
+        return hosts;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
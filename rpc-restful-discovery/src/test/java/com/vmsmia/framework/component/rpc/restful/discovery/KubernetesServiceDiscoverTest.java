@@ -0,0 +1,249 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.fabric8.kubernetes.api.model.Service;
+import io.fabric8.kubernetes.api.model.ServiceBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.server.mock.EnableKubernetesMockClient;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 10:20
+ * @since 1.8
+ */
+@EnableKubernetesMockClient(crud = true)
+public class KubernetesServiceDiscoverTest {
+
+    private static final String OTHER_NAMESPACE = "other";
+    private static final long EFFECTIVE_TIME_MS = 1000 * 60;
+    private static final long MAX_STALE_MS = EFFECTIVE_TIME_MS * 10;
+
+    static KubernetesClient client;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private KubernetesServiceDiscover discover;
+
+    @AfterEach
+    void tearDown() {
+        if (discover != null) {
+            discover.destroy();
+        }
+        client.services().inNamespace(client.getNamespace()).delete();
+        client.services().inNamespace(OTHER_NAMESPACE).delete();
+    }
+
+    /**
+     * 当前命名空间的服务由informer维护,增删改都会反映到查询结果并通知订阅者.
+     */
+    @Test
+    void testLocalNamespace() throws Exception {
+        discover = build(false);
+
+        create(client.getNamespace(), service("orders", "ClusterIP", "http", 8080));
+        await(() -> !discover.discover("orders").isEmpty());
+        assertEquals(Collections.singletonList(new Endpoint("orders", 8080)), discover.discover("orders"));
+
+        List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+        Subscription subscription = discover.subscribe("orders", received::add);
+        try {
+            client.services().inNamespace(client.getNamespace()).withName("orders")
+                .edit(s -> service("orders", "ClusterIP", "https", 8443));
+            await(() -> discover.discover("orders").get(0).isTls());
+            assertEquals(8443, discover.discover("orders").get(0).getPort());
+            await(() -> !received.isEmpty() && received.get(received.size() - 1).getEndpoints().get(0).isTls());
+
+            client.services().inNamespace(client.getNamespace()).withName("orders").delete();
+            await(() -> discover.discover("orders").isEmpty());
+            await(() -> received.get(received.size() - 1).isEmpty());
+        } finally {
+            subscription.close();
+        }
+
+        // 不是ClusterIP类型的服务不会被索引.
+        create(client.getNamespace(), service("nodes", "NodePort", "http", 8080));
+        create(client.getNamespace(), service("orders", "ClusterIP", "http", 8080));
+        await(() -> !discover.discover("orders").isEmpty());
+        assertTrue(discover.discover("nodes").isEmpty());
+
+        // 不允许跨命名空间时不会查找其他命名空间.
+        create(OTHER_NAMESPACE, service("payments", "ClusterIP", "http", 8080));
+        assertTrue(discover.discover("payments").isEmpty());
+        assertEquals(0, discover.getMetrics().getLoads());
+    }
+
+    /**
+     * 跨命名空间查找的空结果只缓存很短的时间,之后创建的服务可以被发现.
+     */
+    @Test
+    void testCrossNamespaceNegativeTtl() {
+        discover = build(true);
+
+        assertTrue(discover.discover("payments").isEmpty());
+        assertEquals(1, discover.getMetrics().getLoads());
+
+        create(OTHER_NAMESPACE, service("payments", "ClusterIP", "http", 8080));
+        // 空结果还在缓存中.
+        assertTrue(discover.discover("payments").isEmpty());
+        assertEquals(1, discover.getMetrics().getLoads());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertEquals(Collections.singletonList(new Endpoint("payments", 8080)), discover.discover("payments"));
+        assertEquals(2, discover.getMetrics().getLoads());
+
+        // 找到的结果按照effectiveTimeMs缓存.
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        client.services().inNamespace(OTHER_NAMESPACE).withName("payments").delete();
+        assertEquals(Collections.singletonList(new Endpoint("payments", 8080)), discover.discover("payments"));
+        assertEquals(2, discover.getMetrics().getLoads());
+    }
+
+    /**
+     * 到了刷新时间后立即返回旧的值,同时在后台刷新.
+     */
+    @Test
+    void testBackgroundRefresh() throws Exception {
+        List<Endpoint> first = Collections.singletonList(new Endpoint("payments", 8080));
+        List<Endpoint> second = Collections.singletonList(new Endpoint("payments", 8443, true));
+        AtomicReference<List<Endpoint>> remote = new AtomicReference<>(first);
+        discover = build(serviceName -> remote.get());
+
+        assertSame(first, discover.discover("payments"));
+        List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+        Subscription subscription = discover.subscribe("payments", received::add);
+        remote.set(second);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(EFFECTIVE_TIME_MS + 1));
+        assertSame(first, discover.discover("payments"));
+        await(() -> discover.discover("payments") == second);
+        // 后台刷新的结果直接通知订阅者.
+        await(() -> received.get(received.size() - 1).getEndpoints().equals(second));
+        subscription.close();
+
+        DiscoveryCacheMetrics metrics = discover.getMetrics();
+        assertEquals(1, metrics.getLoads());
+        assertEquals(1, metrics.getRefreshes());
+        assertEquals(0, metrics.getRefreshFailures());
+
+        // 内容没有变化的刷新保留旧的实例.
+        remote.set(Collections.singletonList(new Endpoint("payments", 8443, true)));
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(EFFECTIVE_TIME_MS + 1));
+        discover.discover("payments");
+        await(() -> metrics.getRefreshes() == 2);
+        assertSame(second, discover.discover("payments"));
+    }
+
+    /**
+     * 当前命名空间的服务被删除时,informer线程直接通知订阅者,不会同步查找其他命名空间.
+     */
+    @Test
+    void testRemoveDoesNotLoadOnInformerThread() throws Exception {
+        AtomicLong remoteCalls = new AtomicLong();
+        discover = build(serviceName -> {
+            remoteCalls.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        create(client.getNamespace(), service("orders", "ClusterIP", "http", 8080));
+        await(() -> !discover.discover("orders").isEmpty());
+
+        List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+        Subscription subscription = discover.subscribe("orders", received::add);
+        try {
+            client.services().inNamespace(client.getNamespace()).withName("orders").delete();
+            await(() -> !received.isEmpty() && received.get(received.size() - 1).isEmpty());
+            assertEquals(0, remoteCalls.get());
+            assertEquals(0, discover.getMetrics().getLoads());
+        } finally {
+            subscription.close();
+        }
+    }
+
+    /**
+     * 刷新失败时继续使用旧的值,但是最多只能陈旧maxStaleMs,之后在调用线程上同步加载.
+     */
+    @Test
+    void testStaleBound() throws Exception {
+        List<Endpoint> first = Collections.singletonList(new Endpoint("payments", 8080));
+        AtomicBoolean failing = new AtomicBoolean(false);
+        discover = build(serviceName -> {
+            if (failing.get()) {
+                throw new IllegalStateException("The api server is unavailable.");
+            }
+            return first;
+        });
+
+        assertSame(first, discover.discover("payments"));
+        failing.set(true);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(EFFECTIVE_TIME_MS + 1));
+        assertSame(first, discover.discover("payments"));
+        DiscoveryCacheMetrics metrics = discover.getMetrics();
+        await(() -> metrics.getRefreshFailures() == 1);
+        assertSame(first, discover.discover("payments"));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(MAX_STALE_MS));
+        assertThrows(RuntimeException.class, () -> discover.discover("payments"));
+        assertEquals(2, metrics.getLoads());
+        assertEquals(1, metrics.getLoadFailures());
+
+        failing.set(false);
+        assertSame(first, discover.discover("payments"));
+        assertTrue(metrics.getAverageCostNanos() >= 0);
+    }
+
+    private KubernetesServiceDiscover build(Function<String, List<Endpoint>> remote) {
+        KubernetesServiceDiscover discover =
+            new KubernetesServiceDiscover(true, EFFECTIVE_TIME_MS, MAX_STALE_MS, client, nanos::get) {
+                @Override
+                List<Endpoint> findFromOtherNamespace(String serviceName) {
+                    return remote.apply(serviceName);
+                }
+            };
+        discover.init();
+        return discover;
+    }
+
+    private KubernetesServiceDiscover build(boolean allNamespace) {
+        KubernetesServiceDiscover discover =
+            new KubernetesServiceDiscover(allNamespace, EFFECTIVE_TIME_MS, MAX_STALE_MS, client, nanos::get);
+        discover.init();
+        return discover;
+    }
+
+    private static Service service(String name, String type, String portName, int port) {
+        return new ServiceBuilder()
+            .withNewMetadata().withName(name).endMetadata()
+            .withNewSpec()
+            .withType(type)
+            .addNewPort().withName(portName).withPort(port).endPort()
+            .endSpec()
+            .build();
+    }
+
+    private static void create(String namespace, Service service) {
+        client.services().inNamespace(namespace).resource(service).create();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
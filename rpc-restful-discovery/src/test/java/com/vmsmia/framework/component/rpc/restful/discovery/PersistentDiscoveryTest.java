@@ -0,0 +1,208 @@
+package com.vmsmia.framework.component.rpc.restful.discovery;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:40
+ * @since 1.8
+ */
+public class PersistentDiscoveryTest {
+
+    private static final List<Endpoint> ENDPOINTS = Collections.unmodifiableList(Arrays.asList(
+        new Endpoint("10.0.0.1", 8080, false, 1.0F, "zone-a", "node-1",
+            Collections.singletonMap("version", "v2")),
+        new Endpoint("10.0.0.2", 8443, true)));
+
+    @Test
+    void testWarmStart() throws Exception {
+        Path file = Files.createTempDirectory("discovery").resolve("snapshot.json");
+        PersistentDiscovery first = new PersistentDiscovery(serviceName -> ENDPOINTS, file, 60000, 0, 60000);
+        first.init();
+        assertSame(ENDPOINTS, first.discover("user"));
+        first.destroy();
+        assertTrue(Files.exists(file));
+
+        // 重启后被包装的服务发现还不可用,直接使用文件中的结果.
+        AtomicReference<List<Endpoint>> live = new AtomicReference<>();
+        PersistentDiscovery second = new PersistentDiscovery(serviceName -> {
+            if (live.get() == null) {
+                throw new IllegalStateException("not ready");
+            }
+            return live.get();
+        }, file, 60000, 0, 60000);
+        second.init();
+        try {
+            List<Endpoint> endpoints = second.discover("user");
+            assertEquals(ENDPOINTS, endpoints);
+            Endpoint first0 = endpoints.get(endpoints.indexOf(ENDPOINTS.get(0)));
+            assertTrue(first0.sameAttributes(ENDPOINTS.get(0)));
+            // 没有持久化结果的服务仍然得到被包装的服务发现的异常.
+            assertThrows(IllegalStateException.class, () -> second.discover("order"));
+
+            // 被包装的服务发现恢复后以它为准.
+            List<Endpoint> recovered = Collections.singletonList(new Endpoint("10.0.0.3", 8080));
+            live.set(recovered);
+            long deadline = System.currentTimeMillis() + 10000;
+            while (second.discover("user") != recovered && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertSame(recovered, second.discover("user"));
+        } finally {
+            second.destroy();
+        }
+    }
+
+    @Test
+    void testMaxAge() throws Exception {
+        Path file = Files.createTempDirectory("discovery").resolve("snapshot.json");
+        PersistentDiscovery first = new PersistentDiscovery(serviceName -> ENDPOINTS, file, 60000, 0, 60000);
+        first.init();
+        first.discover("user");
+        first.destroy();
+
+        Thread.sleep(20);
+        PersistentDiscovery second = new PersistentDiscovery(
+            serviceName -> Collections.emptyList(), file, 10, 0, 60000);
+        second.init();
+        try {
+            assertTrue(second.discover("user").isEmpty());
+        } finally {
+            second.destroy();
+        }
+    }
+
+    /**
+     * 无法读取的文件被移开保留,之后的写入不会覆盖它.
+     */
+    @Test
+    void testCorruptFileIsSetAside() throws Exception {
+        Path directory = Files.createTempDirectory("discovery");
+        Path file = directory.resolve("snapshot.json");
+        byte[] corrupt = "{\"version\": 1, \"services\": {".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, corrupt);
+
+        PersistentDiscovery discovery = new PersistentDiscovery(serviceName -> ENDPOINTS, file, 60000, 0, 60000);
+        discovery.init();
+        try {
+            assertSame(ENDPOINTS, discovery.discover("user"));
+        } finally {
+            discovery.destroy();
+        }
+
+        List<Path> aside;
+        try (Stream<Path> files = Files.list(directory)) {
+            aside = files.filter(p -> p.getFileName().toString().startsWith("snapshot.json.corrupt-"))
+                .collect(Collectors.toList());
+        }
+        assertEquals(1, aside.size());
+        assertArrayEquals(corrupt, Files.readAllBytes(aside.get(0)));
+
+        // 新写入的文件可以被正常读取.
+        PersistentDiscovery restarted = new PersistentDiscovery(serviceName -> {
+            throw new IllegalStateException("not ready");
+        }, file, 60000, 0, 60000);
+        restarted.init();
+        try {
+            assertEquals(ENDPOINTS, restarted.discover("user"));
+        } finally {
+            restarted.destroy();
+        }
+    }
+
+    /**
+     * 被包装的服务发现确认服务已经没有端点时,立即丢弃文件中的结果.
+     */
+    @Test
+    void testEmptyLiveResult() throws Exception {
+        Path file = Files.createTempDirectory("discovery").resolve("snapshot.json");
+        PersistentDiscovery first = new PersistentDiscovery(serviceName -> ENDPOINTS, file, 60000, 0, 60000);
+        first.init();
+        first.discover("user");
+        first.destroy();
+
+        PersistentDiscovery second = new PersistentDiscovery(
+            serviceName -> Collections.emptyList(), file, 60000, 0, 60000);
+        second.init();
+        List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+        try {
+            second.subscribe("user", received::add);
+            assertEquals(ENDPOINTS, received.get(0).getEndpoints());
+            await(() -> second.snapshot("user").isEmpty());
+            assertTrue(second.discover("user").isEmpty());
+            assertTrue(received.get(received.size() - 1).isEmpty());
+        } finally {
+            second.destroy();
+        }
+
+        // 文件中也不再有这个服务.
+        PersistentDiscovery third = new PersistentDiscovery(serviceName -> {
+            throw new IllegalStateException("not ready");
+        }, file, 60000, 0, 60000);
+        third.init();
+        try {
+            assertThrows(IllegalStateException.class, () -> third.discover("user"));
+        } finally {
+            third.destroy();
+        }
+    }
+
+    /**
+     * 被包装的服务发现支持订阅时,它推送的快照被转发给订阅者并且被持久化.
+     */
+    @Test
+    void testSubscribableDelegate() throws Exception {
+        Path file = Files.createTempDirectory("discovery").resolve("snapshot.json");
+        InMemoryDiscover memory = InMemoryDiscover.getInstance();
+        memory.reset();
+        PersistentDiscovery discovery = new PersistentDiscovery(memory, file, 60000, 0, 60000);
+        discovery.init();
+        List<EndpointSnapshot> received = new CopyOnWriteArrayList<>();
+        try {
+            discovery.subscribe("user", received::add);
+            assertTrue(received.get(received.size() - 1).isEmpty());
+
+            // 变化被推送,不需要再次查询.
+            memory.register("user", ENDPOINTS);
+            assertEquals(ENDPOINTS, received.get(received.size() - 1).getEndpoints());
+        } finally {
+            discovery.destroy();
+        }
+
+        PersistentDiscovery restarted = new PersistentDiscovery(serviceName -> {
+            throw new IllegalStateException("not ready");
+        }, file, 60000, 0, 60000);
+        restarted.init();
+        try {
+            assertEquals(ENDPOINTS, restarted.discover("user"));
+        } finally {
+            restarted.destroy();
+            memory.reset();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,67 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import java.util.Random;
+
+/**
+ * 模拟端点的服务耗时分布,单位为微秒.
+ * 所有的随机性都来自于模拟器传入的{@link Random},保证同一个种子得到同样的结果.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 16:30
+ * @since 1.8
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * 采样一次服务耗时.
+     *
+     * @param random 随机源.
+     * @return 耗时,微秒,不小于1.
+     */
+    long sampleMicros(Random random);
+
+    /**
+     * 固定耗时.
+     */
+    static LatencyDistribution constant(long micros) {
+        return random -> Math.max(1, micros);
+    }
+
+    /**
+     * 指数分布.
+     *
+     * @param meanMicros 平均耗时.
+     */
+    static LatencyDistribution exponential(long meanMicros) {
+        return random -> Math.max(1, (long) (-Math.log(1.0D - random.nextDouble()) * meanMicros));
+    }
+
+    /**
+     * 对数正态分布,典型的服务耗时形状.
+     *
+     * @param medianMicros 中位数耗时.
+     * @param sigma        形状参数,越大尾部越长.
+     */
+    static LatencyDistribution logNormal(long medianMicros, double sigma) {
+        double mu = Math.log(medianMicros);
+        return random -> Math.max(1, (long) Math.exp(mu + sigma * random.nextGaussian()));
+    }
+
+    /**
+     * 帕累托分布,用于模拟极重的长尾.
+     *
+     * @param minMicros 最小耗时.
+     * @param alpha     形状参数,越小尾部越长.
+     */
+    static LatencyDistribution pareto(long minMicros, double alpha) {
+        return random -> Math.max(1, (long) (minMicros / Math.pow(1.0D - random.nextDouble(), 1.0D / alpha)));
+    }
+
+    /**
+     * 返回一个整体放大了指定倍数的分布.
+     */
+    default LatencyDistribution scaled(double factor) {
+        return random -> Math.max(1, (long) (sampleMicros(random) * factor));
+    }
+}
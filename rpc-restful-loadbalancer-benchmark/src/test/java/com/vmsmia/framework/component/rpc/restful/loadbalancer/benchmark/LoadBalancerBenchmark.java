@@ -0,0 +1,103 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerFactory;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerSelected;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 负载均衡选择和释放的吞吐量基准测试.
+ *
+ * <p>
+ * 每次调用包含一次{@code select}和对应的{@code release},分别在单线程和8个线程竞争同一个实例下测量.
+ * 可以直接运行{@link #main(String[])},或者通过JMH的命令行参数过滤,例如
+ * {@code -p loadBalancer=LEAST_REQUEST -p size=100}.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 17:50
+ * @since 1.8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBalancerBenchmark {
+
+    @Param({"RANDOM", "ROUND_ROBIN", "LEAST_REQUEST", "APERTURE", "LOCALITY_AWARE"})
+    private String loadBalancer;
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private LoadBalancer instance;
+    private List<Endpoint> endpoints;
+
+    /**
+     * 准备负载均衡器和一个不变的端点列表,不变的列表模拟服务发现的缓存命中.
+     */
+    @Setup
+    public void setup() {
+        instance = LoadBalancerFactory.getLoadBalancer(loadBalancer);
+        List<Endpoint> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(Endpoint.Builder.anBuilder()
+                .withHost("10.0." + (i / 250) + "." + (i % 250))
+                .withPort(8080)
+                .withZone("zone-" + (i % 3))
+                .withNode("node-" + i)
+                .build());
+        }
+        endpoints = Collections.unmodifiableList(list);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void selectAndRelease(Blackhole blackhole) throws Exception {
+        doSelectAndRelease(blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void selectAndReleaseContended(Blackhole blackhole) throws Exception {
+        doSelectAndRelease(blackhole);
+    }
+
+    private void doSelectAndRelease(Blackhole blackhole) throws Exception {
+        Optional<LoadBalancerSelected> selected = instance.select(endpoints);
+        if (selected.isPresent()) {
+            try (LoadBalancerSelected s = selected.get()) {
+                blackhole.consume(s.endpoint());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(LoadBalancerBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancers;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ClientLocality;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.state.EndpointStateRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 以离散事件模拟比较所有的负载均衡实现.断言失败时报告作为失败信息输出.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 17:35
+ * @since 1.8
+ */
+public class LoadBalancerSimulationTest {
+
+    private static final String[] LOAD_BALANCERS = {
+        LoadBalancers.RANDOM,
+        LoadBalancers.ROUND_ROBIN,
+        LoadBalancers.LEAST_REQUEST,
+        LoadBalancers.APERTURE,
+        LoadBalancers.LOCALITY_AWARE,
+    };
+
+    /**
+     * 所有场景下所有负载均衡器都处理了全部请求.
+     */
+    @Test
+    void testAllScenarios() {
+        List<Function<Integer, Scenario>> scenarios = new ArrayList<>();
+        scenarios.add(size -> Scenario.uniform(size, 0.7D));
+        scenarios.add(size -> Scenario.slowPod(size, 0.7D));
+        scenarios.add(size -> Scenario.failingPod(size, 0.7D));
+        scenarios.add(size -> Scenario.churn(size, 0.7D));
+
+        for (Function<Integer, Scenario> factory : scenarios) {
+            for (String name : LOAD_BALANCERS) {
+                SimulationReport report = Simulation.run(factory.apply(10), name);
+
+                assertEquals(name, report.getLoadBalancerName());
+                assertTrue(report.toString().contains(name), report.toString());
+                assertEquals(0, report.getDropped(), report.toString());
+                assertEquals(report.getRequests(), report.getCompleted(), report.toString());
+                assertTrue(report.p50() <= report.p99() && report.p99() <= report.p999(), report.toString());
+            }
+        }
+    }
+
+    /**
+     * 同一个场景对所有的负载均衡器都得到完全一样的结果,包括每个请求的耗时和每个端点的分布.
+     */
+    @Test
+    void testDeterministic() {
+        for (Scenario scenario : new Scenario[] {Scenario.slowPod(10, 0.7D), Scenario.churn(10, 0.7D)}) {
+            for (String name : LOAD_BALANCERS) {
+                assertSameReport(Simulation.run(scenario, name), Simulation.run(scenario, name));
+            }
+        }
+    }
+
+    /**
+     * 上一次模拟留下的共享状态不影响下一次模拟.
+     */
+    @Test
+    void testSharedStateIsReset() {
+        SimulationReport expected = Simulation.run(Scenario.churn(10, 0.7D), LoadBalancers.LOCALITY_AWARE);
+
+        EndpointStateRegistry.getInstance().configureSlowStart(60000L, 1.0D, 0.1D);
+        ClientLocality.getInstance().update("zone-a", "node-a", 1, 1.4D);
+        try {
+            assertSameReport(expected, Simulation.run(Scenario.churn(10, 0.7D), LoadBalancers.LOCALITY_AWARE));
+        } finally {
+            EndpointStateRegistry.getInstance().reset();
+            ClientLocality.getInstance().reset();
+        }
+    }
+
+    /**
+     * 有一个变慢的端点时,最少请求算法的尾部耗时明显好于随机和轮询.
+     */
+    @Test
+    void testLeastRequestAvoidsSlowPod() {
+        Map<String, SimulationReport> reports = new LinkedHashMap<>();
+        String[] names = {LoadBalancers.RANDOM, LoadBalancers.ROUND_ROBIN, LoadBalancers.LEAST_REQUEST};
+        for (String name : names) {
+            reports.put(name, Simulation.run(Scenario.slowPod(10, 0.7D), name));
+        }
+
+        long leastRequestP99 = reports.get(LoadBalancers.LEAST_REQUEST).p99();
+        assertTrue(leastRequestP99 < reports.get(LoadBalancers.RANDOM).p99(), reports.toString());
+        assertTrue(leastRequestP99 < reports.get(LoadBalancers.ROUND_ROBIN).p99(), reports.toString());
+    }
+
+    private static void assertSameReport(SimulationReport expected, SimulationReport actual) {
+        String message = expected.toString() + actual;
+        assertEquals(expected.getRequests(), actual.getRequests(), message);
+        assertEquals(expected.getFailures(), actual.getFailures(), message);
+        assertArrayEquals(expected.getLatencies(), actual.getLatencies(), message);
+        assertEquals(expected.getEndpoints().size(), actual.getEndpoints().size(), message);
+        for (int i = 0; i < expected.getEndpoints().size(); i++) {
+            SimulationReport.EndpointReport e = expected.getEndpoints().get(i);
+            SimulationReport.EndpointReport a = actual.getEndpoints().get(i);
+            assertEquals(e.getEndpoint(), a.getEndpoint(), message);
+            assertEquals(e.getRequests(), a.getRequests(), message);
+            assertEquals(e.getFailures(), a.getFailures(), message);
+            assertEquals(e.getMaxInflight(), a.getMaxInflight(), message);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一个模拟场景: 请求到达速率,模拟时长,随机种子和所有的模拟端点.
+ *
+ * <p>
+ * 请求按照泊松过程到达.同一个场景和同一个种子总是产生同样的到达序列,服务耗时和失败序列.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 16:48
+ * @since 1.8
+ */
+public final class Scenario {
+
+    private final String name;
+    private final long seed;
+    private final long durationMicros;
+    private final double requestsPerSecond;
+    private final List<SimulatedEndpoint> endpoints;
+
+    private Scenario(Builder builder) {
+        this.name = builder.name;
+        this.seed = builder.seed;
+        this.durationMicros = builder.durationMicros;
+        this.requestsPerSecond = builder.requestsPerSecond;
+        this.endpoints = Collections.unmodifiableList(new ArrayList<>(builder.endpoints));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public List<SimulatedEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 均匀的端点,指数分布的耗时.
+     *
+     * @param size        端点数量.
+     * @param utilization 目标利用率,范围(0, 1).
+     */
+    public static Scenario uniform(int size, double utilization) {
+        Builder builder = Builder.anBuilder().withName("uniform");
+        for (int i = 0; i < size; i++) {
+            builder.addEndpoint(SimulatedEndpoint.Builder.anBuilder()
+                .withEndpoint(endpoint(i))
+                .withLatency(LatencyDistribution.exponential(10_000))
+                .build());
+        }
+        return builder.withRequestsPerSecond(capacityPerSecond(size, 8, 10_000) * utilization).build();
+    }
+
+    /**
+     * 其中一个端点在模拟的中段变慢十倍.
+     */
+    public static Scenario slowPod(int size, double utilization) {
+        Builder builder = Builder.anBuilder().withName("slow-pod");
+        for (int i = 0; i < size; i++) {
+            SimulatedEndpoint.Builder endpoint = SimulatedEndpoint.Builder.anBuilder()
+                .withEndpoint(endpoint(i))
+                .withLatency(LatencyDistribution.logNormal(10_000, 0.5D));
+            if (i == 0) {
+                endpoint.withSlowdown(2_000_000, 8_000_000, 10.0D);
+            }
+            builder.addEndpoint(endpoint.build());
+        }
+        return builder.withRequestsPerSecond(capacityPerSecond(size, 8, 10_000) * utilization).build();
+    }
+
+    /**
+     * 其中一个端点有一半的请求失败,且失败很快.
+     */
+    public static Scenario failingPod(int size, double utilization) {
+        Builder builder = Builder.anBuilder().withName("failing-pod");
+        for (int i = 0; i < size; i++) {
+            SimulatedEndpoint.Builder endpoint = SimulatedEndpoint.Builder.anBuilder()
+                .withEndpoint(endpoint(i))
+                .withLatency(LatencyDistribution.logNormal(10_000, 0.5D));
+            if (i == 0) {
+                endpoint.withFailureRate(0.5D).withLatency(LatencyDistribution.constant(500));
+            }
+            builder.addEndpoint(endpoint.build());
+        }
+        return builder.withRequestsPerSecond(capacityPerSecond(size, 8, 10_000) * utilization).build();
+    }
+
+    /**
+     * 滚动发布: 每隔一段时间一个旧端点离开,一个新端点加入.
+     */
+    public static Scenario churn(int size, double utilization) {
+        Builder builder = Builder.anBuilder().withName("churn");
+        long step = 500_000;
+        for (int i = 0; i < size; i++) {
+            builder.addEndpoint(SimulatedEndpoint.Builder.anBuilder()
+                .withEndpoint(endpoint(i))
+                .withLatency(LatencyDistribution.logNormal(10_000, 0.5D))
+                .withLeaveAtMicros(1_000_000 + step * i)
+                .build());
+            builder.addEndpoint(SimulatedEndpoint.Builder.anBuilder()
+                .withEndpoint(endpoint(size + i))
+                .withLatency(LatencyDistribution.logNormal(10_000, 0.5D))
+                .withJoinAtMicros(1_000_000 + step * i)
+                .build());
+        }
+        return builder.withRequestsPerSecond(capacityPerSecond(size, 8, 10_000) * utilization).build();
+    }
+
+    private static Endpoint endpoint(int index) {
+        return Endpoint.Builder.anBuilder()
+            .withHost("10.0." + (index / 250) + "." + (index % 250))
+            .withPort(8080)
+            .withZone("zone-" + (index % 3))
+            .withNode("node-" + index)
+            .build();
+    }
+
+    private static double capacityPerSecond(int size, int capacity, long meanMicros) {
+        return size * capacity * (1_000_000.0D / meanMicros);
+    }
+
+    /**
+     * 场景构造器.
+     */
+    public static final class Builder {
+        private String name = "scenario";
+        private long seed = 20261019L;
+        private long durationMicros = 10_000_000L;
+        private double requestsPerSecond = 1000.0D;
+        private final List<SimulatedEndpoint> endpoints = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        public Builder withName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder withDurationMicros(long durationMicros) {
+            this.durationMicros = durationMicros;
+            return this;
+        }
+
+        public Builder withRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+            return this;
+        }
+
+        public Builder addEndpoint(SimulatedEndpoint endpoint) {
+            this.endpoints.add(endpoint);
+            return this;
+        }
+
+        public Scenario build() {
+            if (durationMicros <= 0 || requestsPerSecond <= 0) {
+                throw new IllegalArgumentException("The duration and request rate of the scenario must be positive.");
+            }
+            return new Scenario(this);
+        }
+    }
+}
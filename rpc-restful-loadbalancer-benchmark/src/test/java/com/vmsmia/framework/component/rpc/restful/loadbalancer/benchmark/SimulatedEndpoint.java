@@ -0,0 +1,145 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.Random;
+
+/**
+ * 模拟的端点.
+ *
+ * <p>
+ * 每个端点是一个有固定并发容量的服务者,超过容量的请求在端点上排队(FIFO).
+ * 可以设置失败率,一段时间内的变慢倍数(模拟GC或者邻居干扰),以及加入和离开的时间(模拟滚动发布).
+ * 所有时间单位都是模拟时钟的微秒.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 16:38
+ * @since 1.8
+ */
+public final class SimulatedEndpoint {
+
+    private final Endpoint endpoint;
+    private final LatencyDistribution latency;
+    private final int capacity;
+    private final double failureRate;
+    private final long slowFromMicros;
+    private final long slowToMicros;
+    private final double slowFactor;
+    private final long joinAtMicros;
+    private final long leaveAtMicros;
+
+    private SimulatedEndpoint(Builder builder) {
+        this.endpoint = builder.endpoint;
+        this.latency = builder.latency;
+        this.capacity = builder.capacity;
+        this.failureRate = builder.failureRate;
+        this.slowFromMicros = builder.slowFromMicros;
+        this.slowToMicros = builder.slowToMicros;
+        this.slowFactor = builder.slowFactor;
+        this.joinAtMicros = builder.joinAtMicros;
+        this.leaveAtMicros = builder.leaveAtMicros;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    public long getJoinAtMicros() {
+        return joinAtMicros;
+    }
+
+    public long getLeaveAtMicros() {
+        return leaveAtMicros;
+    }
+
+    /**
+     * 采样指定时刻开始服务的一个请求的耗时.
+     */
+    long sampleMicros(Random random, long nowMicros) {
+        long micros = latency.sampleMicros(random);
+        if (nowMicros >= slowFromMicros && nowMicros < slowToMicros) {
+            micros = Math.max(1, (long) (micros * slowFactor));
+        }
+        return micros;
+    }
+
+    /**
+     * 模拟端点构造器.
+     */
+    public static final class Builder {
+        private Endpoint endpoint;
+        private LatencyDistribution latency = LatencyDistribution.exponential(10_000);
+        private int capacity = 8;
+        private double failureRate;
+        private long slowFromMicros = Long.MAX_VALUE;
+        private long slowToMicros = Long.MAX_VALUE;
+        private double slowFactor = 1.0D;
+        private long joinAtMicros;
+        private long leaveAtMicros = Long.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        public Builder withEndpoint(Endpoint endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        public Builder withLatency(LatencyDistribution latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder withCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder withFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+            return this;
+        }
+
+        /**
+         * 在 [fromMicros, toMicros) 之间开始服务的请求耗时乘以 factor.
+         */
+        public Builder withSlowdown(long fromMicros, long toMicros, double factor) {
+            this.slowFromMicros = fromMicros;
+            this.slowToMicros = toMicros;
+            this.slowFactor = factor;
+            return this;
+        }
+
+        public Builder withJoinAtMicros(long joinAtMicros) {
+            this.joinAtMicros = joinAtMicros;
+            return this;
+        }
+
+        public Builder withLeaveAtMicros(long leaveAtMicros) {
+            this.leaveAtMicros = leaveAtMicros;
+            return this;
+        }
+
+        public SimulatedEndpoint build() {
+            if (endpoint == null || latency == null) {
+                throw new IllegalArgumentException("The endpoint and latency of the simulated endpoint are required.");
+            }
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("The capacity of the simulated endpoint must be greater than 0.");
+            }
+            return new SimulatedEndpoint(this);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.AbstractLoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerFactory;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerSelected;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthTable;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ApertureCoordinate;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ClientLocality;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.state.EndpointStateRegistry;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * 负载均衡的离散事件模拟器.
+ *
+ * <p>
+ * 模拟时钟以微秒为单位,和真实时间无关.事件按照(时间,序号)排序,所以同一个场景和种子得到同样的事件序列.
+ * 负载均衡器的{@code select}在请求到达时同步调用,{@code release}在请求完成时调用,
+ * 两者的真实CPU耗时(纳秒)被单独统计为选择开销.
+ * </p>
+ *
+ * <p>
+ * 每次模拟开始前都会重置进程内共享的负载均衡状态(健康表,端点状态,窗口坐标和客户端位置),
+ * 继承自{@link AbstractLoadBalancer}的负载均衡器使用以场景种子初始化的随机源,
+ * 所以同一个场景对任何内置的负载均衡器都得到完全一样的结果.
+ * 依赖真实时钟的功能(例如慢启动)在模拟时钟下没有意义.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 17:02
+ * @since 1.8
+ */
+public final class Simulation {
+
+    private static final int ARRIVAL = 0;
+    private static final int COMPLETION = 1;
+    private static final int MEMBERSHIP = 2;
+
+    private final Scenario scenario;
+    private final LoadBalancer loadBalancer;
+    private final String loadBalancerName;
+    private final Random random;
+    private final PriorityQueue<Event> events;
+    private final Map<Endpoint, EndpointRuntime> runtimes;
+    private final LongList latencies;
+    private List<Endpoint> members;
+    private long sequence;
+    private long arrivals;
+    private long dropped;
+    private long failures;
+    private long selectCostNanos;
+    private long releaseCostNanos;
+    private long selections;
+
+    private Simulation(Scenario scenario, String loadBalancerName, LoadBalancer loadBalancer) {
+        this.scenario = scenario;
+        this.loadBalancerName = loadBalancerName;
+        this.loadBalancer = loadBalancer;
+        this.random = new Random(scenario.getSeed());
+        this.events = new PriorityQueue<>(
+            Comparator.<Event>comparingLong(e -> e.time).thenComparingLong(e -> e.sequence));
+        this.runtimes = new LinkedHashMap<>();
+        this.latencies = new LongList();
+        this.members = Collections.emptyList();
+    }
+
+    /**
+     * 以一个新的负载均衡器实例运行一次模拟.
+     *
+     * @param scenario         场景.
+     * @param loadBalancerName 负载均衡器名称,见{@link LoadBalancerFactory#getLoadBalancer(String)}.
+     * @return 模拟报告.
+     */
+    public static SimulationReport run(Scenario scenario, String loadBalancerName) {
+        return run(scenario, loadBalancerName, LoadBalancerFactory.getLoadBalancer(loadBalancerName));
+    }
+
+    /**
+     * 运行一次模拟.
+     *
+     * @param scenario         场景.
+     * @param loadBalancerName 负载均衡器名称,只用于报告.
+     * @param loadBalancer     被模拟的负载均衡器,必须是一个新的实例.
+     * @return 模拟报告.
+     */
+    public static SimulationReport run(Scenario scenario, String loadBalancerName, LoadBalancer loadBalancer) {
+        resetSharedState();
+        if (loadBalancer instanceof AbstractLoadBalancer) {
+            ((AbstractLoadBalancer) loadBalancer).setRandom(new Random(scenario.getSeed() * 17 + 1));
+        }
+        return new Simulation(scenario, loadBalancerName, loadBalancer).run();
+    }
+
+    // 进程内共享的状态不能从上一次模拟带入下一次模拟.
+    private static void resetSharedState() {
+        HealthTable.getInstance().reset();
+        EndpointStateRegistry.getInstance().reset();
+        ApertureCoordinate.getInstance().reset();
+        ClientLocality.getInstance().reset();
+    }
+
+    private SimulationReport run() {
+        long endpointSeed = scenario.getSeed();
+        for (SimulatedEndpoint endpoint : scenario.getEndpoints()) {
+            // 每个端点独立的随机源,到达序列和每个端点的耗时序列不受负载均衡选择的影响.
+            runtimes.put(endpoint.getEndpoint(), new EndpointRuntime(endpoint, new Random(++endpointSeed * 31)));
+            schedule(endpoint.getJoinAtMicros(), MEMBERSHIP, null);
+            if (endpoint.getLeaveAtMicros() != Long.MAX_VALUE) {
+                schedule(endpoint.getLeaveAtMicros(), MEMBERSHIP, null);
+            }
+        }
+        schedule(nextArrival(0), ARRIVAL, null);
+
+        Event event;
+        while ((event = events.poll()) != null) {
+            switch (event.type) {
+                case ARRIVAL:
+                    onArrival(event.time);
+                    break;
+                case COMPLETION:
+                    onCompletion(event.time, event.request);
+                    break;
+                case MEMBERSHIP:
+                    onMembership(event.time);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event type " + event.type);
+            }
+        }
+
+        return new SimulationReport(
+            scenario.getName(),
+            loadBalancerName,
+            arrivals,
+            dropped,
+            failures,
+            latencies.sortedCopy(),
+            selections == 0 ? 0 : selectCostNanos / selections,
+            selections == 0 ? 0 : releaseCostNanos / selections,
+            endpointReports());
+    }
+
+    private void onArrival(long now) {
+        long next = nextArrival(now);
+        if (next < scenario.getDurationMicros()) {
+            schedule(next, ARRIVAL, null);
+        }
+        arrivals++;
+
+        long start = System.nanoTime();
+        Optional<LoadBalancerSelected> selected = loadBalancer.select(members);
+        selectCostNanos += System.nanoTime() - start;
+        selections++;
+
+        if (!selected.isPresent()) {
+            dropped++;
+            return;
+        }
+
+        Request request = new Request(now, selected.get());
+        EndpointRuntime runtime = runtimes.get(request.selected.endpoint());
+        if (runtime == null) {
+            // 负载均衡器返回了一个不在列表中的端点.
+            release(request);
+            dropped++;
+            return;
+        }
+        request.runtime = runtime;
+        runtime.requests++;
+        runtime.inflight++;
+        runtime.maxInflight = Math.max(runtime.maxInflight, runtime.inflight);
+        if (runtime.busy < runtime.endpoint.getCapacity()) {
+            startService(now, request);
+        } else {
+            runtime.waiting.add(request);
+        }
+    }
+
+    private void startService(long now, Request request) {
+        EndpointRuntime runtime = request.runtime;
+        runtime.busy++;
+        request.failed = runtime.random.nextDouble() < runtime.endpoint.getFailureRate();
+        schedule(now + runtime.endpoint.sampleMicros(runtime.random, now), COMPLETION, request);
+    }
+
+    private void onCompletion(long now, Request request) {
+        EndpointRuntime runtime = request.runtime;
+        runtime.busy--;
+        runtime.inflight--;
+        release(request);
+
+        latencies.add(now - request.arrivalMicros);
+        if (request.failed) {
+            failures++;
+            runtime.failures++;
+        }
+
+        Request next = runtime.waiting.poll();
+        if (next != null) {
+            startService(now, next);
+        }
+    }
+
+    private void onMembership(long now) {
+        List<Endpoint> current = new ArrayList<>();
+        for (EndpointRuntime runtime : runtimes.values()) {
+            SimulatedEndpoint endpoint = runtime.endpoint;
+            if (now >= endpoint.getJoinAtMicros() && now < endpoint.getLeaveAtMicros()) {
+                current.add(endpoint.getEndpoint());
+            }
+        }
+        // 服务发现每次变化都产生一个新的不可变列表.
+        members = Collections.unmodifiableList(current);
+    }
+
+    private void release(Request request) {
+        long start = System.nanoTime();
+        try {
+            request.selected.close();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        releaseCostNanos += System.nanoTime() - start;
+    }
+
+    private long nextArrival(long now) {
+        double meanMicros = 1_000_000.0D / scenario.getRequestsPerSecond();
+        return now + Math.max(1, (long) (-Math.log(1.0D - random.nextDouble()) * meanMicros));
+    }
+
+    private void schedule(long time, int type, Request request) {
+        events.add(new Event(time, sequence++, type, request));
+    }
+
+    private List<SimulationReport.EndpointReport> endpointReports() {
+        List<SimulationReport.EndpointReport> reports = new ArrayList<>(runtimes.size());
+        for (EndpointRuntime runtime : runtimes.values()) {
+            reports.add(new SimulationReport.EndpointReport(
+                runtime.endpoint.getEndpoint(), runtime.requests, runtime.failures, runtime.maxInflight));
+        }
+        return reports;
+    }
+
+    private static final class Event {
+        private final long time;
+        private final long sequence;
+        private final int type;
+        private final Request request;
+
+        private Event(long time, long sequence, int type, Request request) {
+            this.time = time;
+            this.sequence = sequence;
+            this.type = type;
+            this.request = request;
+        }
+    }
+
+    private static final class Request {
+        private final long arrivalMicros;
+        private final LoadBalancerSelected selected;
+        private EndpointRuntime runtime;
+        private boolean failed;
+
+        private Request(long arrivalMicros, LoadBalancerSelected selected) {
+            this.arrivalMicros = arrivalMicros;
+            this.selected = selected;
+        }
+    }
+
+    private static final class EndpointRuntime {
+        private final SimulatedEndpoint endpoint;
+        private final Random random;
+        private final Queue<Request> waiting = new ArrayDeque<>();
+        private int busy;
+        private int inflight;
+        private int maxInflight;
+        private long requests;
+        private long failures;
+
+        private EndpointRuntime(SimulatedEndpoint endpoint, Random random) {
+            this.endpoint = endpoint;
+            this.random = random;
+        }
+    }
+
+    /**
+     * 避免装箱的long列表.
+     */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                long[] grown = new long[values.length * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = value;
+        }
+
+        long[] sortedCopy() {
+            long[] copy = new long[size];
+            System.arraycopy(values, 0, copy, 0, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.benchmark;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一次模拟的结果.耗时单位为微秒(模拟时钟),选择开销单位为纳秒(真实时钟).
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 17:20
+ * @since 1.8
+ */
+public final class SimulationReport {
+
+    private final String scenarioName;
+    private final String loadBalancerName;
+    private final long requests;
+    private final long dropped;
+    private final long failures;
+    private final long[] sortedLatencies;
+    private final long averageSelectNanos;
+    private final long averageReleaseNanos;
+    private final List<EndpointReport> endpoints;
+
+    SimulationReport(String scenarioName, String loadBalancerName, long requests, long dropped, long failures,
+                     long[] sortedLatencies, long averageSelectNanos, long averageReleaseNanos,
+                     List<EndpointReport> endpoints) {
+        this.scenarioName = scenarioName;
+        this.loadBalancerName = loadBalancerName;
+        this.requests = requests;
+        this.dropped = dropped;
+        this.failures = failures;
+        this.sortedLatencies = sortedLatencies;
+        this.averageSelectNanos = averageSelectNanos;
+        this.averageReleaseNanos = averageReleaseNanos;
+        this.endpoints = Collections.unmodifiableList(endpoints);
+    }
+
+    public String getScenarioName() {
+        return scenarioName;
+    }
+
+    public String getLoadBalancerName() {
+        return loadBalancerName;
+    }
+
+    /**
+     * 到达的请求数.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * 完成的请求数,包含失败的请求.
+     */
+    public long getCompleted() {
+        return sortedLatencies.length;
+    }
+
+    /**
+     * 所有完成请求的耗时,升序,微秒.
+     */
+    public long[] getLatencies() {
+        return sortedLatencies.clone();
+    }
+
+    /**
+     * 没有选出端点的请求数.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getAverageSelectNanos() {
+        return averageSelectNanos;
+    }
+
+    public long getAverageReleaseNanos() {
+        return averageReleaseNanos;
+    }
+
+    public List<EndpointReport> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * 耗时的百分位数.
+     *
+     * @param percentile 百分位,范围(0, 100].
+     * @return 耗时,微秒.没有完成的请求返回0.
+     */
+    public long percentile(double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0D * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))];
+    }
+
+    public long p50() {
+        return percentile(50.0D);
+    }
+
+    public long p99() {
+        return percentile(99.0D);
+    }
+
+    public long p999() {
+        return percentile(99.9D);
+    }
+
+    /**
+     * 负载不均衡度: 请求最多的端点的请求数除以有请求的端点的平均请求数.1.0表示完全均衡.
+     */
+    public double imbalance() {
+        long max = 0;
+        long total = 0;
+        int count = 0;
+        for (EndpointReport endpoint : endpoints) {
+            if (endpoint.getRequests() > 0) {
+                max = Math.max(max, endpoint.getRequests());
+                total += endpoint.getRequests();
+                count++;
+            }
+        }
+        return count == 0 ? 0.0D : (double) max * count / total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buff = new StringBuilder();
+        buff.append(String.format("%-12s %-16s requests=%d completed=%d dropped=%d failures=%d%n",
+            scenarioName, loadBalancerName, requests, getCompleted(), dropped, failures));
+        buff.append(String.format("  latency(us) p50=%d p99=%d p99.9=%d max=%d imbalance=%.3f%n",
+            p50(), p99(), p999(), percentile(100.0D), imbalance()));
+        buff.append(String.format("  cost(ns) select=%d release=%d%n", averageSelectNanos, averageReleaseNanos));
+        for (EndpointReport endpoint : endpoints) {
+            buff.append(String.format("  %-24s requests=%-8d failures=%-6d maxInflight=%d%n",
+                endpoint.getEndpoint().getHost() + ":" + endpoint.getEndpoint().getPort(),
+                endpoint.getRequests(), endpoint.getFailures(), endpoint.getMaxInflight()));
+        }
+        return buff.toString();
+    }
+
+    /**
+     * 单个端点的结果.
+     */
+    public static final class EndpointReport {
+        private final Endpoint endpoint;
+        private final long requests;
+        private final long failures;
+        private final int maxInflight;
+
+        EndpointReport(Endpoint endpoint, long requests, long failures, int maxInflight) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.failures = failures;
+            this.maxInflight = maxInflight;
+        }
+
+        public Endpoint getEndpoint() {
+            return endpoint;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * 最大的进行中(包括排队)请求数.
+         */
+        public int getMaxInflight() {
+            return maxInflight;
+        }
+    }
+}
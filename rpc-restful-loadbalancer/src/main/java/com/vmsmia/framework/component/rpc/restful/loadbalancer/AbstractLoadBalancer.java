@@ -1,8 +1,14 @@
 package com.vmsmia.framework.component.rpc.restful.loadbalancer;
 
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.discovery.EndpointSnapshot;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthTable;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.state.EndpointStateRegistry;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 抽象负载均衡器类，为负载均衡器的实现提供了基础框架.
@@ -13,6 +19,11 @@ import java.util.Optional;
  * </p>
  *
  * <p>
+ * 选择前会跳过健康检查标记为不健康的端点.开启慢启动后(见{@link EndpointStateRegistry}),
+ * 预热中的端点会按照其权重系数被概率性的拒绝并重新选择,所有子类无需修改即可获得慢启动.
+ * </p>
+ *
+ * <p>
  * 当端点列表为空或传入的端点列表为{@code null}时，{@code select}方法将返回一个空的{@code Optional}.
  * 当列表中仅有一个端点时，直接选择该端点，不需进一步的选择逻辑.
  * 当列表中有多个端点时，该方法将调用{@code doSelect}方法，此方法需要由子类具体实现，
@@ -35,6 +46,19 @@ import java.util.Optional;
  */
 public abstract class AbstractLoadBalancer implements LoadBalancer {
 
+    /*
+    慢启动时被拒绝后的最多重新选择次数.
+     */
+    private static final int MAX_SLOW_START_ATTEMPTS = 3;
+
+    // 最后一次选择使用的快照,版本变化时通知子类.
+    private volatile EndpointSnapshot lastSnapshot;
+    // 最后一次观察的端点列表,只有列表变化时才需要通知端点状态登记处.
+    private volatile List<Endpoint> lastObserved;
+    private volatile long lastObservedNanos;
+    // 指定的随机源,null 时使用 ThreadLocalRandom.
+    private volatile Random random;
+
     /**
      * 选择一个可用的Endpoint.
      *
@@ -45,13 +69,63 @@ public abstract class AbstractLoadBalancer implements LoadBalancer {
         if (endpoints == null || endpoints.isEmpty()) {
             return Optional.empty();
         } else {
-            Endpoint endpoint = doSelect(endpoints);
-            if (endpoint == null) {
-                return Optional.empty();
-            } else {
-                return Optional.of(new DefaultLoadBalancerSelected(this, endpoint));
-            }
+            observe(endpoints);
+            return selectObserved(endpoints);
+        }
+    }
+
+    /**
+     * 从已经观察过的端点列表中选择,不再通知端点状态登记处.
+     * 子集负载均衡器观察完整的端点列表后,以子集调用此方法.
+     *
+     * @param endpoints 端点列表,不能为空.
+     * @return 可用的Endpoint
+     */
+    protected Optional<LoadBalancerSelected> selectObserved(List<Endpoint> endpoints) {
+        // 跳过健康检查标记为不健康的端点,没有不健康端点时为原始列表.
+        List<Endpoint> candidates = HealthTable.getInstance().filterHealthy(endpoints);
+        EndpointStateRegistry registry = EndpointStateRegistry.getInstance();
+        Endpoint endpoint;
+        if (registry.isSlowStartEnabled()) {
+            endpoint = doSelectWithSlowStart(registry, candidates);
+        } else {
+            endpoint = doSelect(candidates);
+        }
+        if (endpoint == null) {
+            return Optional.empty();
+        } else {
+            return Optional.of(new DefaultLoadBalancerSelected(this, endpoint));
+        }
+    }
+
+    /**
+     * 从快照中选择端点.快照的版本或者所属服务变化时,会先调用{@link #onSnapshotChanged(EndpointSnapshot)}.
+     * 同一个版本的快照总是同一个列表实例,所以以列表实例为键的内部缓存都会命中.
+     *
+     * @param snapshot 端点快照.
+     * @return 可用的Endpoint
+     */
+    @Override
+    public Optional<LoadBalancerSelected> select(EndpointSnapshot snapshot) {
+        EndpointSnapshot last = lastSnapshot;
+        if (last != snapshot
+            && (last == null
+            || last.getVersion() != snapshot.getVersion()
+            || !last.getServiceName().equals(snapshot.getServiceName()))) {
+            lastSnapshot = snapshot;
+            onSnapshotChanged(snapshot);
         }
+        return select(snapshot.getEndpoints());
+    }
+
+    /**
+     * 端点快照发生了变化,子类可以覆盖此方法预先重建内部结构.默认什么也不做.<br>
+     * 注意: 并发的选择可能导致同一个变化被通知多次,实现需要是幂等的.
+     *
+     * @param snapshot 新的快照.
+     */
+    protected void onSnapshotChanged(EndpointSnapshot snapshot) {
+        // 什么也不做,子类根据需要覆盖.
     }
 
     /**
@@ -62,6 +136,89 @@ public abstract class AbstractLoadBalancer implements LoadBalancer {
         // 什么也不做,子类根据需要覆盖.
     }
 
+    /*
+    慢启动.由子类选择后,如果选中的端点还在预热中,以其权重系数为概率接受,
+    否则释放这个端点并从剩余的端点中重新选择.这样对任何选择算法都有效,
+    预热中的端点获得的流量约为其正常份额乘以权重系数.
+     */
+    private Endpoint doSelectWithSlowStart(EndpointStateRegistry registry, List<Endpoint> candidates) {
+        Endpoint endpoint = doSelect(candidates);
+        if (!registry.hasWarming()) {
+            return endpoint;
+        }
+
+        List<Endpoint> remaining = candidates;
+        for (int attempt = 0; endpoint != null && attempt < MAX_SLOW_START_ATTEMPTS; attempt++) {
+            double factor = registry.weightFactor(endpoint);
+            if (factor >= 1.0D || remaining.size() <= 1 || random().nextDouble() < factor) {
+                return endpoint;
+            }
+
+            release(endpoint);
+            remaining = exclude(remaining, endpoint);
+            endpoint = doSelect(remaining);
+        }
+        return endpoint;
+    }
+
+    /**
+     * 慢启动开启时,将服务发现的结果通知端点状态登记处.
+     * 端点列表的引用变化(同一个快照版本总是同一个列表实例),或者距离上一次观察已经过去了较长时间,才真正通知.
+     * 第一次观察或者长时间没有观察时,认为所有端点都已经预热完成.
+     *
+     * @param endpoints 完整的端点列表.
+     */
+    protected final void observe(List<Endpoint> endpoints) {
+        EndpointStateRegistry registry = EndpointStateRegistry.getInstance();
+        if (!registry.isSlowStartEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastObservedNanos;
+        boolean initial = last == 0 || now - last > registry.getRetentionNanos();
+        if (initial || endpoints != lastObserved || now - last > registry.getRetentionNanos() / 4) {
+            registry.observe(endpoints, initial);
+            lastObserved = endpoints;
+            lastObservedNanos = now == 0 ? 1 : now;
+        }
+    }
+
+    /**
+     * 指定选择时使用的随机源,主要用于模拟和测试: 固定种子的随机源使随机的选择可以重现.
+     * {@link Random}在并发下存在竞争,生产环境应该保持默认的{@link ThreadLocalRandom}.
+     *
+     * @param random 随机源,null 表示恢复为{@link ThreadLocalRandom}.
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * 选择时使用的随机源,子类中所有的随机选择都应该经由此方法.
+     */
+    protected Random random() {
+        Random current = random;
+        return current == null ? ThreadLocalRandom.current() : current;
+    }
+
+    /**
+     * 复制一个排除了指定端点的列表.
+     *
+     * @param endpoints 端点列表.
+     * @param excluded  需要排除的端点.
+     * @return 新的列表.
+     */
+    protected static List<Endpoint> exclude(List<Endpoint> endpoints, Endpoint excluded) {
+        List<Endpoint> remaining = new ArrayList<>(endpoints.size() - 1);
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            if (!endpoint.equals(excluded)) {
+                remaining.add(endpoint);
+            }
+        }
+        return remaining;
+    }
+
     /**
      * 由子类实现选择逻辑.
      *
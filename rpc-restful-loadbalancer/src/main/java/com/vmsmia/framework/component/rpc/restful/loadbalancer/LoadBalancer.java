@@ -1,6 +1,7 @@
 package com.vmsmia.framework.component.rpc.restful.loadbalancer;
 
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.discovery.EndpointSnapshot;
 import java.util.List;
 import java.util.Optional;
 
@@ -53,6 +54,16 @@ public interface LoadBalancer {
      */
     Optional<LoadBalancerSelected> select(List<Endpoint> endpoints);
 
+    /**
+     * 从一个带版本的端点快照中选择端点.实现可以在快照版本变化时才重建内部结构.
+     *
+     * @param snapshot 端点快照，不应为 {@code null}.
+     * @return 一个{@code Optional}对象，可能包含符合负载均衡算法选择条件的端点.
+     */
+    default Optional<LoadBalancerSelected> select(EndpointSnapshot snapshot) {
+        return select(snapshot.getEndpoints());
+    }
+
     /**
      * 释放之前通过{@code select}方法选定的端点.对端点的释放通常是指通知负载均衡器当前请求已处理完成，
      * 负载均衡器可以根据自身算法更新内部状态，如减少端点的活跃请求计数等.
@@ -1,6 +1,8 @@
 package com.vmsmia.framework.component.rpc.restful.loadbalancer;
 
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ApertureLoadBalancer;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.LeastRequestLoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.LocalityAwareLoadBalancer;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.RandomLoadBalancer;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.RoundRobinLoadBalancer;
 
@@ -35,6 +37,10 @@ public class LoadBalancerFactory {
                 return new LeastRequestLoadBalancer();
             case LoadBalancers.RANDOM:
                 return new RandomLoadBalancer();
+            case LoadBalancers.APERTURE:
+                return new ApertureLoadBalancer();
+            case LoadBalancers.LOCALITY_AWARE:
+                return new LocalityAwareLoadBalancer();
             default: {
                 if (name.startsWith(CLASS_PREFIX)) {
                     // 可能是一个类
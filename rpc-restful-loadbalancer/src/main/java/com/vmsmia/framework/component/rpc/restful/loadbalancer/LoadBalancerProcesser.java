@@ -3,7 +3,7 @@ package com.vmsmia.framework.component.rpc.restful.loadbalancer;
 import com.vmsmia.framework.component.rpc.restful.common.exception.RestfulException;
 import com.vmsmia.framework.component.rpc.restful.discovery.Discovery;
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
-import java.util.List;
+import com.vmsmia.framework.component.rpc.restful.discovery.SubscribableDiscovery;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -34,8 +34,7 @@ public class LoadBalancerProcesser {
         String serviceName,
         Function<Endpoint, T> code) throws RestfulException {
 
-        List<Endpoint> endpoints = discovery.discover(serviceName);
-        Optional<LoadBalancerSelected> selected = loadBalancer.select(endpoints);
+        Optional<LoadBalancerSelected> selected = select(discovery, loadBalancer, serviceName);
         if (selected.isPresent()) {
             try (LoadBalancerSelected loadBalancerSelected = selected.get()) {
                 Endpoint endpoint = loadBalancerSelected.endpoint();
@@ -63,8 +62,7 @@ public class LoadBalancerProcesser {
         String serviceName,
         Consumer<Endpoint> code) throws RestfulException {
 
-        List<Endpoint> endpoints = discovery.discover(serviceName);
-        Optional<LoadBalancerSelected> selected = loadBalancer.select(endpoints);
+        Optional<LoadBalancerSelected> selected = select(discovery, loadBalancer, serviceName);
         if (selected.isPresent()) {
             try (LoadBalancerSelected loadBalancerSelected = selected.get()) {
                 Endpoint endpoint = loadBalancerSelected.endpoint();
@@ -76,4 +74,16 @@ public class LoadBalancerProcesser {
             throw new RestfulException(String.format("Can not discover %s.", serviceName));
         }
     }
+
+    /*
+    支持订阅的服务发现直接使用当前快照,负载均衡器只在快照版本变化时重建内部结构.
+     */
+    private static Optional<LoadBalancerSelected> select(
+        Discovery discovery, LoadBalancer loadBalancer, String serviceName) {
+        if (discovery instanceof SubscribableDiscovery) {
+            return loadBalancer.select(((SubscribableDiscovery) discovery).snapshot(serviceName));
+        } else {
+            return loadBalancer.select(discovery.discover(serviceName));
+        }
+    }
 }
@@ -23,4 +23,14 @@ public class LoadBalancers {
      * 最少请求算法.
      */
     public static final String LEAST_REQUEST = "LEAST_REQUEST";
+
+    /**
+     * 确定性窗口子集算法.
+     */
+    public static final String APERTURE = "APERTURE";
+
+    /**
+     * 本地性感知算法,优先同节点,其次同区域.
+     */
+    public static final String LOCALITY_AWARE = "LOCALITY_AWARE";
 }
@@ -0,0 +1,106 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.discovery.EndpointSnapshot;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthTable;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * 子集负载均衡器.先从完整的端点列表中计算出一个子集,再由内部的负载均衡器在子集中选择端点.
+ *
+ * <p>
+ * 子集是基于完整的端点列表计算的,不会因为某个端点不健康而整体移动;
+ * 健康过滤和慢启动作用在子集上.如果子集中没有任何健康的端点,退回到完整的端点列表.
+ * 慢启动观察的总是完整的端点列表,端点的预热时间从被发现时开始计算,而不是从进入子集时开始.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 14:10
+ * @see com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ApertureLoadBalancer
+ * @since 1.8
+ */
+public abstract class SubsetLoadBalancer extends AbstractLoadBalancer {
+
+    private final AbstractLoadBalancer inner;
+
+    protected SubsetLoadBalancer(AbstractLoadBalancer inner) {
+        if (inner == null) {
+            throw new IllegalArgumentException("The inner load balancer cannot be null.");
+        }
+        this.inner = inner;
+    }
+
+    @Override
+    public Optional<LoadBalancerSelected> select(List<Endpoint> endpoints) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // 观察完整的列表,子集之外的端点同样从被发现时开始计算预热时间.
+        observe(endpoints);
+        List<Endpoint> subset = subset(endpoints);
+        if (subset == null || subset.isEmpty() || !anyHealthy(subset)) {
+            subset = endpoints;
+        }
+        return selectObserved(subset);
+    }
+
+    @Override
+    public void release(Endpoint endpoint) {
+        inner.release(endpoint);
+    }
+
+    /**
+     * 随机源同时作用于内部的负载均衡器.
+     */
+    @Override
+    public void setRandom(Random random) {
+        super.setRandom(random);
+        inner.setRandom(random);
+    }
+
+    /**
+     * 快照变化时预先计算子集,之后对同一个快照的选择直接命中子集缓存.
+     */
+    @Override
+    protected void onSnapshotChanged(EndpointSnapshot snapshot) {
+        if (!snapshot.isEmpty()) {
+            subset(snapshot.getEndpoints());
+        }
+    }
+
+    /**
+     * 内部的负载均衡器.
+     */
+    public AbstractLoadBalancer getInner() {
+        return inner;
+    }
+
+    @Override
+    protected Endpoint doSelect(List<Endpoint> endpoints) {
+        return inner.doSelect(endpoints);
+    }
+
+    /**
+     * 计算子集.对于同一个列表实例应该尽量返回同一个子集实例,以避免重复计算.
+     *
+     * @param endpoints 完整的端点列表.
+     * @return 端点子集,返回null或者空列表表示使用完整的端点列表.
+     */
+    protected abstract List<Endpoint> subset(List<Endpoint> endpoints);
+
+    private static boolean anyHealthy(List<Endpoint> endpoints) {
+        HealthTable table = HealthTable.getInstance();
+        if (!table.hasUnhealthy()) {
+            return true;
+        }
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (table.isHealthy(endpoints.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
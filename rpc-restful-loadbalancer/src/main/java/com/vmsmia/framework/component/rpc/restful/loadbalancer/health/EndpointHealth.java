@@ -0,0 +1,101 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 单个端点的健康状态.
+ *
+ * <p>
+ * 健康标记是{@code volatile}的,负载均衡在选择时只做一次读取.
+ * 连续成功和失败计数只由探测线程修改,同一时刻一个端点最多只有一个探测在进行(由{@code probing}保证),所以不需要额外的同步.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 10:20
+ * @since 1.8
+ */
+public final class EndpointHealth {
+
+    private final Endpoint endpoint;
+    private final AtomicBoolean probing;
+    private volatile boolean healthy;
+    private volatile long lastProbeTimeMs;
+    private volatile long lastProbeCostNanos;
+    // 以下两个计数只在持有 probing 时修改.
+    private int consecutiveFailures;
+    private int consecutiveSuccesses;
+
+    EndpointHealth(Endpoint endpoint) {
+        this.endpoint = endpoint;
+        this.probing = new AtomicBoolean(false);
+        // 未经探测的端点视为健康,避免启动时无端点可用.
+        this.healthy = true;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * 最后一次探测完成的时间,毫秒.没有探测过为0.
+     */
+    public long getLastProbeTimeMs() {
+        return lastProbeTimeMs;
+    }
+
+    /**
+     * 最后一次探测的耗时,纳秒.
+     */
+    public long getLastProbeCostNanos() {
+        return lastProbeCostNanos;
+    }
+
+    boolean tryStartProbe() {
+        return probing.compareAndSet(false, true);
+    }
+
+    void finishProbe() {
+        probing.set(false);
+    }
+
+    /**
+     * 记录一次探测结果.
+     *
+     * @return 健康状态是否发生了翻转.
+     */
+    boolean record(boolean success, long costNanos, int unhealthyThreshold, int healthyThreshold) {
+        this.lastProbeTimeMs = System.currentTimeMillis();
+        this.lastProbeCostNanos = costNanos;
+
+        if (success) {
+            consecutiveFailures = 0;
+            consecutiveSuccesses++;
+            if (!healthy && consecutiveSuccesses >= healthyThreshold) {
+                healthy = true;
+                return true;
+            }
+        } else {
+            consecutiveSuccesses = 0;
+            consecutiveFailures++;
+            if (healthy && consecutiveFailures >= unhealthyThreshold) {
+                healthy = false;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointHealth{" + "endpoint=" + endpoint
+            + ", healthy=" + healthy
+            + ", lastProbeTimeMs=" + lastProbeTimeMs
+            + ", lastProbeCostNanos=" + lastProbeCostNanos
+            + '}';
+    }
+}
@@ -0,0 +1,114 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 健康检查自身的开销统计.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 11:02
+ * @since 1.8
+ */
+public final class HealthCheckMetrics {
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder costNanos = new LongAdder();
+    private final LongAdder discoveryFailures = new LongAdder();
+    private final LongAdder roundFailures = new LongAdder();
+
+    void recordProbe(boolean success, long cost) {
+        probes.increment();
+        costNanos.add(cost);
+        if (!success) {
+            failures.increment();
+        }
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    void recordRound() {
+        rounds.increment();
+    }
+
+    void recordDiscoveryFailure() {
+        discoveryFailures.increment();
+    }
+
+    void recordRoundFailure() {
+        roundFailures.increment();
+    }
+
+    /**
+     * 已经完成的探测次数.
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * 失败的探测次数.
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * 因为上一次探测还没有结束或者超过并发上限而被跳过的探测次数.
+     */
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * 已经执行的检查轮次.
+     */
+    public long getRounds() {
+        return rounds.sum();
+    }
+
+    /**
+     * 获取端点时服务发现失败的次数.
+     */
+    public long getDiscoveryFailures() {
+        return discoveryFailures.sum();
+    }
+
+    /**
+     * 因为意外异常而中断的检查轮次.
+     */
+    public long getRoundFailures() {
+        return roundFailures.sum();
+    }
+
+    /**
+     * 所有探测累计耗时,纳秒.
+     */
+    public long getCostNanos() {
+        return costNanos.sum();
+    }
+
+    /**
+     * 平均每次探测耗时,纳秒.
+     */
+    public long getAverageCostNanos() {
+        long count = probes.sum();
+        return count == 0 ? 0 : costNanos.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "HealthCheckMetrics{" + "probes=" + getProbes()
+            + ", failures=" + getFailures()
+            + ", skipped=" + getSkipped()
+            + ", rounds=" + getRounds()
+            + ", discoveryFailures=" + getDiscoveryFailures()
+            + ", roundFailures=" + getRoundFailures()
+            + ", averageCostNanos=" + getAverageCostNanos()
+            + '}';
+    }
+}
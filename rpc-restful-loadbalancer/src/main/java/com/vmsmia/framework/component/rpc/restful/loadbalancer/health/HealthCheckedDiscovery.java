@@ -0,0 +1,45 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Discovery;
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.discovery.EndpointSnapshot;
+import com.vmsmia.framework.component.rpc.restful.discovery.ForwardingDiscovery;
+import java.util.List;
+
+/**
+ * 附加了主动健康检查的服务发现.<br>
+ * 第一次发现某个服务时将其交给{@link HealthChecker}关注,之后由检查器周期性探测这个服务的端点.
+ * 返回的端点列表不做过滤,过滤发生在负载均衡选择时.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 11:32
+ * @since 1.8
+ */
+public class HealthCheckedDiscovery extends ForwardingDiscovery {
+
+    private final HealthChecker checker;
+
+    public HealthCheckedDiscovery(Discovery delegate, HealthChecker checker) {
+        super(delegate);
+        if (checker == null) {
+            throw new IllegalArgumentException("The health checker cannot be null.");
+        }
+        this.checker = checker;
+    }
+
+    @Override
+    public List<Endpoint> discover(String serviceName) {
+        checker.watch(serviceName);
+        return super.discover(serviceName);
+    }
+
+    @Override
+    public EndpointSnapshot snapshot(String serviceName) {
+        checker.watch(serviceName);
+        return super.snapshot(serviceName);
+    }
+
+    public HealthChecker getChecker() {
+        return checker;
+    }
+}
@@ -0,0 +1,314 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Discovery;
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 主动健康检查器.
+ *
+ * <p>
+ * 周期性的对被关注服务({@link #watch(String)})经由{@link Discovery#discover(String)}得到的所有端点进行探测,
+ * 探测结果写入{@link HealthTable},负载均衡器在选择时会跳过不健康的端点.
+ * </p>
+ *
+ * <ul>
+ *     <li>使用一个很小的专用调度线程池,线程数量即为探测的最大并发数.</li>
+ *     <li>每一轮中每个端点的探测时间点在[0, 间隔 * 抖动比例)内随机分布,避免所有客户端在同一时刻探测同一个端点.</li>
+ *     <li>同一个端点同一时刻最多只有一个探测在排队或者执行,慢端点不会造成探测任务堆积.</li>
+ *     <li>连续失败达到阈值才会标记为不健康,连续成功达到阈值才会恢复,避免抖动.</li>
+ *     <li>探测的次数,失败数,跳过数,耗时以及服务发现和检查轮次的失败数可以通过{@link #getMetrics()}获取.</li>
+ * </ul>
+ *
+ * <p>
+ * 注意: {@link HealthTable}是进程内共享的,一个进程中应该只启动一个健康检查器.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 11:10
+ * @since 1.8
+ */
+public class HealthChecker implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(HealthChecker.class.getName());
+
+    private final Discovery discovery;
+    private final HealthProbe probe;
+    private final HealthTable table;
+    private final HealthCheckMetrics metrics;
+    private final Set<String> services;
+    private final long intervalMs;
+    private final double jitterRatio;
+    private final int maxConcurrency;
+    private final int unhealthyThreshold;
+    private final int healthyThreshold;
+
+    private volatile ScheduledThreadPoolExecutor scheduler;
+
+    private HealthChecker(Builder builder) {
+        this.discovery = builder.discovery;
+        this.probe = builder.probe;
+        this.table = builder.table;
+        this.metrics = new HealthCheckMetrics();
+        this.services = ConcurrentHashMap.newKeySet();
+        this.services.addAll(builder.services);
+        this.intervalMs = builder.intervalMs;
+        this.jitterRatio = builder.jitterRatio;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.unhealthyThreshold = builder.unhealthyThreshold;
+        this.healthyThreshold = builder.healthyThreshold;
+    }
+
+    /**
+     * 开始周期性检查,重复调用没有效果.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger(0);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(maxConcurrency, r -> {
+            Thread thread = new Thread(r, "rpc-restful-health-check-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        executor.scheduleWithFixedDelay(this::round, jitter(), intervalMs, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    /**
+     * 停止检查.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 关注一个服务,之后的每一轮检查都会探测这个服务的所有端点.
+     *
+     * @param serviceName 服务名称.
+     */
+    public void watch(String serviceName) {
+        if (serviceName != null && !serviceName.isEmpty() && !services.contains(serviceName)) {
+            services.add(serviceName);
+        }
+    }
+
+    /**
+     * 不再关注一个服务.
+     */
+    public void unwatch(String serviceName) {
+        services.remove(serviceName);
+    }
+
+    /**
+     * 当前关注的服务.
+     */
+    public Set<String> getServices() {
+        return Collections.unmodifiableSet(services);
+    }
+
+    public HealthCheckMetrics getMetrics() {
+        return metrics;
+    }
+
+    public HealthTable getTable() {
+        return table;
+    }
+
+    // 一轮检查.
+    void round() {
+        ScheduledThreadPoolExecutor executor = this.scheduler;
+        try {
+            Set<Endpoint> alive = new HashSet<>();
+            boolean complete = true;
+            for (String service : services) {
+                List<Endpoint> endpoints;
+                try {
+                    endpoints = discovery.discover(service);
+                } catch (Exception ex) {
+                    // 服务发现失败,保留这个服务的现有健康状态.
+                    metrics.recordDiscoveryFailure();
+                    LOGGER.log(Level.WARNING,
+                        String.format("Health check failed to discover the endpoints of service %s.", service), ex);
+                    complete = false;
+                    continue;
+                }
+                if (endpoints == null) {
+                    continue;
+                }
+
+                for (Endpoint endpoint : endpoints) {
+                    if (alive.add(endpoint)) {
+                        schedule(executor, table.obtain(endpoint));
+                    }
+                }
+            }
+
+            if (complete) {
+                table.retain(alive);
+            }
+            metrics.recordRound();
+        } catch (Exception ex) {
+            // 异常不能终止周期调度,Error 则继续向上抛出.
+            metrics.recordRoundFailure();
+            LOGGER.log(Level.WARNING, "Health check round failed.", ex);
+        }
+    }
+
+    private void schedule(ScheduledThreadPoolExecutor executor, EndpointHealth health) {
+        if (!health.tryStartProbe()) {
+            // 上一次的探测还没有结束.
+            metrics.recordSkipped();
+            return;
+        }
+
+        if (executor == null) {
+            // 直接调用 round 的情况(测试),同步探测.
+            probe(health);
+            return;
+        }
+
+        try {
+            executor.schedule(() -> probe(health), jitter(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            health.finishProbe();
+            metrics.recordSkipped();
+        }
+    }
+
+    private void probe(EndpointHealth health) {
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            success = probe.probe(health.getEndpoint());
+        } catch (Exception ex) {
+            success = false;
+        }
+        long cost = System.nanoTime() - start;
+        try {
+            metrics.recordProbe(success, cost);
+            table.record(health, success, cost, unhealthyThreshold, healthyThreshold);
+        } finally {
+            health.finishProbe();
+        }
+    }
+
+    private long jitter() {
+        long bound = (long) (intervalMs * jitterRatio);
+        if (bound <= 0) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextLong(bound);
+    }
+
+    /**
+     * 健康检查器的构造器.
+     */
+    public static final class Builder {
+        private Discovery discovery;
+        private HealthProbe probe;
+        private HealthTable table = HealthTable.getInstance();
+        private Set<String> services = Collections.emptySet();
+        private long intervalMs = 5000L;
+        private double jitterRatio = 0.2D;
+        private int maxConcurrency = 2;
+        private int unhealthyThreshold = 2;
+        private int healthyThreshold = 1;
+
+        private Builder() {
+        }
+
+        public static Builder anBuilder() {
+            return new Builder();
+        }
+
+        public Builder withDiscovery(Discovery discovery) {
+            this.discovery = discovery;
+            return this;
+        }
+
+        public Builder withProbe(HealthProbe probe) {
+            this.probe = probe;
+            return this;
+        }
+
+        public Builder withTable(HealthTable table) {
+            this.table = table;
+            return this;
+        }
+
+        public Builder withServices(Set<String> services) {
+            this.services = services;
+            return this;
+        }
+
+        public Builder withIntervalMs(long intervalMs) {
+            this.intervalMs = intervalMs;
+            return this;
+        }
+
+        /**
+         * 抖动比例,范围[0.0, 1.0].
+         */
+        public Builder withJitterRatio(double jitterRatio) {
+            this.jitterRatio = jitterRatio;
+            return this;
+        }
+
+        public Builder withMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder withUnhealthyThreshold(int unhealthyThreshold) {
+            this.unhealthyThreshold = unhealthyThreshold;
+            return this;
+        }
+
+        public Builder withHealthyThreshold(int healthyThreshold) {
+            this.healthyThreshold = healthyThreshold;
+            return this;
+        }
+
+        /**
+         * 构造新的健康检查器.
+         */
+        public HealthChecker build() {
+            if (discovery == null) {
+                throw new IllegalArgumentException("The discovery of the health checker cannot be null.");
+            }
+            if (probe == null) {
+                throw new IllegalArgumentException("The probe of the health checker cannot be null.");
+            }
+            if (intervalMs <= 0) {
+                throw new IllegalArgumentException("The health check interval must be greater than 0.");
+            }
+            if (jitterRatio < 0.0D || jitterRatio > 1.0D) {
+                throw new IllegalArgumentException("The jitter ratio must be in [0.0, 1.0].");
+            }
+            if (maxConcurrency <= 0 || unhealthyThreshold <= 0 || healthyThreshold <= 0) {
+                throw new IllegalArgumentException(
+                    "The concurrency and thresholds of the health checker must be greater than 0.");
+            }
+            return new HealthChecker(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+
+/**
+ * 端点健康探测.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 10:45
+ * @implSpec 实现必须自行保证探测在有限时间内结束(例如设置连接和读取超时),探测线程数量是有限的.
+ * @since 1.8
+ */
+public interface HealthProbe {
+
+    /**
+     * 对端点进行一次探测.
+     *
+     * @param endpoint 目标端点.
+     * @return true 健康, false 不健康.
+     * @throws Exception 探测失败,视为不健康.
+     */
+    boolean probe(Endpoint endpoint) throws Exception;
+}
@@ -0,0 +1,187 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 端点健康表,由{@link HealthChecker}写入,负载均衡器在选择端点时读取.
+ *
+ * <p>
+ * 读取路径是无锁的: 当没有任何不健康的端点时(绝大多数时间),{@link #filterHealthy(List)}只是一次原子整数读取,
+ * 直接返回原始列表,不会产生任何分配.只有存在不健康端点时才会构造过滤后的列表.
+ * </p>
+ *
+ * <p>
+ * 如果过滤后没有任何端点可用,会退回原始列表(fail-open).探测本身也可能出错,全部拒绝不如让真实请求去碰运气.
+ * </p>
+ *
+ * <p>
+ * 写入路径(探测结果的记录和端点的移除)在同一把锁下进行,保证不健康计数始终等于表中不健康端点的数量.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 10:31
+ * @since 1.8
+ */
+public final class HealthTable {
+
+    private static final HealthTable INSTANCE = new HealthTable();
+
+    private final ConcurrentMap<Endpoint, EndpointHealth> healths;
+    private final AtomicInteger unhealthyCount;
+    // 保护 healths 的移除和 unhealthyCount 的维护,读取路径不需要.
+    private final Object writeLock;
+
+    public static HealthTable getInstance() {
+        return INSTANCE;
+    }
+
+    private HealthTable() {
+        this.healths = new ConcurrentHashMap<>();
+        this.unhealthyCount = new AtomicInteger(0);
+        this.writeLock = new Object();
+    }
+
+    /**
+     * 判断端点是否健康.未知的端点视为健康.
+     */
+    public boolean isHealthy(Endpoint endpoint) {
+        if (unhealthyCount.get() == 0) {
+            return true;
+        }
+        EndpointHealth health = healths.get(endpoint);
+        return health == null || health.isHealthy();
+    }
+
+    /**
+     * 是否存在不健康的端点.
+     */
+    public boolean hasUnhealthy() {
+        return unhealthyCount.get() > 0;
+    }
+
+    /**
+     * 当前不健康的端点数量.
+     */
+    public int unhealthySize() {
+        return unhealthyCount.get();
+    }
+
+    /**
+     * 过滤掉不健康的端点.
+     *
+     * @param endpoints 原始端点列表.
+     * @return 健康的端点列表,如果全部不健康或者没有不健康端点返回原始列表.
+     */
+    public List<Endpoint> filterHealthy(List<Endpoint> endpoints) {
+        if (unhealthyCount.get() == 0 || endpoints == null || endpoints.isEmpty()) {
+            return endpoints;
+        }
+
+        List<Endpoint> healthyEndpoints = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            EndpointHealth health = healths.get(endpoint);
+            boolean healthy = health == null || health.isHealthy();
+            if (healthyEndpoints == null) {
+                if (!healthy) {
+                    // 第一次碰到不健康的端点才开始复制.
+                    healthyEndpoints = new ArrayList<>(endpoints.size());
+                    for (int j = 0; j < i; j++) {
+                        healthyEndpoints.add(endpoints.get(j));
+                    }
+                }
+            } else if (healthy) {
+                healthyEndpoints.add(endpoint);
+            }
+        }
+
+        if (healthyEndpoints == null) {
+            return endpoints;
+        } else if (healthyEndpoints.isEmpty()) {
+            // fail-open.
+            return endpoints;
+        } else {
+            return healthyEndpoints;
+        }
+    }
+
+    /**
+     * 获取端点的健康状态.
+     *
+     * @return 健康状态,没有记录返回null.
+     */
+    public EndpointHealth get(Endpoint endpoint) {
+        return healths.get(endpoint);
+    }
+
+    /**
+     * 当前记录的所有端点健康状态.
+     */
+    public Collection<EndpointHealth> all() {
+        return healths.values();
+    }
+
+    /**
+     * 获取或者创建端点的健康状态.
+     */
+    EndpointHealth obtain(Endpoint endpoint) {
+        return healths.computeIfAbsent(endpoint, EndpointHealth::new);
+    }
+
+    /**
+     * 记录一次探测结果,并在状态翻转时维护不健康计数.
+     * 已经被移除的端点的结果只更新其自身状态,不影响计数.
+     */
+    void record(EndpointHealth health, boolean success, long costNanos, int unhealthyThreshold,
+                int healthyThreshold) {
+        synchronized (writeLock) {
+            if (!health.record(success, costNanos, unhealthyThreshold, healthyThreshold)) {
+                return;
+            }
+            if (healths.get(health.getEndpoint()) != health) {
+                return;
+            }
+            if (health.isHealthy()) {
+                unhealthyCount.decrementAndGet();
+            } else {
+                unhealthyCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 只保留指定的端点,不再出现在服务发现中的端点将被移除.
+     */
+    void retain(Set<Endpoint> alive) {
+        synchronized (writeLock) {
+            Iterator<EndpointHealth> iterator = healths.values().iterator();
+            while (iterator.hasNext()) {
+                EndpointHealth health = iterator.next();
+                if (!alive.contains(health.getEndpoint())) {
+                    iterator.remove();
+                    if (!health.isHealthy()) {
+                        unhealthyCount.decrementAndGet();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空所有的健康状态,主要用以测试.
+     */
+    public void reset() {
+        synchronized (writeLock) {
+            healths.clear();
+            unhealthyCount.set(0);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * 以HTTP GET请求指定路径判断端点健康,响应码为2xx或者3xx视为健康.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 10:52
+ * @since 1.8
+ */
+public class HttpHealthProbe implements HealthProbe {
+
+    private final String path;
+    private final int timeoutMs;
+
+    /**
+     * 构造新的HTTP探测.
+     *
+     * @param path      探测路径,例如 /health.
+     * @param timeoutMs 连接和读取超时毫秒.
+     */
+    public HttpHealthProbe(String path, int timeoutMs) {
+        if (path == null || path.isEmpty()) {
+            this.path = "/";
+        } else if (path.charAt(0) != '/') {
+            this.path = "/" + path;
+        } else {
+            this.path = path;
+        }
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public boolean probe(Endpoint endpoint) throws IOException {
+        URL url = new URL(endpoint.isTls() ? "https" : "http", endpoint.getHost(), endpoint.getPort(), path);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("GET");
+        connection.setConnectTimeout(timeoutMs);
+        connection.setReadTimeout(timeoutMs);
+        connection.setInstanceFollowRedirects(false);
+        connection.setUseCaches(false);
+        try {
+            int code = connection.getResponseCode();
+            // 读完响应以便连接可以被复用.
+            drain(code >= 400 ? connection.getErrorStream() : connection.getInputStream());
+            return code >= 200 && code < 400;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void drain(InputStream in) throws IOException {
+        if (in == null) {
+            return;
+        }
+        try (InputStream input = in) {
+            byte[] buff = new byte[256];
+            while (input.read(buff) != -1) {
+                // do nothing.
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * 以TCP连接是否可以建立判断端点健康.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 10:48
+ * @since 1.8
+ */
+public class TcpHealthProbe implements HealthProbe {
+
+    private final int connectTimeoutMs;
+
+    public TcpHealthProbe(int connectTimeoutMs) {
+        this.connectTimeoutMs = connectTimeoutMs;
+    }
+
+    @Override
+    public boolean probe(Endpoint endpoint) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), connectTimeoutMs);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.impl;
+
+/**
+ * 当前客户端实例在所有客户端实例中的坐标,用于{@link ApertureLoadBalancer}计算确定性的子集.
+ *
+ * <p>
+ * 坐标由实例序号和实例总数组成,例如 StatefulSet 的序号和副本数.所有的客户端实例平分一个单位环,
+ * 实例 i 占据 [i / count, (i + 1) / count).没有设置坐标时(默认序号0,总数1)每个实例都会使用全部端点.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 14:20
+ * @since 1.8
+ */
+public final class ApertureCoordinate {
+
+    /**
+     * 默认的最小子集大小.
+     */
+    public static final int DEFAULT_MIN_APERTURE = 12;
+
+    private static final ApertureCoordinate INSTANCE = new ApertureCoordinate();
+
+    private volatile Coordinate coordinate;
+
+    public static ApertureCoordinate getInstance() {
+        return INSTANCE;
+    }
+
+    private ApertureCoordinate() {
+        this.coordinate = new Coordinate(0, 1, DEFAULT_MIN_APERTURE, 0);
+    }
+
+    /**
+     * 更新坐标.
+     *
+     * @param index       当前实例的序号,从0开始.
+     * @param count       实例总数.
+     * @param minAperture 最小子集大小.
+     */
+    public synchronized void update(int index, int count, int minAperture) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("The client count must be greater than 0.");
+        }
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException(
+                String.format("The client index must be in [0, %d), but it is %d.", count, index));
+        }
+        if (minAperture <= 0) {
+            throw new IllegalArgumentException("The minimum aperture must be greater than 0.");
+        }
+        this.coordinate = new Coordinate(index, count, minAperture, coordinate.version + 1);
+    }
+
+    /**
+     * 恢复到默认的坐标,主要用以测试.
+     */
+    public synchronized void reset() {
+        this.coordinate = new Coordinate(0, 1, DEFAULT_MIN_APERTURE, coordinate.version + 1);
+    }
+
+    public int getIndex() {
+        return coordinate.index;
+    }
+
+    public int getCount() {
+        return coordinate.count;
+    }
+
+    public int getMinAperture() {
+        return coordinate.minAperture;
+    }
+
+    /**
+     * 坐标的版本,每次更新都会增加.
+     */
+    public long getVersion() {
+        return coordinate.version;
+    }
+
+    Coordinate current() {
+        return coordinate;
+    }
+
+    /**
+     * 不可变的坐标.
+     */
+    static final class Coordinate {
+        final int index;
+        final int count;
+        final int minAperture;
+        final long version;
+
+        Coordinate(int index, int count, int minAperture, long version) {
+            this.index = index;
+            this.count = count;
+            this.minAperture = minAperture;
+            this.version = version;
+        }
+
+        /**
+         * 在单位环上的起点.
+         */
+        double offset() {
+            return (double) index / count;
+        }
+
+        /**
+         * 在单位环上占据的宽度.
+         */
+        double width() {
+            return 1.0D / count;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.impl;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.AbstractLoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.SubsetLoadBalancer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 确定性窗口(deterministic aperture)子集负载均衡器.
+ *
+ * <p>
+ * 所有的端点按照确定的顺序排列在一个单位环上,每个端点占据 1/N 的弧长;
+ * 所有的客户端实例按照{@link ApertureCoordinate}同样平分这个单位环.
+ * 客户端只使用和自己的弧段相交的端点,弧段宽度为 max(窗口大小 / N, 1 / 客户端数量),
+ * 所以每个端点被大致相同数量的客户端使用,每个客户端只和窗口大小个端点建立连接.
+ * 弧段两端只部分相交的端点,按照相交比例被概率性的选择,保证负载在端点间是均匀的.
+ * </p>
+ *
+ * <p>
+ * 窗口大小会随着负载变化: 平均每个端点的进行中请求数超过{@value #HIGH_LOAD}时扩大窗口,
+ * 低于{@value #LOW_LOAD}时缩小窗口,最小为{@link ApertureCoordinate#getMinAperture()},最大为全部端点.
+ * </p>
+ *
+ * <p>
+ * 子集中的选择交由内部负载均衡器完成,默认为{@link LeastRequestLoadBalancer}.
+ * 子集只在端点列表实例,坐标或者窗口大小变化时重新计算.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 14:35
+ * @since 1.8
+ */
+public class ApertureLoadBalancer extends SubsetLoadBalancer {
+
+    /**
+     * 平均每个端点进行中的请求数超过此值时扩大窗口.
+     */
+    public static final double HIGH_LOAD = 2.0D;
+
+    /**
+     * 平均每个端点进行中的请求数低于此值时缩小窗口.
+     */
+    public static final double LOW_LOAD = 0.5D;
+
+    private static final double EPSILON = 1e-9;
+
+    /*
+    环上的端点顺序,所有的客户端必须一致.
+    Endpoint 的自然顺序基于哈希值,可能相同,所以再以主机,端口和TLS区分.
+     */
+    private static final Comparator<Endpoint> RING_ORDER = Comparator.<Endpoint>naturalOrder()
+        .thenComparing(Endpoint::getHost)
+        .thenComparingInt(Endpoint::getPort)
+        .thenComparing(Endpoint::isTls);
+
+    private final ApertureCoordinate coordinate;
+    private final AtomicInteger inflight;
+    // 当前的窗口大小,0表示使用最小窗口.
+    private final AtomicInteger apertureSize;
+    private volatile Aperture current;
+
+    public ApertureLoadBalancer() {
+        this(new LeastRequestLoadBalancer());
+    }
+
+    public ApertureLoadBalancer(AbstractLoadBalancer inner) {
+        super(inner);
+        this.coordinate = ApertureCoordinate.getInstance();
+        this.inflight = new AtomicInteger(0);
+        this.apertureSize = new AtomicInteger(0);
+    }
+
+    @Override
+    public void release(Endpoint endpoint) {
+        inflight.decrementAndGet();
+        super.release(endpoint);
+    }
+
+    /**
+     * 当前进行中的请求数量.
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 当前子集的大小,还没有计算过返回0.
+     */
+    public int getApertureSize() {
+        Aperture aperture = current;
+        return aperture == null ? 0 : aperture.subset.size();
+    }
+
+    @Override
+    protected List<Endpoint> subset(List<Endpoint> endpoints) {
+        ApertureCoordinate.Coordinate c = coordinate.current();
+        int size = targetSize(c, endpoints.size());
+
+        Aperture aperture = current;
+        if (aperture == null
+            || aperture.source != endpoints
+            || aperture.version != c.version
+            || aperture.size != size) {
+
+            aperture = Aperture.build(endpoints, c, size);
+            current = aperture;
+        }
+        return aperture.subset;
+    }
+
+    @Override
+    protected Endpoint doSelect(List<Endpoint> endpoints) {
+        Endpoint endpoint = super.doSelect(endpoints);
+        Aperture aperture = current;
+        if (endpoint != null && aperture != null && endpoints.size() > 1) {
+            double coverage = aperture.coverage(endpoint);
+            if (coverage < 1.0D && random().nextDouble() >= coverage) {
+                // 只有部分在窗口内的端点,按照相交比例接受.
+                super.release(endpoint);
+                endpoint = super.doSelect(exclude(endpoints, endpoint));
+            }
+        }
+
+        if (endpoint != null) {
+            adjust(inflight.incrementAndGet(), aperture);
+        }
+        return endpoint;
+    }
+
+    private int targetSize(ApertureCoordinate.Coordinate c, int total) {
+        int min = Math.min(c.minAperture, total);
+        int size = apertureSize.get();
+        if (size < min) {
+            return min;
+        } else if (size > total) {
+            return total;
+        } else {
+            return size;
+        }
+    }
+
+    // 根据负载调整窗口大小.
+    private void adjust(int load, Aperture aperture) {
+        if (aperture == null) {
+            return;
+        }
+
+        int total = aperture.source.size();
+        int min = Math.min(coordinate.getMinAperture(), total);
+        int raw = apertureSize.get();
+        int size = aperture.size;
+        if (load > size * HIGH_LOAD && size < total) {
+            apertureSize.compareAndSet(raw, size + 1);
+        } else if (load < size * LOW_LOAD && size > min) {
+            apertureSize.compareAndSet(raw, size - 1);
+        }
+    }
+
+    /**
+     * 计算出的子集.
+     */
+    private static final class Aperture {
+        private final List<Endpoint> source;
+        private final long version;
+        private final int size;
+        private final List<Endpoint> subset;
+        // 只部分在窗口内的端点及其相交比例,最多只有两个.
+        private final Map<Endpoint, Double> partials;
+
+        private Aperture(List<Endpoint> source, long version, int size, List<Endpoint> subset,
+                         Map<Endpoint, Double> partials) {
+            this.source = source;
+            this.version = version;
+            this.size = size;
+            this.subset = subset;
+            this.partials = partials;
+        }
+
+        double coverage(Endpoint endpoint) {
+            if (partials.isEmpty()) {
+                return 1.0D;
+            }
+            Double coverage = partials.get(endpoint);
+            return coverage == null ? 1.0D : coverage;
+        }
+
+        static Aperture build(List<Endpoint> endpoints, ApertureCoordinate.Coordinate c, int size) {
+            int total = endpoints.size();
+            double width = Math.min(1.0D, Math.max((double) size / total, c.width()));
+            if (width >= 1.0D - EPSILON) {
+                return new Aperture(endpoints, c.version, size, endpoints, Collections.emptyMap());
+            }
+
+            List<Endpoint> ring = new ArrayList<>(endpoints);
+            ring.sort(RING_ORDER);
+
+            // 以端点为单位的区间 [start, end).
+            double start = c.offset() * total;
+            double end = start + width * total;
+            Map<Integer, Double> coverages = new LinkedHashMap<>();
+            for (int slot = (int) Math.floor(start); slot < end; slot++) {
+                double coverage = Math.min(end, slot + 1) - Math.max(start, slot);
+                if (coverage > EPSILON) {
+                    coverages.merge(slot % total, coverage, Double::sum);
+                }
+            }
+
+            List<Endpoint> subset = new ArrayList<>(coverages.size());
+            Map<Endpoint, Double> partials = new HashMap<>();
+            for (Map.Entry<Integer, Double> entry : coverages.entrySet()) {
+                Endpoint endpoint = ring.get(entry.getKey());
+                subset.add(endpoint);
+                if (entry.getValue() < 1.0D - EPSILON) {
+                    partials.put(endpoint, entry.getValue());
+                }
+            }
+            return new Aperture(endpoints, c.version, size, Collections.unmodifiableList(subset), partials);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.impl;
+
+/**
+ * 当前客户端实例所在的位置(区域和节点)以及溢出策略,用于{@link LocalityAwareLoadBalancer}.
+ *
+ * <p>
+ * 默认从环境变量{@value #ZONE_ENV}和{@value #NODE_ENV}读取,在 Kubernetes 中可以通过 Downward API 注入节点名称.
+ * 没有设置位置时,本地性感知负载均衡器退化为使用全部端点.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 15:40
+ * @since 1.8
+ */
+public final class ClientLocality {
+
+    /**
+     * 区域的环境变量名称.
+     */
+    public static final String ZONE_ENV = "RPC_RESTFUL_ZONE";
+
+    /**
+     * 节点的环境变量名称.
+     */
+    public static final String NODE_ENV = "RPC_RESTFUL_NODE";
+
+    /**
+     * 默认本地至少需要的端点数量.
+     */
+    public static final int DEFAULT_MIN_LOCAL_ENDPOINTS = 1;
+
+    /**
+     * 默认的超额系数,本地健康比例乘以此系数为留在本地的流量比例.
+     */
+    public static final double DEFAULT_OVERPROVISIONING = 1.4D;
+
+    private static final ClientLocality INSTANCE = new ClientLocality();
+
+    private volatile Locality locality;
+
+    public static ClientLocality getInstance() {
+        return INSTANCE;
+    }
+
+    private ClientLocality() {
+        this.locality = new Locality(
+            emptyToNull(System.getenv(ZONE_ENV)),
+            emptyToNull(System.getenv(NODE_ENV)),
+            DEFAULT_MIN_LOCAL_ENDPOINTS,
+            DEFAULT_OVERPROVISIONING,
+            0);
+    }
+
+    /**
+     * 更新位置和溢出策略.
+     *
+     * @param zone              所在区域,可以为null.
+     * @param node              所在节点,可以为null.
+     * @param minLocalEndpoints 本地至少需要的端点数量,不足时溢出到更大的范围.
+     * @param overprovisioning  超额系数,必须不小于1.0.本地健康比例乘以此系数小于1时,按比例溢出.
+     */
+    public synchronized void update(String zone, String node, int minLocalEndpoints, double overprovisioning) {
+        if (minLocalEndpoints <= 0) {
+            throw new IllegalArgumentException("The minimum local endpoints must be greater than 0.");
+        }
+        if (overprovisioning < 1.0D) {
+            throw new IllegalArgumentException("The overprovisioning factor cannot be less than 1.0.");
+        }
+        this.locality = new Locality(
+            emptyToNull(zone), emptyToNull(node), minLocalEndpoints, overprovisioning, locality.version + 1);
+    }
+
+    /**
+     * 清除位置信息并恢复默认的溢出策略,主要用以测试.
+     */
+    public synchronized void reset() {
+        this.locality = new Locality(
+            null, null, DEFAULT_MIN_LOCAL_ENDPOINTS, DEFAULT_OVERPROVISIONING, locality.version + 1);
+    }
+
+    public String getZone() {
+        return locality.zone;
+    }
+
+    public String getNode() {
+        return locality.node;
+    }
+
+    public int getMinLocalEndpoints() {
+        return locality.minLocalEndpoints;
+    }
+
+    public double getOverprovisioning() {
+        return locality.overprovisioning;
+    }
+
+    /**
+     * 版本,每次更新都会增加.
+     */
+    public long getVersion() {
+        return locality.version;
+    }
+
+    Locality current() {
+        return locality;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 不可变的位置.
+     */
+    static final class Locality {
+        final String zone;
+        final String node;
+        final int minLocalEndpoints;
+        final double overprovisioning;
+        final long version;
+
+        Locality(String zone, String node, int minLocalEndpoints, double overprovisioning, long version) {
+            this.zone = zone;
+            this.node = node;
+            this.minLocalEndpoints = minLocalEndpoints;
+            this.overprovisioning = overprovisioning;
+            this.version = version;
+        }
+    }
+}
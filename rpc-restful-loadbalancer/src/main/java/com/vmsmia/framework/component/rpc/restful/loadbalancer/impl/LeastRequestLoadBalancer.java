@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 实现了抽象负载均衡器的最少请求负载均衡策略类.
@@ -20,7 +21,8 @@ import java.util.concurrent.ConcurrentMap;
  * <p>
  * 当收到新的请求时，本负载均衡策略会遍历所有可用端点，
  * 选出当前活跃请求数最少的端点作为请求的目标.如果存在多个端点的请求数同时最少，
- * 则选择最后更新时间最早的端点，以确保公平性并考虑到可能的时序问题.
+ * 则选择最后一次更新最晚的端点.更新的先后以负载均衡器内部的序号记录,而不是墙上时钟,
+ * 同样的选择和释放序列总是得到同样的结果.
  * </p>
  *
  * <p>
@@ -28,8 +30,8 @@ import java.util.concurrent.ConcurrentMap;
  * </p>
  *
  * <p>
- * 类中包含的{@code RequestCount}的静态内部类用于跟踪每个端点的请求计数和最后更新时间.
- * 该内部类实现了{@code Comparable}接口，以便能够根据请求计数和最后更新时间对端点进行排序，
+ * 类中包含的{@code RequestCount}的静态内部类用于跟踪每个端点的请求计数和最后更新序号.
+ * 该内部类实现了{@code Comparable}接口，以便能够根据请求计数和最后更新序号对端点进行排序，
  * 进而支持负载均衡策略的实施.
  * </p>
  *
@@ -47,9 +49,12 @@ public class LeastRequestLoadBalancer extends AbstractLoadBalancer {
 
     private final ConcurrentMap<Endpoint, RequestCount> requestCountMap;
     private final Comparator<Map.Entry<Endpoint, RequestCount>> comparator;
+    // 更新序号.
+    private final AtomicLong updateSequence;
 
     public LeastRequestLoadBalancer() {
         requestCountMap = new ConcurrentHashMap<>();
+        this.updateSequence = new AtomicLong(0);
         this.comparator = new MapEntryComparator();
     }
 
@@ -57,7 +62,7 @@ public class LeastRequestLoadBalancer extends AbstractLoadBalancer {
     public void release(Endpoint endpoint) {
         requestCountMap.compute(endpoint, (key, old) -> {
             if (old != null) {
-                if (old.decrement() <= 0) {
+                if (old.decrement(updateSequence.incrementAndGet()) <= 0) {
                     return null;
                 } else {
                     return old;
@@ -92,11 +97,12 @@ public class LeastRequestLoadBalancer extends AbstractLoadBalancer {
 
     protected Endpoint doSelect(List<Endpoint> endpoints) {
         // 这里可以直接返回的原因是如果计算不存在会创建一个新的,且计数值为0.
+        long sequence = updateSequence.get();
         Map.Entry<Endpoint, RequestCount> selected = endpoints.stream()
             .map(e -> {
                 RequestCount count = requestCountMap.get(e);
                 if (count == null) {
-                    count = new RequestCount(0L);
+                    count = new RequestCount(0L, sequence);
                     return new AbstractMap.SimpleEntry<>(e, count);
                 }
                 return new AbstractMap.SimpleEntry<>(e, count);
@@ -106,10 +112,10 @@ public class LeastRequestLoadBalancer extends AbstractLoadBalancer {
         requestCountMap.compute(selected.getKey(), (key, old) -> {
             if (old == null) {
                 RequestCount newCount = selected.getValue();
-                newCount.increment();
+                newCount.increment(updateSequence.incrementAndGet());
                 return newCount;
             } else {
-                old.increment();
+                old.increment(updateSequence.incrementAndGet());
                 return old;
             }
         });
@@ -127,30 +133,30 @@ public class LeastRequestLoadBalancer extends AbstractLoadBalancer {
 
     private static class RequestCount implements Comparable<RequestCount> {
         private long count;
-        private long lastUpdateTime;
+        private long lastUpdateSequence;
 
-        public RequestCount(long initCount) {
+        public RequestCount(long initCount, long sequence) {
             this.count = initCount;
-            this.lastUpdateTime = System.currentTimeMillis();
+            this.lastUpdateSequence = sequence;
         }
 
         public long getCount() {
             return this.count;
         }
 
-        public long getLastUpdateTime() {
-            return this.lastUpdateTime;
+        public long getLastUpdateSequence() {
+            return this.lastUpdateSequence;
         }
 
-        public synchronized long increment() {
+        public synchronized long increment(long sequence) {
             this.count++;
-            this.lastUpdateTime = System.currentTimeMillis();
+            this.lastUpdateSequence = sequence;
             return this.count;
         }
 
-        public synchronized long decrement() {
+        public synchronized long decrement(long sequence) {
             this.count--;
-            this.lastUpdateTime = System.currentTimeMillis();
+            this.lastUpdateSequence = sequence;
             return this.count;
         }
 
@@ -160,7 +166,7 @@ public class LeastRequestLoadBalancer extends AbstractLoadBalancer {
             if (countComparison != 0) {
                 return countComparison;
             }
-            return Long.compare(o.lastUpdateTime, this.lastUpdateTime);
+            return Long.compare(o.lastUpdateSequence, this.lastUpdateSequence);
         }
     }
 }
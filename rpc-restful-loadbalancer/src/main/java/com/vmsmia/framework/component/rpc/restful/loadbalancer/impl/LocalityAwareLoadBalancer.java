@@ -0,0 +1,126 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.impl;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.AbstractLoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.SubsetLoadBalancer;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 本地性感知负载均衡器,优先选择同节点的端点,其次是同区域的端点,最后才是其他区域的端点.
+ *
+ * <p>
+ * 端点按照和当前客户端({@link ClientLocality})的距离分为三层: 同节点,同区域,全部.
+ * 从最近的一层开始判断:
+ * </p>
+ * <ul>
+ *     <li>这一层的端点数量少于{@link ClientLocality#getMinLocalEndpoints()}时,直接跳到下一层.</li>
+ *     <li>否则以 min(1, 健康比例 * 超额系数) 为概率留在这一层,剩余的流量溢出到下一层.
+ *     所以本地端点全部健康时流量全部留在本地,只有健康比例低于 1 / 超额系数 时才开始按比例溢出.</li>
+ * </ul>
+ *
+ * <p>
+ * 分层结果只在端点列表实例或者客户端位置变化时重新计算.层内的选择交由内部负载均衡器完成,默认为{@link RoundRobinLoadBalancer}.
+ * 没有拓扑信息的端点只会出现在最后一层.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 15:55
+ * @since 1.8
+ */
+public class LocalityAwareLoadBalancer extends SubsetLoadBalancer {
+
+    private final ClientLocality clientLocality;
+    private volatile Tiers current;
+
+    public LocalityAwareLoadBalancer() {
+        this(new RoundRobinLoadBalancer());
+    }
+
+    public LocalityAwareLoadBalancer(AbstractLoadBalancer inner) {
+        super(inner);
+        this.clientLocality = ClientLocality.getInstance();
+    }
+
+    @Override
+    protected List<Endpoint> subset(List<Endpoint> endpoints) {
+        ClientLocality.Locality locality = clientLocality.current();
+        if (locality.zone == null && locality.node == null) {
+            return endpoints;
+        }
+
+        Tiers tiers = current;
+        if (tiers == null || tiers.source != endpoints || tiers.version != locality.version) {
+            tiers = Tiers.build(endpoints, locality);
+            current = tiers;
+        }
+
+        if (stay(tiers.sameNode, locality)) {
+            return tiers.sameNode;
+        } else if (stay(tiers.sameZone, locality)) {
+            return tiers.sameZone;
+        } else {
+            return endpoints;
+        }
+    }
+
+    // 判断流量是否留在这一层.
+    private boolean stay(List<Endpoint> tier, ClientLocality.Locality locality) {
+        int size = tier.size();
+        if (size == 0 || size < locality.minLocalEndpoints) {
+            return false;
+        }
+
+        HealthTable table = HealthTable.getInstance();
+        if (!table.hasUnhealthy()) {
+            return true;
+        }
+
+        int healthy = 0;
+        for (int i = 0; i < size; i++) {
+            if (table.isHealthy(tier.get(i))) {
+                healthy++;
+            }
+        }
+        double share = Math.min(1.0D, (double) healthy / size * locality.overprovisioning);
+        return share >= 1.0D || random().nextDouble() < share;
+    }
+
+    /**
+     * 分层结果.
+     */
+    private static final class Tiers {
+        private final List<Endpoint> source;
+        private final long version;
+        private final List<Endpoint> sameNode;
+        private final List<Endpoint> sameZone;
+
+        private Tiers(List<Endpoint> source, long version, List<Endpoint> sameNode, List<Endpoint> sameZone) {
+            this.source = source;
+            this.version = version;
+            this.sameNode = sameNode;
+            this.sameZone = sameZone;
+        }
+
+        static Tiers build(List<Endpoint> endpoints, ClientLocality.Locality locality) {
+            List<Endpoint> sameNode = new ArrayList<>();
+            List<Endpoint> sameZone = new ArrayList<>();
+            for (int i = 0; i < endpoints.size(); i++) {
+                Endpoint endpoint = endpoints.get(i);
+                if (locality.node != null && locality.node.equals(endpoint.getNode())) {
+                    sameNode.add(endpoint);
+                }
+                if (locality.zone != null && locality.zone.equals(endpoint.getZone())) {
+                    sameZone.add(endpoint);
+                }
+            }
+            return new Tiers(
+                endpoints,
+                locality.version,
+                Collections.unmodifiableList(sameNode),
+                Collections.unmodifiableList(sameZone));
+        }
+    }
+}
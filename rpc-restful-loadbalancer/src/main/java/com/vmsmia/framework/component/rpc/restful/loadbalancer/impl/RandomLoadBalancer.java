@@ -14,7 +14,7 @@ import java.util.concurrent.ThreadLocalRandom;
  * </p>
  * <p>
  * 随机选择算法适用于端点数量相对固定且每个端点的处理能力相近的场景.
- * 它的实现依赖于{@link ThreadLocalRandom}，这是一个高效的随机数生成器，
+ * 它的实现默认依赖于{@link ThreadLocalRandom}，这是一个高效的随机数生成器，
  * 比{@link java.util.Random}在并发环境中具有更好的性能，且能够减少线程间的争用.
  * </p>
  * 使用此类时，不需要额外的同步或状态维护机制，因为每次选择都是完全独立且基于当前所有可用端点进行的.
@@ -35,9 +35,8 @@ public class RandomLoadBalancer extends AbstractLoadBalancer {
 
     @Override
     protected Endpoint doSelect(List<Endpoint> endpoints) {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
         // [0, endpoints.size())
-        int index = random.nextInt(endpoints.size());
+        int index = random().nextInt(endpoints.size());
         return endpoints.get(index);
     }
 }
@@ -0,0 +1,61 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.state;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+
+/**
+ * 端点在客户端视角的状态,由{@link EndpointStateRegistry}维护,被所有负载均衡器共享.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 13:05
+ * @since 1.8
+ */
+public final class EndpointState {
+
+    private final Endpoint endpoint;
+    // 第一次被发现的时间,纳秒.初始观察到的端点为0,表示已经预热完成.
+    private final long firstSeenNanos;
+    private volatile long lastSeenNanos;
+
+    EndpointState(Endpoint endpoint, long firstSeenNanos, long nowNanos) {
+        this.endpoint = endpoint;
+        this.firstSeenNanos = firstSeenNanos;
+        this.lastSeenNanos = nowNanos;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * 第一次被发现的时间({@link System#nanoTime()}),如果是初始观察到的端点为0.
+     */
+    public long getFirstSeenNanos() {
+        return firstSeenNanos;
+    }
+
+    /**
+     * 最后一次出现在服务发现结果中的时间({@link System#nanoTime()}).
+     */
+    public long getLastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    /**
+     * 是否从一开始就存在的端点,这类端点不需要预热.
+     */
+    public boolean isInitial() {
+        return firstSeenNanos == 0;
+    }
+
+    void seen(long nowNanos) {
+        this.lastSeenNanos = nowNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointState{" + "endpoint=" + endpoint
+            + ", firstSeenNanos=" + firstSeenNanos
+            + ", lastSeenNanos=" + lastSeenNanos
+            + '}';
+    }
+}
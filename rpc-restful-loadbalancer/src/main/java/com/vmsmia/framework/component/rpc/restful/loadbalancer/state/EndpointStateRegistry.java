@@ -0,0 +1,214 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.state;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 端点状态登记处,所有的负载均衡器共享同一份端点状态.
+ *
+ * <p>
+ * 目前用于慢启动(slow-start): 新出现的端点在预热窗口内的有效权重从一个最小值逐渐增长到1.
+ * 增长曲线为 {@code max(minWeight, (elapsed / window) ^ (1 / aggression))},
+ * aggression为1.0时为线性增长,大于1.0时前期增长更快,小于1.0时前期增长更慢.
+ * </p>
+ *
+ * <p>
+ * 负载均衡器第一次观察到的端点视为已经预热完成,只有之后新出现的端点才需要慢启动.
+ * 长时间没有再出现在服务发现结果中的端点会被清理,之后再出现将被当作新端点.
+ * </p>
+ *
+ * <p>
+ * 预热窗口为0时(默认)慢启动关闭,负载均衡器不会有任何额外的开销.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 13:12
+ * @since 1.8
+ */
+public final class EndpointStateRegistry {
+
+    /**
+     * 默认的最小权重.
+     */
+    public static final double DEFAULT_MIN_WEIGHT = 0.1D;
+
+    /**
+     * 默认的增长系数,线性.
+     */
+    public static final double DEFAULT_AGGRESSION = 1.0D;
+
+    // 清理的最小间隔.
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    // 端点消失后状态的最少保留时间.
+    private static final long MIN_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final EndpointStateRegistry INSTANCE = new EndpointStateRegistry();
+
+    private final ConcurrentMap<Endpoint, EndpointState> states;
+    // 所有端点中最晚结束预热的时间点.
+    private final AtomicLong warmingUntilNanos;
+    private final AtomicLong lastSweepNanos;
+    private volatile long windowNanos;
+    private volatile double aggression;
+    private volatile double minWeight;
+
+    public static EndpointStateRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    private EndpointStateRegistry() {
+        long now = System.nanoTime();
+        this.states = new ConcurrentHashMap<>();
+        this.warmingUntilNanos = new AtomicLong(now);
+        this.lastSweepNanos = new AtomicLong(now);
+        this.windowNanos = 0;
+        this.aggression = DEFAULT_AGGRESSION;
+        this.minWeight = DEFAULT_MIN_WEIGHT;
+    }
+
+    /**
+     * 设置慢启动.
+     *
+     * @param windowMs   预热窗口,毫秒.0表示关闭慢启动.
+     * @param aggression 增长系数,必须大于0.1.0为线性增长.
+     * @param minWeight  最小权重,范围(0.0, 1.0].
+     */
+    public void configureSlowStart(long windowMs, double aggression, double minWeight) {
+        if (windowMs < 0) {
+            throw new IllegalArgumentException("The slow start window cannot be negative.");
+        }
+        if (aggression <= 0.0D) {
+            throw new IllegalArgumentException("The slow start aggression must be greater than 0.");
+        }
+        if (minWeight <= 0.0D || minWeight > 1.0D) {
+            throw new IllegalArgumentException("The slow start minimum weight must be in (0.0, 1.0].");
+        }
+        this.aggression = aggression;
+        this.minWeight = minWeight;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+    }
+
+    /**
+     * 慢启动是否开启.
+     */
+    public boolean isSlowStartEnabled() {
+        return windowNanos > 0;
+    }
+
+    /**
+     * 端点状态的保留时间,超过这个时间没有再被观察到的端点状态将被清理.
+     */
+    public long getRetentionNanos() {
+        return Math.max(windowNanos, MIN_RETENTION_NANOS) * 2;
+    }
+
+    /**
+     * 当前是否有端点处于预热中.只是一次时间比较,可以在每次选择时调用.
+     */
+    public boolean hasWarming() {
+        return windowNanos > 0 && System.nanoTime() - warmingUntilNanos.get() < 0;
+    }
+
+    /**
+     * 观察一次服务发现的结果.
+     *
+     * @param endpoints 端点列表.
+     * @param initial   是否为初始观察,初始观察到的新端点视为已经预热完成.
+     */
+    public void observe(List<Endpoint> endpoints, boolean initial) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long window = windowNanos;
+        for (int i = 0; i < endpoints.size(); i++) {
+            Endpoint endpoint = endpoints.get(i);
+            EndpointState state = states.get(endpoint);
+            if (state != null) {
+                state.seen(now);
+                continue;
+            }
+
+            state = states.computeIfAbsent(endpoint, e -> new EndpointState(e, initial ? 0 : now, now));
+            if (!state.isInitial()) {
+                long until = state.getFirstSeenNanos() + window;
+                warmingUntilNanos.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+            }
+        }
+
+        sweep(now);
+    }
+
+    /**
+     * 计算端点当前的权重系数.
+     *
+     * @param endpoint 端点.
+     * @return 范围为[最小权重, 1.0]的系数,不需要预热的端点为1.0.
+     */
+    public double weightFactor(Endpoint endpoint) {
+        long window = windowNanos;
+        if (window <= 0) {
+            return 1.0D;
+        }
+        EndpointState state = states.get(endpoint);
+        if (state == null || state.isInitial()) {
+            return 1.0D;
+        }
+
+        long elapsed = System.nanoTime() - state.getFirstSeenNanos();
+        if (elapsed >= window) {
+            return 1.0D;
+        } else if (elapsed < 0) {
+            elapsed = 0;
+        }
+
+        double time = (double) elapsed / window;
+        double factor = aggression == 1.0D ? time : Math.pow(time, 1.0D / aggression);
+        return Math.max(minWeight, factor);
+    }
+
+    /**
+     * 获取端点状态.
+     *
+     * @return 端点状态,没有记录返回null.
+     */
+    public EndpointState get(Endpoint endpoint) {
+        return states.get(endpoint);
+    }
+
+    /**
+     * 当前所有的端点状态.
+     */
+    public Collection<EndpointState> all() {
+        return states.values();
+    }
+
+    /**
+     * 清空所有的状态并关闭慢启动,主要用以测试.
+     */
+    public void reset() {
+        long now = System.nanoTime();
+        states.clear();
+        windowNanos = 0;
+        aggression = DEFAULT_AGGRESSION;
+        minWeight = DEFAULT_MIN_WEIGHT;
+        warmingUntilNanos.set(now);
+        lastSweepNanos.set(now);
+    }
+
+    private void sweep(long now) {
+        long last = lastSweepNanos.get();
+        if (now - last < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+
+        long retention = getRetentionNanos();
+        states.values().removeIf(state -> now - state.getLastSeenNanos() > retention);
+    }
+}
@@ -0,0 +1,167 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.health;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 11:52
+ * @since 1.8
+ */
+public class HealthCheckerTest {
+
+    private static final String SERVICE_NAME = "test-service";
+
+    private final Endpoint first = new Endpoint("127.0.0.1", 8001);
+    private final Endpoint second = new Endpoint("127.0.0.1", 8002);
+    private final Set<Endpoint> failures = ConcurrentHashMap.newKeySet();
+    private List<Endpoint> endpoints;
+    private HealthChecker checker;
+
+    @BeforeEach
+    void setUp() {
+        HealthTable.getInstance().reset();
+        endpoints = Arrays.asList(first, second);
+        checker = HealthChecker.Builder.anBuilder()
+            .withDiscovery(serviceName -> endpoints)
+            .withProbe(endpoint -> !failures.contains(endpoint))
+            .withServices(new HashSet<>(Collections.singletonList(SERVICE_NAME)))
+            .withUnhealthyThreshold(2)
+            .withHealthyThreshold(1)
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        checker.close();
+        failures.clear();
+        HealthTable.getInstance().reset();
+    }
+
+    /**
+     * 连续失败达到阈值后端点被标记为不健康并在过滤时被跳过,恢复后重新可用.
+     */
+    @Test
+    void testUnhealthyAfterThresholdAndRecover() {
+        HealthTable table = HealthTable.getInstance();
+        failures.add(first);
+
+        checker.round();
+        assertTrue(table.isHealthy(first));
+        assertSame(endpoints, table.filterHealthy(endpoints));
+
+        checker.round();
+        assertFalse(table.isHealthy(first));
+        assertEquals(1, table.unhealthySize());
+        assertEquals(Collections.singletonList(second), table.filterHealthy(endpoints));
+
+        failures.clear();
+        checker.round();
+        assertTrue(table.isHealthy(first));
+        assertEquals(0, table.unhealthySize());
+        assertSame(endpoints, table.filterHealthy(endpoints));
+
+        assertEquals(3, checker.getMetrics().getRounds());
+        assertEquals(6, checker.getMetrics().getProbes());
+        assertEquals(2, checker.getMetrics().getFailures());
+    }
+
+    /**
+     * 全部端点都不健康时退回原始列表.
+     */
+    @Test
+    void testFailOpenWhenAllUnhealthy() {
+        HealthTable table = HealthTable.getInstance();
+        failures.add(first);
+        failures.add(second);
+
+        checker.round();
+        checker.round();
+
+        assertEquals(2, table.unhealthySize());
+        assertSame(endpoints, table.filterHealthy(endpoints));
+    }
+
+    /**
+     * 从服务发现中消失的端点将从健康表中移除.
+     */
+    @Test
+    void testRemovedEndpointIsForgotten() {
+        HealthTable table = HealthTable.getInstance();
+        failures.add(first);
+        checker.round();
+        checker.round();
+        assertEquals(1, table.unhealthySize());
+
+        endpoints = Collections.singletonList(second);
+        checker.round();
+
+        assertEquals(0, table.unhealthySize());
+        assertNull(table.get(first));
+    }
+
+    /**
+     * 服务发现失败时保留现有健康状态并计入统计.
+     */
+    @Test
+    void testDiscoveryFailureKeepsState() {
+        HealthTable table = HealthTable.getInstance();
+        failures.add(first);
+        checker.round();
+        checker.round();
+        assertEquals(1, table.unhealthySize());
+
+        endpoints = null;
+        HealthChecker failing = HealthChecker.Builder.anBuilder()
+            .withDiscovery(serviceName -> {
+                throw new IllegalStateException("discovery is down");
+            })
+            .withProbe(endpoint -> true)
+            .withServices(new HashSet<>(Collections.singletonList(SERVICE_NAME)))
+            .build();
+        failing.round();
+
+        assertEquals(1, table.unhealthySize());
+        assertFalse(table.isHealthy(first));
+        assertEquals(1, failing.getMetrics().getDiscoveryFailures());
+        assertEquals(1, failing.getMetrics().getRounds());
+        assertEquals(0, failing.getMetrics().getRoundFailures());
+    }
+
+    /**
+     * 端点被移除后才到达的探测结果不影响不健康计数.
+     */
+    @Test
+    void testLateResultOfRemovedEndpointIsIgnored() {
+        HealthTable table = HealthTable.getInstance();
+        EndpointHealth stale = table.obtain(first);
+        table.obtain(second);
+
+        table.retain(Collections.singleton(second));
+        table.record(stale, false, 0, 1, 1);
+
+        assertFalse(stale.isHealthy());
+        assertEquals(0, table.unhealthySize());
+        assertTrue(table.isHealthy(first));
+
+        EndpointHealth fresh = table.obtain(first);
+        table.record(fresh, false, 0, 1, 1);
+        assertEquals(1, table.unhealthySize());
+        table.retain(Collections.singleton(second));
+        assertEquals(0, table.unhealthySize());
+    }
+}
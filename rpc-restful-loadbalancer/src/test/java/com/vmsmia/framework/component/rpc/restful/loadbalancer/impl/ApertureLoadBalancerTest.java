@@ -0,0 +1,141 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerSelected;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.state.EndpointState;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.state.EndpointStateRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 15:05
+ * @since 1.8
+ */
+public class ApertureLoadBalancerTest {
+
+    @AfterEach
+    void tearDown() {
+        ApertureCoordinate.getInstance().reset();
+        EndpointStateRegistry.getInstance().reset();
+    }
+
+    /**
+     * 没有设置坐标时使用全部端点.
+     */
+    @Test
+    void testDefaultCoordinateUsesAll() {
+        List<Endpoint> endpoints = buildEndpoints(50);
+        ApertureLoadBalancer loadBalancer = new ApertureLoadBalancer();
+
+        assertSame(endpoints, loadBalancer.subset(endpoints));
+    }
+
+    /**
+     * 每个客户端只使用窗口大小左右的端点,所有客户端的子集覆盖全部端点且每个端点被使用的次数接近.
+     */
+    @Test
+    void testSubsetIsStableAndEven() {
+        int endpointSize = 120;
+        int clientCount = 40;
+        int minAperture = 12;
+        List<Endpoint> endpoints = buildEndpoints(endpointSize);
+        List<Endpoint> shuffled = new ArrayList<>(endpoints);
+        Collections.shuffle(shuffled);
+
+        Map<Endpoint, Integer> usage = new HashMap<>();
+        for (int index = 0; index < clientCount; index++) {
+            ApertureCoordinate.getInstance().update(index, clientCount, minAperture);
+            ApertureLoadBalancer loadBalancer = new ApertureLoadBalancer();
+
+            List<Endpoint> subset = loadBalancer.subset(endpoints);
+            assertTrue(subset.size() >= minAperture && subset.size() <= minAperture + 1,
+                String.valueOf(subset.size()));
+
+            // 端点顺序不影响子集.
+            assertEquals(new HashSet<>(subset), new HashSet<>(new ApertureLoadBalancer().subset(shuffled)));
+
+            for (Endpoint endpoint : subset) {
+                usage.merge(endpoint, 1, Integer::sum);
+            }
+        }
+
+        assertEquals(endpointSize, usage.size());
+        // 每个端点期望被 40 * 12 / 120 = 4 个客户端使用,边缘端点最多多一个.
+        for (int count : usage.values()) {
+            assertTrue(count >= 4 && count <= 5, String.valueOf(count));
+        }
+    }
+
+    /**
+     * 选择的端点总是在子集中.
+     */
+    @Test
+    void testSelectWithinSubset() throws Exception {
+        ApertureCoordinate.getInstance().update(3, 10, 5);
+        List<Endpoint> endpoints = buildEndpoints(100);
+        ApertureLoadBalancer loadBalancer = new ApertureLoadBalancer(new RandomLoadBalancer());
+        Set<Endpoint> subset = new HashSet<>(loadBalancer.subset(endpoints));
+
+        for (int i = 0; i < 1000; i++) {
+            Optional<LoadBalancerSelected> selected = loadBalancer.select(endpoints);
+            assertTrue(selected.isPresent());
+            try (LoadBalancerSelected loadBalancerSelected = selected.get()) {
+                assertTrue(subset.contains(loadBalancerSelected.endpoint()));
+            }
+        }
+        assertEquals(0, loadBalancer.getInflight());
+    }
+
+    /**
+     * 慢启动观察完整的端点列表,子集之外的新端点同样从被发现时开始预热.
+     */
+    @Test
+    void testSlowStartObservesAllEndpoints() throws Exception {
+        EndpointStateRegistry registry = EndpointStateRegistry.getInstance();
+        registry.configureSlowStart(60000, 1.0D, 0.1D);
+        ApertureCoordinate.getInstance().update(3, 10, 5);
+        ApertureLoadBalancer loadBalancer = new ApertureLoadBalancer(new RandomLoadBalancer());
+
+        List<Endpoint> endpoints = buildEndpoints(50);
+        try (LoadBalancerSelected selected = loadBalancer.select(endpoints).get()) {
+            assertNotNull(selected.endpoint());
+        }
+        for (Endpoint endpoint : endpoints) {
+            assertTrue(registry.get(endpoint).isInitial());
+        }
+
+        List<Endpoint> grown = buildEndpoints(100);
+        Set<Endpoint> subset = new HashSet<>(loadBalancer.subset(grown));
+        try (LoadBalancerSelected selected = loadBalancer.select(grown).get()) {
+            assertTrue(subset.contains(selected.endpoint()));
+        }
+        for (Endpoint endpoint : grown.subList(50, 100)) {
+            EndpointState state = registry.get(endpoint);
+            assertNotNull(state, endpoint + " in subset: " + subset.contains(endpoint));
+            assertFalse(state.isInitial());
+        }
+    }
+
+    private static List<Endpoint> buildEndpoints(int size) {
+        List<Endpoint> endpoints = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            endpoints.add(new Endpoint("10.0." + (i / 250) + "." + (i % 250), 8080));
+        }
+        return endpoints;
+    }
+}
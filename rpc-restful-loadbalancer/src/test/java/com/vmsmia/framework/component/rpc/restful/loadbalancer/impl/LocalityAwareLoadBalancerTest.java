@@ -0,0 +1,156 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerSelected;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthChecker;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthTable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/20 09:10
+ * @since 1.8
+ */
+public class LocalityAwareLoadBalancerTest {
+
+    private static final String SERVICE_NAME = "test-service";
+    private static final int ROUNDS = 2000;
+
+    private final Endpoint a1 = new Endpoint("10.0.1.1", 8080, false, 0.0F, "zone-a", "node-1");
+    private final Endpoint a2 = new Endpoint("10.0.1.2", 8080, false, 0.0F, "zone-a", "node-2");
+    private final Endpoint b1 = new Endpoint("10.0.2.1", 8080, false, 0.0F, "zone-b", "node-3");
+    private final Endpoint b2 = new Endpoint("10.0.2.2", 8080, false, 0.0F, "zone-b", "node-4");
+    private final List<Endpoint> endpoints = Arrays.asList(a1, a2, b1, b2);
+
+    private HealthChecker checker;
+
+    @AfterEach
+    void tearDown() {
+        if (checker != null) {
+            checker.close();
+        }
+        ClientLocality.getInstance().reset();
+        HealthTable.getInstance().reset();
+    }
+
+    /**
+     * 优先使用同节点的端点,其次是同区域的端点.
+     */
+    @Test
+    void testPreferLocal() throws Exception {
+        LocalityAwareLoadBalancer loadBalancer = new LocalityAwareLoadBalancer();
+
+        ClientLocality.getInstance().update("zone-a", null, 1, ClientLocality.DEFAULT_OVERPROVISIONING);
+        assertEquals(new HashSet<>(Arrays.asList(a1, a2)), count(loadBalancer, endpoints).keySet());
+
+        ClientLocality.getInstance().update("zone-a", "node-2", 1, ClientLocality.DEFAULT_OVERPROVISIONING);
+        assertEquals(Collections.singleton(a2), count(loadBalancer, endpoints).keySet());
+    }
+
+    /**
+     * 本地端点数量不足时溢出到更大的范围.
+     */
+    @Test
+    void testSpillWhenTooSmall() throws Exception {
+        LocalityAwareLoadBalancer loadBalancer = new LocalityAwareLoadBalancer();
+        ClientLocality.getInstance().update("zone-a", "node-1", 2, ClientLocality.DEFAULT_OVERPROVISIONING);
+
+        // 同节点只有一个端点,退到同区域.
+        assertEquals(new HashSet<>(Arrays.asList(a1, a2)), count(loadBalancer, endpoints).keySet());
+
+        ClientLocality.getInstance().update("zone-a", "node-1", 3, ClientLocality.DEFAULT_OVERPROVISIONING);
+        assertEquals(new HashSet<>(endpoints), count(loadBalancer, endpoints).keySet());
+    }
+
+    /**
+     * 本地健康比例乘以超额系数小于1时按比例溢出,本地全部不健康时全部溢出.
+     */
+    @Test
+    void testSpillWhenUnhealthy() throws Exception {
+        LocalityAwareLoadBalancer loadBalancer = new LocalityAwareLoadBalancer();
+        ClientLocality.getInstance().update("zone-a", null, 1, ClientLocality.DEFAULT_OVERPROVISIONING);
+
+        markUnhealthy(a1);
+        Map<Endpoint, Integer> counts = count(loadBalancer, endpoints);
+        assertNull(counts.get(a1));
+        // 留在本地的概率为 0.5 * 1.4 = 0.7,其余溢出到三个健康的端点.
+        int remote = counts.getOrDefault(b1, 0) + counts.getOrDefault(b2, 0);
+        assertTrue(remote > ROUNDS * 0.1 && remote < ROUNDS * 0.3, String.valueOf(remote));
+
+        checker.close();
+        markUnhealthy(a1, a2);
+        assertEquals(new HashSet<>(Arrays.asList(b1, b2)), count(loadBalancer, endpoints).keySet());
+    }
+
+    /**
+     * 客户端或者端点没有拓扑信息时使用全部端点.
+     */
+    @Test
+    void testMissingTopology() throws Exception {
+        LocalityAwareLoadBalancer loadBalancer = new LocalityAwareLoadBalancer();
+        assertNull(ClientLocality.getInstance().getZone());
+        assertSame(endpoints, loadBalancer.subset(endpoints));
+
+        ClientLocality.getInstance().update("", "", 1, ClientLocality.DEFAULT_OVERPROVISIONING);
+        assertNull(ClientLocality.getInstance().getZone());
+        assertNull(ClientLocality.getInstance().getNode());
+        assertSame(endpoints, loadBalancer.subset(endpoints));
+
+        List<Endpoint> unlabeled = Arrays.asList(new Endpoint("10.0.3.1", 8080), new Endpoint("10.0.3.2", 8080));
+        ClientLocality.getInstance().update("zone-a", "node-1", 1, ClientLocality.DEFAULT_OVERPROVISIONING);
+        assertEquals(new HashSet<>(unlabeled), count(loadBalancer, unlabeled).keySet());
+    }
+
+    @Test
+    void testInvalidLocality() {
+        ClientLocality locality = ClientLocality.getInstance();
+        assertThrows(IllegalArgumentException.class, () -> locality.update("zone-a", null, 0, 1.4D));
+        assertThrows(IllegalArgumentException.class, () -> locality.update("zone-a", null, 1, 0.9D));
+    }
+
+    private static Map<Endpoint, Integer> count(LocalityAwareLoadBalancer loadBalancer, List<Endpoint> endpoints)
+        throws Exception {
+        Map<Endpoint, Integer> counts = new HashMap<>();
+        for (int i = 0; i < ROUNDS; i++) {
+            try (LoadBalancerSelected selected = loadBalancer.select(endpoints).get()) {
+                counts.merge(selected.endpoint(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    // 通过健康检查把端点标记为不健康.
+    private void markUnhealthy(Endpoint... unhealthy) throws InterruptedException {
+        Set<Endpoint> failures = new HashSet<>(Arrays.asList(unhealthy));
+        checker = HealthChecker.Builder.anBuilder()
+            .withDiscovery(serviceName -> endpoints)
+            .withProbe(endpoint -> !failures.contains(endpoint))
+            .withServices(new HashSet<>(Collections.singletonList(SERVICE_NAME)))
+            .withIntervalMs(10)
+            .withJitterRatio(0.0D)
+            .withUnhealthyThreshold(1)
+            .build();
+        checker.start();
+
+        HealthTable table = HealthTable.getInstance();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (table.unhealthySize() != failures.size() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(failures.size(), table.unhealthySize());
+    }
+}
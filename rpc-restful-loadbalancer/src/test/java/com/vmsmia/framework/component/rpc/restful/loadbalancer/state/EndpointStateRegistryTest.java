@@ -0,0 +1,99 @@
+package com.vmsmia.framework.component.rpc.restful.loadbalancer.state;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerSelected;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.RandomLoadBalancer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 13:52
+ * @since 1.8
+ */
+public class EndpointStateRegistryTest {
+
+    private final Endpoint first = new Endpoint("127.0.0.1", 8001);
+    private final Endpoint second = new Endpoint("127.0.0.1", 8002);
+    private final Endpoint third = new Endpoint("127.0.0.1", 8003);
+
+    @AfterEach
+    void tearDown() {
+        EndpointStateRegistry.getInstance().reset();
+    }
+
+    /**
+     * 初始观察到的端点不需要预热,之后出现的端点权重从最小值开始增长.
+     */
+    @Test
+    void testWeightFactor() throws Exception {
+        EndpointStateRegistry registry = EndpointStateRegistry.getInstance();
+        registry.configureSlowStart(200, 1.0D, 0.1D);
+
+        registry.observe(Arrays.asList(first, second), true);
+        assertFalse(registry.hasWarming());
+        assertEquals(1.0D, registry.weightFactor(first));
+
+        registry.observe(Arrays.asList(first, second, third), false);
+        assertTrue(registry.hasWarming());
+        double factor = registry.weightFactor(third);
+        assertTrue(factor >= 0.1D && factor < 1.0D, String.valueOf(factor));
+
+        Thread.sleep(250);
+        assertFalse(registry.hasWarming());
+        assertEquals(1.0D, registry.weightFactor(third));
+    }
+
+    /**
+     * 未开启慢启动时所有端点的权重系数都是1.
+     */
+    @Test
+    void testDisabled() {
+        EndpointStateRegistry registry = EndpointStateRegistry.getInstance();
+        registry.observe(Arrays.asList(first, second), false);
+
+        assertFalse(registry.isSlowStartEnabled());
+        assertFalse(registry.hasWarming());
+        assertEquals(1.0D, registry.weightFactor(first));
+    }
+
+    /**
+     * 预热中的端点通过负载均衡器只获得很少的流量.
+     */
+    @Test
+    void testLoadBalancerRampUp() throws Exception {
+        EndpointStateRegistry registry = EndpointStateRegistry.getInstance();
+        registry.configureSlowStart(60000, 1.0D, 0.1D);
+
+        RandomLoadBalancer loadBalancer = new RandomLoadBalancer();
+        select(loadBalancer, Arrays.asList(first, second));
+
+        List<Endpoint> endpoints = Arrays.asList(first, second, third);
+        int total = 30000;
+        int thirdCount = 0;
+        for (int i = 0; i < total; i++) {
+            if (third.equals(select(loadBalancer, endpoints))) {
+                thirdCount++;
+            }
+        }
+
+        // 正常份额为1/3,预热开始时权重系数约为0.1.
+        double share = (double) thirdCount / total;
+        assertTrue(share > 0.0D && share < 0.1D, String.valueOf(share));
+    }
+
+    private static Endpoint select(RandomLoadBalancer loadBalancer, List<Endpoint> endpoints) throws Exception {
+        Optional<LoadBalancerSelected> selected = loadBalancer.select(endpoints);
+        assertTrue(selected.isPresent());
+        try (LoadBalancerSelected loadBalancerSelected = selected.get()) {
+            return loadBalancerSelected.endpoint();
+        }
+    }
+}
@@ -1,24 +1,62 @@
 package com.vmsmia.framework.component.rpc.restful.standard;
 
+import com.vmsmia.framework.component.rpc.restful.discovery.CompositeDiscovery;
 import com.vmsmia.framework.component.rpc.restful.discovery.Discovery;
+import com.vmsmia.framework.component.rpc.restful.discovery.DnsDiscover;
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.discovery.FileDiscover;
+import com.vmsmia.framework.component.rpc.restful.discovery.ForwardingDiscovery;
+import com.vmsmia.framework.component.rpc.restful.discovery.JndiDnsResolver;
+import com.vmsmia.framework.component.rpc.restful.discovery.KubernetesEndpointSliceDiscover;
 import com.vmsmia.framework.component.rpc.restful.discovery.KubernetesServiceDiscover;
+import com.vmsmia.framework.component.rpc.restful.discovery.PersistentDiscovery;
+import com.vmsmia.framework.component.rpc.restful.discovery.StaticDiscover;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthCheckedDiscovery;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthChecker;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HealthProbe;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.HttpHealthProbe;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.health.TcpHealthProbe;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ApertureCoordinate;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.impl.ClientLocality;
+import com.vmsmia.framework.component.rpc.restful.loadbalancer.state.EndpointStateRegistry;
+import com.vmsmia.framework.component.rpc.restful.standard.config.ApertureConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.CompositeConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.CompositeSourceConfig;
 import com.vmsmia.framework.component.rpc.restful.standard.config.DiscoveryConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.DnsConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.HealthCheckConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.KubernetesConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.LocalityConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.LoadBalancerConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.PersistenceConfig;
 import com.vmsmia.framework.component.rpc.restful.standard.config.RpcRestfulConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.SlowStartConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.StaticConfig;
+import com.vmsmia.framework.component.rpc.restful.standard.config.StaticEndpointConfig;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
 
 /**
  * 目标是如下的配置.
@@ -34,14 +72,75 @@ import org.springframework.context.annotation.DependsOn;
  *             threadPoolSize: 10
  *             maxRequest: 200
  *             discovery:
- *               provider: (kubernetes | static)
+ *               provider: (kubernetes | static | dns | composite)
  *               kubernetes:
+ *                 mode: (service | endpoint-slice)
  *                 allNamespace: true
  *                 effectiveTimeMs: 10000
+ *                 maxStaleMs: 100000
  *               static:
- *                 url: (http:// | file://)
+ *                 url: (file://路径, 支持yaml, json和properties)
+ *                 services:
+ *                   user-service:
+ *                     - url: http://10.0.0.1:8080
+ *                       weight: 0.5
+ *                       zone: zone-a
+ *                       node: node-1
+ *                       metadata:
+ *                         version: v2
+ *               dns:
+ *                 type: (address | srv)
+ *                 nameTemplate: "%s.default.svc.cluster.local"
+ *                 port: 8080
+ *                 tls: false
+ *                 servers: (默认使用系统配置的DNS服务器)
+ *                 ttlSeconds: 30
+ *                 minTtlMs: 1000
+ *                 retryMs: 1000
+ *                 prefetchRatio: 0.8
+ *                 timeoutMs: 1000
+ *               composite:
+ *                 strategy: (failover | merge)
+ *                 refreshMs: 1000
+ *                 recheckMs: 30000
+ *                 maxThreads: 16
+ *                 sources:
+ *                   - provider: kubernetes
+ *                     timeoutMs: 200
+ *                   - provider: dns
+ *                     timeoutMs: 500
+ *                   - provider: static
+ *                     timeoutMs: 0
+ *               persistence:
+ *                 path: (为空时不持久化,例如 /var/lib/app/discovery.json)
+ *                 maxAgeMs: 86400000
+ *                 writeDelayMs: 1000
+ *                 flushIntervalMs: 60000
  *             load-balancer:
- *               provider: (random | round-robin | least-active)
+ *               provider: (random | round-robin | least-active | aperture | locality-aware)
+ *               health-check:
+ *                 enabled: false
+ *                 type: (http | tcp)
+ *                 path: /health
+ *                 intervalMs: 5000
+ *                 timeoutMs: 1000
+ *                 jitter: 0.2
+ *                 maxConcurrency: 2
+ *                 unhealthyThreshold: 2
+ *                 healthyThreshold: 1
+ *               slow-start:
+ *                 windowMs: 0
+ *                 aggression: 1.0
+ *                 minWeight: 0.1
+ *               aperture:
+ *                 clientIndex: 0
+ *                 clientCount: 1
+ *                 minAperture: 12
+ *               locality:
+ *                 zone: (默认读取环境变量 RPC_RESTFUL_ZONE)
+ *                 node: (默认读取环境变量 RPC_RESTFUL_NODE)
+ *                 minLocalEndpoints: 1
+ *                 overprovisioning: 1.4
  * </pre>
  *
  * @author bin.dong
@@ -59,10 +158,42 @@ import org.springframework.context.annotation.DependsOn;
 public class RpcRestfulConductor {
 
     private ExecutorService works;
+    private final List<Discovery> unmanagedDiscoveries = new ArrayList<>();
 
     @Resource
     private RpcRestfulConfig config;
 
+    @PostConstruct
+    public void init() {
+        LoadBalancerConfig loadBalancerConfig = config.getLoadBalancer();
+        if (loadBalancerConfig != null) {
+            SlowStartConfig slowStartConfig = loadBalancerConfig.getSlowStart();
+            EndpointStateRegistry.getInstance().configureSlowStart(
+                slowStartConfig.getWindowMs(),
+                slowStartConfig.getAggression(),
+                slowStartConfig.getMinWeight()
+            );
+
+            ApertureConfig apertureConfig = loadBalancerConfig.getAperture();
+            ApertureCoordinate.getInstance().update(
+                apertureConfig.getClientIndex(),
+                apertureConfig.getClientCount(),
+                apertureConfig.getMinAperture()
+            );
+
+            LocalityConfig localityConfig = loadBalancerConfig.getLocality();
+            if (localityConfig != null) {
+                ClientLocality clientLocality = ClientLocality.getInstance();
+                clientLocality.update(
+                    localityConfig.getZone() == null ? clientLocality.getZone() : localityConfig.getZone(),
+                    localityConfig.getNode() == null ? clientLocality.getNode() : localityConfig.getNode(),
+                    localityConfig.getMinLocalEndpoints(),
+                    localityConfig.getOverprovisioning()
+                );
+            }
+        }
+    }
+
     @Bean
     @DependsOn({"okhttpClient", "discovery"})
     public GenerationClassSpringRegistry generationClassSpringRegistry() {
@@ -101,31 +232,256 @@ public class RpcRestfulConductor {
     }
 
     @Bean
-    public Discovery discovery() {
+    public Discovery sourceDiscovery() {
         DiscoveryConfig discoveryConfig = config.getDiscovery();
         if (discoveryConfig == null) {
             throw new IllegalArgumentException("discovery config is null");
         }
-        switch (discoveryConfig.getProvider()) {
+        if (DiscoveryConfig.COMPOSITE_PROVIDER.equals(discoveryConfig.getProvider())) {
+            return compositeDiscovery(discoveryConfig);
+        }
+        return providerDiscovery(discoveryConfig.getProvider(), discoveryConfig);
+    }
+
+    private Discovery providerDiscovery(String provider, DiscoveryConfig discoveryConfig) {
+        switch (provider) {
             case DiscoveryConfig.KUBERNETES_PROVIDER: {
-                return new KubernetesServiceDiscover(
-                    discoveryConfig.getKubernetes().getAllNamespace(),
-                    discoveryConfig.getKubernetes().getEffectiveTimeMs()
-                );
+                KubernetesConfig kubernetesConfig = discoveryConfig.getKubernetes();
+                switch (kubernetesConfig.getMode()) {
+                    case KubernetesConfig.SERVICE_MODE: {
+                        return new KubernetesServiceDiscover(
+                            kubernetesConfig.getAllNamespace(),
+                            kubernetesConfig.getEffectiveTimeMs(),
+                            kubernetesConfig.getMaxStaleMs(),
+                            null
+                        );
+                    }
+                    case KubernetesConfig.ENDPOINT_SLICE_MODE: {
+                        // 客户端所在区域已经在init中确定,用以匹配EndpointSlice的区域提示.
+                        return new KubernetesEndpointSliceDiscover(
+                            kubernetesConfig.getAllNamespace(),
+                            ClientLocality.getInstance().getZone(),
+                            null
+                        );
+                    }
+                    default:
+                        throw new IllegalArgumentException("kubernetes discovery mode is not support");
+                }
             }
             case DiscoveryConfig.STATIC_PROVIDER: {
-                // TODO: 静态服务定义.
-                return null;
+                return staticDiscovery(discoveryConfig.getStatic());
+            }
+            case DiscoveryConfig.DNS_PROVIDER: {
+                return dnsDiscovery(discoveryConfig.getDns());
             }
             default:
                 throw new IllegalArgumentException("discovery provider is not support");
         }
+    }
 
+    private Discovery compositeDiscovery(DiscoveryConfig discoveryConfig) {
+        CompositeConfig compositeConfig = discoveryConfig.getComposite();
+        if (compositeConfig == null || compositeConfig.getSources() == null || compositeConfig.getSources().isEmpty()) {
+            throw new IllegalArgumentException("composite discovery sources is empty");
+        }
+        CompositeDiscovery.Strategy strategy;
+        switch (compositeConfig.getStrategy()) {
+            case CompositeConfig.FAILOVER_STRATEGY:
+                strategy = CompositeDiscovery.Strategy.FAILOVER;
+                break;
+            case CompositeConfig.MERGE_STRATEGY:
+                strategy = CompositeDiscovery.Strategy.MERGE;
+                break;
+            default:
+                throw new IllegalArgumentException("composite discovery strategy is not support");
+        }
+
+        CompositeDiscovery.Builder builder = CompositeDiscovery.Builder.anBuilder()
+            .withStrategy(strategy)
+            .withRefreshMs(compositeConfig.getRefreshMs())
+            .withRecheckMs(compositeConfig.getRecheckMs())
+            .withMaxThreads(compositeConfig.getMaxThreads());
+        for (CompositeSourceConfig sourceConfig : compositeConfig.getSources()) {
+            if (DiscoveryConfig.COMPOSITE_PROVIDER.equals(sourceConfig.getProvider())) {
+                throw new IllegalArgumentException("composite discovery cannot be nested");
+            }
+            Discovery source = providerDiscovery(sourceConfig.getProvider(), discoveryConfig);
+            // 组合中的来源不是容器管理的bean,生命周期需要在这里完成.
+            startDiscovery(source);
+            unmanagedDiscoveries.add(source);
+            builder.withSource(sourceConfig.getProvider(), source, sourceConfig.getTimeoutMs());
+        }
+        return builder.build();
+    }
 
+    private static void startDiscovery(Discovery discovery) {
+        if (discovery instanceof PersistentDiscovery) {
+            ((PersistentDiscovery) discovery).init();
+        } else if (discovery instanceof FileDiscover) {
+            ((FileDiscover) discovery).init();
+        } else if (discovery instanceof KubernetesServiceDiscover) {
+            ((KubernetesServiceDiscover) discovery).init();
+        } else if (discovery instanceof KubernetesEndpointSliceDiscover) {
+            ((KubernetesEndpointSliceDiscover) discovery).init();
+        }
+    }
+
+    private static void stopDiscovery(Discovery discovery) {
+        if (discovery instanceof PersistentDiscovery) {
+            ((PersistentDiscovery) discovery).destroy();
+        } else if (discovery instanceof FileDiscover) {
+            ((FileDiscover) discovery).destroy();
+        } else if (discovery instanceof KubernetesServiceDiscover) {
+            ((KubernetesServiceDiscover) discovery).destroy();
+        } else if (discovery instanceof KubernetesEndpointSliceDiscover) {
+            ((KubernetesEndpointSliceDiscover) discovery).destroy();
+        } else if (discovery instanceof DnsDiscover) {
+            ((DnsDiscover) discovery).destroy();
+        }
+    }
+
+    private Discovery staticDiscovery(StaticConfig staticConfig) {
+        if (staticConfig == null) {
+            throw new IllegalArgumentException("static discovery config is null");
+        }
+        String url = staticConfig.getUrl();
+        if (url != null && !url.isEmpty()) {
+            if (!url.toLowerCase().startsWith(StaticConfig.FILE_SCHEME)) {
+                throw new IllegalArgumentException("static discovery url only support file://");
+            }
+            // 文件的加载和监听在FileDiscover的init中完成.
+            return new FileDiscover(url.substring(StaticConfig.FILE_SCHEME.length()));
+        }
+
+        Map<String, List<Endpoint>> endpoints = new HashMap<>();
+        if (staticConfig.getServices() != null) {
+            for (Map.Entry<String, List<StaticEndpointConfig>> entry : staticConfig.getServices().entrySet()) {
+                List<Endpoint> serviceEndpoints = new ArrayList<>(entry.getValue().size());
+                for (StaticEndpointConfig endpointConfig : entry.getValue()) {
+                    Endpoint base = Endpoint.parse(endpointConfig.getUrl());
+                    serviceEndpoints.add(Endpoint.Builder.anBuilder()
+                        .withHost(base.getHost())
+                        .withPort(base.getPort())
+                        .withTls(base.isTls())
+                        .withWeight(endpointConfig.getWeight())
+                        .withZone(endpointConfig.getZone())
+                        .withNode(endpointConfig.getNode())
+                        .withMetadata(endpointConfig.getMetadata())
+                        .build());
+                }
+                endpoints.put(entry.getKey(), serviceEndpoints);
+            }
+        }
+        return new StaticDiscover(endpoints);
+    }
+
+    private Discovery dnsDiscovery(DnsConfig dnsConfig) {
+        if (dnsConfig == null) {
+            throw new IllegalArgumentException("dns discovery config is null");
+        }
+        DnsDiscover.RecordType recordType;
+        switch (dnsConfig.getType()) {
+            case DnsConfig.ADDRESS_TYPE:
+                recordType = DnsDiscover.RecordType.ADDRESS;
+                break;
+            case DnsConfig.SRV_TYPE:
+                recordType = DnsDiscover.RecordType.SRV;
+                break;
+            default:
+                throw new IllegalArgumentException("dns discovery type is not support");
+        }
+        return DnsDiscover.Builder.anBuilder()
+            .withResolver(new JndiDnsResolver(
+                dnsConfig.getTtlSeconds(), dnsConfig.getServers(), dnsConfig.getTimeoutMs(), 1))
+            .withRecordType(recordType)
+            .withNameTemplate(dnsConfig.getNameTemplate())
+            .withPort(dnsConfig.getPort())
+            .withTls(dnsConfig.getTls())
+            .withMinTtlMs(dnsConfig.getMinTtlMs())
+            .withRetryMs(dnsConfig.getRetryMs())
+            .withPrefetchRatio(dnsConfig.getPrefetchRatio())
+            .build();
+    }
+
+    /**
+     * 生成的客户端实际使用的服务发现,开启健康检查时会附加主动健康检查.
+     */
+    @Bean
+    @Primary
+    public Discovery discovery(
+        @Qualifier("sourceDiscovery") Discovery sourceDiscovery, ObjectProvider<HealthChecker> healthChecker) {
+        Discovery source = sourceDiscovery;
+        PersistenceConfig persistenceConfig = config.getDiscovery().getPersistence();
+        String persistencePath = persistenceConfig == null ? null : persistenceConfig.getPath();
+        if (persistencePath != null && !persistencePath.isEmpty()) {
+            // 持久化的结果在健康检查之前,重启后从文件得到的端点同样会被健康检查过滤.
+            source = new PersistentDiscovery(
+                sourceDiscovery,
+                Paths.get(persistencePath),
+                persistenceConfig.getMaxAgeMs(),
+                persistenceConfig.getWriteDelayMs(),
+                persistenceConfig.getFlushIntervalMs());
+            startDiscovery(source);
+            unmanagedDiscoveries.add(source);
+        }
+
+        HealthChecker checker = healthChecker.getIfAvailable();
+        if (checker != null) {
+            return new HealthCheckedDiscovery(source, checker);
+        } else {
+            return new ForwardingDiscovery(source);
+        }
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(
+        prefix = "vmsmia.component.rpc-restful.config.load-balancer.health-check",
+        value = "enabled",
+        havingValue = "true",
+        matchIfMissing = false)
+    public HealthChecker healthChecker(@Qualifier("sourceDiscovery") Discovery sourceDiscovery) {
+        HealthCheckConfig healthCheckConfig = healthCheckConfig();
+        HealthProbe probe;
+        switch (healthCheckConfig.getType()) {
+            case HealthCheckConfig.HTTP_TYPE: {
+                probe = new HttpHealthProbe(healthCheckConfig.getPath(), healthCheckConfig.getTimeoutMs());
+                break;
+            }
+            case HealthCheckConfig.TCP_TYPE: {
+                probe = new TcpHealthProbe(healthCheckConfig.getTimeoutMs());
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("health check type is not support");
+        }
+
+        return HealthChecker.Builder.anBuilder()
+            .withDiscovery(sourceDiscovery)
+            .withProbe(probe)
+            .withIntervalMs(healthCheckConfig.getIntervalMs())
+            .withJitterRatio(healthCheckConfig.getJitter())
+            .withMaxConcurrency(healthCheckConfig.getMaxConcurrency())
+            .withUnhealthyThreshold(healthCheckConfig.getUnhealthyThreshold())
+            .withHealthyThreshold(healthCheckConfig.getHealthyThreshold())
+            .build();
+    }
+
+    private HealthCheckConfig healthCheckConfig() {
+        LoadBalancerConfig loadBalancerConfig = config.getLoadBalancer();
+        if (loadBalancerConfig == null) {
+            return new HealthCheckConfig();
+        } else {
+            return loadBalancerConfig.getHealthCheck();
+        }
     }
 
     @PreDestroy
     public void destroy() {
+        for (Discovery discovery : unmanagedDiscoveries) {
+            stopDiscovery(discovery);
+        }
+        unmanagedDiscoveries.clear();
+
         if (works != null) {
             works.shutdown();
             try {
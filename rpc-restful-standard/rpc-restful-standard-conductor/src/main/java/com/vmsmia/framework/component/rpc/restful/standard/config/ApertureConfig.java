@@ -0,0 +1,36 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 14:55
+ * @since 1.8
+ */
+public class ApertureConfig {
+    private Integer clientIndex;
+    private Integer clientCount;
+    private Integer minAperture;
+
+    public Integer getClientIndex() {
+        return clientIndex == null ? 0 : clientIndex;
+    }
+
+    public void setClientIndex(Integer clientIndex) {
+        this.clientIndex = clientIndex;
+    }
+
+    public Integer getClientCount() {
+        return clientCount == null ? 1 : clientCount;
+    }
+
+    public void setClientCount(Integer clientCount) {
+        this.clientCount = clientCount;
+    }
+
+    public Integer getMinAperture() {
+        return minAperture == null ? 12 : minAperture;
+    }
+
+    public void setMinAperture(Integer minAperture) {
+        this.minAperture = minAperture;
+    }
+}
@@ -0,0 +1,68 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+import java.util.List;
+
+/**
+ * 组合服务发现配置.各来源使用discovery下对应提供者的配置.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 21:45
+ * @since 1.8
+ */
+public class CompositeConfig {
+
+    /**
+     * 使用第一个可用的来源.
+     */
+    public static final String FAILOVER_STRATEGY = "failover";
+    /**
+     * 合并所有来源.
+     */
+    public static final String MERGE_STRATEGY = "merge";
+
+    private String strategy;
+    private Long refreshMs;
+    private Long recheckMs;
+    private Integer maxThreads;
+    private List<CompositeSourceConfig> sources;
+
+    public String getStrategy() {
+        return strategy == null ? FAILOVER_STRATEGY : strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public Long getRefreshMs() {
+        return refreshMs == null ? 1000L : refreshMs;
+    }
+
+    public void setRefreshMs(Long refreshMs) {
+        this.refreshMs = refreshMs;
+    }
+
+    public Long getRecheckMs() {
+        return recheckMs == null ? 1000L * 30 : recheckMs;
+    }
+
+    public void setRecheckMs(Long recheckMs) {
+        this.recheckMs = recheckMs;
+    }
+
+    public Integer getMaxThreads() {
+        return maxThreads == null ? 16 : maxThreads;
+    }
+
+    public void setMaxThreads(Integer maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public List<CompositeSourceConfig> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<CompositeSourceConfig> sources) {
+        this.sources = sources;
+    }
+}
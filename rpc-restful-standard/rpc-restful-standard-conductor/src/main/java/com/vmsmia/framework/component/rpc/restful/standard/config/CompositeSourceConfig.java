@@ -0,0 +1,31 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+/**
+ * 组合服务发现中的一个来源.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 21:45
+ * @since 1.8
+ */
+public class CompositeSourceConfig {
+
+    private String provider;
+    private Long timeoutMs;
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    // 不大于0时在查询线程上直接调用,适合纯内存的来源.
+    public Long getTimeoutMs() {
+        return timeoutMs == null ? 500L : timeoutMs;
+    }
+
+    public void setTimeoutMs(Long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+}
@@ -9,9 +9,15 @@ public class DiscoveryConfig {
 
     public static final String KUBERNETES_PROVIDER = "kubernetes";
     public static final String STATIC_PROVIDER = "static";
+    public static final String DNS_PROVIDER = "dns";
+    public static final String COMPOSITE_PROVIDER = "composite";
 
     private String provider;
     private KubernetesConfig kubernetes;
+    private StaticConfig staticConfig;
+    private DnsConfig dns;
+    private CompositeConfig composite;
+    private PersistenceConfig persistence;
 
     public String getProvider() {
         return provider;
@@ -28,4 +34,37 @@ public class DiscoveryConfig {
     public void setKubernetes(KubernetesConfig kubernetes) {
         this.kubernetes = kubernetes;
     }
+
+    // 对应配置中的static.
+    public StaticConfig getStatic() {
+        return staticConfig;
+    }
+
+    public void setStatic(StaticConfig staticConfig) {
+        this.staticConfig = staticConfig;
+    }
+
+    public DnsConfig getDns() {
+        return dns;
+    }
+
+    public void setDns(DnsConfig dns) {
+        this.dns = dns;
+    }
+
+    public CompositeConfig getComposite() {
+        return composite;
+    }
+
+    public void setComposite(CompositeConfig composite) {
+        this.composite = composite;
+    }
+
+    public PersistenceConfig getPersistence() {
+        return persistence;
+    }
+
+    public void setPersistence(PersistenceConfig persistence) {
+        this.persistence = persistence;
+    }
 }
@@ -0,0 +1,114 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+import java.util.List;
+
+/**
+ * DNS服务发现配置.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 21:00
+ * @since 1.8
+ */
+public class DnsConfig {
+
+    /**
+     * 解析A和AAAA记录,使用配置的端口.
+     */
+    public static final String ADDRESS_TYPE = "address";
+    /**
+     * 解析SRV记录,使用记录中的端口和权重.
+     */
+    public static final String SRV_TYPE = "srv";
+
+    private String type;
+    private String nameTemplate;
+    private Integer port;
+    private Boolean tls;
+    private List<String> servers;
+    private Integer ttlSeconds;
+    private Long minTtlMs;
+    private Long retryMs;
+    private Double prefetchRatio;
+    private Integer timeoutMs;
+
+    public String getType() {
+        return type == null ? ADDRESS_TYPE : type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getNameTemplate() {
+        return nameTemplate == null ? "%s" : nameTemplate;
+    }
+
+    public void setNameTemplate(String nameTemplate) {
+        this.nameTemplate = nameTemplate;
+    }
+
+    public Integer getPort() {
+        return port == null ? 80 : port;
+    }
+
+    public void setPort(Integer port) {
+        this.port = port;
+    }
+
+    public Boolean getTls() {
+        return tls == null ? Boolean.FALSE : tls;
+    }
+
+    public void setTls(Boolean tls) {
+        this.tls = tls;
+    }
+
+    public List<String> getServers() {
+        return servers;
+    }
+
+    public void setServers(List<String> servers) {
+        this.servers = servers;
+    }
+
+    // JNDI不提供记录的TTL,以此作为所有记录的TTL.
+    public Integer getTtlSeconds() {
+        return ttlSeconds == null ? 30 : ttlSeconds;
+    }
+
+    public void setTtlSeconds(Integer ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public Long getMinTtlMs() {
+        return minTtlMs == null ? 1000L : minTtlMs;
+    }
+
+    public void setMinTtlMs(Long minTtlMs) {
+        this.minTtlMs = minTtlMs;
+    }
+
+    public Long getRetryMs() {
+        return retryMs == null ? 1000L : retryMs;
+    }
+
+    public void setRetryMs(Long retryMs) {
+        this.retryMs = retryMs;
+    }
+
+    public Double getPrefetchRatio() {
+        return prefetchRatio == null ? 0.8 : prefetchRatio;
+    }
+
+    public void setPrefetchRatio(Double prefetchRatio) {
+        this.prefetchRatio = prefetchRatio;
+    }
+
+    public Integer getTimeoutMs() {
+        return timeoutMs == null ? 1000 : timeoutMs;
+    }
+
+    public void setTimeoutMs(Integer timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+}
@@ -0,0 +1,94 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 11:40
+ * @since 1.8
+ */
+public class HealthCheckConfig {
+
+    public static final String HTTP_TYPE = "http";
+    public static final String TCP_TYPE = "tcp";
+
+    private Boolean enabled;
+    private String type;
+    private String path;
+    private Integer intervalMs;
+    private Integer timeoutMs;
+    private Double jitter;
+    private Integer maxConcurrency;
+    private Integer unhealthyThreshold;
+    private Integer healthyThreshold;
+
+    public Boolean getEnabled() {
+        return enabled == null ? Boolean.FALSE : enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getType() {
+        return type == null ? HTTP_TYPE : type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getPath() {
+        return path == null ? "/health" : path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getIntervalMs() {
+        return intervalMs == null ? 5000 : intervalMs;
+    }
+
+    public void setIntervalMs(Integer intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    public Integer getTimeoutMs() {
+        return timeoutMs == null ? 1000 : timeoutMs;
+    }
+
+    public void setTimeoutMs(Integer timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Double getJitter() {
+        return jitter == null ? 0.2D : jitter;
+    }
+
+    public void setJitter(Double jitter) {
+        this.jitter = jitter;
+    }
+
+    public Integer getMaxConcurrency() {
+        return maxConcurrency == null ? 2 : maxConcurrency;
+    }
+
+    public void setMaxConcurrency(Integer maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public Integer getUnhealthyThreshold() {
+        return unhealthyThreshold == null ? 2 : unhealthyThreshold;
+    }
+
+    public void setUnhealthyThreshold(Integer unhealthyThreshold) {
+        this.unhealthyThreshold = unhealthyThreshold;
+    }
+
+    public Integer getHealthyThreshold() {
+        return healthyThreshold == null ? 1 : healthyThreshold;
+    }
+
+    public void setHealthyThreshold(Integer healthyThreshold) {
+        this.healthyThreshold = healthyThreshold;
+    }
+}
@@ -6,8 +6,28 @@ package com.vmsmia.framework.component.rpc.restful.standard.config;
  * @since 1.8
  */
 public class KubernetesConfig {
+
+    /**
+     * 以Service的ClusterIP作为唯一端点,由kube-proxy负载均衡.
+     */
+    public static final String SERVICE_MODE = "service";
+    /**
+     * 以EndpointSlice中每个就绪Pod的IP作为端点,由客户端负载均衡.
+     */
+    public static final String ENDPOINT_SLICE_MODE = "endpoint-slice";
+
+    private String mode;
     private Boolean allNamespace;
     private Integer effectiveTimeMs;
+    private Long maxStaleMs;
+
+    public String getMode() {
+        return mode == null ? SERVICE_MODE : mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
 
     public Boolean getAllNamespace() {
         return allNamespace == null ? Boolean.FALSE : allNamespace;
@@ -24,4 +44,12 @@ public class KubernetesConfig {
     public void setEffectiveTimeMs(Integer effectiveTimeMs) {
         this.effectiveTimeMs = effectiveTimeMs;
     }
+
+    public Long getMaxStaleMs() {
+        return maxStaleMs == null ? getEffectiveTimeMs() * 10L : maxStaleMs;
+    }
+
+    public void setMaxStaleMs(Long maxStaleMs) {
+        this.maxStaleMs = maxStaleMs;
+    }
 }
@@ -7,6 +7,10 @@ package com.vmsmia.framework.component.rpc.restful.standard.config;
  */
 public class LoadBalancerConfig {
     private String provider;
+    private HealthCheckConfig healthCheck;
+    private SlowStartConfig slowStart;
+    private ApertureConfig aperture;
+    private LocalityConfig locality;
 
     public String getProvider() {
         return provider;
@@ -15,4 +19,39 @@ public class LoadBalancerConfig {
     public void setProvider(String provider) {
         this.provider = provider;
     }
+
+    public HealthCheckConfig getHealthCheck() {
+        return healthCheck == null ? new HealthCheckConfig() : healthCheck;
+    }
+
+    public void setHealthCheck(HealthCheckConfig healthCheck) {
+        this.healthCheck = healthCheck;
+    }
+
+    public SlowStartConfig getSlowStart() {
+        return slowStart == null ? new SlowStartConfig() : slowStart;
+    }
+
+    public void setSlowStart(SlowStartConfig slowStart) {
+        this.slowStart = slowStart;
+    }
+
+    public ApertureConfig getAperture() {
+        return aperture == null ? new ApertureConfig() : aperture;
+    }
+
+    public void setAperture(ApertureConfig aperture) {
+        this.aperture = aperture;
+    }
+
+    /**
+     * 可能为null,表示使用环境变量中的位置.
+     */
+    public LocalityConfig getLocality() {
+        return locality;
+    }
+
+    public void setLocality(LocalityConfig locality) {
+        this.locality = locality;
+    }
 }
@@ -0,0 +1,45 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 16:10
+ * @since 1.8
+ */
+public class LocalityConfig {
+    private String zone;
+    private String node;
+    private Integer minLocalEndpoints;
+    private Double overprovisioning;
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public Integer getMinLocalEndpoints() {
+        return minLocalEndpoints == null ? 1 : minLocalEndpoints;
+    }
+
+    public void setMinLocalEndpoints(Integer minLocalEndpoints) {
+        this.minLocalEndpoints = minLocalEndpoints;
+    }
+
+    public Double getOverprovisioning() {
+        return overprovisioning == null ? 1.4D : overprovisioning;
+    }
+
+    public void setOverprovisioning(Double overprovisioning) {
+        this.overprovisioning = overprovisioning;
+    }
+}
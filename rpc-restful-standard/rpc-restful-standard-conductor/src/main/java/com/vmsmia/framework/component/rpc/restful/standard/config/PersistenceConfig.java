@@ -0,0 +1,48 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+/**
+ * 服务发现结果的持久化配置.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:45
+ * @since 1.8
+ */
+public class PersistenceConfig {
+
+    private String path;
+    private Long maxAgeMs;
+    private Long writeDelayMs;
+    private Long flushIntervalMs;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Long getMaxAgeMs() {
+        return maxAgeMs == null ? 1000L * 60 * 60 * 24 : maxAgeMs;
+    }
+
+    public void setMaxAgeMs(Long maxAgeMs) {
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    public Long getWriteDelayMs() {
+        return writeDelayMs == null ? 1000L : writeDelayMs;
+    }
+
+    public void setWriteDelayMs(Long writeDelayMs) {
+        this.writeDelayMs = writeDelayMs;
+    }
+
+    public Long getFlushIntervalMs() {
+        return flushIntervalMs == null ? 1000L * 60 : flushIntervalMs;
+    }
+
+    public void setFlushIntervalMs(Long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+    }
+}
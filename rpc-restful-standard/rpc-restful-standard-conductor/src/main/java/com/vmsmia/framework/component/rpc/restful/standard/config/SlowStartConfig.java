@@ -0,0 +1,36 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 13:40
+ * @since 1.8
+ */
+public class SlowStartConfig {
+    private Long windowMs;
+    private Double aggression;
+    private Double minWeight;
+
+    public Long getWindowMs() {
+        return windowMs == null ? 0L : windowMs;
+    }
+
+    public void setWindowMs(Long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public Double getAggression() {
+        return aggression == null ? 1.0D : aggression;
+    }
+
+    public void setAggression(Double aggression) {
+        this.aggression = aggression;
+    }
+
+    public Double getMinWeight() {
+        return minWeight == null ? 0.1D : minWeight;
+    }
+
+    public void setMinWeight(Double minWeight) {
+        this.minWeight = minWeight;
+    }
+}
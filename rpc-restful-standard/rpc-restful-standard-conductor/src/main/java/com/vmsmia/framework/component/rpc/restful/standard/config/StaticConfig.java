@@ -0,0 +1,35 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 静态服务发现配置.url指向一个定义文件,services直接在配置中定义端点,两者同时存在时以url为准.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:05
+ * @since 1.8
+ */
+public class StaticConfig {
+
+    public static final String FILE_SCHEME = "file://";
+
+    private String url;
+    private Map<String, List<StaticEndpointConfig>> services;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Map<String, List<StaticEndpointConfig>> getServices() {
+        return services;
+    }
+
+    public void setServices(Map<String, List<StaticEndpointConfig>> services) {
+        this.services = services;
+    }
+}
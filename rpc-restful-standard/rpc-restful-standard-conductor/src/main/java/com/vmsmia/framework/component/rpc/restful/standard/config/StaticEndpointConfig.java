@@ -0,0 +1,56 @@
+package com.vmsmia.framework.component.rpc.restful.standard.config;
+
+import java.util.Map;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 19:05
+ * @since 1.8
+ */
+public class StaticEndpointConfig {
+    private String url;
+    private Float weight;
+    private String zone;
+    private String node;
+    private Map<String, String> metadata;
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Float getWeight() {
+        return weight == null ? 0.0F : weight;
+    }
+
+    public void setWeight(Float weight) {
+        this.weight = weight;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public Map<String, String> getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(Map<String, String> metadata) {
+        this.metadata = metadata;
+    }
+}
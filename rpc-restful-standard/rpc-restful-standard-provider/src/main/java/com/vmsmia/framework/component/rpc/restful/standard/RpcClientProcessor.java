@@ -1,6 +1,7 @@
 package com.vmsmia.framework.component.rpc.restful.standard;
 
 import com.google.auto.service.AutoService;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
@@ -8,21 +9,27 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.Body;
 import com.vmsmia.framework.component.rpc.restful.discovery.Discovery;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancer;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerFactory;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancers;
+import com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodecs;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.MethodGenerationStrategy;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.MethodGenerationStrategyFactory;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.AnnotationDefinition;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.AnnotationHelper;
+import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.JsonCodecGenerator;
+import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.TypeFields;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -46,6 +53,7 @@ import javax.lang.model.element.Modifier;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
@@ -74,6 +82,8 @@ import okhttp3.OkHttpClient;
  * <ul>
  *     <li>{@code useFixedClassName}: 决定生成的类名是否固定.若为true，则遵循简单命名规则{@code {接口名}Impl}；
  *     若为false，则生成的类名会加上目标接口包名去除"."后的字符串做为后缀，以确保唯一性.</li>
+ *     <li>{@code bodyFormat}: 没有指定序列化器的 {@code @Body} 使用的格式,可选json, smile 和 cbor.</li>
+ *     <li>{@code generateCodecs}: 是否为请求体和返回值的类型生成流式的JSON编解码器,默认为false.</li>
  * </ul>
  *
  * <h2>类成员简介</h2>
@@ -131,6 +141,7 @@ public class RpcClientProcessor extends AbstractProcessor {
     private Types types;
     private Elements elements;
     private Configuration configuration;
+    private JsonCodecGenerator codecGenerator;
     private String version;
     private String jdkVersion;
 
@@ -142,6 +153,15 @@ public class RpcClientProcessor extends AbstractProcessor {
         this.messager = processingEnv.getMessager();
         this.types = processingEnv.getTypeUtils();
         this.configuration = new Configuration(processingEnv.getOptions());
+        if (!configuration.isSupportedBodyFormat()) {
+            // 不能静默回退到json,否则请求的格式和使用者的预期不一致.
+            messager.printMessage(
+                Diagnostic.Kind.ERROR,
+                String.format("Unknown body format %s, the supported formats are %s, %s and %s.",
+                    configuration.getBodyFormat(), Configuration.BODY_FORMAT_JSON,
+                    Configuration.BODY_FORMAT_SMILE, Configuration.BODY_FORMAT_CBOR));
+        }
+        this.codecGenerator = new JsonCodecGenerator(types, elements, GENERATION_PACKAGE);
         this.version = readVersion();
         this.jdkVersion = readJdkVersion();
     }
@@ -176,6 +196,8 @@ public class RpcClientProcessor extends AbstractProcessor {
             }
         }
 
+        writeCodecs();
+
         return true;
     }
 
@@ -186,11 +208,13 @@ public class RpcClientProcessor extends AbstractProcessor {
      * @return 实现类定义.
      */
     private TypeSpec generateImpl(TypeElement interfaceEl) {
+        // 方法需要的类型常量.
+        TypeFields typeFields = new TypeFields(types);
         // 得到实现目标接口需要实现的所有方法.
         List<MethodSpec> methodSpecs =
             collectInterfaceMethods(interfaceEl)
                 .stream()
-                .map(methodElement -> generateMethodImpl(interfaceEl, methodElement))
+                .map(methodElement -> generateMethodImpl(interfaceEl, methodElement, typeFields))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
@@ -204,14 +228,20 @@ public class RpcClientProcessor extends AbstractProcessor {
         boolean discover = Discovery.isDiscover(value.get().toString());
 
         String implName = buildImplName(interfaceEl);
+        CodeBlock codecRegistrations = generateCodecRegistrations(interfaceEl);
         TypeSpec.Builder builder = TypeSpec.classBuilder(implName)
             .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
             .addSuperinterface(TypeName.get(interfaceEl.asType()))
             .addSuperinterface(TypeName.get(Generation.class))
             .addField(generateOkHttpClientField())
+            .addFields(typeFields.getFields())
             .addMethods(methodSpecs)
             .addJavadoc(buildClassJavaDoc());
 
+        if (!codecRegistrations.isEmpty()) {
+            builder.addStaticBlock(codecRegistrations);
+        }
+
         // RestfulClient 注解的值必须会有值.
         if (discover) {
             builder
@@ -223,6 +253,50 @@ public class RpcClientProcessor extends AbstractProcessor {
         return builder.build();
     }
 
+    /*
+    为方法的返回值和 @Body 参数的类型生成编解码器,在实现类的静态初始化中注册.
+    <code>
+      static {
+        JsonCodecs.register(Order.class, com_vmsmia_Order_JsonCodec.INSTANCE);
+      }
+    </code>
+     */
+    private CodeBlock generateCodecRegistrations(TypeElement interfaceEl) {
+        CodeBlock.Builder builder = CodeBlock.builder();
+        if (!configuration.isGenerateCodecs()) {
+            return builder.build();
+        }
+
+        Map<TypeName, ClassName> registrations = new LinkedHashMap<>();
+        for (ExecutableElement methodElement : collectInterfaceMethods(interfaceEl)) {
+            codecGenerator.resolve(methodElement.getReturnType(), registrations);
+            for (VariableElement parameter : methodElement.getParameters()) {
+                if (parameter.getAnnotation(Body.class) != null) {
+                    codecGenerator.resolve(parameter.asType(), registrations);
+                }
+            }
+        }
+
+        registrations.forEach((type, codec) ->
+            builder.addStatement("$T.register($T.class, $T.$L)",
+                JsonCodecs.class, type, codec, JsonCodecGenerator.INSTANCE_FIELD_NAME));
+        return builder.build();
+    }
+
+    // 写出新生成的编解码器.
+    private void writeCodecs() {
+        for (JavaFile codecFile : codecGenerator.drainPending()) {
+            try {
+                codecFile.writeTo(filer);
+            } catch (IOException e) {
+                messager.printMessage(
+                    Diagnostic.Kind.ERROR,
+                    String.format("Cannot generate codec %s because of %s.",
+                        codecFile.typeSpec.name, e.getMessage()));
+            }
+        }
+    }
+
     private CodeBlock buildClassJavaDoc() {
         LocalDateTime generationTime = LocalDateTime.now();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -365,9 +439,10 @@ public class RpcClientProcessor extends AbstractProcessor {
     }
 
     // 生成实际方法定义,有可能无法生成.
-    private MethodSpec generateMethodImpl(TypeElement classElement, ExecutableElement enclosingElement) {
+    private MethodSpec generateMethodImpl(
+        TypeElement classElement, ExecutableElement enclosingElement, TypeFields typeFields) {
         MethodGenerationStrategy strategy = MethodGenerationStrategyFactory.getStrategy(enclosingElement);
-        return strategy.generate(classElement, enclosingElement, processingEnv);
+        return strategy.generate(classElement, enclosingElement, processingEnv, typeFields);
     }
 
     /**
@@ -383,6 +458,24 @@ public class RpcClientProcessor extends AbstractProcessor {
          */
         public static final String OPTIONS_USE_FIXED_CLASS_NAME = "useFixedClassName";
 
+        /**
+         * 值可选json, smile 和 cbor,不设置默认为json.<br>
+         * 没有指定序列化器和媒体类型的 @Body 使用此格式编码,
+         * 非json时请求同时带上优先接受此格式的 Accept 头,由服务端选择响应的格式.
+         */
+        public static final String OPTIONS_BODY_FORMAT = "bodyFormat";
+
+        public static final String BODY_FORMAT_JSON = "json";
+        public static final String BODY_FORMAT_SMILE = "smile";
+        public static final String BODY_FORMAT_CBOR = "cbor";
+
+        /**
+         * 值可选true和false,不设置默认为false.<br>
+         * true: 为方法的返回值和 @Body 参数中的简单 Java Bean 生成流式的JSON编解码器,读写不再经过 databind 的反射.
+         * 不满足条件的类型继续由 databind 处理.
+         */
+        public static final String OPTIONS_GENERATE_CODECS = "generateCodecs";
+
         private final Map<String, String> options;
 
         public Configuration(Map<String, String> options) {
@@ -400,6 +493,40 @@ public class RpcClientProcessor extends AbstractProcessor {
                 return Boolean.parseBoolean(useFixedClassName);
             }
         }
+
+        /**
+         * 是否生成编解码器.
+         */
+        public boolean isGenerateCodecs() {
+            String generateCodecs = options.get(OPTIONS_GENERATE_CODECS);
+            if (generateCodecs == null) {
+                return false;
+            } else {
+                return Boolean.parseBoolean(generateCodecs);
+            }
+        }
+
+        /**
+         * 默认的请求体格式.
+         */
+        public String getBodyFormat() {
+            String bodyFormat = options.get(OPTIONS_BODY_FORMAT);
+            if (bodyFormat == null || bodyFormat.trim().isEmpty()) {
+                return BODY_FORMAT_JSON;
+            } else {
+                return bodyFormat.trim().toLowerCase(Locale.ROOT);
+            }
+        }
+
+        /**
+         * 配置的请求体格式是否是支持的格式.
+         */
+        public boolean isSupportedBodyFormat() {
+            String bodyFormat = getBodyFormat();
+            return BODY_FORMAT_JSON.equals(bodyFormat)
+                || BODY_FORMAT_SMILE.equals(bodyFormat)
+                || BODY_FORMAT_CBOR.equals(bodyFormat);
+        }
     }
 
     private String readVersion() {
@@ -0,0 +1,33 @@
+package com.vmsmia.framework.component.rpc.restful.standard.client;
+
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSource;
+import java.io.IOException;
+import java.io.InputStream;
+import okio.BufferedSource;
+
+/**
+ * 以 OkHttp 响应的 BufferedSource 作为反序列化的来源.
+ * 来源的关闭由响应负责.
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/20 02:10
+ * @since 1.8
+ */
+final class BufferedSourceDecodeSource implements DecodeSource {
+
+    private final BufferedSource source;
+
+    BufferedSourceDecodeSource(BufferedSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return source.inputStream();
+    }
+
+    @Override
+    public byte[] readAll() throws IOException {
+        return source.readByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package com.vmsmia.framework.component.rpc.restful.standard.client;
+
+import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import okhttp3.HttpUrl;
+
+/**
+ * 端点对应的请求URL前缀(协议,主机和端口)缓存.
+ *
+ * <p>
+ * 前缀只在端点第一次被请求时构造和校验一次,之后的请求在它的基础上追加路径和查询参数,
+ * 不再格式化和重新解析完整的URL字符串.端点的哈希是预先计算的,并且服务发现的快照在版本之间保持端点实例不变,
+ * 所以查找通常只是一次哈希读取和一次引用比较.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:00
+ * @since 1.8
+ */
+final class EndpointUrls {
+
+    private static final int MAX_CACHE_SIZE = 1024 * 4;
+    private static final ConcurrentMap<Endpoint, HttpUrl> CACHE = new ConcurrentHashMap<>();
+
+    private EndpointUrls() {
+    }
+
+    /**
+     * 获取端点的URL前缀,路径为"/".
+     *
+     * @param endpoint 端点.
+     * @return URL前缀.
+     */
+    static HttpUrl base(Endpoint endpoint) {
+        HttpUrl base = CACHE.get(endpoint);
+        if (base == null) {
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                // 端点持续变化时淘汰全部,重新构造的代价很小.
+                CACHE.clear();
+            }
+            base = CACHE.computeIfAbsent(endpoint, EndpointUrls::build);
+        }
+        return base;
+    }
+
+    private static HttpUrl build(Endpoint endpoint) {
+        return new HttpUrl.Builder()
+            .scheme(endpoint.isTls() ? "https" : "http")
+            .host(endpoint.getHost())
+            .port(endpoint.getPort())
+            .build();
+    }
+}
@@ -3,13 +3,21 @@ package com.vmsmia.framework.component.rpc.restful.standard.client;
 import com.vmsmia.framework.component.rpc.restful.MediaTypes;
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
 import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeOptions;
+import com.vmsmia.framework.component.rpc.restful.serializer.DecodeSource;
+import com.vmsmia.framework.component.rpc.restful.serializer.PooledBuffer;
+import com.vmsmia.framework.component.rpc.restful.serializer.PrimitiveDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.ResolvedType;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingBody;
 import com.vmsmia.framework.component.rpc.restful.stream.StreamResponseStatusException;
 import com.vmsmia.framework.component.rpc.restful.stream.StreamSubscriber;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Type;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.List;
@@ -23,6 +31,7 @@ import java.util.stream.StreamSupport;
 import kotlin.Pair;
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -45,6 +54,7 @@ import org.jetbrains.annotations.Nullable;
  */
 public class HttpClient {
     private static final String DEFAULT_BODY_MEDIA_TYPE = "application/json charset=utf-8";
+    private static final String CONTENT_TYPE_HEAD_NAME = "Content-Type";
 
     public static final char PATH_VARIABLE_PREFIX = '{';
     public static final char PATH_VARIABLE_SUFFIX = '}';
@@ -58,6 +68,7 @@ public class HttpClient {
     private Object body;
     private String bodyMediaType;
     private BytesDeserializer returnDeserializer;
+    private Path downloadTarget;
     private long readTimeoutMs = 0;
     private long connectTimeoutMs = 0;
     private long writeTimeoutMs = 0;
@@ -84,6 +95,18 @@ public class HttpClient {
      * @throws IOException 如果发生I/O错误
      */
     public <T> T get(Class<T> expectType) throws IOException {
+        return get((Type) expectType);
+    }
+
+    /**
+     * 执行HTTP GET请求.
+     *
+     * @param expectType 期望返回的对象类型,可以带有泛型信息,例如 List&lt;Order&gt;
+     * @param <T>        泛型参数，与expectType相对应的类型
+     * @return 服务器响应体被解析为expectType指定类型的对象
+     * @throws IOException 如果发生I/O错误
+     */
+    public <T> T get(Type expectType) throws IOException {
         Request req = doBuildRequestBuilder().get().build();
 
         try (Response res = call(req)) {
@@ -100,6 +123,18 @@ public class HttpClient {
      * @throws IOException 如果发生I/O错误
      */
     public <T> T delete(Class<T> expectType) throws IOException {
+        return delete((Type) expectType);
+    }
+
+    /**
+     * 执行HTTP DELETE请求.
+     *
+     * @param expectType 期望返回的对象类型,可以带有泛型信息,例如 List&lt;Order&gt;
+     * @param <T>        泛型参数，与expectType相对应的类型
+     * @return 服务器响应体被解析为expectType指定类型的对象
+     * @throws IOException 如果发生I/O错误
+     */
+    public <T> T delete(Type expectType) throws IOException {
         Request req = doBuildRequestBuilder().delete(generationBody()).build();
 
         try (Response res = call(req)) {
@@ -134,6 +169,18 @@ public class HttpClient {
      * @throws IOException 如果发生I/O错误
      */
     public <T> T post(Class<T> expectType) throws IOException {
+        return post((Type) expectType);
+    }
+
+    /**
+     * 执行HTTP POST请求.
+     *
+     * @param expectType 期望返回的对象类型,可以带有泛型信息,例如 List&lt;Order&gt;
+     * @param <T>        泛型参数，与expectType相对应的类型
+     * @return 服务器响应体被解析为expectType指定类型的对象
+     * @throws IOException 如果发生I/O错误
+     */
+    public <T> T post(Type expectType) throws IOException {
         Request req = doBuildRequestBuilder().post(generationBody()).build();
         try (Response res = call(req)) {
             return parseBody(res, expectType);
@@ -149,6 +196,18 @@ public class HttpClient {
      * @throws IOException 如果发生I/O错误
      */
     public <T> T put(Class<T> expectType) throws IOException {
+        return put((Type) expectType);
+    }
+
+    /**
+     * 执行HTTP PUT请求.
+     *
+     * @param expectType 期望返回的对象类型,可以带有泛型信息,例如 List&lt;Order&gt;
+     * @param <T>        泛型参数，与expectType相对应的类型
+     * @return 服务器响应体被解析为expectType指定类型的对象
+     * @throws IOException 如果发生I/O错误
+     */
+    public <T> T put(Type expectType) throws IOException {
         Request req = doBuildRequestBuilder().put(generationBody()).build();
         try (Response res = call(req)) {
             return parseBody(res, expectType);
@@ -164,31 +223,213 @@ public class HttpClient {
      * @throws IOException 如果发生I/O错误
      */
     public <T> T patch(Class<T> expectType) throws IOException {
+        return patch((Type) expectType);
+    }
+
+    /**
+     * 执行HTTP PATCH请求.
+     *
+     * @param expectType 期望返回的对象类型,可以带有泛型信息,例如 List&lt;Order&gt;
+     * @param <T>        泛型参数，与expectType相对应的类型
+     * @return 服务器响应体被解析为expectType指定类型的对象
+     * @throws IOException 如果发生I/O错误
+     */
+    public <T> T patch(Type expectType) throws IOException {
         Request req = doBuildRequestBuilder().patch(generationBody()).build();
         try (Response res = call(req)) {
             return parseBody(res, expectType);
         }
     }
 
-    // 解析响应的body.
-    private <T> T parseBody(Response res, Class<T> expectType) throws IOException {
+    /*
+    基础类型的返回值.响应是文本并且没有指定解码器时直接从响应的字节解析,不经过泛型的返回值,避免装箱.
+    其他情况和 get(Type) 等方法相同的方式解析后拆箱.
+     */
+
+    /**
+     * 执行请求,响应解析为 int .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public int executeAsInt(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, int.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseInt(data);
+            }
+            return this.<Integer>parseBody(res, int.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 long .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public long executeAsLong(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, long.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseLong(data);
+            }
+            return this.<Long>parseBody(res, long.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 boolean .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public boolean executeAsBoolean(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, boolean.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseBoolean(data);
+            }
+            return this.<Boolean>parseBody(res, boolean.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 double .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public double executeAsDouble(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, double.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseDouble(data);
+            }
+            return this.<Double>parseBody(res, double.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 float .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public float executeAsFloat(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, float.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseFloat(data);
+            }
+            return this.<Float>parseBody(res, float.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 short .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public short executeAsShort(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, short.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseShort(data);
+            }
+            return this.<Short>parseBody(res, short.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 byte .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public byte executeAsByte(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, byte.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseByte(data);
+            }
+            return this.<Byte>parseBody(res, byte.class);
+        }
+    }
+
+    /**
+     * 执行请求,响应解析为 char .
+     *
+     * @param method HTTP方法,例如 GET .
+     * @return 解析结果.
+     * @throws IOException 如果发生I/O错误
+     */
+    public char executeAsChar(String method) throws IOException {
+        try (Response res = call(buildRequest(method))) {
+            byte[] data = readPrimitiveBody(res, char.class);
+            if (data != null) {
+                return PrimitiveDeserializer.parseChar(data);
+            }
+            return this.<Character>parseBody(res, char.class);
+        }
+    }
+
+    // 按HTTP方法构造请求, GET 和 HEAD 没有请求体.
+    private Request buildRequest(String method) {
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return doBuildRequestBuilder().method(method, null).build();
+        } else {
+            return doBuildRequestBuilder().method(method, generationBody()).build();
+        }
+    }
+
+    // 响应能够由 PrimitiveDeserializer 解析时读取全部的字节,否则返回null,响应体保持未读取.
+    private byte[] readPrimitiveBody(Response res, Class<?> type) throws IOException {
+        String contentType = res.header(CONTENT_TYPE_HEAD_NAME);
+        if (returnDeserializer != null || contentType == null) {
+            return null;
+        }
+        com.vmsmia.framework.component.rpc.restful.MediaType mediaType =
+            com.vmsmia.framework.component.rpc.restful.MediaType.create(contentType);
+        if (MediaTypes.getSmartDeserializer(mediaType, type).orElse(null) != PrimitiveDeserializer.getInstance()) {
+            return null;
+        }
+        ResponseBody responseBody = res.body();
+        return responseBody == null ? null : responseBody.bytes();
+    }
+
+    // 解析响应的body.直接从响应的流解码,能够以流的方式解码的格式不需要先读取全部的数据.
+    private <T> T parseBody(Response res, Type expectType) throws IOException {
         try (ResponseBody responseBody = res.body()) {
             if (responseBody != null) {
-                byte[] data = responseBody.bytes();
+                ResolvedType<T> type = ResolvedType.of(expectType);
+                DecodeSource source = new BufferedSourceDecodeSource(responseBody.source());
                 if (returnDeserializer != null) {
-                    return returnDeserializer.deserialize(data, expectType);
+                    // 没有Content-Type头时为默认的媒体类型.
+                    com.vmsmia.framework.component.rpc.restful.MediaType mediaType =
+                        com.vmsmia.framework.component.rpc.restful.MediaType.create(
+                            res.header(CONTENT_TYPE_HEAD_NAME));
+                    return returnDeserializer.deserialize(source, type, decodeOptions(mediaType));
                 } else {
-                    // 没有指定,根据MediaTypes类型推算.
+                    // 没有指定,根据MediaTypes类型推算.直接使用原始的头,不经过OkHttp的解析和格式化.
                     com.vmsmia.framework.component.rpc.restful.MediaType mediaType =
                         com.vmsmia.framework.component.rpc.restful.MediaType.create(
-                            Objects.requireNonNull(responseBody.contentType()).toString());
+                            Objects.requireNonNull(res.header(CONTENT_TYPE_HEAD_NAME)));
                     BytesDeserializer deserializer =
-                        MediaTypes.getSmartDeserializer(mediaType, expectType).orElse(null);
+                        MediaTypes.getSmartDeserializer(mediaType, type.getRawClass()).orElse(null);
                     if (deserializer == null) {
                         throw new IllegalArgumentException(
                             String.format("The decoder for the %s media type cannot be inferred.", mediaType));
                     }
-                    return deserializer.deserialize(data, expectType);
+                    return deserializer.deserialize(source, type, decodeOptions(mediaType));
                 }
             } else {
                 return null;
@@ -196,6 +437,18 @@ public class HttpClient {
         }
     }
 
+    // 媒体类型中的编码,以及响应写入文件时的目标文件.
+    private DecodeOptions decodeOptions(com.vmsmia.framework.component.rpc.restful.MediaType mediaType) {
+        DecodeOptions options = DecodeOptions.of(mediaType);
+        if (downloadTarget == null) {
+            return options;
+        }
+        return DecodeOptions.Builder.anBuilder()
+            .withCharset(options.getCharset())
+            .withTarget(downloadTarget)
+            .build();
+    }
+
     private Request.Builder doBuildRequestBuilder() {
         Request.Builder builder = new Request.Builder().url(generationUrl());
         headers.forEach(entry -> builder.addHeader(entry.getKey(), entry.getValue()));
@@ -211,7 +464,19 @@ public class HttpClient {
     }
 
     private void call(Request req, Callback callback) {
-        buildSubOkHttpClient().newCall(req).enqueue(callback);
+        buildSubOkHttpClient().newCall(req).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                releaseBody();
+                callback.onFailure(call, e);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) throws IOException {
+                releaseBody();
+                callback.onResponse(call, response);
+            }
+        });
     }
 
     private Response call(Request req) throws IOException {
@@ -230,6 +495,15 @@ public class HttpClient {
                 res.close();
             }
             throw ex;
+        } finally {
+            releaseBody();
+        }
+    }
+
+    // 得到响应或者失败时请求体已经写出,包括重试.缓冲归还后不能再次发送.
+    private void releaseBody() {
+        if (body instanceof PooledBuffer) {
+            ((PooledBuffer) body).release();
         }
     }
 
@@ -250,82 +524,73 @@ public class HttpClient {
                     bufferedSink.write((byte[]) body);
                 } else if (body instanceof String) {
                     bufferedSink.writeString((String) body, StandardCharsets.UTF_8);
+                } else if (body instanceof StreamingBody) {
+                    // 直接写入请求中,缓冲中的内容逐段写出,不再合并为字节数组.
+                    ((StreamingBody) body).writeTo(bufferedSink.outputStream());
                 } else {
                     throw new IllegalArgumentException("Unsupported body type: " + body.getClass());
                 }
             }
 
+            /*
+            字节数组和缓冲的长度已知,其他请求体的长度未知,以分块的方式发送.
+             */
             @Override
             public long contentLength() throws IOException {
-                return super.contentLength();
+                if (body instanceof byte[]) {
+                    return ((byte[]) body).length;
+                } else if (body instanceof PooledBuffer) {
+                    return ((PooledBuffer) body).size();
+                } else {
+                    return super.contentLength();
+                }
             }
         };
     }
 
-    private String generationUrl() {
-        return String.format("%s://%s:%d%s",
-            this.endpoint.isTls() ? "HTTPS" : "HTTP",
-            this.endpoint.getHost(),
-            this.endpoint.getPort(),
-            generatePathFromTemplate());
-    }
-
     /*
-    组装请求的uri,包含路径中的变量替换和queryString.
+    在端点缓存的URL前缀上追加路径和queryString,不再格式化并重新解析完整的URL字符串.
+    路径和queryString按已编码的形式追加,非法的字符由OkHttp编码,和解析完整URL时的处理一致.
      */
-    private String generatePathFromTemplate() {
-        if (this.pathTemplate == null || this.pathTemplate.isEmpty()) {
-            return this.pathTemplate;
-        }
-
-        StringBuilder pathBuff = new StringBuilder();
-        StringBuilder variableName = new StringBuilder();
-        boolean vigilance = false;
-        char currentChar;
-        for (int i = 0; i < this.pathTemplate.length(); i++) {
-            currentChar = this.pathTemplate.charAt(i);
-            if (currentChar == HttpClient.PATH_VARIABLE_PREFIX) {
-                vigilance = true;
-            }
+    private HttpUrl generationUrl() {
+        HttpUrl.Builder urlBuilder = EndpointUrls.base(this.endpoint).newBuilder();
 
-            if (vigilance) {
-                variableName.append(currentChar);
-            } else {
-                pathBuff.append(currentChar);
-            }
-
-            if (currentChar == HttpClient.PATH_VARIABLE_SUFFIX) {
-                vigilance = false;
-                variableName.deleteCharAt(0);
-                variableName.deleteCharAt(variableName.length() - 1);
-                String variable = this.pathVariables.get(variableName.toString());
-                if (variable != null) {
-                    pathBuff.append(variable);
-                } else {
-                    throw new IllegalArgumentException(
-                        String.format("The path variable %s is not found.", variableName));
-                }
-                variableName.setLength(0);
-            }
+        PathTemplate template = PathTemplate.compile(this.pathTemplate);
+        String path = template.expandPath(this.pathVariables);
+        if (path.length() > 1) {
+            urlBuilder.addEncodedPathSegments(path.charAt(0) == '/' ? path.substring(1) : path);
         }
 
-        // 追加QueryString
-        String queryString = this.queryParams.entrySet().stream()
-            .map(e -> {
-                try {
-                    return e.getKey() + "=" + URLEncoder.encode(e.getValue(), "UTF-8");
-                } catch (UnsupportedEncodingException ex) {
-                    throw new RuntimeException(ex);
-                }
-            }).collect(
-                Collectors.joining("&"));
-
+        // 模板中 ? 之后的部分不能作为路径段,否则 ? 会被编码为 %3F .它排在参数生成的查询之前.
+        String templateQuery = template.expandQuery(this.pathVariables);
+        String queryString = generationQueryString();
+        if (templateQuery != null && !templateQuery.isEmpty()) {
+            queryString = queryString.isEmpty() ? templateQuery : templateQuery + '&' + queryString;
+        }
         if (!queryString.isEmpty()) {
-            pathBuff.append("?")
-                .append(queryString);
+            urlBuilder.encodedQuery(queryString);
         }
+        return urlBuilder.build();
+    }
 
-        return pathBuff.toString();
+    private String generationQueryString() {
+        if (this.queryParams.isEmpty()) {
+            return "";
+        }
+        StringBuilder queryBuff = new StringBuilder();
+        for (Map.Entry<String, String> entry : this.queryParams.entrySet()) {
+            if (queryBuff.length() > 0) {
+                queryBuff.append('&');
+            }
+            try {
+                queryBuff.append(entry.getKey())
+                    .append('=')
+                    .append(URLEncoder.encode(entry.getValue(), "UTF-8"));
+            } catch (UnsupportedEncodingException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return queryBuff.toString();
     }
 
     private static class StreamCallback implements Callback {
@@ -355,9 +620,10 @@ public class HttpClient {
                             return;
                         }
 
-                        com.vmsmia.framework.component.rpc.restful.MediaType mediaType = body.contentType() != null
-                            ? com.vmsmia.framework.component.rpc.restful.MediaType.create(body.contentType().toString())
-                            : MediaTypes.DEFAULT_MEDIA_TYPE;
+                        // 没有Content-Type头时为默认的媒体类型.
+                        com.vmsmia.framework.component.rpc.restful.MediaType mediaType =
+                            com.vmsmia.framework.component.rpc.restful.MediaType.create(
+                                response.header(CONTENT_TYPE_HEAD_NAME));
                         subscriber.onStart(mediaType);
 
                         int readBuffSize = 0;
@@ -415,6 +681,7 @@ public class HttpClient {
         private Object body;
         private String bodyMediaType = DEFAULT_BODY_MEDIA_TYPE;
         private BytesDeserializer returnDeserializer;
+        private Path downloadTarget;
         private long readTimeoutMs = 5000L;
         private long connectTimeoutMs = 5000L;
         private long writeTimeoutMs = 3000L;
@@ -472,6 +739,14 @@ public class HttpClient {
             return this;
         }
 
+        /**
+         * 返回值是文件类型时,响应写入的目标文件.没有设置时写入临时文件.
+         */
+        public Builder withDownloadTarget(Path downloadTarget) {
+            this.downloadTarget = downloadTarget;
+            return this;
+        }
+
         public Builder withReadTimeoutMs(long readTimeoutMs) {
             this.readTimeoutMs = readTimeoutMs;
             return this;
@@ -500,6 +775,7 @@ public class HttpClient {
             httpClient.connectTimeoutMs = this.connectTimeoutMs;
             httpClient.body = this.body;
             httpClient.returnDeserializer = this.returnDeserializer;
+            httpClient.downloadTarget = this.downloadTarget;
             httpClient.pathTemplate = this.pathTemplate;
             httpClient.queryParams = this.queryParams;
             httpClient.pathVariables = this.pathVariables;
@@ -0,0 +1,191 @@
+package com.vmsmia.framework.component.rpc.restful.standard.client;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 编译后的路径模板,例如 /users/{id}/orders .
+ *
+ * <p>
+ * 模板在第一次使用时被拆分为字面量和变量名,之后每次请求只需要按顺序拼接,不再逐个字符扫描模板.
+ * 生成的客户端使用的模板是有限的常量,所以编译结果被全局缓存.
+ * </p>
+ *
+ * <p>
+ * 模板可以带有查询部分,例如 /orders?status={status} .变量之外的第一个 ? 之后的部分为查询部分,
+ * 由 {@link #expandQuery(Map)} 单独展开,不会作为路径段被编码.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:00
+ * @since 1.8
+ */
+public final class PathTemplate {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final char QUERY_SEPARATOR = '?';
+    private static final ConcurrentMap<String, PathTemplate> CACHE = new ConcurrentHashMap<>();
+
+    private final String template;
+    private final Part path;
+    // 没有查询部分时为null.
+    private final Part query;
+
+    /**
+     * 获取编译后的模板.
+     *
+     * @param template 模板.
+     * @return 编译后的模板.
+     */
+    public static PathTemplate compile(String template) {
+        String key = template == null ? "" : template;
+        PathTemplate compiled = CACHE.get(key);
+        if (compiled == null) {
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                // 模板来自动态拼接时不能无限增长,正常情况下不会到达这里.
+                CACHE.clear();
+            }
+            compiled = CACHE.computeIfAbsent(key, PathTemplate::new);
+        }
+        return compiled;
+    }
+
+    private PathTemplate(String template) {
+        this.template = template;
+        int separator = querySeparator(template);
+        if (separator < 0) {
+            this.path = new Part(template);
+            this.query = null;
+        } else {
+            this.path = new Part(template.substring(0, separator));
+            this.query = new Part(template.substring(separator + 1));
+        }
+    }
+
+    /**
+     * 以变量的值展开整个模板,包括查询部分.
+     *
+     * @param values 变量名 -> 值.值按原样拼接,不做编码.
+     * @return 路径.
+     * @throws IllegalArgumentException 模板中的变量没有对应的值.
+     */
+    public String expand(Map<String, String> values) {
+        if (query == null) {
+            return path.expand(values, false);
+        }
+        return path.expand(values, false) + QUERY_SEPARATOR + query.expand(values, false);
+    }
+
+    /**
+     * 以变量的值展开模板的路径部分.
+     *
+     * @param values 变量名 -> 值.值按原样拼接,不做编码.
+     * @return 路径.
+     * @throws IllegalArgumentException 模板中的变量没有对应的值.
+     */
+    public String expandPath(Map<String, String> values) {
+        return path.expand(values, false);
+    }
+
+    /**
+     * 以变量的值展开模板的查询部分.
+     *
+     * @param values 变量名 -> 值.值以 UTF-8 做 URL 编码,字面量认为已经是编码后的形式.
+     * @return 编码后的查询字符串,不包含开头的 ? .模板没有查询部分时返回null.
+     * @throws IllegalArgumentException 模板中的变量没有对应的值.
+     */
+    public String expandQuery(Map<String, String> values) {
+        return query == null ? null : query.expand(values, true);
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    // 变量之外的第一个 ? 的位置,没有时返回-1.
+    private static int querySeparator(String template) {
+        boolean inVariable = false;
+        for (int i = 0; i < template.length(); i++) {
+            char c = template.charAt(i);
+            if (c == HttpClient.PATH_VARIABLE_PREFIX) {
+                inVariable = true;
+            } else if (c == HttpClient.PATH_VARIABLE_SUFFIX) {
+                inVariable = false;
+            } else if (c == QUERY_SEPARATOR && !inVariable) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Part {
+
+        private final String template;
+        // literals比variables多一个,展开的结果是 literals[0] variables[0] literals[1] ... literals[n].
+        private final String[] literals;
+        private final String[] variables;
+        private final int literalLength;
+
+        private Part(String template) {
+            this.template = template;
+            List<String> literalList = new ArrayList<>();
+            List<String> variableList = new ArrayList<>();
+            int length = 0;
+            int start = 0;
+            while (true) {
+                int prefix = template.indexOf(HttpClient.PATH_VARIABLE_PREFIX, start);
+                int suffix = prefix < 0 ? -1 : template.indexOf(HttpClient.PATH_VARIABLE_SUFFIX, prefix + 1);
+                if (suffix < 0) {
+                    String literal = template.substring(start);
+                    literalList.add(literal);
+                    length += literal.length();
+                    break;
+                }
+                String literal = template.substring(start, prefix);
+                literalList.add(literal);
+                length += literal.length();
+                variableList.add(template.substring(prefix + 1, suffix));
+                start = suffix + 1;
+            }
+            this.literals = literalList.toArray(new String[0]);
+            this.variables = variableList.toArray(new String[0]);
+            this.literalLength = length;
+        }
+
+        private String expand(Map<String, String> values, boolean encode) {
+            if (variables.length == 0) {
+                return template;
+            }
+            StringBuilder buff = new StringBuilder(literalLength + variables.length * 16);
+            for (int i = 0; i < variables.length; i++) {
+                buff.append(literals[i]);
+                String value = values == null ? null : values.get(variables[i]);
+                if (value == null) {
+                    throw new IllegalArgumentException(
+                        String.format("The path variable %s is not found.", variables[i]));
+                }
+                buff.append(encode ? encode(value) : value);
+            }
+            buff.append(literals[variables.length]);
+            return buff.toString();
+        }
+
+        private static String encode(String value) {
+            try {
+                return URLEncoder.encode(value, "UTF-8");
+            } catch (UnsupportedEncodingException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+}
@@ -5,6 +5,8 @@ import static com.vmsmia.framework.component.rpc.restful.standard.RpcClientProce
 
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.vmsmia.framework.component.rpc.restful.MediaTypes;
 import com.vmsmia.framework.component.rpc.restful.annotation.Path;
 import com.vmsmia.framework.component.rpc.restful.annotation.RequestHead;
 import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
@@ -18,6 +20,7 @@ import com.vmsmia.framework.component.rpc.restful.annotation.method.Post;
 import com.vmsmia.framework.component.rpc.restful.annotation.method.Put;
 import com.vmsmia.framework.component.rpc.restful.annotation.method.Stream;
 import com.vmsmia.framework.component.rpc.restful.annotation.parameter.Body;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.DownloadTo;
 import com.vmsmia.framework.component.rpc.restful.annotation.parameter.PathVariable;
 import com.vmsmia.framework.component.rpc.restful.annotation.parameter.QueryParam;
 import com.vmsmia.framework.component.rpc.restful.common.exception.RestfulException;
@@ -25,18 +28,26 @@ import com.vmsmia.framework.component.rpc.restful.discovery.Discovery;
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
 import com.vmsmia.framework.component.rpc.restful.loadbalancer.LoadBalancerProcesser;
 import com.vmsmia.framework.component.rpc.restful.serializer.BytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.CborBytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonSerializer;
 import com.vmsmia.framework.component.rpc.restful.standard.RpcClientProcessor;
 import com.vmsmia.framework.component.rpc.restful.standard.client.HttpClient;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.AnnotationDefinition;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.AnnotationHelper;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.MethodGenerationHelper;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.ParameterAnnotationDefinition;
+import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.TypeFields;
 import com.vmsmia.framework.component.rpc.restful.stream.StreamSubscriber;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -126,10 +137,11 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
     private static final String WRITE_TIMEOUT_MS_VARIABLE_NAME = "writeTimeoutMs";
     private static final String RETURN_DESERIALIZER_VARIABLE_NAME = "returnDeserializer";
     private static final String CALL_RESULT_VARIABLE_NAME = "callResult";
+    private static final String ACCEPT_HEAD_NAME = "Accept";
 
     @Override
     public MethodSpec generate(TypeElement interfaceElement, ExecutableElement methodElement,
-                               ProcessingEnvironment processingEnv) {
+                               ProcessingEnvironment processingEnv, TypeFields typeFields) {
         // 类级别所有注解.
         List<AnnotationDefinition> classAnnotationDefinitions = AnnotationHelper.parseClassAnnotation(interfaceElement);
         // 所有的方法注解定义.
@@ -151,18 +163,34 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
         }
 
         boolean stream = haveAnnotation(methodAnnotationDefinitions, Stream.class);
-        String returnTypeFqn = methodElement.getReturnType().accept(new MethodReturnTypeVisitor(), null);
+        TypeMirror returnType = methodElement.getReturnType();
+        // 完整的泛型类型只有在不含类型变量时才能在生成类中表示.
+        String returnTypeFqn = TypeFields.hasTypeVariable(returnType)
+            ? returnType.accept(new MethodReturnTypeVisitor(), null) : TypeName.get(returnType).toString();
+        String returnTypeVariableName =
+            returnType.getKind() == TypeKind.VOID ? null : typeFields.register(returnType);
+        // 配置了二进制JSON时,默认的请求体使用它编码,并且由Accept头让服务端选择响应格式.
+        String binaryMediaType =
+            binaryMediaType(new RpcClientProcessor.Configuration(processingEnv.getOptions()).getBodyFormat());
+        String acceptMediaType =
+            isNegotiable(returnType, stream, methodAnnotationDefinitions) ? binaryMediaType : null;
+        // 响应写入文件时,@DownloadTo 标注的参数为目标文件.
+        String downloadTarget = getFirstAnnotationDefinition(methodParameterAnnotationDefinitions, DownloadTo.class)
+            .map(d -> ((ParameterAnnotationDefinition) d).getParameterName())
+            .orElse(null);
 
         CodeBlock methodCodeBlock = CodeBlock.builder()
             .add(buildPathTemplate(methodAnnotationDefinitions))
             .add(buildPathVariableMapCodeBlock(methodParameterAnnotationDefinitions))
             .add(buildQueryPatamCodeBlock(methodParameterAnnotationDefinitions))
-            .add(buildBodyCodeBlock(methodParameterAnnotationDefinitions))
-            .add(buildHeadersCodeBlock(methodAnnotationDefinitions))
+            .add(buildBodyCodeBlock(
+                methodElement, methodParameterAnnotationDefinitions, typeFields, binaryMediaType, processingEnv))
+            .add(buildHeadersCodeBlock(methodAnnotationDefinitions, acceptMediaType))
             .add(buildTimeoutCodeBlock(methodAnnotationDefinitions))
             .add(buildReturnDeserializer(methodAnnotationDefinitions))
             .add(buildDiscoveryCodeBlock(classAnnotationDefinitions, stream, returnTypeFqn,
-                buildCallCodeBlock(methodElement, processingEnv, stream, returnTypeFqn)))
+                buildCallCodeBlock(methodElement, processingEnv, stream, returnTypeFqn, returnTypeVariableName,
+                    downloadTarget)))
             .build();
 
         return MethodGenerationHelper.generateInterfaceMethodImpl(methodElement, methodCodeBlock);
@@ -176,6 +204,8 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
     4. ReturnDeserializer 只允许0个或者1个.
     5. 如果是Stream的method,那么返回值必须是void且必须有且只能有一个入参是实现了StreamSubscriber接口.
     6. 如果是head请求,那么方法响应值必须是List<Map.Entry<String, String>>类型.
+    7. DownloadTo 只允许0个或者1个,参数必须是Path类型,并且方法的返回值是Path, FileChannel 或者 MappedByteBuffer.
+    8. Path 不能包含 # ,片段不会被发送到服务端.
      */
     protected boolean verify(
         TypeElement interfaceElement,
@@ -219,6 +249,22 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
             return false;
         }
 
+        /*
+        规则: Path 不能包含 # .? 之后的部分作为查询字符串发送,# 之后的片段没有办法发送.
+        如下违反规则.
+        @Path("/files#top")
+         */
+        String path = (String) getFirstAnnotationDefinition(methodAnnotationDefinitions, Path.class)
+            .get()
+            .getValue(AnnotationHelper.ANNOTATION_DEFAULT_FIELD_NAME)
+            .get();
+        if (path.indexOf('#') >= 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                String.format("[%s.%s] The Path annotation cannot contain a fragment(#).",
+                    interfaceElement.getQualifiedName().toString(), methodElement.getSimpleName().toString()));
+            return false;
+        }
+
         /*
         规则: Timeout 只允许0个或者1个.
         如下违反规则.
@@ -311,6 +357,26 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
 
         }
 
+        /*
+        规则: DownloadTo 只允许0个或者1个,参数必须是Path类型,并且方法的返回值是文件类型.
+         */
+        List<? extends VariableElement> downloadTargets = methodElement.getParameters().stream()
+            .filter(p -> p.getAnnotation(DownloadTo.class) != null)
+            .collect(Collectors.toList());
+        if (!downloadTargets.isEmpty()) {
+            TypeMirror pathTypeMirror = elements.getTypeElement(java.nio.file.Path.class.getCanonicalName()).asType();
+            if (downloadTargets.size() > 1
+                || !types.isSameType(downloadTargets.get(0).asType(), pathTypeMirror)
+                || !isFileType(methodElement.getReturnType())) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format(
+                        "[%s]The DownloadTo annotation can only be 0 or 1, on a java.nio.file.Path parameter "
+                            + "of a method that returns Path, FileChannel or MappedByteBuffer.",
+                        interfaceElement.getQualifiedName().toString()));
+                return false;
+            }
+        }
+
         return true;
     }
 
@@ -389,7 +455,9 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
     private CodeBlock buildCallCodeBlock(ExecutableElement methodElement,
                                          ProcessingEnvironment processingEnv,
                                          boolean stream,
-                                         String returnTypeFqn) {
+                                         String returnTypeFqn,
+                                         String returnTypeVariableName,
+                                         String downloadTarget) {
         CodeBlock.Builder codeBlockBuilder = CodeBlock.builder();
         // 构建HttpClient并执行.
         codeBlockBuilder.addStatement("$T $L = $T.anBuilder()",
@@ -409,9 +477,13 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
             .addStatement("$L.withConnectTimeoutMs($L)",
                 HTTP_CLIENT_BUILDER_VARIABLE_NAME, CONNECT_TIMEOUT_MS_VARIABLE_NAME)
             .addStatement("$L.withWriteTimeoutMs($L)",
-                HTTP_CLIENT_BUILDER_VARIABLE_NAME, WRITE_TIMEOUT_MS_VARIABLE_NAME)
-            .addStatement("$T $L = $L.build()", HttpClient.class, HTTP_CLIENT_VARIABLE_NAME,
-                HTTP_CLIENT_BUILDER_VARIABLE_NAME);
+                HTTP_CLIENT_BUILDER_VARIABLE_NAME, WRITE_TIMEOUT_MS_VARIABLE_NAME);
+        if (downloadTarget != null) {
+            codeBlockBuilder.addStatement("$L.withDownloadTarget($L)",
+                HTTP_CLIENT_BUILDER_VARIABLE_NAME, downloadTarget);
+        }
+        codeBlockBuilder.addStatement("$T $L = $L.build()", HttpClient.class, HTTP_CLIENT_VARIABLE_NAME,
+            HTTP_CLIENT_BUILDER_VARIABLE_NAME);
 
         if (stream) {
             // 找到第一个可以找到的StreamSubscriber接口实现入参.
@@ -426,15 +498,25 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
                 .findFirst().get();
 
             codeBlockBuilder.beginControlFlow("try")
-                .add(finishedCall(HTTP_CLIENT_VARIABLE_NAME, streamParameterElement.getSimpleName().toString(), null))
+                .add(finishedCall(
+                    HTTP_CLIENT_VARIABLE_NAME, streamParameterElement.getSimpleName().toString(), null, null))
                 .nextControlFlow("catch($T e)", Exception.class)
                 .addStatement("throw new $T(e.getMessage(), e)", RestfulException.class)
                 .endControlFlow();
 
         } else {
-            codeBlockBuilder.addStatement("$L $L = null", returnTypeFqn, CALL_RESULT_VARIABLE_NAME)
+            TypeKind returnKind = methodElement.getReturnType().getKind();
+            codeBlockBuilder.addStatement("$L $L = $L", returnTypeFqn, CALL_RESULT_VARIABLE_NAME,
+                    returnKind.isPrimitive() ? defaultPrimitiveValue(returnKind) : "null")
                 .beginControlFlow("try");
-            codeBlockBuilder.add(finishedCall(HTTP_CLIENT_VARIABLE_NAME, CALL_RESULT_VARIABLE_NAME, returnTypeFqn));
+            if (returnKind.isPrimitive() && httpMethod() != null) {
+                // {callResultVariableName} = {httpClientVariableName}.executeAsInt("GET");
+                codeBlockBuilder.addStatement("$L = $L.$L($S)", CALL_RESULT_VARIABLE_NAME, HTTP_CLIENT_VARIABLE_NAME,
+                    primitiveCallMethodName(returnKind), httpMethod());
+            } else {
+                codeBlockBuilder.add(finishedCall(
+                    HTTP_CLIENT_VARIABLE_NAME, CALL_RESULT_VARIABLE_NAME, returnTypeFqn, returnTypeVariableName));
+            }
             codeBlockBuilder.nextControlFlow("catch($T e)", Exception.class)
                 .addStatement("throw new $T(e.getMessage(), e)", RestfulException.class)
                 .endControlFlow();
@@ -451,10 +533,40 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
      * @param httpClientVariableName httpClient的变量名称.
      * @param callResultVariableName httpClient的调用结果存放变量名称.
      * @param returnTypeFqn          调用结果应该的返回结果.
+     * @param returnTypeVariableName 返回结果完整类型({@link java.lang.reflect.Type})的常量名称.
      * @return 执行代码块.
      */
     protected abstract CodeBlock finishedCall(
-        String httpClientVariableName, String callResultVariableName, String returnTypeFqn);
+        String httpClientVariableName, String callResultVariableName, String returnTypeFqn,
+        String returnTypeVariableName);
+
+    /**
+     * 策略对应的HTTP方法名称.返回值是基础类型时,生成的代码以此调用 HttpClient 的 executeAsInt 等方法,
+     * 直接得到没有装箱的结果.默认为null,表示总是使用 {@link #finishedCall} .
+     *
+     * @return HTTP方法名称,例如 GET .
+     */
+    protected String httpMethod() {
+        return null;
+    }
+
+    // 基础类型对应的 HttpClient 方法,例如 int 为 executeAsInt .
+    private static String primitiveCallMethodName(TypeKind kind) {
+        String name = kind.name();
+        return "executeAs" + name.charAt(0) + name.substring(1).toLowerCase(Locale.ROOT);
+    }
+
+    // 基础类型变量的初始值.
+    private static String defaultPrimitiveValue(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "false";
+            case CHAR:
+                return "'\\0'";
+            default:
+                return "0";
+        }
+    }
 
     /*
        生成 String pathTemplate = "/{name}/query" 语句.
@@ -553,11 +665,16 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
 
     /*
     生成如下代码.
-    byte[] body = {序列化器}.getInstance({入参参数名称});
+    Object body = {序列化器}.getInstance().serialize({入参参数名称}, {入参类型常量});
     String bodyMediaType = "{注解指定的媒体类型字符串}";
+    序列化器实现了 StreamingSerializer 时使用 stream 代替 serialize ,在发送请求时直接写入请求.
      */
     private CodeBlock buildBodyCodeBlock(
-        List<AnnotationDefinition> methodParameterAnnotationDefinitions) {
+        ExecutableElement methodElement,
+        List<AnnotationDefinition> methodParameterAnnotationDefinitions,
+        TypeFields typeFields,
+        String binaryMediaType,
+        ProcessingEnvironment processingEnv) {
         CodeBlock.Builder codeBlockBuilder = CodeBlock.builder();
 
         if (haveAnnotation(methodParameterAnnotationDefinitions, Body.class)) {
@@ -566,18 +683,31 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
                 .stream()
                 .map(d -> (ParameterAnnotationDefinition) d)
                 .findFirst().ifPresent(d -> {
+                    TypeMirror bodyType = methodElement.getParameters().stream()
+                        .filter(p -> p.getSimpleName().toString().equals(d.getParameterName()))
+                        .findFirst()
+                        .get()
+                        .asType();
+                    // @Body 有 serializer 和 mediaType 默认值.
+                    Object serializer = d.getValue(ANNOTATION_SERIALIZER_FIELD_NAME).get();
+                    Object mediaType = d.getValue("mediaType").get();
+                    if (binaryMediaType != null && isDefaultBody(serializer, mediaType)) {
+                        serializer = MediaTypes.SMILE.equals(binaryMediaType)
+                            ? SmileBytesSerializer.class.getName() : CborBytesSerializer.class.getName();
+                        mediaType = binaryMediaType;
+                    }
                     codeBlockBuilder.addStatement(
-                        "$T $L = $L.getInstance().serialize($L))",
+                        "$T $L = $L.getInstance().$L($L, $L)",
                         Object.class, BODY_VARIABLE_NAME,
-                        // @Body 有 serializer 默认值.
-                        d.getValue(ANNOTATION_SERIALIZER_FIELD_NAME).get(),
-                        d.getParameterName());
+                        serializer,
+                        isStreamingSerializer(serializer.toString(), processingEnv) ? "stream" : "serialize",
+                        d.getParameterName(),
+                        typeFields.register(bodyType));
                     codeBlockBuilder.addStatement(
-                        "$T $L = $L",
+                        "$T $L = $S",
                         String.class,
                         BODY_MEDIA_TYPE_VARIABLE_NAME,
-                        d.getValue("mediaType"),
-                        d.getParameterName());
+                        mediaType);
                 });
         } else {
             codeBlockBuilder.addStatement("$T $L = null", Object.class, BODY_VARIABLE_NAME);
@@ -594,9 +724,15 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
     ....
     headers.add(new SimpleEntry<>("{key}", "{val}"));
      */
-    private CodeBlock buildHeadersCodeBlock(List<AnnotationDefinition> methodAnnotationDefinitions) {
+    private CodeBlock buildHeadersCodeBlock(List<AnnotationDefinition> methodAnnotationDefinitions,
+                                            String acceptMediaType) {
         CodeBlock.Builder codeBlockBuilder = CodeBlock.builder();
-        if (haveAnnotation(methodAnnotationDefinitions, RequestHead.class)) {
+        boolean haveRequestHead = haveAnnotation(methodAnnotationDefinitions, RequestHead.class);
+        // 用户已经声明了Accept头时不覆盖.
+        boolean addAccept = acceptMediaType != null
+            && getAllAnnotationDefinitions(methodAnnotationDefinitions, RequestHead.class).stream()
+            .noneMatch(d -> ACCEPT_HEAD_NAME.equalsIgnoreCase((String) d.getValue("key").orElse("")));
+        if (haveRequestHead || addAccept) {
             codeBlockBuilder.addStatement(
                 "$T<$T<$T, $T>> $L = new $T<>()",
                 List.class, Map.Entry.class, String.class, String.class, HEAD_VARIABLE_NAME, ArrayList.class);
@@ -608,6 +744,10 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
                         AbstractMap.SimpleEntry.class, key, value);
                 }
             });
+            if (addAccept) {
+                codeBlockBuilder.addStatement("$L.add(new $T($S, $S))", HEAD_VARIABLE_NAME,
+                    AbstractMap.SimpleEntry.class, ACCEPT_HEAD_NAME, MediaTypes.accept(acceptMediaType));
+            }
         } else {
             codeBlockBuilder.addStatement(
                 "$T<$T<$T, $T>> $L = $L.emptyList()",
@@ -683,6 +823,61 @@ public abstract class AbstractMethodGenerationStrategy implements MethodGenerati
             .build();
     }
 
+    // 配置的请求体格式对应的二进制JSON媒体类型,json为null.
+    private String binaryMediaType(String bodyFormat) {
+        if (RpcClientProcessor.Configuration.BODY_FORMAT_SMILE.equals(bodyFormat)) {
+            return MediaTypes.SMILE;
+        } else if (RpcClientProcessor.Configuration.BODY_FORMAT_CBOR.equals(bodyFormat)) {
+            return MediaTypes.CBOR;
+        } else {
+            return null;
+        }
+    }
+
+    // 响应是字符串,原始字节,文件,没有响应或者指定了响应解析器时不需要协商格式.
+    private boolean isNegotiable(
+        TypeMirror returnType, boolean stream, List<AnnotationDefinition> methodAnnotationDefinitions) {
+        if (stream || haveAnnotation(methodAnnotationDefinitions, Head.class)
+            || haveAnnotation(methodAnnotationDefinitions, ReturnDeserializer.class)
+            || returnType.getKind() == TypeKind.VOID || isFileType(returnType)) {
+            return false;
+        }
+        String returnTypeName = TypeName.get(returnType).toString();
+        return !String.class.getName().equals(returnTypeName) && !"byte[]".equals(returnTypeName);
+    }
+
+    // 响应写入文件的返回值类型,和 FileDeserializer 支持的类型一致.
+    private static boolean isFileType(TypeMirror type) {
+        String typeName = TypeName.get(type).toString();
+        return java.nio.file.Path.class.getName().equals(typeName)
+            || FileChannel.class.getName().equals(typeName)
+            || MappedByteBuffer.class.getName().equals(typeName);
+    }
+
+    // 序列化器是否支持直接写入请求.
+    private boolean isStreamingSerializer(String serializer, ProcessingEnvironment processingEnv) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement serializerElement = elements.getTypeElement(serializer);
+        TypeElement streamingElement = elements.getTypeElement(StreamingSerializer.class.getName());
+        if (serializerElement == null || streamingElement == null) {
+            return false;
+        }
+        Types types = processingEnv.getTypeUtils();
+        return types.isAssignable(
+            types.erasure(serializerElement.asType()), types.erasure(streamingElement.asType()));
+    }
+
+    // @Body 没有指定序列化器和媒体类型.
+    private boolean isDefaultBody(Object serializer, Object mediaType) {
+        try {
+            Object defaultMediaType = Body.class.getMethod("mediaType").getDefaultValue();
+            return JsonSerializer.class.getName().equals(serializer.toString())
+                && defaultMediaType.equals(mediaType);
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private boolean isStringNullOrEmpty(String val) {
         return val == null || val.isEmpty();
     }
@@ -11,7 +11,7 @@ import com.squareup.javapoet.CodeBlock;
  * </p>
  * <p>
  * 该策略的关键在于 {@code finishedCall} 方法的实现. 该方法使用传入的 {@code httpClientVariableName} 变量名称来调用 OkHttp 的 delete 方法,
- * 并通过反射（{@code Class.forName(returnTypeFqn)}）来动态确定返回类型. 生成的代码片段将请求的结果赋值给 {@code callResultVariableName} 变量,
+ * 并以生成类中的类型常量（{@code returnTypeVariableName}）确定返回类型. 生成的代码片段将请求的结果赋值给 {@code callResultVariableName} 变量,
  * 允许后续流程根据请求的结果来进行相应的处理.
  * </p>
  * <p>
@@ -27,11 +27,16 @@ public class DeleteMethodGenerationStrategy extends AbstractMethodGenerationStra
 
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName, String callResultVariableName,
-                                     String returnTypeFqn) {
-        // {returnTypeFqn} {callResultVariableName} = {httpClientVariableName}.delete(Class.forName("{returnTypeFqn}"));
+                                     String returnTypeFqn, String returnTypeVariableName) {
+        // {callResultVariableName} = ({returnTypeFqn}) {httpClientVariableName}.delete({returnTypeVariableName});
         return CodeBlock.builder()
-            .addStatement("$L = ($L) $L.delete(Class.forName($S))",
-                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeFqn)
+            .addStatement("$L = ($L) $L.delete($L)",
+                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeVariableName)
             .build();
     }
+
+    @Override
+    protected String httpMethod() {
+        return "DELETE";
+    }
 }
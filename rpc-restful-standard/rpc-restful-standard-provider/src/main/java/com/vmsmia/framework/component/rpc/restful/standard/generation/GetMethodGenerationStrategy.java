@@ -13,7 +13,7 @@ import com.squareup.javapoet.CodeBlock;
  * <p>
  * 此策略核心实现在于 {@code finishedCall} 方法.该方法利用传入的
  * {@code httpClientVariableName}（HttpClient 变量名）执行 OkHttp 库的 get 方法，
- * 并动态地通过 {@code Class.forName(returnTypeFqn)} 确定方法的返回类型.生成的代码将使请求结果直接赋值给
+ * 并通过生成类中带有完整泛型信息的类型常量 {@code returnTypeVariableName} 确定方法的返回类型.生成的代码将使请求结果直接赋值给
  * {@code callResultVariableName} 变量，
  * 允许进一步处理请求返回的数据.
  * </p>
@@ -30,11 +30,16 @@ public class GetMethodGenerationStrategy extends AbstractMethodGenerationStrateg
 
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName, String callResultVariableName,
-                                     String returnTypeFqn) {
-        // {returnTypeFqn} {callResultVariableName} = {httpClientVariableName}.get(Class.forName("{returnTypeFqn}"));
+                                     String returnTypeFqn, String returnTypeVariableName) {
+        // {callResultVariableName} = ({returnTypeFqn}) {httpClientVariableName}.get({returnTypeVariableName});
         return CodeBlock.builder()
-            .addStatement("$L = ($L) $L.get(Class.forName($S))",
-                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeFqn)
+            .addStatement("$L = ($L) $L.get($L)",
+                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeVariableName)
             .build();
     }
+
+    @Override
+    protected String httpMethod() {
+        return "GET";
+    }
 }
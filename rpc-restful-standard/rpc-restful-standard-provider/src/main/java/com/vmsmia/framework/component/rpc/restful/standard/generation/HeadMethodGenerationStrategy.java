@@ -42,7 +42,7 @@ public class HeadMethodGenerationStrategy extends AbstractMethodGenerationStrate
 
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName, String callResultVariableName,
-                                     String returnTypeFqn) {
+                                     String returnTypeFqn, String returnTypeVariableName) {
         // List<Map.Entry<String, String>> {callResultVariableName} = {httpClientVariableName}.head();
 
         return CodeBlock.builder()
@@ -1,6 +1,7 @@
 package com.vmsmia.framework.component.rpc.restful.standard.generation;
 
 import com.squareup.javapoet.MethodSpec;
+import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.TypeFields;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
@@ -12,5 +13,15 @@ import javax.lang.model.element.TypeElement;
  */
 public interface MethodGenerationStrategy {
 
-    MethodSpec generate(TypeElement classElement, ExecutableElement methodElement, ProcessingEnvironment processingEnv);
+    /**
+     * 生成方法的实现.
+     *
+     * @param classElement  目标接口.
+     * @param methodElement 目标方法.
+     * @param processingEnv 处理环境.
+     * @param typeFields    生成类的类型常量,方法需要的类型在这里登记.
+     * @return 方法的实现,无法生成时为null.
+     */
+    MethodSpec generate(TypeElement classElement, ExecutableElement methodElement, ProcessingEnvironment processingEnv,
+                        TypeFields typeFields);
 }
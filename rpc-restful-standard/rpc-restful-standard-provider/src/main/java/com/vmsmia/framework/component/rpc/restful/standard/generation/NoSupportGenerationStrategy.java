@@ -3,6 +3,7 @@ package com.vmsmia.framework.component.rpc.restful.standard.generation;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.MethodGenerationHelper;
+import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.TypeFields;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
@@ -21,7 +22,8 @@ public class NoSupportGenerationStrategy implements MethodGenerationStrategy {
     }
 
     @Override
-    public MethodSpec generate(TypeElement typeElement, ExecutableElement methodElement, ProcessingEnvironment processingEnv) {
+    public MethodSpec generate(TypeElement typeElement, ExecutableElement methodElement,
+                               ProcessingEnvironment processingEnv, TypeFields typeFields) {
         CodeBlock codeBlock = CodeBlock.builder()
             .addStatement("throw new $T($S)", UnsupportedOperationException.class,
                 "No valid Method annotation was found.")
@@ -13,11 +13,16 @@ public class PatchMehtodGenerationStrategy extends AbstractMethodGenerationStrat
 
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName, String callResultVariableName,
-                                     String returnTypeFqn) {
-        // {returnTypeFqn} {callResultVariableName} = {httpClientVariableName}.patch(Class.forName("{returnTypeFqn}"));
+                                     String returnTypeFqn, String returnTypeVariableName) {
+        // {callResultVariableName} = ({returnTypeFqn}) {httpClientVariableName}.patch({returnTypeVariableName});
         return CodeBlock.builder()
-            .addStatement("$L = ($L) $L.patch(Class.forName($S))",
-                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeFqn)
+            .addStatement("$L = ($L) $L.patch($L)",
+                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeVariableName)
             .build();
     }
+
+    @Override
+    protected String httpMethod() {
+        return "PATCH";
+    }
 }
@@ -13,11 +13,16 @@ public class PostMethodGenerationStrategy extends AbstractMethodGenerationStrate
 
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName, String callResultVariableName,
-                                     String returnTypeFqn) {
-        // {returnTypeFqn} {callResultVariableName} = {httpClientVariableName}.post(Class.forName("{returnTypeFqn}"));
+                                     String returnTypeFqn, String returnTypeVariableName) {
+        // {callResultVariableName} = ({returnTypeFqn}) {httpClientVariableName}.post({returnTypeVariableName});
         return CodeBlock.builder()
-            .addStatement("$L = ($L) $L.post(Class.forName($S))",
-                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeFqn)
+            .addStatement("$L = ($L) $L.post($L)",
+                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeVariableName)
             .build();
     }
+
+    @Override
+    protected String httpMethod() {
+        return "POST";
+    }
 }
@@ -11,11 +11,16 @@ public class PutMethodGenerationStrategy extends AbstractMethodGenerationStrateg
 
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName, String callResultVariableName,
-                                     String returnTypeFqn) {
-        // {returnTypeFqn} {callResultVariableName} = {httpClientVariableName}.put(Class.forName("{returnTypeFqn}"));
+                                     String returnTypeFqn, String returnTypeVariableName) {
+        // {callResultVariableName} = ({returnTypeFqn}) {httpClientVariableName}.put({returnTypeVariableName});
         return CodeBlock.builder()
-            .addStatement("$L = ($L) $L.put(Class.forName($S))",
-                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeFqn)
+            .addStatement("$L = ($L) $L.put($L)",
+                callResultVariableName, returnTypeFqn, httpClientVariableName, returnTypeVariableName)
             .build();
     }
+
+    @Override
+    protected String httpMethod() {
+        return "PUT";
+    }
 }
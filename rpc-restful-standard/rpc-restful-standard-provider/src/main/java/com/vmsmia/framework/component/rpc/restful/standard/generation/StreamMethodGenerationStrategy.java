@@ -14,7 +14,8 @@ public class StreamMethodGenerationStrategy extends AbstractMethodGenerationStra
     @Override
     protected CodeBlock finishedCall(String httpClientVariableName,
                                      String callResultVariableName,
-                                     String unused) {
+                                     String unused,
+                                     String unusedTypeVariableName) {
         return CodeBlock.builder()
             .addStatement("$L.stream($L)", httpClientVariableName, callResultVariableName)
             .build();
@@ -0,0 +1,531 @@
+package com.vmsmia.framework.component.rpc.restful.standard.generation.helper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodec;
+import com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodecSupport;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * 为请求体和返回值的类型生成流式的JSON编解码器.
+ *
+ * <p>
+ * 生成的编解码器实现 {@link JsonCodec} ,按属性直接调用 {@link JsonGenerator} 和 {@link JsonParser} ,
+ * 不经过 databind 的反射和属性查找.只处理能确定和 databind 结果一致的简单 Java Bean:
+ * 公开的非抽象类,没有类型参数,有公开的无参构造函数,所有属性都有成对的 getter 和 setter ,
+ * 类及其成员上没有任何 Jackson 的注解.其他类型返回null,继续由 databind 处理.
+ * </p>
+ * <p>
+ * 同一个处理器实例中每个类型只生成一次,生成的源文件通过 {@link #drainPending()} 取出后写出.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 23:30
+ * @since 1.8
+ */
+public class JsonCodecGenerator {
+
+    /**
+     * 编解码器类名的后缀.
+     */
+    public static final String CODEC_NAME_SUFFIX = "_JsonCodec";
+    /**
+     * 编解码器单例的字段名称.
+     */
+    public static final String INSTANCE_FIELD_NAME = "INSTANCE";
+
+    private static final String VALUE_VARIABLE_NAME = "value";
+    private static final String GEN_VARIABLE_NAME = "gen";
+    private static final String PARSER_VARIABLE_NAME = "parser";
+    private static final String NAME_VARIABLE_NAME = "name";
+
+    // 允许出现在 java 包中的父类型,其他的父类型(集合,Number等)databind 不会按 Bean 处理.
+    private static final Set<String> ALLOWED_JAVA_SUPER_TYPES = new HashSet<>(Arrays.asList(
+        Object.class.getName(), java.io.Serializable.class.getName(), Cloneable.class.getName()));
+
+    private static final Map<String, String> WRAPPER_WRITERS;
+    private static final Map<String, String> WRAPPER_READERS;
+
+    static {
+        Map<String, String> writers = new HashMap<>();
+        writers.put(Integer.class.getName(), "writeInteger");
+        writers.put(Long.class.getName(), "writeLongObject");
+        writers.put(Double.class.getName(), "writeDoubleObject");
+        writers.put(Float.class.getName(), "writeFloatObject");
+        writers.put(Boolean.class.getName(), "writeBooleanObject");
+        WRAPPER_WRITERS = Collections.unmodifiableMap(writers);
+
+        Map<String, String> readers = new HashMap<>();
+        readers.put(String.class.getName(), "readString");
+        readers.put(Integer.class.getName(), "readInteger");
+        readers.put(Long.class.getName(), "readLongObject");
+        readers.put(Double.class.getName(), "readDoubleObject");
+        readers.put(Float.class.getName(), "readFloatObject");
+        readers.put(Boolean.class.getName(), "readBooleanObject");
+        WRAPPER_READERS = Collections.unmodifiableMap(readers);
+    }
+
+    private final Types types;
+    private final Elements elements;
+    private final String packageName;
+    // 类型的全限定名 -> 编解码器,不能生成的类型也会记录,值为null.
+    private final Map<String, Codec> codecs = new HashMap<>();
+    private final List<JavaFile> pending = new ArrayList<>();
+
+    /**
+     * 构造生成器.
+     *
+     * @param types       类型工具.
+     * @param elements    元素工具.
+     * @param packageName 编解码器所在的包.
+     */
+    public JsonCodecGenerator(Types types, Elements elements, String packageName) {
+        this.types = types;
+        this.elements = elements;
+        this.packageName = packageName;
+    }
+
+    /**
+     * 解析类型的编解码器,需要时生成.
+     * 类型及其属性中用到的所有编解码器都会被放入结果,调用方需要全部注册.
+     *
+     * @param type          目标类型.
+     * @param registrations 类型 -> 编解码器类名.
+     */
+    public void resolve(TypeMirror type, Map<TypeName, ClassName> registrations) {
+        TypeElement typeEl = asCodecCandidate(type);
+        if (typeEl == null) {
+            return;
+        }
+        collect(typeEl.getQualifiedName().toString(), registrations, new HashSet<>());
+    }
+
+    /**
+     * 取出等待写出的编解码器源文件.
+     *
+     * @return 源文件列表.
+     */
+    public List<JavaFile> drainPending() {
+        List<JavaFile> files = new ArrayList<>(pending);
+        pending.clear();
+        return files;
+    }
+
+    private void collect(String fqn, Map<TypeName, ClassName> registrations, Set<String> visited) {
+        if (!visited.add(fqn)) {
+            return;
+        }
+        Codec codec = generate(elements.getTypeElement(fqn));
+        if (codec == null) {
+            return;
+        }
+        registrations.put(codec.targetName, codec.codecName);
+        for (String dependency : codec.dependencies) {
+            collect(dependency, registrations, visited);
+        }
+    }
+
+    private Codec generate(TypeElement typeEl) {
+        String fqn = typeEl.getQualifiedName().toString();
+        if (codecs.containsKey(fqn)) {
+            return codecs.get(fqn);
+        }
+        Map<String, Property> properties = collectProperties(typeEl);
+        if (properties == null) {
+            codecs.put(fqn, null);
+            return null;
+        }
+
+        ClassName targetName = ClassName.get(typeEl);
+        ClassName codecName = ClassName.get(packageName, fqn.replace('.', '_') + CODEC_NAME_SUFFIX);
+        Codec codec = new Codec(targetName, codecName);
+        TypeFields typeFields = new TypeFields(types);
+
+        MethodSpec.Builder write = MethodSpec.methodBuilder("write")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(JsonGenerator.class, GEN_VARIABLE_NAME)
+            .addParameter(targetName, VALUE_VARIABLE_NAME)
+            .addException(IOException.class)
+            .addStatement("$L.writeStartObject()", GEN_VARIABLE_NAME);
+
+        CodeBlock.Builder cases = CodeBlock.builder();
+        for (Map.Entry<String, Property> entry : properties.entrySet()) {
+            Property property = entry.getValue();
+            write.addStatement("$L.writeFieldName($S)", GEN_VARIABLE_NAME, entry.getKey());
+            write.addStatement(buildWrite(property));
+
+            cases.add("case $S:\n", entry.getKey())
+                .indent()
+                .addStatement("$L.$L($L)", VALUE_VARIABLE_NAME, property.setter.getSimpleName(),
+                    buildRead(property, typeFields))
+                .addStatement("break")
+                .unindent();
+
+            TypeElement dependency = asCodecCandidate(property.type);
+            if (dependency != null) {
+                codec.dependencies.add(dependency.getQualifiedName().toString());
+            }
+        }
+        write.addStatement("$L.writeEndObject()", GEN_VARIABLE_NAME);
+        cases.add("default:\n")
+            .indent()
+            .addStatement("$T.unknownProperty($L, $T.class, $L)",
+                JsonCodecSupport.class, PARSER_VARIABLE_NAME, targetName, NAME_VARIABLE_NAME)
+            .unindent();
+
+        MethodSpec read = MethodSpec.methodBuilder("read")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(JsonParser.class, PARSER_VARIABLE_NAME)
+            .returns(targetName)
+            .addException(IOException.class)
+            .beginControlFlow("if ($L.currentToken() == $T.VALUE_NULL)", PARSER_VARIABLE_NAME, JsonToken.class)
+            .addStatement("return null")
+            .endControlFlow()
+            .addStatement("$T.expectStartObject($L, $T.class)",
+                JsonCodecSupport.class, PARSER_VARIABLE_NAME, targetName)
+            .addStatement("$T $L = new $T()", targetName, VALUE_VARIABLE_NAME, targetName)
+            .beginControlFlow("while ($L.nextToken() == $T.FIELD_NAME)", PARSER_VARIABLE_NAME, JsonToken.class)
+            .addStatement("$T $L = $L.currentName()", String.class, NAME_VARIABLE_NAME, PARSER_VARIABLE_NAME)
+            .addStatement("$L.nextToken()", PARSER_VARIABLE_NAME)
+            .beginControlFlow("switch ($L)", NAME_VARIABLE_NAME)
+            .addCode(cases.build())
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("return $L", VALUE_VARIABLE_NAME)
+            .build();
+
+        TypeSpec codecSpec = TypeSpec.classBuilder(codecName)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addSuperinterface(ParameterizedTypeName.get(ClassName.get(JsonCodec.class), targetName))
+            .addJavadoc("<p>JSON codec for {@link $T}, generated by $L.</p>\n", targetName, "rpc-restful-standard")
+            .addJavadoc("\n")
+            .addJavadoc("<p><strong>Warning:</strong> Do not modify this code manually.</p>\n")
+            .addField(FieldSpec.builder(codecName, INSTANCE_FIELD_NAME)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T()", codecName)
+                .build())
+            .addFields(typeFields.getFields())
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+            .addMethod(write.build())
+            .addMethod(read)
+            .build();
+
+        pending.add(JavaFile.builder(packageName, codecSpec).build());
+        codecs.put(fqn, codec);
+        return codec;
+    }
+
+    private CodeBlock buildWrite(Property property) {
+        CodeBlock getter = CodeBlock.of("$L.$L()", VALUE_VARIABLE_NAME, property.getter.getSimpleName());
+        switch (property.type.getKind()) {
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return CodeBlock.of("$L.writeNumber($L)", GEN_VARIABLE_NAME, getter);
+            case BOOLEAN:
+                return CodeBlock.of("$L.writeBoolean($L)", GEN_VARIABLE_NAME, getter);
+            default:
+                break;
+        }
+        String name = qualifiedName(property.type);
+        if (String.class.getName().equals(name)) {
+            // writeString 对 null 写出 null.
+            return CodeBlock.of("$L.writeString($L)", GEN_VARIABLE_NAME, getter);
+        }
+        String writer = WRAPPER_WRITERS.get(name);
+        if (writer == null) {
+            writer = "writeValue";
+        }
+        return CodeBlock.of("$T.$L($L, $L)", JsonCodecSupport.class, writer, GEN_VARIABLE_NAME, getter);
+    }
+
+    private CodeBlock buildRead(Property property, TypeFields typeFields) {
+        String reader;
+        switch (property.type.getKind()) {
+            case INT:
+                reader = "readInt";
+                break;
+            case LONG:
+                reader = "readLong";
+                break;
+            case FLOAT:
+                reader = "readFloat";
+                break;
+            case DOUBLE:
+                reader = "readDouble";
+                break;
+            case BOOLEAN:
+                reader = "readBoolean";
+                break;
+            default:
+                reader = WRAPPER_READERS.get(qualifiedName(property.type));
+                break;
+        }
+        if (reader != null) {
+            return CodeBlock.of("$T.$L($L)", JsonCodecSupport.class, reader, PARSER_VARIABLE_NAME);
+        }
+        return CodeBlock.of("$T.readValue($L, $L)",
+            JsonCodecSupport.class, PARSER_VARIABLE_NAME, typeFields.register(property.type));
+    }
+
+    /*
+    按 databind 的默认规则收集属性,属性名 -> 属性.
+    任何无法确定和 databind 结果一致的情况都返回null.
+     */
+    private Map<String, Property> collectProperties(TypeElement typeEl) {
+        if (!isCodecClass(typeEl) || hasJacksonAnnotation(typeEl)) {
+            return null;
+        }
+
+        Map<String, ExecutableElement> getters = new LinkedHashMap<>();
+        Map<String, ExecutableElement> setters = new HashMap<>();
+        for (Element member : elements.getAllMembers(typeEl)) {
+            Set<Modifier> modifiers = member.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (member.getKind() == ElementKind.FIELD) {
+                // 公开的字段也是属性.
+                return null;
+            }
+            if (member.getKind() != ElementKind.METHOD
+                || Object.class.getName().equals(qualifiedName(member.getEnclosingElement().asType()))) {
+                continue;
+            }
+
+            ExecutableElement method = (ExecutableElement) member;
+            String methodName = method.getSimpleName().toString();
+            TypeKind returnKind = method.getReturnType().getKind();
+            if (method.getParameters().isEmpty() && returnKind != TypeKind.VOID) {
+                String propertyName = null;
+                if (methodName.startsWith("get") && methodName.length() > 3) {
+                    propertyName = manglePropertyName(methodName.substring(3));
+                } else if (methodName.startsWith("is") && methodName.length() > 2 && returnKind == TypeKind.BOOLEAN) {
+                    propertyName = manglePropertyName(methodName.substring(2));
+                }
+                if (propertyName != null && getters.put(propertyName, method) != null) {
+                    return null;
+                }
+            } else if (method.getParameters().size() == 1 && methodName.startsWith("set") && methodName.length() > 3) {
+                if (setters.put(manglePropertyName(methodName.substring(3)), method) != null) {
+                    return null;
+                }
+            }
+        }
+
+        if (getters.isEmpty() || !getters.keySet().equals(setters.keySet())) {
+            return null;
+        }
+
+        Map<String, Property> properties = new LinkedHashMap<>();
+        for (Map.Entry<String, ExecutableElement> entry : getters.entrySet()) {
+            ExecutableElement getter = entry.getValue();
+            ExecutableElement setter = setters.get(entry.getKey());
+            TypeMirror type = getter.getReturnType();
+            if (!isSupportedPropertyType(type)
+                || !types.isSameType(type, setter.getParameters().get(0).asType())) {
+                return null;
+            }
+            properties.put(entry.getKey(), new Property(type, getter, setter));
+        }
+        return properties;
+    }
+
+    // 公开的非抽象具体类,可以从生成的包中访问并以无参构造函数实例化.
+    private boolean isCodecClass(TypeElement typeEl) {
+        if (typeEl.getKind() != ElementKind.CLASS
+            || !typeEl.getTypeParameters().isEmpty()
+            || typeEl.getModifiers().contains(Modifier.ABSTRACT)
+            || isJavaType(typeEl.getQualifiedName().toString())) {
+            return false;
+        }
+
+        for (Element el = typeEl; el.getKind() != ElementKind.PACKAGE; el = el.getEnclosingElement()) {
+            if (!el.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            // 嵌套类必须是静态的.
+            if (el.getEnclosingElement().getKind() != ElementKind.PACKAGE
+                && !el.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+        }
+
+        boolean noArgsConstructor = typeEl.getEnclosedElements().stream()
+            .filter(e -> e.getKind() == ElementKind.CONSTRUCTOR)
+            .map(e -> (ExecutableElement) e)
+            .anyMatch(e -> e.getModifiers().contains(Modifier.PUBLIC) && e.getParameters().isEmpty());
+        if (!noArgsConstructor) {
+            return false;
+        }
+
+        // 所有父类型中只允许出现 Object, Serializable 和 Cloneable 这几个 java 类型.
+        List<TypeMirror> stack = new ArrayList<>(types.directSupertypes(typeEl.asType()));
+        while (!stack.isEmpty()) {
+            TypeMirror superType = stack.remove(stack.size() - 1);
+            String name = qualifiedName(superType);
+            if (name == null) {
+                return false;
+            }
+            if (isJavaType(name) && !ALLOWED_JAVA_SUPER_TYPES.contains(name)) {
+                return false;
+            }
+            if (name.startsWith("com.fasterxml.jackson.")) {
+                return false;
+            }
+            stack.addAll(types.directSupertypes(superType));
+        }
+        return true;
+    }
+
+    // 类及其父类,以及它们的所有成员(包括私有字段和方法参数)上是否有 Jackson 的注解.
+    private boolean hasJacksonAnnotation(TypeElement typeEl) {
+        TypeElement current = typeEl;
+        while (current != null && !Object.class.getName().equals(current.getQualifiedName().toString())) {
+            if (hasJacksonAnnotationOn(current)) {
+                return true;
+            }
+            for (Element member : current.getEnclosedElements()) {
+                if (hasJacksonAnnotationOn(member)) {
+                    return true;
+                }
+                if (member instanceof ExecutableElement) {
+                    for (VariableElement parameter : ((ExecutableElement) member).getParameters()) {
+                        if (hasJacksonAnnotationOn(parameter)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+        }
+        return false;
+    }
+
+    private static boolean hasJacksonAnnotationOn(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String name = annotation.getAnnotationType().toString();
+            // java.beans.Transient 也会被 databind 识别.
+            if (name.startsWith("com.fasterxml.jackson.") || "java.beans.Transient".equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+    short, byte 和 char 的 null 处理和字符串转换规则较多,含有这些属性的类型交给 databind.
+     */
+    private static boolean isSupportedPropertyType(TypeMirror type) {
+        switch (type.getKind()) {
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case BOOLEAN:
+            case DECLARED:
+            case ARRAY:
+                return !TypeFields.hasTypeVariable(type);
+            default:
+                return false;
+        }
+    }
+
+    private TypeElement asCodecCandidate(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED || !((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return null;
+        }
+        Element el = types.asElement(type);
+        if (el == null || el.getKind() != ElementKind.CLASS) {
+            return null;
+        }
+        TypeElement typeEl = (TypeElement) el;
+        return isJavaType(typeEl.getQualifiedName().toString()) ? null : typeEl;
+    }
+
+    private String qualifiedName(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+    }
+
+    private static boolean isJavaType(String name) {
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    /*
+    和 databind 默认的属性名称规则一致(MapperFeature.USE_STD_BEAN_NAMING 关闭):
+    开头连续的大写字母全部转为小写,例如 getURL 的属性名为 url .
+     */
+    static String manglePropertyName(String baseName) {
+        StringBuilder buff = new StringBuilder(baseName);
+        for (int i = 0; i < buff.length(); i++) {
+            char upper = buff.charAt(i);
+            char lower = Character.toLowerCase(upper);
+            if (upper == lower) {
+                break;
+            }
+            buff.setCharAt(i, lower);
+        }
+        return buff.toString();
+    }
+
+    private static class Property {
+        private final TypeMirror type;
+        private final ExecutableElement getter;
+        private final ExecutableElement setter;
+
+        private Property(TypeMirror type, ExecutableElement getter, ExecutableElement setter) {
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private static class Codec {
+        private final ClassName targetName;
+        private final ClassName codecName;
+        // 属性中可以生成编解码器的类型的全限定名.
+        private final List<String> dependencies = new ArrayList<>();
+
+        private Codec(ClassName targetName, ClassName codecName) {
+            this.targetName = targetName;
+            this.codecName = codecName;
+        }
+    }
+}
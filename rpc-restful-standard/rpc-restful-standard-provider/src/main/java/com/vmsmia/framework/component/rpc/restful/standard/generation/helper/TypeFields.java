@@ -0,0 +1,114 @@
+package com.vmsmia.framework.component.rpc.restful.standard.generation.helper;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.TypeName;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Types;
+
+/**
+ * 生成类中的类型常量.
+ *
+ * <p>
+ * 方法的返回值和请求体的完整类型(包含泛型参数)在生成时被捕获为 {@link Type} 类型的静态常量,
+ * 运行时直接以常量作为反序列化的预期类型,不需要 Class.forName 也不会丢失泛型信息.
+ * 同一个生成类中相同的类型共享一个常量.
+ * </p>
+ *
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:40
+ * @since 1.8
+ */
+public class TypeFields {
+
+    private static final String FIELD_NAME_PREFIX = "TYPE_";
+
+    private final Types types;
+    // 类型的源码表示 -> 常量定义.
+    private final Map<String, FieldSpec> fields = new LinkedHashMap<>();
+
+    public TypeFields(Types types) {
+        this.types = types;
+    }
+
+    /**
+     * 登记类型,返回对应的常量名称.
+     *
+     * @param type 目标类型.
+     * @return 常量名称.
+     */
+    public String register(TypeMirror type) {
+        String key = TypeName.get(type).toString();
+        FieldSpec field = fields.get(key);
+        if (field == null) {
+            field = FieldSpec.builder(Type.class, FIELD_NAME_PREFIX + fields.size())
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer(buildInitializer(type))
+                .build();
+            fields.put(key, field);
+        }
+        return field.name;
+    }
+
+    public List<FieldSpec> getFields() {
+        return new ArrayList<>(fields.values());
+    }
+
+    /**
+     * 判断类型中是否含有类型变量.含有类型变量的类型在生成类中无法表示,只能擦除.
+     *
+     * @param type 目标类型.
+     * @return true 含有, false 不含有.
+     */
+    public static boolean hasTypeVariable(TypeMirror type) {
+        if (type == null) {
+            return false;
+        }
+        switch (type.getKind()) {
+            case TYPEVAR:
+                return true;
+            case ARRAY:
+                return hasTypeVariable(((ArrayType) type).getComponentType());
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                return hasTypeVariable(wildcardType.getExtendsBound()) || hasTypeVariable(wildcardType.getSuperBound());
+            case DECLARED:
+                return ((DeclaredType) type).getTypeArguments().stream().anyMatch(TypeFields::hasTypeVariable);
+            default:
+                return false;
+        }
+    }
+
+    /*
+    没有泛型参数的类型生成 {type}.class ,
+    有泛型参数的类型生成 new TypeReference<{type}>() {}.getType() ,由匿名类保留完整的泛型信息.
+     */
+    private CodeBlock buildInitializer(TypeMirror type) {
+        if (hasTypeArguments(type) && !hasTypeVariable(type)) {
+            return CodeBlock.of("new $T<$T>() {}.getType()", TypeReference.class, TypeName.get(type));
+        } else {
+            return CodeBlock.of("$T.class", TypeName.get(types.erasure(type)));
+        }
+    }
+
+    private static boolean hasTypeArguments(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return hasTypeArguments(((ArrayType) type).getComponentType());
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return !((DeclaredType) type).getTypeArguments().isEmpty();
+        } else {
+            return false;
+        }
+    }
+}
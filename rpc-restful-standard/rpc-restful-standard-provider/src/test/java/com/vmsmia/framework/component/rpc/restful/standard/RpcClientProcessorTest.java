@@ -4,11 +4,15 @@ package com.vmsmia.framework.component.rpc.restful.standard;
 import static com.github.javaparser.StaticJavaParser.parse;
 import static com.google.testing.compile.Compiler.javac;
 import static org.junit.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
@@ -18,9 +22,15 @@ import com.github.javaparser.ast.stmt.ThrowStmt;
 import com.google.testing.compile.Compilation;
 import com.google.testing.compile.Compiler;
 import com.google.testing.compile.JavaFileObjects;
+import com.vmsmia.framework.component.rpc.restful.MediaTypes;
+import com.vmsmia.framework.component.rpc.restful.common.exception.RestfulException;
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
 import com.vmsmia.framework.component.rpc.restful.discovery.InMemoryDiscover;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesDeserializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesSerializer;
+import com.vmsmia.framework.component.rpc.restful.serializer.codec.JsonCodecs;
 import com.vmsmia.framework.component.rpc.restful.serializer.string.json.Json;
+import com.vmsmia.framework.component.rpc.restful.standard.generation.helper.JsonCodecGenerator;
 import com.vmsmia.framework.component.rpc.restful.standard.utils.InMemoryClassLoader;
 import com.vmsmia.framework.component.rpc.restful.standard.utils.MockStreamSubscriber;
 import com.vmsmia.framework.component.rpc.restful.standard.utils.RandomUtils;
@@ -30,6 +40,9 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
@@ -41,6 +54,7 @@ import okhttp3.OkHttpClient;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,6 +66,8 @@ import org.junit.jupiter.api.Test;
  */
 public class RpcClientProcessorTest {
 
+    private static final String MOCK_PACKAGE = "com.vmsmia.framework.component.rpc.restful.standard.mock";
+
     private MockWebServer mockWebServer;
     private InMemoryDiscover discovery;
     private OkHttpClient okHttpClient;
@@ -258,6 +274,321 @@ public class RpcClientProcessorTest {
 
     }
 
+    @Test
+    public void testBodyFormat() throws Exception {
+        Compilation compilation = javac()
+            .withProcessors(new RpcClientProcessor())
+            .withOptions(
+                "-A" + RpcClientProcessor.Configuration.OPTIONS_USE_FIXED_CLASS_NAME + "=true",
+                "-A" + RpcClientProcessor.Configuration.OPTIONS_BODY_FORMAT + "=smile")
+            .compile(mockSource("Order"), mockSource("BodyFormatInterface"));
+        assertEquals(Compilation.Status.SUCCESS, compilation.status(), () -> buildError(compilation.errors()));
+        initMemoryClassLoader(compilation);
+
+        Class<?> orderClass = classLoader.loadClass(MOCK_PACKAGE + ".Order");
+        Object order = orderClass.getConstructor(String.class, int.class).newInstance("o-1", 3);
+        Class<?> implClass =
+            classLoader.loadClass(RpcClientProcessor.GENERATION_PACKAGE + ".BodyFormatInterfaceImpl");
+        Object instance = getInstance(implClass);
+
+        // 默认的请求体使用smile编码,并且优先接受smile格式的响应.
+        mockWebServer.enqueue(smileResponse(order));
+        Object result = implClass.getMethod("create", orderClass).invoke(instance, order);
+        assertEquals(order, result);
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals(MediaTypes.accept(MediaTypes.SMILE), recordedRequest.getHeader("Accept"));
+        assertTrue(recordedRequest.getHeader("Content-Type").startsWith(MediaTypes.SMILE),
+            recordedRequest.getHeader("Content-Type"));
+        assertEquals(order,
+            SmileBytesDeserializer.getInstance().deserialize(recordedRequest.getBody().readByteArray(), orderClass));
+
+        // 指定了响应解析器时不协商响应格式.
+        mockWebServer.enqueue(smileResponse(order));
+        result = implClass.getMethod("createWithDeserializer", orderClass).invoke(instance, order);
+        assertEquals(order, result);
+        recordedRequest = mockWebServer.takeRequest();
+        assertNull(recordedRequest.getHeader("Accept"));
+        assertTrue(recordedRequest.getHeader("Content-Type").startsWith(MediaTypes.SMILE),
+            recordedRequest.getHeader("Content-Type"));
+    }
+
+    @Test
+    public void testUnknownBodyFormat() throws Exception {
+        Compilation compilation = javac()
+            .withProcessors(new RpcClientProcessor())
+            .withOptions(
+                "-A" + RpcClientProcessor.Configuration.OPTIONS_USE_FIXED_CLASS_NAME + "=true",
+                "-A" + RpcClientProcessor.Configuration.OPTIONS_BODY_FORMAT + "=yaml")
+            .compile(mockSource("Order"), mockSource("BodyFormatInterface"));
+        assertEquals(Compilation.Status.FAILURE, compilation.status());
+        assertTrue(compilation.errors().stream()
+                .anyMatch(e -> e.getMessage(null).contains("Unknown body format yaml")),
+            () -> buildError(compilation.errors()));
+    }
+
+    /**
+     * 生成的编解码器和 databind 的结果一致,包括嵌套的 Bean ,泛型集合,枚举和数组属性.
+     */
+    @Test
+    public void testGenerateCodecs() throws Exception {
+        Compilation compilation = javac()
+            .withProcessors(new RpcClientProcessor())
+            .withOptions(
+                "-A" + RpcClientProcessor.Configuration.OPTIONS_USE_FIXED_CLASS_NAME + "=true",
+                "-A" + RpcClientProcessor.Configuration.OPTIONS_GENERATE_CODECS + "=true")
+            .compile(mockSource("Invoice"), mockSource("InvoiceInterface"));
+        assertEquals(Compilation.Status.SUCCESS, compilation.status(), () -> buildError(compilation.errors()));
+        assertTrue(compilation.generatedSourceFiles().stream()
+            .anyMatch(f -> f.getName().endsWith("mock_Invoice" + JsonCodecGenerator.CODEC_NAME_SUFFIX + ".java")));
+        assertTrue(compilation.generatedSourceFiles().stream()
+            .anyMatch(f -> f.getName().endsWith("mock_Invoice_Customer" + JsonCodecGenerator.CODEC_NAME_SUFFIX
+                + ".java")));
+        initMemoryClassLoader(compilation);
+
+        Class<?> invoiceClass = classLoader.loadClass(MOCK_PACKAGE + ".Invoice");
+        Class<?> customerClass = classLoader.loadClass(MOCK_PACKAGE + ".Invoice$Customer");
+        Class<?> implClass =
+            classLoader.loadClass(RpcClientProcessor.GENERATION_PACKAGE + ".InvoiceInterfaceImpl");
+        // 实现类初始化时注册编解码器.
+        Object instance = getInstance(implClass);
+        assertNotNull(JsonCodecs.find(invoiceClass));
+        assertNotNull(JsonCodecs.find(customerClass));
+
+        ObjectMapper databind = new ObjectMapper();
+        String expected = "{\"id\":\"i-1\",\"total\":120,\"discount\":null,\"paid\":true,\"status\":\"PAID\","
+            + "\"customer\":{\"name\":\"c\",\"level\":2},\"lines\":[{\"sku\":\"a\",\"quantity\":1}],"
+            + "\"counters\":{\"x\":1},\"tags\":[\"t\"]}";
+        Object invoice = databind.readValue(expected, invoiceClass);
+        assertEquals(expected, databind.writeValueAsString(invoice));
+
+        // 编码.
+        assertEquals(expected, Json.serialize(invoice));
+        assertArrayEquals(new ObjectMapper(new SmileFactory()).writeValueAsBytes(invoice),
+            SmileBytesSerializer.getInstance().serialize(invoice));
+        // 解码.
+        assertEquals(expected, databind.writeValueAsString(Json.deserialize(expected, invoiceClass)));
+        String empty = databind.writeValueAsString(invoiceClass.newInstance());
+        assertEquals(empty, databind.writeValueAsString(Json.deserialize("{}", invoiceClass)));
+        assertEquals(empty, Json.serialize(invoiceClass.newInstance()));
+
+        // 生成的客户端使用编解码器读写.
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(expected)
+            .addHeader("Content-Type", "application/json"));
+        Object result = implClass.getMethod("create", invoiceClass).invoke(instance, invoice);
+        assertEquals(expected, databind.writeValueAsString(result));
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals(expected, recordedRequest.getBody().readUtf8());
+    }
+
+    /**
+     * 泛型返回值和请求体被捕获为带有完整泛型信息的类型常量,相同的类型共享一个常量.
+     */
+    @Test
+    public void testGenericReturnType() throws Exception {
+        Compilation compilation = compiler.compile(mockSource("Order"), mockSource("OrderListInterface"));
+        assertEquals(Compilation.Status.SUCCESS, compilation.status(), () -> buildError(compilation.errors()));
+
+        String listType = "java.util.List<" + MOCK_PACKAGE + ".Order>";
+        ClassOrInterfaceDeclaration classDeclaration = (ClassOrInterfaceDeclaration)
+            parse(generatedSource(compilation, "OrderListInterfaceImpl")).getTypes().get(0);
+        assertTrue(classDeclaration.getFieldByName("TYPE_0").isPresent());
+        assertFalse(classDeclaration.getFieldByName("TYPE_1").isPresent());
+        String initializer =
+            classDeclaration.getFieldByName("TYPE_0").get().getVariable(0).getInitializer().get().toString();
+        // 类型常量中的类型由 JavaPoet 导入,以简单名称出现.
+        assertTrue(initializer.contains("new TypeReference<List<Order>>()"), initializer);
+        String list = classDeclaration.getMethodsByName("list").get(0).toString();
+        assertTrue(list.contains("(" + listType + ") httpClient.get(TYPE_0)"), list);
+        String create = classDeclaration.getMethodsByName("create").get(0).toString();
+        assertTrue(create.contains("(" + listType + ") httpClient.post(TYPE_0)"), create);
+
+        initMemoryClassLoader(compilation);
+        Class<?> orderClass = classLoader.loadClass(MOCK_PACKAGE + ".Order");
+        Class<?> implClass =
+            classLoader.loadClass(RpcClientProcessor.GENERATION_PACKAGE + ".OrderListInterfaceImpl");
+        Object instance = getInstance(implClass);
+
+        // 列表元素按照泛型参数解析为 Order ,而不是 LinkedHashMap .
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("[{\"id\":\"o-1\",\"amount\":1},{\"id\":\"o-2\",\"amount\":2}]")
+            .addHeader("Content-Type", "application/json"));
+        List<?> orders = (List<?>) implClass.getMethod("list").invoke(instance);
+        assertEquals(2, orders.size());
+        assertEquals(orderClass.getConstructor(String.class, int.class).newInstance("o-1", 1), orders.get(0));
+        assertEquals(orderClass.getConstructor(String.class, int.class).newInstance("o-2", 2), orders.get(1));
+        assertEquals("GET", mockWebServer.takeRequest().getMethod());
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("[{\"id\":\"o-3\",\"amount\":3}]")
+            .addHeader("Content-Type", "application/json"));
+        List<?> created = (List<?>) implClass.getMethod("create", List.class)
+            .invoke(instance, Collections.singletonList(orders.get(0)));
+        assertEquals(orderClass, created.get(0).getClass());
+        assertEquals("[{\"id\":\"o-1\",\"amount\":1}]", mockWebServer.takeRequest().getBody().readUtf8());
+    }
+
+    /**
+     * 基础类型的返回值直接由 executeAsX 解析,不经过装箱.
+     */
+    @Test
+    public void testPrimitiveReturnType() throws Exception {
+        Compilation compilation = compiler.compile(mockSource("PrimitiveInterface"));
+        assertEquals(Compilation.Status.SUCCESS, compilation.status(), () -> buildError(compilation.errors()));
+
+        ClassOrInterfaceDeclaration classDeclaration = (ClassOrInterfaceDeclaration)
+            parse(generatedSource(compilation, "PrimitiveInterfaceImpl")).getTypes().get(0);
+        String count = classDeclaration.getMethodsByName("count").get(0).toString();
+        assertTrue(count.contains("int callResult = 0;"), count);
+        assertTrue(count.contains("callResult = httpClient.executeAsInt(\"GET\");"), count);
+        String exists = classDeclaration.getMethodsByName("exists").get(0).toString();
+        assertTrue(exists.contains("boolean callResult = false;"), exists);
+        assertTrue(exists.contains("callResult = httpClient.executeAsBoolean(\"POST\");"), exists);
+
+        initMemoryClassLoader(compilation);
+        Class<?> implClass =
+            classLoader.loadClass(RpcClientProcessor.GENERATION_PACKAGE + ".PrimitiveInterfaceImpl");
+        Object instance = getInstance(implClass);
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("42\n")
+            .addHeader("Content-Type", "text/plain"));
+        assertEquals(42, implClass.getMethod("count").invoke(instance));
+        assertEquals("/orders/count", mockWebServer.takeRequest().getPath());
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("true")
+            .addHeader("Content-Type", "text/plain"));
+        assertEquals(true, implClass.getMethod("exists", String.class).invoke(instance, "o-1"));
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("POST", recordedRequest.getMethod());
+        assertEquals("/orders/o-1/exists", recordedRequest.getPath());
+
+        // 非法的响应在生成的方法中包装为 RestfulException .
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("4x")
+            .addHeader("Content-Type", "text/plain"));
+        InvocationTargetException ex = assertThrows(InvocationTargetException.class,
+            () -> implClass.getMethod("count").invoke(instance));
+        assertEquals(RestfulException.class, ex.getTargetException().getClass());
+    }
+
+    /**
+     * 返回 Path 的方法把响应写入 @DownloadTo 指定的文件,没有指定时写入临时文件.
+     */
+    @Test
+    public void testDownloadTo() throws Exception {
+        Compilation compilation = compiler.compile(mockSource("DownloadInterface"));
+        assertEquals(Compilation.Status.SUCCESS, compilation.status(), () -> buildError(compilation.errors()));
+
+        ClassOrInterfaceDeclaration classDeclaration = (ClassOrInterfaceDeclaration)
+            parse(generatedSource(compilation, "DownloadInterfaceImpl")).getTypes().get(0);
+        String download = classDeclaration.getMethodsByName("download").get(0).toString();
+        assertTrue(download.contains("httpClientBuilder.withDownloadTarget(target);"), download);
+        String downloadToTemp = classDeclaration.getMethodsByName("downloadToTemp").get(0).toString();
+        assertFalse(downloadToTemp.contains("withDownloadTarget"), downloadToTemp);
+
+        initMemoryClassLoader(compilation);
+        Class<?> implClass =
+            classLoader.loadClass(RpcClientProcessor.GENERATION_PACKAGE + ".DownloadInterfaceImpl");
+        Object instance = getInstance(implClass);
+
+        String data = RandomUtils.generateRandomString(512, 1024);
+        java.nio.file.Path target = Files.createTempFile("download-to", ".bin");
+        try {
+            // 任何 Content-Type 都写入文件,不协商响应格式.
+            mockWebServer.enqueue(new MockResponse()
+                .setBody(data)
+                .addHeader("Content-Type", "application/json"));
+            Object result = implClass.getMethod("download", String.class, java.nio.file.Path.class)
+                .invoke(instance, "a.bin", target);
+            assertEquals(target, result);
+            assertEquals(data, new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+            RecordedRequest recordedRequest = mockWebServer.takeRequest();
+            assertEquals("/files/a.bin", recordedRequest.getPath());
+            assertNull(recordedRequest.getHeader("Accept"));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(data)
+            .addHeader("Content-Type", "application/octet-stream"));
+        java.nio.file.Path temp =
+            (java.nio.file.Path) implClass.getMethod("downloadToTemp", String.class).invoke(instance, "a.bin");
+        try {
+            assertEquals(data, new String(Files.readAllBytes(temp), StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 返回值不是文件类型时不允许使用 @DownloadTo .
+     */
+    @Test
+    public void testInvalidDownloadTo() throws Exception {
+        Compilation compilation = compiler.compile(mockSource("InvalidDownloadToInterface"));
+        assertEquals(Compilation.Status.FAILURE, compilation.status());
+        assertTrue(compilation.errors().stream()
+                .anyMatch(e -> e.getMessage(null).contains("The DownloadTo annotation can only be 0 or 1")),
+            () -> buildError(compilation.errors()));
+    }
+
+    /**
+     * @Path 中 ? 之后的部分作为查询字符串发送,排在 @QueryParam 之前.
+     */
+    @Test
+    public void testQueryInPath() throws Exception {
+        Compilation compilation = compiler.compile(mockSource("QueryPathInterface"));
+        assertEquals(Compilation.Status.SUCCESS, compilation.status(), () -> buildError(compilation.errors()));
+        initMemoryClassLoader(compilation);
+
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("ok")
+            .addHeader("Content-Type", "text/plain; charset=utf8"));
+        Class<?> implClass =
+            classLoader.loadClass(RpcClientProcessor.GENERATION_PACKAGE + ".QueryPathInterfaceImpl");
+        Object instance = getInstance(implClass);
+        Method listMethod = implClass.getMethod("list", String.class, String.class, String.class);
+        assertEquals("ok", listMethod.invoke(instance, "u1", "a b", "2"));
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("/orders/u1?state=open&tag=a+b&page=2", recordedRequest.getPath());
+    }
+
+    /**
+     * @Path 中不允许出现片段.
+     */
+    @Test
+    public void testInvalidPathFragment() throws Exception {
+        Compilation compilation = compiler.compile(mockSource("InvalidPathFragmentInterface"));
+        assertEquals(Compilation.Status.FAILURE, compilation.status());
+        assertTrue(compilation.errors().stream()
+                .anyMatch(e -> e.getMessage(null).contains("The Path annotation cannot contain a fragment")),
+            () -> buildError(compilation.errors()));
+    }
+
+    private static JavaFileObject mockSource(String name) {
+        URL url = RpcClientProcessorTest.class.getResource("/mock/" + name + ".java");
+        assertNotNull(url);
+        return JavaFileObjects.forResource(url);
+    }
+
+    private static String generatedSource(Compilation compilation, String simpleName) throws IOException {
+        JavaFileObject file = compilation.generatedSourceFiles().stream()
+            .filter(f -> f.getName().endsWith("/" + simpleName + ".java"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Not found generated source " + simpleName));
+        return file.getCharContent(true).toString();
+    }
+
+    private static MockResponse smileResponse(Object value) {
+        return new MockResponse()
+            .setBody(new Buffer().write(SmileBytesSerializer.getInstance().serialize(value)))
+            .addHeader("Content-Type", MediaTypes.SMILE);
+    }
+
     private void injectDiscover(Object instance) throws Exception {
         Class<?> clazz = instance.getClass();
         try {
@@ -5,11 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.vmsmia.framework.component.rpc.restful.MediaType;
 import com.vmsmia.framework.component.rpc.restful.discovery.Endpoint;
+import com.vmsmia.framework.component.rpc.restful.serializer.PooledBuffer;
+import com.vmsmia.framework.component.rpc.restful.serializer.StreamingBody;
 import com.vmsmia.framework.component.rpc.restful.serializer.string.json.Json;
+import com.vmsmia.framework.component.rpc.restful.serializer.string.json.JsonSerializer;
 import com.vmsmia.framework.component.rpc.restful.standard.utils.MockStreamSubscriber;
 import com.vmsmia.framework.component.rpc.restful.standard.utils.RandomUtils;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.List;
@@ -18,6 +23,7 @@ import java.util.Objects;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -68,6 +74,82 @@ public class HttpClientTest {
         assertEquals("test", recordedRequest.getHeader("visionmc"));
     }
 
+    @Test
+    public void testGetWithQueryInPath() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("ok")
+            .addHeader("Content-Type", "text/plain"));
+
+        HttpClient client = HttpClient.Builder.anBuilder()
+            .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+            .withPathTemplate("/data/{name}?fields=all")
+            .withPathVariables(Collections.singletonMap("name", "test"))
+            .withQueryParams(Collections.singletonMap("id", "123"))
+            .build();
+        assertEquals("ok", client.get(String.class));
+
+        // ? 不能被编码为路径的一部分.
+        assertEquals("/data/test?fields=all&id=123", mockWebServer.takeRequest().getPath());
+    }
+
+    @Test
+    public void testGetWithCharset() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(new Buffer().writeString("caf\u00e9", StandardCharsets.ISO_8859_1))
+            .addHeader("Content-Type", "text/plain; charset=ISO-8859-1"));
+
+        HttpClient client = HttpClient.Builder.anBuilder()
+            .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+            .withPathTemplate("/text")
+            .build();
+
+        assertEquals("caf\u00e9", client.get(String.class));
+    }
+
+    @Test
+    public void testDownloadTo() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("{\"large\":true}")
+            .addHeader("Content-Type", "application/json"));
+
+        Path target = Files.createTempFile("http-client", ".json");
+        try {
+            HttpClient client = HttpClient.Builder.anBuilder()
+                .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+                .withPathTemplate("/export")
+                .withDownloadTarget(target)
+                .build();
+
+            // 文件类型的返回值原样写入目标文件,不按媒体类型解析.
+            assertEquals(target, client.get(Path.class));
+            assertEquals("{\"large\":true}", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    public void testExecuteAsPrimitive() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("9007199254740993\n")
+            .addHeader("Content-Type", "text/plain"));
+        // 不是文本时按媒体类型对应的解码器解析后拆箱.
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("true")
+            .addHeader("Content-Type", "application/json"));
+
+        HttpClient client = HttpClient.Builder.anBuilder()
+            .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+            .withPathTemplate("/counter")
+            .build();
+
+        assertEquals(9007199254740993L, client.executeAsLong("GET"));
+        assertTrue(client.executeAsBoolean("POST"));
+
+        assertEquals("GET", mockWebServer.takeRequest().getMethod());
+        assertEquals("POST", mockWebServer.takeRequest().getMethod());
+    }
+
     @Test
     public void testPost() throws Exception {
         Data returnData = new Data("return", 1);
@@ -98,6 +180,55 @@ public class HttpClientTest {
                 Data.class));
     }
 
+    @Test
+    public void testPostStreamingBody() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(Json.serialize(new Data("return", 1)))
+            .addHeader("Content-Type", "application/json; charset=utf8"));
+
+        Data submitData = new Data("submit", 10);
+        StreamingBody body = out -> out.write(Json.serializeAsBytes(submitData));
+        HttpClient client = HttpClient.Builder.anBuilder()
+            .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+            .withPathTemplate("/data")
+            .withBody(body)
+            .withBodyMediaType("application/json; charset=utf8")
+            .build();
+        client.post(Data.class);
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals("chunked", recordedRequest.getHeader("Transfer-Encoding"));
+        assertEquals(submitData,
+            Json.deserialize(new String(recordedRequest.getBody().readByteArray(), StandardCharsets.UTF_8),
+                Data.class));
+    }
+
+    @Test
+    public void testPostPooledBody() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody(Json.serialize(new Data("return", 1)))
+            .addHeader("Content-Type", "application/json; charset=utf8"));
+
+        Data submitData = new Data("submit", 10);
+        PooledBuffer body = (PooledBuffer) JsonSerializer.getInstance().stream(submitData, Data.class);
+        HttpClient client = HttpClient.Builder.anBuilder()
+            .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+            .withPathTemplate("/data")
+            .withBody(body)
+            .withBodyMediaType("application/json; charset=utf8")
+            .build();
+        long size = body.size();
+        client.post(Data.class);
+
+        RecordedRequest recordedRequest = mockWebServer.takeRequest();
+        assertEquals(String.valueOf(size), recordedRequest.getHeader("Content-Length"));
+        assertEquals(submitData,
+            Json.deserialize(new String(recordedRequest.getBody().readByteArray(), StandardCharsets.UTF_8),
+                Data.class));
+        // 请求完成后缓冲被归还.
+        assertTrue(body.isReleased());
+    }
+
     @Test
     public void testHead() throws Exception {
         mockWebServer.enqueue(new MockResponse()
@@ -221,6 +352,48 @@ public class HttpClientTest {
         assertEquals(data.length(), subscriber.getStringValue().length());
     }
 
+    /**
+     * 异步请求得到响应或者失败后,池化的请求体都被归还.
+     */
+    @Test
+    public void testStreamReleasesPooledBody() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+            .setBody("done")
+            .addHeader("Content-Type", "text/plain; charset=utf8"));
+        PooledBuffer body = (PooledBuffer) JsonSerializer.getInstance().stream(new Data("submit", 10), Data.class);
+        MockStreamSubscriber subscriber = new MockStreamSubscriber(1024);
+        HttpClient.Builder.anBuilder()
+            .withEndpoint(new Endpoint(mockWebServer.getHostName(), mockWebServer.getPort(), false))
+            .withPathTemplate("/stream")
+            .withBody(body)
+            .build()
+            .stream(subscriber);
+        while (!subscriber.isFinished()) {
+            Thread.sleep(100);
+        }
+        assertTrue(subscriber.isCompleted());
+        assertTrue(body.isReleased());
+
+        // 连接失败.
+        MockWebServer closed = new MockWebServer();
+        closed.start();
+        Endpoint closedEndpoint = new Endpoint(closed.getHostName(), closed.getPort(), false);
+        closed.close();
+        body = (PooledBuffer) JsonSerializer.getInstance().stream(new Data("submit", 10), Data.class);
+        subscriber = new MockStreamSubscriber(1024);
+        HttpClient.Builder.anBuilder()
+            .withEndpoint(closedEndpoint)
+            .withPathTemplate("/stream")
+            .withBody(body)
+            .build()
+            .stream(subscriber);
+        while (!subscriber.isFinished()) {
+            Thread.sleep(100);
+        }
+        assertTrue(subscriber.isErrorCompleted());
+        assertTrue(body.isReleased());
+    }
+
     private static class Data {
         private String c1;
         private int c2;
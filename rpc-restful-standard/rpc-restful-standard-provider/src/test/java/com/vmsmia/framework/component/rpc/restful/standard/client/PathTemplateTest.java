@@ -0,0 +1,54 @@
+package com.vmsmia.framework.component.rpc.restful.standard.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author bin.dong
+ * @version 0.1 2026/10/19 22:10
+ * @since 1.8
+ */
+public class PathTemplateTest {
+
+    @Test
+    void testExpand() {
+        Map<String, String> values = new HashMap<>();
+        values.put("user", "u1");
+        values.put("order", "o1");
+        assertEquals("/users/u1/orders/o1", PathTemplate.compile("/users/{user}/orders/{order}").expand(values));
+        assertEquals("/u1o1", PathTemplate.compile("/{user}{order}").expand(values));
+        assertEquals("/data", PathTemplate.compile("/data").expand(Collections.emptyMap()));
+        assertEquals("", PathTemplate.compile(null).expand(Collections.emptyMap()));
+        assertSame(PathTemplate.compile("/users/{user}"), PathTemplate.compile("/users/{user}"));
+    }
+
+    @Test
+    void testQuery() {
+        Map<String, String> values = new HashMap<>();
+        values.put("user", "u1");
+        values.put("tag", "a b&c");
+        PathTemplate template = PathTemplate.compile("/orders/{user}?state=open&tag={tag}");
+        assertEquals("/orders/u1", template.expandPath(values));
+        assertEquals("state=open&tag=a+b%26c", template.expandQuery(values));
+        assertEquals("/orders/u1?state=open&tag=a b&c", template.expand(values));
+
+        // 变量名中的 ? 不作为分隔符.
+        values.put("a?b", "v");
+        assertEquals("/v", PathTemplate.compile("/{a?b}").expandPath(values));
+        assertNull(PathTemplate.compile("/{a?b}").expandQuery(values));
+        assertEquals("", PathTemplate.compile("/data?").expandQuery(values));
+    }
+
+    @Test
+    void testMissingVariable() {
+        assertThrows(IllegalArgumentException.class,
+            () -> PathTemplate.compile("/users/{user}").expand(Collections.emptyMap()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.ReturnDeserializer;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Post;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.Body;
+import com.vmsmia.framework.component.rpc.restful.serializer.bytes.SmileBytesDeserializer;
+
+@RestfulClient("discover://test")
+public interface BodyFormatInterface {
+
+    @Post
+    @Path("/orders")
+    Order create(@Body Order order);
+
+    @Post
+    @Path("/orders/fixed")
+    @ReturnDeserializer(SmileBytesDeserializer.class)
+    Order createWithDeserializer(@Body Order order);
+}
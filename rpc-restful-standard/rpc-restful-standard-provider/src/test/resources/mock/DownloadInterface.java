@@ -0,0 +1,19 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Get;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.DownloadTo;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.PathVariable;
+
+@RestfulClient("discover://test")
+public interface DownloadInterface {
+
+    @Get
+    @Path("/files/{name}")
+    java.nio.file.Path download(@PathVariable String name, @DownloadTo java.nio.file.Path target);
+
+    @Get
+    @Path("/files/{name}")
+    java.nio.file.Path downloadToTemp(@PathVariable String name);
+}
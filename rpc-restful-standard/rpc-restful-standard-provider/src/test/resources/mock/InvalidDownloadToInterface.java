@@ -0,0 +1,14 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Get;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.DownloadTo;
+
+@RestfulClient("discover://test")
+public interface InvalidDownloadToInterface {
+
+    @Get
+    @Path("/files")
+    String download(@DownloadTo java.nio.file.Path target);
+}
@@ -0,0 +1,13 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Get;
+
+@RestfulClient("discover://test")
+public interface InvalidPathFragmentInterface {
+
+    @Get
+    @Path("/files#top")
+    String files();
+}
@@ -0,0 +1,14 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Post;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.Body;
+
+@RestfulClient("discover://test")
+public interface InvoiceInterface {
+
+    @Post
+    @Path("/invoices")
+    Invoice create(@Body Invoice invoice);
+}
@@ -0,0 +1,50 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import java.util.Objects;
+
+public class Order {
+
+    private String id;
+    private int amount;
+
+    public Order() {
+    }
+
+    public Order(String id, int amount) {
+        this.id = id;
+        this.amount = amount;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Order order = (Order) o;
+        return amount == order.amount && Objects.equals(id, order.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, amount);
+    }
+}
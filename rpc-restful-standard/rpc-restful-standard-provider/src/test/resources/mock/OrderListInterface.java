@@ -0,0 +1,20 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Get;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Post;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.Body;
+import java.util.List;
+
+@RestfulClient("discover://test")
+public interface OrderListInterface {
+
+    @Get
+    @Path("/orders")
+    List<Order> list();
+
+    @Post
+    @Path("/orders/batch")
+    List<Order> create(@Body List<Order> orders);
+}
@@ -0,0 +1,19 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Get;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Post;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.PathVariable;
+
+@RestfulClient("discover://test")
+public interface PrimitiveInterface {
+
+    @Get
+    @Path("/orders/count")
+    int count();
+
+    @Post
+    @Path("/orders/{id}/exists")
+    boolean exists(@PathVariable String id);
+}
@@ -0,0 +1,15 @@
+package com.vmsmia.framework.component.rpc.restful.standard.mock;
+
+import com.vmsmia.framework.component.rpc.restful.annotation.Path;
+import com.vmsmia.framework.component.rpc.restful.annotation.RestfulClient;
+import com.vmsmia.framework.component.rpc.restful.annotation.method.Get;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.PathVariable;
+import com.vmsmia.framework.component.rpc.restful.annotation.parameter.QueryParam;
+
+@RestfulClient("discover://test")
+public interface QueryPathInterface {
+
+    @Get
+    @Path("/orders/{user}?state=open&tag={tag}")
+    String list(@PathVariable String user, @PathVariable String tag, @QueryParam String page);
+}